@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.overrun.glwrapper.GLStateManager;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+/**
+ * Installs the recording dispatch for the benchmarks.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+final class BenchmarkDispatch {
+    /**
+     * The log is cleared after reaching this count of slots, so long runs don't keep growing it.
+     */
+    private static final long MAX_LOG_SIZE = 1 << 20;
+
+    private BenchmarkDispatch() {
+    }
+
+    static RecordingDispatch install() {
+        final var recording = new RecordingDispatch();
+        Dispatch.set(recording, recording);
+        // the recording dispatch has no window, so the benchmark thread needs its own state manager
+        GLStateManager.makeCurrent(new GLStateManager());
+        return recording;
+    }
+
+    static void trim(RecordingDispatch recording) {
+        if (recording.log().size() > MAX_LOG_SIZE) {
+            recording.log().clear();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glwrapper.GLFWWindow;
+import org.overrun.glwrapper.InputEventQueue;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks pushing a batch of input events through the {@link InputEventQueue} of a window
+ * and draining them.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InputBenchmark {
+    private static final int BATCH = 64;
+    private RecordingDispatch recording;
+    private GLFWWindow window;
+    private InputEventQueue queue;
+    private final Sink sink = new Sink();
+
+    private static final class Sink implements InputEventQueue.Handler {
+        private long sum;
+
+        @Override
+        public void onKey(int key, int scancode, int action, int mods) {
+            sum += key + action;
+        }
+
+        @Override
+        public void onCursorPos(double xpos, double ypos) {
+            sum += (long) xpos;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        recording = BenchmarkDispatch.install();
+        window = new GLFWWindow(800, 600, "Benchmark", MemoryAddress.NULL, MemoryAddress.NULL);
+        queue = window.enableInputQueue(BATCH * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        window.destroy();
+        Dispatch.reset();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long pushAndDrain() {
+        final MemoryAddress handle = window.handle();
+        for (int i = 0; i < BATCH; i += 2) {
+            recording.key(handle, 65 + (i & 15), 0, 1, 0);
+            recording.moveCursor(handle, i, i);
+        }
+        queue.drain(sink);
+        return sink.sum;
+    }
+}
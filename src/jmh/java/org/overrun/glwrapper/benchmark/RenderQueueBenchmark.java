@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glwrapper.GLProgram;
+import org.overrun.glwrapper.RenderQueue;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * Benchmarks a frame of 100000 draw items with 8 programs, 32 textures and 16 vertex arrays
+ * in {@link RenderQueue}, submitted in random order.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderQueueBenchmark {
+    private static final int ITEMS = 100000;
+    private static final int PROGRAMS = 8;
+    private static final int TEXTURES = 32;
+    private static final int VERTEX_ARRAYS = 16;
+    @Param({"false", "true"})
+    public boolean parallel;
+    private RecordingDispatch recording;
+    private RenderQueue queue;
+    private GLProgram[] programs;
+    private int[] itemPrograms;
+    private int[] itemTextures;
+    private int[] itemVertexArrays;
+    private float[] itemDepths;
+
+    @Setup
+    public void setup() {
+        recording = BenchmarkDispatch.install();
+        queue = new RenderQueue(ITEMS);
+        if (parallel) {
+            queue.setParallelThreshold(1 << 14);
+        }
+        programs = new GLProgram[PROGRAMS];
+        for (int i = 0; i < PROGRAMS; i++) {
+            programs[i] = new GLProgram();
+        }
+        final var random = new Random(42);
+        itemPrograms = new int[ITEMS];
+        itemTextures = new int[ITEMS];
+        itemVertexArrays = new int[ITEMS];
+        itemDepths = new float[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemPrograms[i] = random.nextInt(PROGRAMS);
+            itemTextures[i] = 1 + random.nextInt(TEXTURES);
+            itemVertexArrays[i] = 1 + random.nextInt(VERTEX_ARRAYS);
+            itemDepths[i] = random.nextFloat() * 1000.0f;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (GLProgram program : programs) {
+            program.delete();
+        }
+        Dispatch.reset();
+    }
+
+    @Benchmark
+    public int frame() {
+        for (int i = 0; i < ITEMS; i++) {
+            queue.add()
+                .program(programs[itemPrograms[i]])
+                .vertexArray(itemVertexArrays[i])
+                .texture(0, itemTextures[i])
+                .depth(itemDepths[i])
+                .drawElements(GL_TRIANGLES, 36, GL_UNSIGNED_INT, 0);
+        }
+        queue.execute();
+        recording.swapBuffers(MemoryAddress.NULL);
+        BenchmarkDispatch.trim(recording);
+        return queue.programChanges();
+    }
+}
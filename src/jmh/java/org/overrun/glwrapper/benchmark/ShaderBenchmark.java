@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glwrapper.GLShader;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.overrun.glib.gl.GLConstC.GL_FRAGMENT_SHADER;
+
+/**
+ * Benchmarks the source upload of {@link GLShader}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShaderBenchmark {
+    private static final String SOURCE = """
+        #version 330 core
+        in vec2 texCoord;
+        out vec4 fragColor;
+        uniform sampler2D sampler;
+        uniform vec4 color;
+        void main() {
+            fragColor = texture(sampler, texCoord) * color;
+        }
+        """;
+    private static final String[] SOURCES = SOURCE.lines().map(line -> line + '\n').toArray(String[]::new);
+    private RecordingDispatch recording;
+    private GLShader shader;
+
+    @Setup
+    public void setup() {
+        recording = BenchmarkDispatch.install();
+        shader = new GLShader(GL_FRAGMENT_SHADER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        shader.delete();
+        Dispatch.reset();
+    }
+
+    @Benchmark
+    public void sourceString() {
+        shader.source(SOURCE);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    @Benchmark
+    public void sourceStringArray() {
+        shader.source(SOURCES);
+        BenchmarkDispatch.trim(recording);
+    }
+}
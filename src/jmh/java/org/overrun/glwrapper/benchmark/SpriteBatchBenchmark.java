@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glwrapper.SpriteBatch;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a frame of 50000 sprites with 32 textures in {@link SpriteBatch}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpriteBatchBenchmark {
+    private static final int SPRITES = 50000;
+    private static final int TEXTURES = 32;
+    @Param({"SUBMISSION", "TEXTURE"})
+    public SpriteBatch.SortMode sortMode;
+    private RecordingDispatch recording;
+    private SpriteBatch batch;
+
+    @Setup
+    public void setup() {
+        recording = BenchmarkDispatch.install();
+        batch = new SpriteBatch(SPRITES);
+        batch.setSortMode(sortMode);
+        batch.setOrthographic(1920, 1080);
+    }
+
+    @TearDown
+    public void tearDown() {
+        batch.delete();
+        Dispatch.reset();
+    }
+
+    @Benchmark
+    public int frame() {
+        batch.begin();
+        for (int i = 0; i < SPRITES; i++) {
+            batch.draw(1 + i % TEXTURES, i % 1920, i % 1080, 16, 16);
+        }
+        batch.end();
+        recording.swapBuffers(MemoryAddress.NULL);
+        BenchmarkDispatch.trim(recording);
+        return batch.drawCalls();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glwrapper.GLProgram;
+import org.overrun.glwrapper.GLShader;
+import org.overrun.glwrapper.dispatch.Dispatch;
+import org.overrun.glwrapper.dispatch.RecordingDispatch;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * Benchmarks the uniform uploads and the uniform location lookup of {@link GLProgram}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UniformBenchmark {
+    private static final String SOURCE = """
+        #version 330 core
+        uniform mat4 projection;
+        uniform mat4 model;
+        uniform vec4 color;
+        uniform float time;
+        uniform vec4 lights[8];
+        void main() {
+            gl_Position = projection * model * vec4(lights[0].xyz * time, 1.0) * color;
+        }
+        """;
+    @Param({"false", "true"})
+    public boolean shadow;
+    private final float[] matrix = new float[16];
+    private final float[] lights = new float[8 * 4];
+    private RecordingDispatch recording;
+    private GLProgram program;
+    private MemorySession session;
+    private MemorySegment matrixSegment;
+    private int timeLocation;
+    private int colorLocation;
+    private int modelLocation;
+    private int lightsLocation;
+    private float time;
+
+    @Setup
+    public void setup() {
+        recording = BenchmarkDispatch.install();
+        final var shader = new GLShader(GL_VERTEX_SHADER);
+        shader.source(SOURCE);
+        shader.compile();
+        program = new GLProgram();
+        program.attachShader(shader);
+        program.link();
+        program.detachShader(shader);
+        shader.delete();
+        if (shadow) {
+            program.enableUniformShadow();
+        }
+        timeLocation = program.getUniformLocation("time");
+        colorLocation = program.getUniformLocation("color");
+        modelLocation = program.getUniformLocation("model");
+        lightsLocation = program.getUniformLocation("lights");
+        for (int i = 0; i < 16; i += 5) {
+            matrix[i] = 1f;
+        }
+        session = MemorySession.openConfined();
+        matrixSegment = MemorySegment.allocateNative(16 * 4L, 16, session);
+        MemorySegment.copy(matrix, 0, matrixSegment, JAVA_FLOAT, 0, 16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        program.delete();
+        session.close();
+        Dispatch.reset();
+    }
+
+    /**
+     * A scalar that changes every call.
+     */
+    @Benchmark
+    public void uniform1fChanged() {
+        program.uniform1f(timeLocation, time += 1f);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    /**
+     * A vector that never changes.
+     */
+    @Benchmark
+    public void uniform4fUnchanged() {
+        program.uniform4f(colorLocation, 1f, .5f, .25f, 1f);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    @Benchmark
+    public void uniformMatrix4fvArray() {
+        program.uniformMatrix4fv(modelLocation, false, matrix);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    @Benchmark
+    public void uniformMatrix4fvAddressable() {
+        program.uniformMatrix4fv(modelLocation, 1, false, matrixSegment);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    @Benchmark
+    public void uniform4fvArray() {
+        program.uniform4fv(lightsLocation, lights);
+        BenchmarkDispatch.trim(recording);
+    }
+
+    @Benchmark
+    public int getUniformLocation() {
+        return program.getUniformLocation("color");
+    }
+}
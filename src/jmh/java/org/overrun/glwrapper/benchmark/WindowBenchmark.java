@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.overrun.glib.util.ValueDouble2;
+import org.overrun.glib.util.ValueInt2;
+import org.overrun.glwrapper.GLFWWindow;
+import org.overrun.glwrapper.dispatch.Dispatch;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-frame queries of {@link GLFWWindow}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindowBenchmark {
+    private final int[] width = new int[1];
+    private final int[] height = new int[1];
+    private final double[] xpos = new double[1];
+    private final double[] ypos = new double[1];
+    @Param({"false", "true"})
+    public boolean geometryCache;
+    private GLFWWindow window;
+
+    @Setup
+    public void setup() {
+        BenchmarkDispatch.install();
+        window = new GLFWWindow(800, 600, "Benchmark", MemoryAddress.NULL, MemoryAddress.NULL);
+        if (geometryCache) {
+            window.enableGeometryCache();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        window.destroy();
+        Dispatch.reset();
+    }
+
+    @Benchmark
+    public ValueInt2 getSize() {
+        return window.getSize();
+    }
+
+    @Benchmark
+    public ValueInt2 getFramebufferSize() {
+        return window.getFramebufferSize();
+    }
+
+    @Benchmark
+    public ValueDouble2 getCursorPos() {
+        return window.getCursorPos();
+    }
+
+    @Benchmark
+    public int getSizeArray() {
+        window.getSize(width, height);
+        return width[0] + height[0];
+    }
+
+    @Benchmark
+    public double getCursorPosArray() {
+        window.getCursorPos(xpos, ypos);
+        return xpos[0] + ypos[0];
+    }
+
+    /**
+     * Reads the cached value if the geometry cache is enabled.
+     */
+    @Benchmark
+    public int framebufferWidth() {
+        return window.framebufferWidth();
+    }
+}
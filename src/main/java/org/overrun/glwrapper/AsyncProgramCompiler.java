@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * Compiles and links programs without waiting for the driver.
+ * <p>
+ * {@link #submit(ProgramSource) submit} starts compiling and linking, and returns
+ * a future. {@link #poll()} should be called once per frame; it completes the
+ * futures of the programs the driver has finished.
+ * <p>
+ * With {@code GL_KHR_parallel_shader_compile} or {@code GL_ARB_parallel_shader_compile},
+ * the driver compiles in its own threads and {@code GL_COMPLETION_STATUS_KHR} tells
+ * whether a program is done. Without the extension, the status queries are deferred
+ * by a number of frames instead, which still gives drivers with internal
+ * threading time to finish.
+ * <p>
+ * All methods must be called on the thread that has the OpenGL context current.
+ * The futures are completed on that thread, too.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class AsyncProgramCompiler {
+    /**
+     * {@code GL_COMPLETION_STATUS_KHR}, the same value as {@code GL_COMPLETION_STATUS_ARB}.
+     */
+    public static final int GL_COMPLETION_STATUS_KHR = 0x91B1;
+    /**
+     * The default count of the frames to defer the status queries without the extension.
+     */
+    public static final int DEFAULT_DEFER_FRAMES = 2;
+    private final boolean parallel;
+    private final int deferFrames;
+    private final ArrayDeque<Job> jobs = new ArrayDeque<>();
+    private final ArrayList<Job> finished = new ArrayList<>();
+    private long frame;
+
+    private record Job(GLProgram program, GLShader[] shaders, long frame, CompletableFuture<GLProgram> future) {
+    }
+
+    /**
+     * Creates the compiler, detecting the parallel shader compile extension
+     * of the current context.
+     *
+     * @throws IllegalStateException if no {@link GLStateManager state manager} is current
+     */
+    public AsyncProgramCompiler() {
+        this(supportsParallelCompile(GLStateManager.current().extensions()), DEFAULT_DEFER_FRAMES);
+    }
+
+    /**
+     * Creates the compiler.
+     *
+     * @param parallel    {@code true} to poll {@code GL_COMPLETION_STATUS_KHR}
+     * @param deferFrames the count of the frames to defer the status queries if {@code parallel} is {@code false}
+     */
+    public AsyncProgramCompiler(boolean parallel, int deferFrames) {
+        this.parallel = parallel;
+        this.deferFrames = deferFrames;
+    }
+
+    /**
+     * Checks whether the context supports the parallel shader compile extension.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if {@code GL_COMPLETION_STATUS_KHR} can be queried
+     */
+    public static boolean supportsParallelCompile(GLExtensions extensions) {
+        return extensions.has("GL_KHR_parallel_shader_compile") ||
+               extensions.has("GL_ARB_parallel_shader_compile");
+    }
+
+    /**
+     * Starts compiling the shaders and linking the program.
+     *
+     * @param source the program source
+     * @return the future of the linked program. The future fails with {@link IllegalStateException}
+     * if the program failed to compile or link.
+     */
+    public CompletableFuture<GLProgram> submit(ProgramSource source) {
+        final GLProgram program = new GLProgram();
+        final GLShader[] shaders = source.compileShaders();
+        source.link(program, shaders);
+        return enqueue(program, shaders);
+    }
+
+    /**
+     * Starts compiling the sourced shaders and linking them into the program.
+     * Attribute locations must be bound before this call.
+     *
+     * @param program the program
+     * @param shaders the shaders with sources set; they are deleted after the program is done
+     * @return the future of the linked program. The future fails with {@link IllegalStateException}
+     * if the program failed to compile or link.
+     */
+    public CompletableFuture<GLProgram> submit(GLProgram program, GLShader... shaders) {
+        for (GLShader shader : shaders) {
+            shader.compile();
+            program.attachShader(shader);
+        }
+        program.link();
+        for (GLShader shader : shaders) {
+            program.detachShader(shader);
+        }
+        return enqueue(program, shaders);
+    }
+
+    private CompletableFuture<GLProgram> enqueue(GLProgram program, GLShader[] shaders) {
+        final var future = new CompletableFuture<GLProgram>();
+        jobs.add(new Job(program, shaders, frame, future));
+        return future;
+    }
+
+    private boolean isDone(Job job) {
+        if (parallel) {
+            return job.program().geti(GL_COMPLETION_STATUS_KHR) != GL_FALSE;
+        }
+        return frame - job.frame() >= deferFrames;
+    }
+
+    private static void complete(Job job) {
+        try {
+            ProgramSource.checkStatus(job.program(), job.shaders());
+            job.future().complete(job.program());
+        } catch (IllegalStateException e) {
+            job.future().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Completes the futures of the finished programs and advances the frame counter.
+     *
+     * @return the count of the programs that are not finished yet
+     */
+    public int poll() {
+        ++frame;
+        for (Iterator<Job> it = jobs.iterator(); it.hasNext(); ) {
+            final Job job = it.next();
+            if (isDone(job)) {
+                it.remove();
+                finished.add(job);
+            }
+        }
+        // complete after iterating; dependent actions may submit new programs
+        for (Job job : finished) {
+            complete(job);
+        }
+        finished.clear();
+        return jobs.size();
+    }
+
+    /**
+     * Waits for all submitted programs and completes their futures.
+     */
+    public void finishAll() {
+        Job job;
+        while ((job = jobs.poll()) != null) {
+            complete(job);
+        }
+    }
+
+    /**
+     * Gets the count of the programs that are not finished yet.
+     *
+     * @return the count of the pending programs
+     */
+    public int pending() {
+        return jobs.size();
+    }
+
+    /**
+     * Checks whether the compiler polls {@code GL_COMPLETION_STATUS_KHR}.
+     *
+     * @return {@code true} if the parallel shader compile extension is used
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+}
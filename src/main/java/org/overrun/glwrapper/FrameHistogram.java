@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds with log-linear buckets.
+ * <p>
+ * Each power of two is split into 32 linear sub-buckets, so a recorded value is reported
+ * with a relative error of at most about 3%, from 1 nanosecond up to about 18 minutes.
+ * Larger values are clamped. Recording doesn't allocate.
+ * <p>
+ * The histogram is not thread-safe; it should be written by one thread, and read by that thread
+ * or after the writes are published by other means.
+ *
+ * @author squid233
+ * @see FrameTimer
+ * @since 0.1.0
+ */
+public final class FrameHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_SHIFT = 34;
+    private static final long MAX_VALUE = (2L * SUB_COUNT << MAX_SHIFT) - 1;
+    private final long[] counts = new long[(MAX_SHIFT + 2) * SUB_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public FrameHistogram() {
+    }
+
+    private static int indexOf(long value) {
+        if (value < 2 * SUB_COUNT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) - SUB_COUNT);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < 2 * SUB_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_COUNT - 1;
+        final long sub = index % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        final long value = Math.min(Math.max(nanos, 0L), MAX_VALUE);
+        ++counts[indexOf(value)];
+        ++count;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Gets the value at the given percentile. The result is the highest value
+     * that falls into the same bucket as the exact value, capped by {@link #max()}.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        final long rank = Math.max(1L, (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets the median.
+     *
+     * @return the 50th percentile in nanoseconds
+     */
+    public long p50() {
+        return percentile(50.0);
+    }
+
+    /**
+     * Gets the 99th percentile.
+     *
+     * @return the 99th percentile in nanoseconds
+     */
+    public long p99() {
+        return percentile(99.0);
+    }
+
+    /**
+     * Gets the 99.9th percentile.
+     *
+     * @return the 99.9th percentile in nanoseconds
+     */
+    public long p999() {
+        return percentile(99.9);
+    }
+
+    /**
+     * Gets the count of the recorded values.
+     *
+     * @return the count of the recorded values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return the smallest value in nanoseconds, or 0 if nothing was recorded
+     */
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the largest value in nanoseconds
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Gets the exact mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double mean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.3fms p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+            count, mean() / 1e6, p50() / 1e6, p99() / 1e6, p999() / 1e6, max / 1e6);
+    }
+}
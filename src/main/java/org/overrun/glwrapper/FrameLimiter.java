@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the frame rate to a target rate by sleeping and then spinning until the deadline of each frame.
+ * <p>
+ * The limiter sleeps in short slices while the remaining time is larger than the expected
+ * oversleep of one slice, and spins for the rest. The expected oversleep is learned from the
+ * observed slices, so the limiter spins only as long as the scheduler of the platform needs.
+ * <p>
+ * If a frame misses its deadline by more than one period, the schedule restarts from the current
+ * time instead of running the next frames without waiting to catch up.
+ *
+ * @author squid233
+ * @see FrameTimer#setLimiter(FrameLimiter)
+ * @since 0.1.0
+ */
+public final class FrameLimiter {
+    private static final long SLEEP_SLICE = 1_000_000L;
+    private long period;
+    private long deadline;
+    private double sleepMean = SLEEP_SLICE;
+    private double sleepDeviation;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param targetRate the target count of the frames per second, or 0 for no limit
+     */
+    public FrameLimiter(double targetRate) {
+        setTargetRate(targetRate);
+    }
+
+    /**
+     * Sets the target rate and restarts the schedule.
+     *
+     * @param targetRate the target count of the frames per second, or 0 for no limit
+     */
+    public void setTargetRate(double targetRate) {
+        period = targetRate > 0.0 ? Math.round(1e9 / targetRate) : 0L;
+        deadline = 0L;
+    }
+
+    /**
+     * Gets the target rate.
+     *
+     * @return the target count of the frames per second, or 0 for no limit
+     */
+    public double targetRate() {
+        return period == 0L ? 0.0 : 1e9 / period;
+    }
+
+    /**
+     * Waits until the deadline of the current frame. This should be called once per frame,
+     * right before presenting it.
+     *
+     * @return the waited time in nanoseconds
+     */
+    public long sync() {
+        if (period == 0L) return 0L;
+        final long start = System.nanoTime();
+        if (deadline == 0L || start - deadline > period) {
+            deadline = start + period;
+            return 0L;
+        }
+        long now = start;
+        while (deadline - now > sleepMean + 2.0 * sleepDeviation) {
+            LockSupport.parkNanos(SLEEP_SLICE);
+            final long woke = System.nanoTime();
+            final long observed = woke - now;
+            final double error = observed - sleepMean;
+            sleepMean += error / 8.0;
+            sleepDeviation += (Math.abs(error) - sleepDeviation) / 8.0;
+            now = woke;
+        }
+        while (deadline - now > 0L) {
+            Thread.onSpinWait();
+            now = System.nanoTime();
+        }
+        deadline += period;
+        return now - start;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import static org.overrun.glwrapper.dispatch.Dispatch.glfw;
+
+/**
+ * Records the frame timing of a window.
+ * <p>
+ * Once {@link GLFWWindow#setFrameTimer(FrameTimer) set} to a window, each {@link GLFWWindow#swapBuffers()}
+ * records these durations into {@link FrameHistogram histograms}:
+ * <ul>
+ *     <li>{@link #frameTime()}: from the end of the previous swap to the end of this swap;</li>
+ *     <li>{@link #cpuTime()}: the frame time, excluding the event polling, the {@link #setLimiter(FrameLimiter) limiter}
+ *     and the swap;</li>
+ *     <li>{@link #swapTime()}: the time blocked in {@code glfwSwapBuffers}.</li>
+ * </ul>
+ * {@link #pollEvents()} polls the events and records the time into {@link #pollTime()}.
+ * <p>
+ * The timer must be used by one thread. With a {@link RenderThread}, set the timer on the render thread's window
+ * and use a separate timer to poll the events on the other thread.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var timer = new FrameTimer();
+ * timer.setLimiter(new FrameLimiter(144));
+ * window.setFrameTimer(timer);
+ * while (!window.shouldClose()) {
+ *     timer.pollEvents();
+ *     render();
+ *     window.swapBuffers();
+ * }
+ * System.out.println(timer.frameTime());
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class FrameTimer {
+    private final FrameHistogram frameTime = new FrameHistogram();
+    private final FrameHistogram cpuTime = new FrameHistogram();
+    private final FrameHistogram swapTime = new FrameHistogram();
+    private final FrameHistogram pollTime = new FrameHistogram();
+    private @Nullable FrameLimiter limiter;
+    private long frameStart;
+    private long cpuEnd;
+    private long swapStart;
+    private long pendingPoll;
+
+    /**
+     * Creates the timer.
+     */
+    public FrameTimer() {
+    }
+
+    /**
+     * Processes the pending events with {@code glfwPollEvents} and records the time.
+     */
+    public void pollEvents() {
+        final long start = System.nanoTime();
+        glfw().pollEvents();
+        final long time = System.nanoTime() - start;
+        pollTime.record(time);
+        pendingPoll += time;
+    }
+
+    void beginSwap() {
+        cpuEnd = System.nanoTime();
+        final FrameLimiter l = limiter;
+        swapStart = l != null && l.sync() > 0 ? System.nanoTime() : cpuEnd;
+    }
+
+    void endSwap() {
+        final long end = System.nanoTime();
+        swapTime.record(end - swapStart);
+        if (frameStart != 0L) {
+            frameTime.record(end - frameStart);
+            cpuTime.record(cpuEnd - frameStart - pendingPoll);
+        }
+        frameStart = end;
+        pendingPoll = 0L;
+    }
+
+    /**
+     * Sets the limiter to wait for before each swap.
+     *
+     * @param limiter the limiter, or {@code null} for no limit
+     */
+    public void setLimiter(@Nullable FrameLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Gets the limiter.
+     *
+     * @return the limiter, or {@code null} if not set
+     */
+    public @Nullable FrameLimiter limiter() {
+        return limiter;
+    }
+
+    /**
+     * Gets the histogram of the frame times.
+     *
+     * @return the histogram of the frame times
+     */
+    public FrameHistogram frameTime() {
+        return frameTime;
+    }
+
+    /**
+     * Gets the histogram of the CPU times of the frames.
+     *
+     * @return the histogram of the CPU times
+     */
+    public FrameHistogram cpuTime() {
+        return cpuTime;
+    }
+
+    /**
+     * Gets the histogram of the times blocked in swapping the buffers.
+     *
+     * @return the histogram of the swap times
+     */
+    public FrameHistogram swapTime() {
+        return swapTime;
+    }
+
+    /**
+     * Gets the histogram of the event polling times.
+     *
+     * @return the histogram of the poll times
+     */
+    public FrameHistogram pollTime() {
+        return pollTime;
+    }
+
+    /**
+     * Removes all recorded values. The next frame is measured from the next swap.
+     */
+    public void reset() {
+        frameTime.reset();
+        cpuTime.reset();
+        swapTime.reset();
+        pollTime.reset();
+        frameStart = 0L;
+        pendingPoll = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "frame: " + frameTime + System.lineSeparator() +
+               "cpu:   " + cpuTime + System.lineSeparator() +
+               "swap:  " + swapTime + System.lineSeparator() +
+               "poll:  " + pollTime;
+    }
+}
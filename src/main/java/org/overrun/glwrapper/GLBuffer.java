@@ -0,0 +1,423 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * An OpenGL buffer object.
+ * <p>
+ * Uploads bind the buffer to {@code GL_COPY_WRITE_BUFFER}, so they don't change the element array buffer of the
+ * bound vertex array or other bindings in use. Arrays are copied through the {@link ScratchArena} of the calling
+ * thread, and {@link MemorySegment segments} are passed as is.
+ * <p>
+ * The buffer is tracked by the {@link GLResourceRegistry} if a {@link GLStateManager} is current
+ * when it is created; otherwise it binds directly and can't be {@link #deleteLater() deleted later}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var vbo = new GLBuffer(GL_ARRAY_BUFFER);
+ * vbo.data(vertices, GL_STATIC_DRAW);
+ * vbo.bind();
+ * }</pre>
+ *
+ * @author squid233
+ * @see StreamBuffer
+ * @since 0.1.0
+ */
+public final class GLBuffer {
+    private final int target;
+    private final int id;
+    private final @Nullable GLResourceRegistry.Resource resource;
+    private long size;
+    private boolean immutable;
+    private @Nullable MemorySession mappingSession;
+    private @Nullable MemorySegment mapping;
+
+    /**
+     * Creates the buffer object without a data store.
+     *
+     * @param target the target to {@link #bind() bind} the buffer to, e.g. {@code GL_ARRAY_BUFFER}
+     */
+    public GLBuffer(int target) {
+        this.target = target;
+        id = gl().genBuffer();
+        final GLStateManager state = GLStateManager.currentOrNull();
+        resource = state != null ? state.resources().register(GLResourceRegistry.Type.BUFFER, id, 0, this) : null;
+    }
+
+    private void bindTo(int target) {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindBuffer(target, id);
+        } else {
+            gl().bindBuffer(target, id);
+        }
+    }
+
+    private void bindForUpload() {
+        bindTo(GL_COPY_WRITE_BUFFER);
+    }
+
+    private void resized() {
+        if (resource != null) {
+            resource.resize(size);
+        }
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new IllegalStateException("Buffer " + id + " has an immutable data store");
+        }
+    }
+
+    /**
+     * Creates a mutable data store with undefined contents.
+     *
+     * @param size  the size in bytes
+     * @param usage the usage hint, e.g. {@code GL_DYNAMIC_DRAW}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void data(long size, int usage) {
+        checkMutable();
+        bindForUpload();
+        gl().bufferData(GL_COPY_WRITE_BUFFER, size, MemoryAddress.NULL, usage);
+        this.size = size;
+        resized();
+    }
+
+    /**
+     * Creates a mutable data store with the given data.
+     *
+     * @param data  the data
+     * @param usage the usage hint, e.g. {@code GL_STATIC_DRAW}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void data(MemorySegment data, int usage) {
+        checkMutable();
+        bindForUpload();
+        gl().bufferData(GL_COPY_WRITE_BUFFER, data.byteSize(), data, usage);
+        size = data.byteSize();
+        resized();
+    }
+
+    /**
+     * Creates a mutable data store with the given data.
+     *
+     * @param data  the data
+     * @param usage the usage hint, e.g. {@code GL_STATIC_DRAW}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void data(float[] data, int usage) {
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            data(arena.allocateArray(JAVA_FLOAT, data), usage);
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Creates a mutable data store with the given data.
+     *
+     * @param data  the data
+     * @param usage the usage hint, e.g. {@code GL_STATIC_DRAW}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void data(int[] data, int usage) {
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            data(arena.allocateArray(JAVA_INT, data), usage);
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Creates a mutable data store with the given data.
+     *
+     * @param data  the data
+     * @param usage the usage hint, e.g. {@code GL_STATIC_DRAW}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void data(short[] data, int usage) {
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            data(arena.allocateArray(JAVA_SHORT, data), usage);
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Creates an immutable data store with {@code glBufferStorage}.
+     * Requires OpenGL 4.4 or {@code GL_ARB_buffer_storage}.
+     *
+     * @param size  the size in bytes
+     * @param flags the storage flags, e.g. {@code GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT}
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void storage(long size, int flags) {
+        checkMutable();
+        bindForUpload();
+        gl().bufferStorage(GL_COPY_WRITE_BUFFER, size, MemoryAddress.NULL, flags);
+        this.size = size;
+        resized();
+        immutable = true;
+    }
+
+    /**
+     * Creates an immutable data store with the given data with {@code glBufferStorage}.
+     * Requires OpenGL 4.4 or {@code GL_ARB_buffer_storage}.
+     *
+     * @param data  the data
+     * @param flags the storage flags, e.g. {@code 0} for static data
+     * @throws IllegalStateException if the data store is immutable
+     */
+    public void storage(MemorySegment data, int flags) {
+        checkMutable();
+        bindForUpload();
+        gl().bufferStorage(GL_COPY_WRITE_BUFFER, data.byteSize(), data, flags);
+        size = data.byteSize();
+        resized();
+        immutable = true;
+    }
+
+    /**
+     * Updates a part of the data store.
+     *
+     * @param offset the byte offset
+     * @param data   the data
+     */
+    public void subData(long offset, MemorySegment data) {
+        bindForUpload();
+        gl().bufferSubData(GL_COPY_WRITE_BUFFER, offset, data.byteSize(), data);
+    }
+
+    /**
+     * Updates a part of the data store.
+     *
+     * @param offset the byte offset
+     * @param data   the data
+     */
+    public void subData(long offset, float[] data) {
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            subData(offset, arena.allocateArray(JAVA_FLOAT, data));
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Updates a part of the data store.
+     *
+     * @param offset the byte offset
+     * @param data   the data
+     */
+    public void subData(long offset, int[] data) {
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            subData(offset, arena.allocateArray(JAVA_INT, data));
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Maps a range of the data store. The returned segment can be used by any thread
+     * and becomes inaccessible when the buffer is {@link #unmap() unmapped}.
+     *
+     * @param offset the byte offset
+     * @param length the byte length
+     * @param access the access flags, e.g. {@code GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_RANGE_BIT}
+     * @return the mapped memory
+     * @throws IllegalStateException if the buffer is already mapped, or the mapping failed
+     */
+    public MemorySegment map(long offset, long length, int access) {
+        if (mapping != null) {
+            throw new IllegalStateException("Buffer " + id + " is already mapped");
+        }
+        bindForUpload();
+        final MemoryAddress address = gl().mapBufferRange(GL_COPY_WRITE_BUFFER, offset, length, access);
+        if (address.equals(MemoryAddress.NULL)) {
+            throw new IllegalStateException("Failed to map buffer " + id);
+        }
+        mappingSession = MemorySession.openShared();
+        mapping = MemorySegment.ofAddress(address, length, mappingSession);
+        return mapping;
+    }
+
+    /**
+     * Unmaps the data store. Does nothing if the buffer is not mapped.
+     *
+     * @return {@code false} if the data store was corrupted while mapped and must be reinitialized
+     */
+    public boolean unmap() {
+        if (mapping == null) return true;
+        mapping = null;
+        if (mappingSession != null) {
+            mappingSession.close();
+            mappingSession = null;
+        }
+        bindForUpload();
+        return gl().unmapBuffer(GL_COPY_WRITE_BUFFER);
+    }
+
+    /**
+     * Binds the buffer to its target.
+     */
+    public void bind() {
+        bindTo(target);
+    }
+
+    /**
+     * Binds the buffer to an indexed binding point of its target.
+     *
+     * @param index the binding point
+     */
+    public void bindBase(int index) {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindBufferBase(target, index, id);
+        } else {
+            gl().bindBufferBase(target, index, id);
+        }
+    }
+
+    /**
+     * Binds a range of the buffer to an indexed binding point of its target.
+     *
+     * @param index  the binding point
+     * @param offset the byte offset of the range
+     * @param size   the byte size of the range
+     */
+    public void bindRange(int index, long offset, long size) {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindBufferRange(target, index, id, offset, size);
+        } else {
+            gl().bindBufferRange(target, index, id, offset, size);
+        }
+    }
+
+    /**
+     * Unmaps and deletes the buffer.
+     */
+    public void delete() {
+        if (mappingSession != null) {
+            mappingSession.close();
+            mappingSession = null;
+            mapping = null;
+        }
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.deleteBuffer(id);
+        } else {
+            gl().deleteBuffer(id);
+        }
+        if (resource != null) {
+            resource.markDeleted();
+        }
+    }
+
+    /**
+     * Closes the mapping and queues the buffer to be deleted at the end of the frame.
+     * This can be called from any thread.
+     *
+     * @throws IllegalStateException if the buffer was created without a current state manager
+     * @see GLResourceRegistry.Resource#deleteLater()
+     */
+    public void deleteLater() {
+        if (resource == null) {
+            throw new IllegalStateException("Buffer " + id + " is not tracked by a resource registry");
+        }
+        final MemorySession session = mappingSession;
+        if (session != null) {
+            mappingSession = null;
+            mapping = null;
+            session.close();
+        }
+        resource.deleteLater();
+    }
+
+    /**
+     * Gets the mapped memory.
+     *
+     * @return the mapped memory, or {@code null} if the buffer is not mapped
+     */
+    public @Nullable MemorySegment mapping() {
+        return mapping;
+    }
+
+    /**
+     * Gets the size of the data store.
+     *
+     * @return the size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the data store was created with {@code glBufferStorage}.
+     *
+     * @return {@code true} if the data store is immutable
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Gets the target of this buffer.
+     *
+     * @return the target
+     */
+    public int target() {
+        return target;
+    }
+
+    /**
+     * Gets the id of the buffer.
+     *
+     * @return the id of the buffer
+     */
+    public int id() {
+        return id;
+    }
+}
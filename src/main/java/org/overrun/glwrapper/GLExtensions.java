@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The version and the extensions of the current OpenGL context.
+ * <p>
+ * The values are queried once when the object is created.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class GLExtensions {
+    private final int majorVersion;
+    private final int minorVersion;
+    private final Set<String> extensions;
+
+    private GLExtensions(int majorVersion, int minorVersion, Set<String> extensions) {
+        this.majorVersion = majorVersion;
+        this.minorVersion = minorVersion;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Queries the version and the extensions of the current context.
+     *
+     * @return the extensions of the current context
+     */
+    public static GLExtensions load() {
+        final int major = gl().getInteger(GL_MAJOR_VERSION);
+        final int minor = gl().getInteger(GL_MINOR_VERSION);
+        final int count = gl().getInteger(GL_NUM_EXTENSIONS);
+        final Set<String> extensions = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            extensions.add(gl().getStringi(GL_EXTENSIONS, i));
+        }
+        return new GLExtensions(major, minor, Set.copyOf(extensions));
+    }
+
+    /**
+     * Checks whether the context supports the extension.
+     *
+     * @param name the extension name, e.g. {@code "GL_KHR_parallel_shader_compile"}
+     * @return {@code true} if the extension is supported
+     */
+    public boolean has(String name) {
+        return extensions.contains(name);
+    }
+
+    /**
+     * Checks whether the context version is at least the given version.
+     *
+     * @param major the major version
+     * @param minor the minor version
+     * @return {@code true} if the context version is at least {@code major.minor}
+     */
+    public boolean versionAtLeast(int major, int minor) {
+        return majorVersion > major || (majorVersion == major && minorVersion >= minor);
+    }
+
+    /**
+     * Gets the major version of the context.
+     *
+     * @return the major version
+     */
+    public int majorVersion() {
+        return majorVersion;
+    }
+
+    /**
+     * Gets the minor version of the context.
+     *
+     * @return the minor version
+     */
+    public int minorVersion() {
+        return minorVersion;
+    }
+
+    /**
+     * Gets all extensions of the context.
+     *
+     * @return the extension names
+     */
+    public Set<String> extensions() {
+        return extensions;
+    }
+}
@@ -33,8 +33,13 @@ import org.overrun.glib.util.ValueInt4;
 
 import java.lang.foreign.Addressable;
 import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
 import java.util.function.Supplier;
 
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.glfw;
+
 /**
  * The GLFW window object.
  *
@@ -45,6 +50,28 @@ public final class GLFWWindow {
     private final MemoryAddress handle;
     private String title;
     private final MemoryAddress share;
+    private final GLStateManager stateManager = new GLStateManager();
+    private final MemorySegment scratch = MemorySegment.allocateNative(16, 8, MemorySession.openImplicit());
+    private final MemorySegment scratch0 = scratch.asSlice(0, 4);
+    private final MemorySegment scratch4 = scratch.asSlice(4, 4);
+    private final MemorySegment scratch8 = scratch.asSlice(8, 4);
+    private final MemorySegment scratch12 = scratch.asSlice(12, 4);
+    private final MemorySegment scratchDouble0 = scratch.asSlice(0, 8);
+    private final MemorySegment scratchDouble8 = scratch.asSlice(8, 8);
+    private boolean geometryCache;
+    private int width, height;
+    private int framebufferWidth, framebufferHeight;
+    private double cursorX, cursorY;
+    private @Nullable IGLFWWindowSizeFun sizeCallback;
+    private @Nullable IGLFWFramebufferSizeFun framebufferSizeCallback;
+    private @Nullable IGLFWCursorPosFun cursorPosCallback;
+    private @Nullable InputEventQueue inputQueue;
+    private @Nullable FrameTimer frameTimer;
+    private @Nullable IGLFWKeyFun keyCallback;
+    private @Nullable IGLFWCharFun charCallback;
+    private @Nullable IGLFWMouseButtonFun mouseButtonCallback;
+    private @Nullable IGLFWCursorEnterFun cursorEnterCallback;
+    private @Nullable IGLFWScrollFun scrollCallback;
 
     /**
      * Creates a GLFW window and its associated context with the passed parameters.
@@ -65,7 +92,7 @@ public final class GLFWWindow {
                       MemoryAddress monitor, MemoryAddress share) {
         this.title = title;
         this.share = share;
-        handle = GLFW.createWindow(width, height, title, monitor, share);
+        handle = glfw().createWindow(width, height, title, monitor, share);
     }
 
     /**
@@ -206,8 +233,7 @@ public final class GLFWWindow {
      * Destroys the specified window and its context.
      */
     public void destroy() {
-        Callbacks.free(handle);
-        GLFW.destroyWindow(handle);
+        glfw().destroyWindow(handle);
     }
 
     /**
@@ -216,7 +242,7 @@ public final class GLFWWindow {
      * @return The value of the close flag.
      */
     public boolean shouldClose() {
-        return GLFW.windowShouldClose(handle);
+        return glfw().windowShouldClose(handle);
     }
 
     /**
@@ -225,7 +251,7 @@ public final class GLFWWindow {
      * @param value The new value.
      */
     public void setShouldClose(boolean value) {
-        GLFW.setWindowShouldClose(handle, value);
+        glfw().setWindowShouldClose(handle, value);
     }
 
     /**
@@ -288,7 +314,19 @@ public final class GLFWWindow {
      * @return the xy-coordinate of the upper-left corner of the content area.
      */
     public ValueInt2 getPos() {
-        return GLFW.getWindowPos(handle);
+        return glfw().getWindowPos(handle);
+    }
+
+    /**
+     * Retrieves the position of the content area of the specified window without allocating.
+     *
+     * @param xpos Where to store the x-coordinate of the upper-left corner of the content area, or {@code null}.
+     * @param ypos Where to store the y-coordinate of the upper-left corner of the content area, or {@code null}.
+     */
+    public void getPos(int @Nullable [] xpos, int @Nullable [] ypos) {
+        glfw().ngetWindowPos(handle, scratch0, scratch4);
+        if (xpos != null) xpos[0] = scratch.get(JAVA_INT, 0);
+        if (ypos != null) ypos[0] = scratch.get(JAVA_INT, 4);
     }
 
     /**
@@ -307,7 +345,19 @@ public final class GLFWWindow {
      * @return the width and height, in screen coordinates, of the content area.
      */
     public ValueInt2 getSize() {
-        return GLFW.getWindowSize(handle);
+        return glfw().getWindowSize(handle);
+    }
+
+    /**
+     * Retrieves the size of the content area of the specified window without allocating.
+     *
+     * @param width  Where to store the width, in screen coordinates, of the content area, or {@code null}.
+     * @param height Where to store the height, in screen coordinates, of the content area, or {@code null}.
+     */
+    public void getSize(int @Nullable [] width, int @Nullable [] height) {
+        glfw().ngetWindowSize(handle, scratch0, scratch4);
+        if (width != null) width[0] = scratch.get(JAVA_INT, 0);
+        if (height != null) height[0] = scratch.get(JAVA_INT, 4);
     }
 
     /**
@@ -347,7 +397,7 @@ public final class GLFWWindow {
      *               content area.
      */
     public void setSize(int width, int height) {
-        GLFW.setWindowSize(handle, width, height);
+        glfw().setWindowSize(handle, width, height);
     }
 
     /**
@@ -356,7 +406,19 @@ public final class GLFWWindow {
      * @return the width and height, in pixels, of the framebuffer.
      */
     public ValueInt2 getFramebufferSize() {
-        return GLFW.getFramebufferSize(handle);
+        return glfw().getFramebufferSize(handle);
+    }
+
+    /**
+     * Retrieves the size of the framebuffer of the specified window without allocating.
+     *
+     * @param width  Where to store the width, in pixels, of the framebuffer, or {@code null}.
+     * @param height Where to store the height, in pixels, of the framebuffer, or {@code null}.
+     */
+    public void getFramebufferSize(int @Nullable [] width, int @Nullable [] height) {
+        glfw().ngetFramebufferSize(handle, scratch0, scratch4);
+        if (width != null) width[0] = scratch.get(JAVA_INT, 0);
+        if (height != null) height[0] = scratch.get(JAVA_INT, 4);
     }
 
     /**
@@ -366,7 +428,23 @@ public final class GLFWWindow {
      * edge of the window frame.
      */
     public ValueInt4 getFrameSize() {
-        return GLFW.getWindowFrameSize(handle);
+        return glfw().getWindowFrameSize(handle);
+    }
+
+    /**
+     * Retrieves the size of the frame of the window without allocating.
+     *
+     * @param left   Where to store the size, in screen coordinates, of the left edge of the window frame, or {@code null}.
+     * @param top    Where to store the size, in screen coordinates, of the top edge of the window frame, or {@code null}.
+     * @param right  Where to store the size, in screen coordinates, of the right edge of the window frame, or {@code null}.
+     * @param bottom Where to store the size, in screen coordinates, of the bottom edge of the window frame, or {@code null}.
+     */
+    public void getFrameSize(int @Nullable [] left, int @Nullable [] top, int @Nullable [] right, int @Nullable [] bottom) {
+        glfw().ngetWindowFrameSize(handle, scratch0, scratch4, scratch8, scratch12);
+        if (left != null) left[0] = scratch.get(JAVA_INT, 0);
+        if (top != null) top[0] = scratch.get(JAVA_INT, 4);
+        if (right != null) right[0] = scratch.get(JAVA_INT, 8);
+        if (bottom != null) bottom[0] = scratch.get(JAVA_INT, 12);
     }
 
     /**
@@ -375,7 +453,19 @@ public final class GLFWWindow {
      * @return the xy-axis content scale.
      */
     public ValueFloat2 getContentScale() {
-        return GLFW.getWindowContentScale(handle);
+        return glfw().getWindowContentScale(handle);
+    }
+
+    /**
+     * Retrieves the content scale for the specified window without allocating.
+     *
+     * @param xscale Where to store the x-axis content scale, or {@code null}.
+     * @param yscale Where to store the y-axis content scale, or {@code null}.
+     */
+    public void getContentScale(float @Nullable [] xscale, float @Nullable [] yscale) {
+        glfw().ngetWindowContentScale(handle, scratch0, scratch4);
+        if (xscale != null) xscale[0] = scratch.get(JAVA_FLOAT, 0);
+        if (yscale != null) yscale[0] = scratch.get(JAVA_FLOAT, 4);
     }
 
     /**
@@ -528,6 +618,9 @@ public final class GLFWWindow {
 
     /**
      * Sets the size callback for the specified window.
+     * <p>
+     * If the {@link #enableGeometryCache() geometry cache} is enabled, the callback is invoked by the cache
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -535,7 +628,11 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setSizeCallback(@Nullable IGLFWWindowSizeFun callback) {
-        return GLFW.setWindowSizeCallback(handle, callback);
+        sizeCallback = callback;
+        if (geometryCache) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setWindowSizeCallback(handle, callback);
     }
 
     /**
@@ -600,6 +697,9 @@ public final class GLFWWindow {
 
     /**
      * Sets the framebuffer resize callback for the specified window.
+     * <p>
+     * If the {@link #enableGeometryCache() geometry cache} is enabled, the callback is invoked by the cache
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -607,7 +707,11 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setFramebufferSizeCallback(@Nullable IGLFWFramebufferSizeFun callback) {
-        return GLFW.setFramebufferSizeCallback(handle, callback);
+        framebufferSizeCallback = callback;
+        if (geometryCache) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setFramebufferSizeCallback(handle, callback);
     }
 
     /**
@@ -676,7 +780,20 @@ public final class GLFWWindow {
      * @return the cursor xy-coordinate, relative to the left and top edge of the content area.
      */
     public ValueDouble2 getCursorPos() {
-        return GLFW.getCursorPos(handle);
+        return glfw().getCursorPos(handle);
+    }
+
+    /**
+     * Retrieves the position of the cursor relative to the content area of
+     * the window without allocating.
+     *
+     * @param xpos Where to store the cursor x-coordinate, relative to the left edge of the content area, or {@code null}.
+     * @param ypos Where to store the cursor y-coordinate, relative to the top edge of the content area, or {@code null}.
+     */
+    public void getCursorPos(double @Nullable [] xpos, double @Nullable [] ypos) {
+        glfw().ngetCursorPos(handle, scratchDouble0, scratchDouble8);
+        if (xpos != null) xpos[0] = scratch.get(JAVA_DOUBLE, 0);
+        if (ypos != null) ypos[0] = scratch.get(JAVA_DOUBLE, 8);
     }
 
     /**
@@ -704,6 +821,9 @@ public final class GLFWWindow {
 
     /**
      * Sets the key callback.
+     * <p>
+     * If the {@link #enableInputQueue() input queue} is enabled, the callback is invoked after the event is queued
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new key callback, or {@code null} to remove the currently
      *                 set callback.
@@ -711,11 +831,18 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setKeyCallback(@Nullable IGLFWKeyFun callback) {
-        return GLFW.setKeyCallback(handle, callback);
+        keyCallback = callback;
+        if (inputQueue != null) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setKeyCallback(handle, callback);
     }
 
     /**
      * Sets the Unicode character callback.
+     * <p>
+     * If the {@link #enableInputQueue() input queue} is enabled, the callback is invoked after the event is queued
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -723,11 +850,18 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setCharCallback(@Nullable IGLFWCharFun callback) {
-        return GLFW.setCharCallback(handle, callback);
+        charCallback = callback;
+        if (inputQueue != null) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setCharCallback(handle, callback);
     }
 
     /**
      * Sets the mouse button callback.
+     * <p>
+     * If the {@link #enableInputQueue() input queue} is enabled, the callback is invoked after the event is queued
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -735,11 +869,18 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setMouseButtonCallback(@Nullable IGLFWMouseButtonFun callback) {
-        return GLFW.setMouseButtonCallback(handle, callback);
+        mouseButtonCallback = callback;
+        if (inputQueue != null) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setMouseButtonCallback(handle, callback);
     }
 
     /**
      * Sets the cursor position callback.
+     * <p>
+     * If the {@link #enableGeometryCache() geometry cache} or the {@link #enableInputQueue() input queue}
+     * is enabled, the callback is invoked by them and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -747,11 +888,18 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setCursorPosCallback(@Nullable IGLFWCursorPosFun callback) {
-        return GLFW.setCursorPosCallback(handle, callback);
+        cursorPosCallback = callback;
+        if (cursorPosHooked()) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setCursorPosCallback(handle, callback);
     }
 
     /**
      * Sets the cursor enter/leave callback.
+     * <p>
+     * If the {@link #enableInputQueue() input queue} is enabled, the callback is invoked after the event is queued
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new callback, or {@code null} to remove the currently set
      *                 callback.
@@ -759,11 +907,18 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setCursorEnterCallback(@Nullable IGLFWCursorEnterFun callback) {
-        return GLFW.setCursorEnterCallback(handle, callback);
+        cursorEnterCallback = callback;
+        if (inputQueue != null) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setCursorEnterCallback(handle, callback);
     }
 
     /**
      * Sets the scroll callback.
+     * <p>
+     * If the {@link #enableInputQueue() input queue} is enabled, the callback is invoked after the event is queued
+     * and {@link MemoryAddress#NULL NULL} is returned.
      *
      * @param callback The new scroll callback, or {@code null} to remove the
      *                 currently set callback.
@@ -771,7 +926,11 @@ public final class GLFWWindow {
      * library had not been <a href="https://www.glfw.org/docs/latest/intro_guide.html#intro_init">initialized</a>.
      */
     public MemoryAddress setScrollCallback(@Nullable IGLFWScrollFun callback) {
-        return GLFW.setScrollCallback(handle, callback);
+        scrollCallback = callback;
+        if (inputQueue != null) {
+            return MemoryAddress.NULL;
+        }
+        return glfw().setScrollCallback(handle, callback);
     }
 
     /**
@@ -787,17 +946,295 @@ public final class GLFWWindow {
     }
 
     /**
-     * Makes the context of the specified window current for the calling thread.
+     * Makes the context of the specified window current for the calling thread,
+     * and makes its {@link #stateManager() state manager} current.
      */
     public void makeContextCurrent() {
-        GLFW.makeContextCurrent(handle);
+        glfw().makeContextCurrent(handle);
+        GLStateManager.makeCurrent(stateManager);
+    }
+
+    /**
+     * Releases the context current on the calling thread, and its state manager,
+     * so that the calling thread has no {@link GLStateManager#current() current state manager}.
+     */
+    public static void releaseCurrentContext() {
+        glfw().makeContextCurrent(MemoryAddress.NULL);
+        GLStateManager.makeCurrent(null);
+    }
+
+    /**
+     * Enables the geometry cache.
+     * <p>
+     * The cache keeps the window size, the framebuffer size and the cursor position up to date
+     * from the size, framebuffer size and cursor position callbacks, so {@link #width()},
+     * {@link #height()}, {@link #framebufferWidth()}, {@link #framebufferHeight()}, {@link #cursorX()}
+     * and {@link #cursorY()} read a field instead of querying GLFW.
+     * The callbacks set by {@link #setSizeCallback}, {@link #setFramebufferSizeCallback} and
+     * {@link #setCursorPosCallback} are still invoked.
+     * <p>
+     * The cached values are updated during event processing, on the thread that polls the events.
+     */
+    public void enableGeometryCache() {
+        if (geometryCache) return;
+        geometryCache = true;
+        glfw().ngetWindowSize(handle, scratch0, scratch4);
+        width = scratch.get(JAVA_INT, 0);
+        height = scratch.get(JAVA_INT, 4);
+        glfw().ngetFramebufferSize(handle, scratch0, scratch4);
+        framebufferWidth = scratch.get(JAVA_INT, 0);
+        framebufferHeight = scratch.get(JAVA_INT, 4);
+        glfw().ngetCursorPos(handle, scratchDouble0, scratchDouble8);
+        cursorX = scratch.get(JAVA_DOUBLE, 0);
+        cursorY = scratch.get(JAVA_DOUBLE, 8);
+        glfw().setWindowSizeCallback(handle, (window, w, h) -> {
+            width = w;
+            height = h;
+            if (sizeCallback != null) sizeCallback.invoke(window, w, h);
+        });
+        glfw().setFramebufferSizeCallback(handle, (window, w, h) -> {
+            framebufferWidth = w;
+            framebufferHeight = h;
+            if (framebufferSizeCallback != null) framebufferSizeCallback.invoke(window, w, h);
+        });
+        if (inputQueue == null) {
+            glfw().setCursorPosCallback(handle, this::onCursorPos);
+        }
+    }
+
+    /**
+     * Disables the geometry cache and restores the callbacks set by the user.
+     */
+    public void disableGeometryCache() {
+        if (!geometryCache) return;
+        geometryCache = false;
+        glfw().setWindowSizeCallback(handle, sizeCallback);
+        glfw().setFramebufferSizeCallback(handle, framebufferSizeCallback);
+        if (inputQueue == null) {
+            glfw().setCursorPosCallback(handle, cursorPosCallback);
+        }
+    }
+
+    private boolean cursorPosHooked() {
+        return geometryCache || inputQueue != null;
+    }
+
+    private void onCursorPos(MemoryAddress window, double x, double y) {
+        if (geometryCache) {
+            cursorX = x;
+            cursorY = y;
+        }
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushCursorPos(x, y);
+        if (cursorPosCallback != null) cursorPosCallback.invoke(window, x, y);
+    }
+
+    private void onKey(MemoryAddress window, int key, int scancode, int action, int mods) {
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushKey(key, scancode, action, mods);
+        if (keyCallback != null) keyCallback.invoke(window, key, scancode, action, mods);
+    }
+
+    private void onChar(MemoryAddress window, int codepoint) {
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushChar(codepoint);
+        if (charCallback != null) charCallback.invoke(window, codepoint);
+    }
+
+    private void onMouseButton(MemoryAddress window, int button, int action, int mods) {
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushMouseButton(button, action, mods);
+        if (mouseButtonCallback != null) mouseButtonCallback.invoke(window, button, action, mods);
+    }
+
+    private void onCursorEnter(MemoryAddress window, boolean entered) {
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushCursorEnter(entered);
+        if (cursorEnterCallback != null) cursorEnterCallback.invoke(window, entered);
+    }
+
+    private void onScroll(MemoryAddress window, double x, double y) {
+        final InputEventQueue queue = inputQueue;
+        if (queue != null) queue.pushScroll(x, y);
+        if (scrollCallback != null) scrollCallback.invoke(window, x, y);
+    }
+
+    /**
+     * Enables the input queue with the {@link InputEventQueue#DEFAULT_CAPACITY default capacity}.
+     *
+     * @return the input queue
+     * @see #enableInputQueue(int)
+     */
+    public InputEventQueue enableInputQueue() {
+        return enableInputQueue(InputEventQueue.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Enables the input queue.
+     * <p>
+     * The key, character, mouse button, cursor position, cursor enter and scroll events are pushed
+     * to the queue by the thread that polls the events, and can be {@link InputEventQueue#drain drained}
+     * by another thread. The callbacks set by {@link #setKeyCallback}, {@link #setCharCallback},
+     * {@link #setMouseButtonCallback}, {@link #setCursorPosCallback}, {@link #setCursorEnterCallback}
+     * and {@link #setScrollCallback} are still invoked on the polling thread.
+     * <p>
+     * If the queue is already enabled, the existing queue is returned.
+     *
+     * @param capacity the count of the events that the queue can hold
+     * @return the input queue
+     */
+    public InputEventQueue enableInputQueue(int capacity) {
+        if (inputQueue != null) return inputQueue;
+        final boolean hooked = cursorPosHooked();
+        inputQueue = new InputEventQueue(capacity);
+        glfw().setKeyCallback(handle, this::onKey);
+        glfw().setCharCallback(handle, this::onChar);
+        glfw().setMouseButtonCallback(handle, this::onMouseButton);
+        glfw().setCursorEnterCallback(handle, this::onCursorEnter);
+        glfw().setScrollCallback(handle, this::onScroll);
+        if (!hooked) {
+            glfw().setCursorPosCallback(handle, this::onCursorPos);
+        }
+        return inputQueue;
+    }
+
+    /**
+     * Disables the input queue and restores the callbacks set by the user.
+     * The pending events are discarded.
+     */
+    public void disableInputQueue() {
+        if (inputQueue == null) return;
+        inputQueue = null;
+        glfw().setKeyCallback(handle, keyCallback);
+        glfw().setCharCallback(handle, charCallback);
+        glfw().setMouseButtonCallback(handle, mouseButtonCallback);
+        glfw().setCursorEnterCallback(handle, cursorEnterCallback);
+        glfw().setScrollCallback(handle, scrollCallback);
+        if (!cursorPosHooked()) {
+            glfw().setCursorPosCallback(handle, cursorPosCallback);
+        }
+    }
+
+    /**
+     * Gets the input queue.
+     *
+     * @return the input queue, or {@code null} if it is not {@link #enableInputQueue() enabled}
+     */
+    public @Nullable InputEventQueue inputQueue() {
+        return inputQueue;
+    }
+
+    /**
+     * Gets the width of the content area, from the geometry cache if it is enabled.
+     *
+     * @return the width, in screen coordinates, of the content area
+     */
+    public int width() {
+        if (geometryCache) return width;
+        glfw().ngetWindowSize(handle, scratch0, MemoryAddress.NULL);
+        return scratch.get(JAVA_INT, 0);
+    }
+
+    /**
+     * Gets the height of the content area, from the geometry cache if it is enabled.
+     *
+     * @return the height, in screen coordinates, of the content area
+     */
+    public int height() {
+        if (geometryCache) return height;
+        glfw().ngetWindowSize(handle, MemoryAddress.NULL, scratch4);
+        return scratch.get(JAVA_INT, 4);
+    }
+
+    /**
+     * Gets the width of the framebuffer, from the geometry cache if it is enabled.
+     *
+     * @return the width, in pixels, of the framebuffer
+     */
+    public int framebufferWidth() {
+        if (geometryCache) return framebufferWidth;
+        glfw().ngetFramebufferSize(handle, scratch0, MemoryAddress.NULL);
+        return scratch.get(JAVA_INT, 0);
+    }
+
+    /**
+     * Gets the height of the framebuffer, from the geometry cache if it is enabled.
+     *
+     * @return the height, in pixels, of the framebuffer
+     */
+    public int framebufferHeight() {
+        if (geometryCache) return framebufferHeight;
+        glfw().ngetFramebufferSize(handle, MemoryAddress.NULL, scratch4);
+        return scratch.get(JAVA_INT, 4);
+    }
+
+    /**
+     * Gets the cursor x-coordinate, from the geometry cache if it is enabled.
+     *
+     * @return the cursor x-coordinate, relative to the left edge of the content area
+     */
+    public double cursorX() {
+        if (geometryCache) return cursorX;
+        glfw().ngetCursorPos(handle, scratchDouble0, MemoryAddress.NULL);
+        return scratch.get(JAVA_DOUBLE, 0);
+    }
+
+    /**
+     * Gets the cursor y-coordinate, from the geometry cache if it is enabled.
+     *
+     * @return the cursor y-coordinate, relative to the top edge of the content area
+     */
+    public double cursorY() {
+        if (geometryCache) return cursorY;
+        glfw().ngetCursorPos(handle, MemoryAddress.NULL, scratchDouble8);
+        return scratch.get(JAVA_DOUBLE, 8);
+    }
+
+    /**
+     * Gets the state manager of the context of this window.
+     *
+     * @return the state manager
+     */
+    public GLStateManager stateManager() {
+        return stateManager;
     }
 
     /**
      * Swaps the front and back buffers of the specified window.
+     * <p>
+     * The objects queued with {@link GLResourceRegistry.Resource#deleteLater()} are deleted first.
+     * <p>
+     * If a {@link #setFrameTimer(FrameTimer) frame timer} is set, waits for its limiter
+     * and records the frame timing.
      */
     public void swapBuffers() {
-        GLFW.swapBuffers(handle);
+        stateManager.resources().processDeletions();
+        final FrameTimer timer = frameTimer;
+        if (timer == null) {
+            glfw().swapBuffers(handle);
+            return;
+        }
+        timer.beginSwap();
+        glfw().swapBuffers(handle);
+        timer.endSwap();
+    }
+
+    /**
+     * Sets the frame timer that records the timing of each {@link #swapBuffers()}.
+     *
+     * @param frameTimer the frame timer, or {@code null} to stop recording
+     */
+    public void setFrameTimer(@Nullable FrameTimer frameTimer) {
+        this.frameTimer = frameTimer;
+    }
+
+    /**
+     * Gets the frame timer.
+     *
+     * @return the frame timer, or {@code null} if not set
+     */
+    public @Nullable FrameTimer frameTimer() {
+        return frameTimer;
     }
 
     /**
@@ -25,13 +25,25 @@
 package org.overrun.glwrapper;
 
 import org.jetbrains.annotations.Nullable;
-import org.overrun.glib.gl.GL;
 
 import java.lang.foreign.Addressable;
 import java.lang.foreign.MemorySegment;
 
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
 /**
  * The OpenGL program object.
+ * <p>
+ * The uniform locations are cached after linking, so that
+ * {@link #getUniformLocation(String)} doesn't call into OpenGL again for known names.
+ * The cache is filled on the first lookup after {@link #link()}, or eagerly with
+ * {@link #cacheUniformLocations()}; {@code link()} itself doesn't query the link status,
+ * so that it doesn't wait for the driver to finish linking.
+ * <p>
+ * The program is tracked by the {@link GLResourceRegistry} if a {@link GLStateManager} is current
+ * when it is created. Without one, {@link #use()} calls into OpenGL on each call.
  *
  * @author squid233
  * @since 0.1.0
@@ -41,18 +53,27 @@ public class GLProgram {
      * The zero program object. Only for {@code glUseProgram(0)}
      */
     public static final GLProgram ZERO = new GLProgram(0);
+    private static final int UNKNOWN_LOCATION = Integer.MIN_VALUE;
     private final int id;
+    private final @Nullable GLResourceRegistry.Resource resource;
+    private final StringIntMap uniformLocations = new StringIntMap();
+    private @Nullable UniformShadow uniformShadow;
+    private boolean uniformLocationsStale = true;
+    private @Nullable ProgramReflection reflection;
 
     public GLProgram() {
-        id = GL.createProgram();
+        id = gl().createProgram();
+        final GLStateManager state = GLStateManager.currentOrNull();
+        resource = state != null ? state.resources().register(GLResourceRegistry.Type.PROGRAM, id, 0, this) : null;
     }
 
     private GLProgram(int id) {
         this.id = id;
+        resource = null;
     }
 
     public void attachShader(int shader) {
-        GL.attachShader(id(), shader);
+        gl().attachShader(id(), shader);
     }
 
     public void attachShader(GLShader shader) {
@@ -60,19 +81,39 @@ public class GLProgram {
     }
 
     public void bindAttribLocation(int index, Addressable name) {
-        GL.bindAttribLocation(id(), index, name);
+        gl().bindAttribLocation(id(), index, name);
     }
 
     public void bindAttribLocation(int index, String name) {
-        GL.bindAttribLocation(id(), index, name);
+        gl().bindAttribLocation(id(), index, name);
     }
 
     public void delete() {
-        GL.deleteProgram(id());
+        gl().deleteProgram(id());
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.programDeleted(id());
+        }
+        if (resource != null) {
+            resource.markDeleted();
+        }
+    }
+
+    /**
+     * Queues the program to be deleted at the end of the frame. This can be called from any thread.
+     *
+     * @throws IllegalStateException if the program was created without a current state manager
+     * @see GLResourceRegistry.Resource#deleteLater()
+     */
+    public void deleteLater() {
+        if (resource == null) {
+            throw new IllegalStateException("Program " + id() + " is not tracked by a resource registry");
+        }
+        resource.deleteLater();
     }
 
     public void detachShader(int shader) {
-        GL.detachShader(id(), shader);
+        gl().detachShader(id(), shader);
     }
 
     public void detachShader(GLShader shader) {
@@ -80,863 +121,1441 @@ public class GLProgram {
     }
 
     public void getActiveAttrib(int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
-        GL.getActiveAttrib(id(), index, bufSize, length, size, type, name);
+        gl().getActiveAttrib(id(), index, bufSize, length, size, type, name);
     }
 
     public void getActiveAttrib(int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
-        GL.getActiveAttrib(id(), index, bufSize, length, size, type, name);
+        gl().getActiveAttrib(id(), index, bufSize, length, size, type, name);
     }
 
     public void getActiveUniform(int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
-        GL.getActiveUniform(id(), index, bufSize, length, size, type, name);
+        gl().getActiveUniform(id(), index, bufSize, length, size, type, name);
     }
 
     public void getActiveUniform(int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
-        GL.getActiveUniform(id(), index, bufSize, length, size, type, name);
+        gl().getActiveUniform(id(), index, bufSize, length, size, type, name);
     }
 
     public void getAttachedShaders(int maxCount, Addressable count, Addressable shaders) {
-        GL.getAttachedShaders(id(), maxCount, count, shaders);
+        gl().getAttachedShaders(id(), maxCount, count, shaders);
     }
 
     public void getAttachedShaders(int @Nullable [] count, int[] shaders) {
-        GL.getAttachedShaders(id(), count, shaders);
+        gl().getAttachedShaders(id(), count, shaders);
     }
 
     public int getAttribLocation(Addressable name) {
-        return GL.getAttribLocation(id(), name);
+        return gl().getAttribLocation(id(), name);
     }
 
     public int getAttribLocation(String name) {
-        return GL.getAttribLocation(id(), name);
+        return gl().getAttribLocation(id(), name);
     }
 
     public void getInfoLog(int bufSize, Addressable length, Addressable infoLog) {
-        GL.getProgramInfoLog(id(), bufSize, length, infoLog);
+        gl().getProgramInfoLog(id(), bufSize, length, infoLog);
     }
 
     public void getInfoLog(int bufSize, int @Nullable [] length, String[] infoLog) {
-        GL.getProgramInfoLog(id(), bufSize, length, infoLog);
+        gl().getProgramInfoLog(id(), bufSize, length, infoLog);
     }
 
     public String getInfoLog(int bufSize, int @Nullable [] length) {
-        return GL.getProgramInfoLog(id(), bufSize, length);
+        return gl().getProgramInfoLog(id(), bufSize, length);
     }
 
     public String getInfoLog() {
-        return GL.getProgramInfoLog(id());
+        return gl().getProgramInfoLog(id());
     }
 
     public void getiv(int pname, Addressable params) {
-        GL.getProgramiv(id(), pname, params);
+        gl().getProgramiv(id(), pname, params);
     }
 
     public void getiv(int pname, int[] params) {
-        GL.getProgramiv(id(), pname, params);
+        gl().getProgramiv(id(), pname, params);
     }
 
     public int geti(int pname) {
-        return GL.getProgrami(id(), pname);
+        return gl().getProgrami(id(), pname);
     }
 
     public int getUniformLocation(Addressable name) {
-        return GL.getUniformLocation(id(), name);
+        return gl().getUniformLocation(id(), name);
     }
 
+    /**
+     * Gets the location of the uniform variable.
+     * <p>
+     * The result is read from the location cache; names that are not cached yet
+     * are queried from OpenGL once and then cached.
+     *
+     * @param name the name of the uniform variable
+     * @return the location of the uniform variable, or {@code -1}
+     */
     public int getUniformLocation(String name) {
-        return GL.getUniformLocation(id(), name);
+        if (uniformLocationsStale) {
+            cacheUniformLocations();
+        }
+        int location = uniformLocations.get(name, UNKNOWN_LOCATION);
+        if (location == UNKNOWN_LOCATION) {
+            location = gl().getUniformLocation(id(), name);
+            uniformLocations.put(name, location);
+        }
+        return location;
     }
 
     public void getUniformfv(int location, Addressable params) {
-        GL.getUniformfv(id(), location, params);
+        gl().getUniformfv(id(), location, params);
     }
 
     public void getUniformfv(int location, float[] params) {
-        GL.getUniformfv(id(), location, params);
+        gl().getUniformfv(id(), location, params);
     }
 
     public float getUniformf(int location) {
-        return GL.getUniformf(id(), location);
+        return gl().getUniformf(id(), location);
     }
 
     public void getUniformiv(int location, Addressable params) {
-        GL.getUniformiv(id(), location, params);
+        gl().getUniformiv(id(), location, params);
     }
 
     public void getUniformiv(int location, int[] params) {
-        GL.getUniformiv(id(), location, params);
+        gl().getUniformiv(id(), location, params);
     }
 
     public int getUniformi(int location) {
-        return GL.getUniformi(id(), location);
+        return gl().getUniformi(id(), location);
     }
 
     public boolean isProgram() {
-        return GL.isProgram(id());
+        return gl().isProgram(id());
     }
 
     public void link() {
-        GL.linkProgram(id());
+        gl().linkProgram(id());
+        invalidateUniformLocations();
     }
 
+    private void invalidateUniformLocations() {
+        uniformLocationsStale = true;
+        reflection = null;
+        if (uniformShadow != null) {
+            uniformShadow.invalidate();
+        }
+    }
+
+    /**
+     * Clears the uniform location cache and fills it with all active uniforms.
+     * <p>
+     * This is done automatically on the first lookup after {@link #link()} and
+     * {@link #binary(int, Addressable, int) binary}.
+     * Call it manually if the program is linked without this wrapper.
+     */
+    public void cacheUniformLocations() {
+        uniformLocationsStale = false;
+        if (geti(GL_LINK_STATUS) == GL_FALSE) {
+            uniformLocations.clear(0);
+            return;
+        }
+        final int count = geti(GL_ACTIVE_UNIFORMS);
+        final int maxLength = geti(GL_ACTIVE_UNIFORM_MAX_LENGTH);
+        uniformLocations.clear(count);
+        for (int i = 0; i < count; i++) {
+            final String name = getActiveUniformName(i, maxLength);
+            final int location = gl().getUniformLocation(id(), name);
+            uniformLocations.put(name, location);
+            // arrays are reported as "name[0]", but "name" is also valid
+            if (name.endsWith("[0]")) {
+                uniformLocations.put(name.substring(0, name.length() - 3), location);
+            }
+        }
+    }
+
+    /**
+     * Gets the active uniforms, attributes and blocks of this program, reflecting them on the first call
+     * after {@link #link()} and {@link #binary(int, Addressable, int) binary}.
+     * <p>
+     * The typed uniform handles of the reflection become invalid when the program is linked again.
+     *
+     * @return the reflection
+     */
+    public ProgramReflection reflection() {
+        if (reflection == null) {
+            reflection = ProgramReflection.reflect(this);
+        }
+        return reflection;
+    }
+
+    /**
+     * Installs this program as part of the current rendering state.
+     * The call is skipped if the program is already in use, as seen by the current state manager.
+     *
+     * @see GLStateManager#useProgram(int)
+     */
     public void use() {
-        GL.useProgram(id());
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.useProgram(id());
+        } else {
+            gl().useProgram(id());
+        }
     }
 
     public void validate() {
-        GL.validateProgram(id());
+        gl().validateProgram(id());
     }
 
     public void bindFragDataLocation(int color, Addressable name) {
-        GL.bindFragDataLocation(id(), color, name);
+        gl().bindFragDataLocation(id(), color, name);
     }
 
     public void bindFragDataLocation(int color, String name) {
-        GL.bindFragDataLocation(id(), color, name);
+        gl().bindFragDataLocation(id(), color, name);
     }
 
     public int getFragDataLocation(Addressable name) {
-        return GL.getFragDataLocation(id(), name);
+        return gl().getFragDataLocation(id(), name);
     }
 
     public int getFragDataLocation(String name) {
-        return GL.getFragDataLocation(id(), name);
+        return gl().getFragDataLocation(id(), name);
     }
 
     public void getTransformFeedbackVarying(int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
-        GL.getTransformFeedbackVarying(id(), index, bufSize, length, size, type, name);
+        gl().getTransformFeedbackVarying(id(), index, bufSize, length, size, type, name);
     }
 
     public void getTransformFeedbackVarying(int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
-        GL.getTransformFeedbackVarying(id(), index, bufSize, length, size, type, name);
+        gl().getTransformFeedbackVarying(id(), index, bufSize, length, size, type, name);
     }
 
     public void getUniformuiv(int location, Addressable params) {
-        GL.getUniformuiv(id(), location, params);
+        gl().getUniformuiv(id(), location, params);
     }
 
     public void getUniformuiv(int location, int[] params) {
-        GL.getUniformuiv(id(), location, params);
+        gl().getUniformuiv(id(), location, params);
     }
 
     public int getUniformui(int location) {
-        return GL.getUniformui(id(), location);
+        return gl().getUniformui(id(), location);
     }
 
     public void transformFeedbackVaryings(int count, Addressable varyings, int bufferMode) {
-        GL.transformFeedbackVaryings(id(), count, varyings, bufferMode);
+        gl().transformFeedbackVaryings(id(), count, varyings, bufferMode);
     }
 
     public void transformFeedbackVaryings(String[] varyings, int bufferMode) {
-        GL.transformFeedbackVaryings(id(), varyings, bufferMode);
+        gl().transformFeedbackVaryings(id(), varyings, bufferMode);
     }
 
     public void getActiveUniformBlockName(int uniformBlockIndex, int bufSize, Addressable length, Addressable uniformBlockName) {
-        GL.getActiveUniformBlockName(id(), uniformBlockIndex, bufSize, length, uniformBlockName);
+        gl().getActiveUniformBlockName(id(), uniformBlockIndex, bufSize, length, uniformBlockName);
     }
 
     public void getActiveUniformBlockName(int uniformBlockIndex, int bufSize, int @Nullable [] length, String[] uniformBlockName) {
-        GL.getActiveUniformBlockName(id(), uniformBlockIndex, bufSize, length, uniformBlockName);
+        gl().getActiveUniformBlockName(id(), uniformBlockIndex, bufSize, length, uniformBlockName);
     }
 
     public String getActiveUniformBlockName(int uniformBlockIndex, int bufSize) {
-        return GL.getActiveUniformBlockName(id(), uniformBlockIndex, bufSize);
+        return gl().getActiveUniformBlockName(id(), uniformBlockIndex, bufSize);
     }
 
     public void getActiveUniformBlockiv(int uniformBlockIndex, int pname, Addressable params) {
-        GL.getActiveUniformBlockiv(id(), uniformBlockIndex, pname, params);
+        gl().getActiveUniformBlockiv(id(), uniformBlockIndex, pname, params);
     }
 
     public void getActiveUniformBlockiv(int uniformBlockIndex, int pname, int[] params) {
-        GL.getActiveUniformBlockiv(id(), uniformBlockIndex, pname, params);
+        gl().getActiveUniformBlockiv(id(), uniformBlockIndex, pname, params);
     }
 
     public void getActiveUniformName(int uniformIndex, int bufSize, Addressable length, Addressable uniformName) {
-        GL.getActiveUniformName(id(), uniformIndex, bufSize, length, uniformName);
+        gl().getActiveUniformName(id(), uniformIndex, bufSize, length, uniformName);
     }
 
     public void getActiveUniformName(int uniformIndex, int bufSize, int @Nullable [] length, String[] uniformName) {
-        GL.getActiveUniformName(id(), uniformIndex, bufSize, length, uniformName);
+        gl().getActiveUniformName(id(), uniformIndex, bufSize, length, uniformName);
     }
 
     public String getActiveUniformName(int uniformIndex, int bufSize) {
-        return GL.getActiveUniformName(id(), uniformIndex, bufSize);
+        return gl().getActiveUniformName(id(), uniformIndex, bufSize);
     }
 
     public void getActiveUniformsiv(int uniformCount, Addressable uniformIndices, int pname, Addressable params) {
-        GL.getActiveUniformsiv(id(), uniformCount, uniformIndices, pname, params);
+        gl().getActiveUniformsiv(id(), uniformCount, uniformIndices, pname, params);
     }
 
     public void getActiveUniformsiv(int[] uniformIndices, int pname, int[] params) {
-        GL.getActiveUniformsiv(id(), uniformIndices, pname, params);
+        gl().getActiveUniformsiv(id(), uniformIndices, pname, params);
     }
 
     public int getActiveUniformi(int uniformIndex, int pname) {
-        return GL.getActiveUniformi(id(), uniformIndex, pname);
+        return gl().getActiveUniformi(id(), uniformIndex, pname);
     }
 
     public int getUniformBlockIndex(Addressable uniformBlockName) {
-        return GL.getUniformBlockIndex(id(), uniformBlockName);
+        return gl().getUniformBlockIndex(id(), uniformBlockName);
     }
 
     public int getUniformBlockIndex(String uniformBlockName) {
-        return GL.getUniformBlockIndex(id(), uniformBlockName);
+        return gl().getUniformBlockIndex(id(), uniformBlockName);
     }
 
     public void getUniformIndices(int uniformCount, Addressable uniformNames, Addressable uniformIndices) {
-        GL.getUniformIndices(id(), uniformCount, uniformNames, uniformIndices);
+        gl().getUniformIndices(id(), uniformCount, uniformNames, uniformIndices);
     }
 
     public void getUniformIndices(String[] uniformNames, int[] uniformIndices) {
-        GL.getUniformIndices(id(), uniformNames, uniformIndices);
+        gl().getUniformIndices(id(), uniformNames, uniformIndices);
     }
 
     public int getUniformIndex(String uniformName) {
-        return GL.getUniformIndex(id(), uniformName);
+        return gl().getUniformIndex(id(), uniformName);
     }
 
     public void uniformBlockBinding(int uniformBlockIndex, int uniformBlockBinding) {
-        GL.uniformBlockBinding(id(), uniformBlockIndex, uniformBlockBinding);
+        gl().uniformBlockBinding(id(), uniformBlockIndex, uniformBlockBinding);
     }
 
     public void bindFragDataLocationIndexed(int colorNumber, int index, Addressable name) {
-        GL.bindFragDataLocationIndexed(id(), colorNumber, index, name);
+        gl().bindFragDataLocationIndexed(id(), colorNumber, index, name);
     }
 
     public void bindFragDataLocationIndexed(int colorNumber, int index, String name) {
-        GL.bindFragDataLocationIndexed(id(), colorNumber, index, name);
+        gl().bindFragDataLocationIndexed(id(), colorNumber, index, name);
     }
 
     public int getFragDataIndex(Addressable name) {
-        return GL.getFragDataIndex(id(), name);
+        return gl().getFragDataIndex(id(), name);
     }
 
     public int getFragDataIndex(String name) {
-        return GL.getFragDataIndex(id(), name);
+        return gl().getFragDataIndex(id(), name);
     }
 
     public void getActiveSubroutineName(int shaderType, int index, int bufSize, Addressable length, Addressable name) {
-        GL.getActiveSubroutineName(id(), shaderType, index, bufSize, length, name);
+        gl().getActiveSubroutineName(id(), shaderType, index, bufSize, length, name);
     }
 
     public String getActiveSubroutineName(int shaderType, int index, int bufSize) {
-        return GL.getActiveSubroutineName(id(), shaderType, index, bufSize);
+        return gl().getActiveSubroutineName(id(), shaderType, index, bufSize);
     }
 
     public void getActiveSubroutineUniformName(int shaderType, int index, int bufSize, Addressable length, Addressable name) {
-        GL.getActiveSubroutineUniformName(id(), shaderType, index, bufSize, length, name);
+        gl().getActiveSubroutineUniformName(id(), shaderType, index, bufSize, length, name);
     }
 
     public String getActiveSubroutineUniformName(int shaderType, int index, int bufSize) {
-        return GL.getActiveSubroutineUniformName(id(), shaderType, index, bufSize);
+        return gl().getActiveSubroutineUniformName(id(), shaderType, index, bufSize);
     }
 
     public void getActiveSubroutineUniformiv(int shaderType, int index, int pname, Addressable values) {
-        GL.getActiveSubroutineUniformiv(id(), shaderType, index, pname, values);
+        gl().getActiveSubroutineUniformiv(id(), shaderType, index, pname, values);
     }
 
     public void getActiveSubroutineUniformiv(int shaderType, int index, int pname, int[] values) {
-        GL.getActiveSubroutineUniformiv(id(), shaderType, index, pname, values);
+        gl().getActiveSubroutineUniformiv(id(), shaderType, index, pname, values);
     }
 
     public int getActiveSubroutineUniformi(int shaderType, int index, int pname) {
-        return GL.getActiveSubroutineUniformi(id(), shaderType, index, pname);
+        return gl().getActiveSubroutineUniformi(id(), shaderType, index, pname);
     }
 
     public void getProgramStageiv(int shaderType, int pname, Addressable values) {
-        GL.getProgramStageiv(id(), shaderType, pname, values);
+        gl().getProgramStageiv(id(), shaderType, pname, values);
     }
 
     public int getProgramStagei(int shaderType, int pname) {
-        return GL.getProgramStagei(id(), shaderType, pname);
+        return gl().getProgramStagei(id(), shaderType, pname);
     }
 
     public int getSubroutineIndex(int shaderType, Addressable name) {
-        return GL.getSubroutineIndex(id(), shaderType, name);
+        return gl().getSubroutineIndex(id(), shaderType, name);
     }
 
     public int getSubroutineIndex(int shaderType, String name) {
-        return GL.getSubroutineIndex(id(), shaderType, name);
+        return gl().getSubroutineIndex(id(), shaderType, name);
     }
 
     public int getSubroutineUniformLocation(int shaderType, Addressable name) {
-        return GL.getSubroutineUniformLocation(id(), shaderType, name);
+        return gl().getSubroutineUniformLocation(id(), shaderType, name);
     }
 
     public int getSubroutineUniformLocation(int shaderType, String name) {
-        return GL.getSubroutineUniformLocation(id(), shaderType, name);
+        return gl().getSubroutineUniformLocation(id(), shaderType, name);
     }
 
     public void getUniformdv(int location, Addressable params) {
-        GL.getUniformdv(id(), location, params);
+        gl().getUniformdv(id(), location, params);
     }
 
     public void getUniformdv(int location, double[] params) {
-        GL.getUniformdv(id(), location, params);
+        gl().getUniformdv(id(), location, params);
     }
 
     public double getUniformd(int location) {
-        return GL.getUniformd(id(), location);
+        return gl().getUniformd(id(), location);
     }
 
     public void getBinary(int bufSize, Addressable length, Addressable binaryFormat, Addressable binary) {
-        GL.getProgramBinary(id(), bufSize, length, binaryFormat, binary);
+        gl().getProgramBinary(id(), bufSize, length, binaryFormat, binary);
     }
 
     public void getBinary(int bufSize, int @Nullable [] length, int[] binaryFormat, Addressable binary) {
-        GL.getProgramBinary(id(), bufSize, length, binaryFormat, binary);
+        gl().getProgramBinary(id(), bufSize, length, binaryFormat, binary);
     }
 
     public void getBinary(int @Nullable [] length, int[] binaryFormat, MemorySegment binary) {
-        GL.getProgramBinary(id(), length, binaryFormat, binary);
+        gl().getProgramBinary(id(), length, binaryFormat, binary);
     }
 
     public void binary(int binaryFormat, Addressable binary, int length) {
-        GL.programBinary(id(), binaryFormat, binary, length);
+        gl().programBinary(id(), binaryFormat, binary, length);
+        invalidateUniformLocations();
     }
 
     public void binary(int binaryFormat, MemorySegment binary) {
-        GL.programBinary(id(), binaryFormat, binary);
+        gl().programBinary(id(), binaryFormat, binary);
+        invalidateUniformLocations();
     }
 
     public void parameteri(int pname, int value) {
-        GL.programParameteri(id(), pname, value);
+        gl().programParameteri(id(), pname, value);
     }
 
     public void uniform1d(int location, double v0) {
-        GL.programUniform1d(id(), location, v0);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D1, v0))
+            gl().programUniform1d(id(), location, v0);
     }
 
     public void uniform1dv(int location, int count, Addressable value) {
-        GL.programUniform1dv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform1dv(id(), location, count, value);
     }
 
     public void uniform1dv(int location, double[] value) {
-        GL.programUniform1dv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D1, 1, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform1dv(id(), location, value.length, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform1f(int location, float v0) {
-        GL.programUniform1f(id(), location, v0);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F1, v0))
+            gl().programUniform1f(id(), location, v0);
     }
 
     public void uniform1fv(int location, int count, Addressable value) {
-        GL.programUniform1fv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform1fv(id(), location, count, value);
     }
 
     public void uniform1fv(int location, float[] value) {
-        GL.programUniform1fv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F1, 1, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform1fv(id(), location, value.length, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform1i(int location, int v0) {
-        GL.programUniform1i(id(), location, v0);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I1, v0))
+            gl().programUniform1i(id(), location, v0);
     }
 
     public void uniform1iv(int location, int count, Addressable value) {
-        GL.programUniform1iv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform1iv(id(), location, count, value);
     }
 
     public void uniform1iv(int location, int[] value) {
-        GL.programUniform1iv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I1, 1, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform1iv(id(), location, value.length, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform1ui(int location, int v0) {
-        GL.programUniform1ui(id(), location, v0);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI1, v0))
+            gl().programUniform1ui(id(), location, v0);
     }
 
     public void uniform1uiv(int location, int count, Addressable value) {
-        GL.programUniform1uiv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform1uiv(id(), location, count, value);
     }
 
     public void uniform1uiv(int location, int[] value) {
-        GL.programUniform1uiv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI1, 1, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform1uiv(id(), location, value.length, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform2d(int location, double v0, double v1) {
-        GL.programUniform2d(id(), location, v0, v1);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D2, v0, v1))
+            gl().programUniform2d(id(), location, v0, v1);
     }
 
     public void uniform2dv(int location, int count, Addressable value) {
-        GL.programUniform2dv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform2dv(id(), location, count, value);
     }
 
     public void uniform2dv(int location, double[] value) {
-        GL.programUniform2dv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D2, 2, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform2dv(id(), location, value.length / 2, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform2f(int location, float v0, float v1) {
-        GL.programUniform2f(id(), location, v0, v1);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F2, v0, v1))
+            gl().programUniform2f(id(), location, v0, v1);
     }
 
     public void uniform2fv(int location, int count, Addressable value) {
-        GL.programUniform2fv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform2fv(id(), location, count, value);
     }
 
     public void uniform2fv(int location, float[] value) {
-        GL.programUniform2fv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F2, 2, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform2fv(id(), location, value.length / 2, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform2i(int location, int v0, int v1) {
-        GL.programUniform2i(id(), location, v0, v1);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I2, v0, v1))
+            gl().programUniform2i(id(), location, v0, v1);
     }
 
     public void uniform2iv(int location, int count, Addressable value) {
-        GL.programUniform2iv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform2iv(id(), location, count, value);
     }
 
     public void uniform2iv(int location, int[] value) {
-        GL.programUniform2iv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I2, 2, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform2iv(id(), location, value.length / 2, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform2ui(int location, int v0, int v1) {
-        GL.programUniform2ui(id(), location, v0, v1);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI2, v0, v1))
+            gl().programUniform2ui(id(), location, v0, v1);
     }
 
     public void uniform2uiv(int location, int count, Addressable value) {
-        GL.programUniform2uiv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform2uiv(id(), location, count, value);
     }
 
     public void uniform2uiv(int location, int[] value) {
-        GL.programUniform2uiv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI2, 2, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform2uiv(id(), location, value.length / 2, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform3d(int location, double v0, double v1, double v2) {
-        GL.programUniform3d(id(), location, v0, v1, v2);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D3, v0, v1, v2))
+            gl().programUniform3d(id(), location, v0, v1, v2);
     }
 
     public void uniform3dv(int location, int count, Addressable value) {
-        GL.programUniform3dv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform3dv(id(), location, count, value);
     }
 
     public void uniform3dv(int location, double[] value) {
-        GL.programUniform3dv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D3, 3, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform3dv(id(), location, value.length / 3, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform3f(int location, float v0, float v1, float v2) {
-        GL.programUniform3f(id(), location, v0, v1, v2);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F3, v0, v1, v2))
+            gl().programUniform3f(id(), location, v0, v1, v2);
     }
 
     public void uniform3fv(int location, int count, Addressable value) {
-        GL.programUniform3fv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform3fv(id(), location, count, value);
     }
 
     public void uniform3fv(int location, float[] value) {
-        GL.programUniform3fv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F3, 3, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform3fv(id(), location, value.length / 3, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform3i(int location, int v0, int v1, int v2) {
-        GL.programUniform3i(id(), location, v0, v1, v2);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I3, v0, v1, v2))
+            gl().programUniform3i(id(), location, v0, v1, v2);
     }
 
     public void uniform3iv(int location, int count, Addressable value) {
-        GL.programUniform3iv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform3iv(id(), location, count, value);
     }
 
     public void uniform3iv(int location, int[] value) {
-        GL.programUniform3iv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I3, 3, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform3iv(id(), location, value.length / 3, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform3ui(int location, int v0, int v1, int v2) {
-        GL.programUniform3ui(id(), location, v0, v1, v2);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI3, v0, v1, v2))
+            gl().programUniform3ui(id(), location, v0, v1, v2);
     }
 
     public void uniform3uiv(int location, int count, Addressable value) {
-        GL.programUniform3uiv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform3uiv(id(), location, count, value);
     }
 
     public void uniform3uiv(int location, int[] value) {
-        GL.programUniform3uiv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI3, 3, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform3uiv(id(), location, value.length / 3, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform4d(int location, double v0, double v1, double v2, double v3) {
-        GL.programUniform4d(id(), location, v0, v1, v2, v3);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D4, v0, v1, v2, v3))
+            gl().programUniform4d(id(), location, v0, v1, v2, v3);
     }
 
     public void uniform4dv(int location, int count, Addressable value) {
-        GL.programUniform4dv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform4dv(id(), location, count, value);
     }
 
     public void uniform4dv(int location, double[] value) {
-        GL.programUniform4dv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.D4, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform4dv(id(), location, value.length / 4, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform4f(int location, float v0, float v1, float v2, float v3) {
-        GL.programUniform4f(id(), location, v0, v1, v2, v3);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F4, v0, v1, v2, v3))
+            gl().programUniform4f(id(), location, v0, v1, v2, v3);
     }
 
     public void uniform4fv(int location, int count, Addressable value) {
-        GL.programUniform4fv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform4fv(id(), location, count, value);
     }
 
     public void uniform4fv(int location, float[] value) {
-        GL.programUniform4fv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.F4, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform4fv(id(), location, value.length / 4, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform4i(int location, int v0, int v1, int v2, int v3) {
-        GL.programUniform4i(id(), location, v0, v1, v2, v3);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I4, v0, v1, v2, v3))
+            gl().programUniform4i(id(), location, v0, v1, v2, v3);
     }
 
     public void uniform4iv(int location, int count, Addressable value) {
-        GL.programUniform4iv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform4iv(id(), location, count, value);
     }
 
     public void uniform4iv(int location, int[] value) {
-        GL.programUniform4iv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.I4, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform4iv(id(), location, value.length / 4, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniform4ui(int location, int v0, int v1, int v2, int v3) {
-        GL.programUniform4ui(id(), location, v0, v1, v2, v3);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI4, v0, v1, v2, v3))
+            gl().programUniform4ui(id(), location, v0, v1, v2, v3);
     }
 
     public void uniform4uiv(int location, int count, Addressable value) {
-        GL.programUniform4uiv(id(), location, count, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniform4uiv(id(), location, count, value);
     }
 
     public void uniform4uiv(int location, int[] value) {
-        GL.programUniform4uiv(id(), location, value);
+        if (uniformShadow == null || uniformShadow.update(location, UniformShadow.UI4, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniform4uiv(id(), location, value.length / 4, arena.allocateArray(JAVA_INT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix2dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2D, transpose, 4, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix2dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2D, transpose, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2dv(id(), location, value.length / 4, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix2fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2F, transpose, 4, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix2fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2F, transpose, 4, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2fv(id(), location, value.length / 4, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x3dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2x3dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2x3dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2x3dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix2x3dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X3D, transpose, 6, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x3dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x3dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix2x3dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X3D, transpose, 6, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x3dv(id(), location, value.length / 6, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x3fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2x3fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2x3fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2x3fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix2x3fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X3F, transpose, 6, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x3fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x3fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix2x3fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X3F, transpose, 6, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x3fv(id(), location, value.length / 6, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x4dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2x4dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2x4dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2x4dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix2x4dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X4D, transpose, 8, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x4dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x4dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix2x4dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X4D, transpose, 8, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x4dv(id(), location, value.length / 8, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x4fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix2x4fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix2x4fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix2x4fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix2x4fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X4F, transpose, 8, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x4fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix2x4fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix2x4fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT2X4F, transpose, 8, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix2x4fv(id(), location, value.length / 8, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix3dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3D, transpose, 9, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix3dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3D, transpose, 9, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3dv(id(), location, value.length / 9, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix3fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3F, transpose, 9, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix3fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3F, transpose, 9, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3fv(id(), location, value.length / 9, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x2dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3x2dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3x2dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3x2dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix3x2dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X2D, transpose, 6, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x2dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x2dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix3x2dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X2D, transpose, 6, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x2dv(id(), location, value.length / 6, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x2fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3x2fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3x2fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3x2fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix3x2fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X2F, transpose, 6, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x2fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x2fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix3x2fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X2F, transpose, 6, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x2fv(id(), location, value.length / 6, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x4dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3x4dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3x4dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3x4dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix3x4dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X4D, transpose, 12, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x4dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x4dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix3x4dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X4D, transpose, 12, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x4dv(id(), location, value.length / 12, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x4fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix3x4fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix3x4fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix3x4fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix3x4fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X4F, transpose, 12, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x4fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix3x4fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix3x4fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT3X4F, transpose, 12, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix3x4fv(id(), location, value.length / 12, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix4dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4D, transpose, 16, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix4dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4D, transpose, 16, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4dv(id(), location, value.length / 16, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix4fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4F, transpose, 16, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix4fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4F, transpose, 16, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4fv(id(), location, value.length / 16, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x2dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4x2dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4x2dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4x2dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix4x2dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X2D, transpose, 8, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x2dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x2dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix4x2dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X2D, transpose, 8, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x2dv(id(), location, value.length / 8, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x2fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4x2fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4x2fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4x2fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix4x2fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X2F, transpose, 8, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x2fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x2fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix4x2fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X2F, transpose, 8, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x2fv(id(), location, value.length / 8, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x3dv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4x3dv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4x3dv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4x3dv(int location, int count, boolean transpose, double[] value) {
-        GL.programUniformMatrix4x3dv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X3D, transpose, 12, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x3dv(id(), location, count, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x3dv(int location, boolean transpose, double[] value) {
-        GL.programUniformMatrix4x3dv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X3D, transpose, 12, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x3dv(id(), location, value.length / 12, transpose, arena.allocateArray(JAVA_DOUBLE, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x3fv(int location, int count, boolean transpose, Addressable value) {
-        GL.programUniformMatrix4x3fv(id(), location, count, transpose, value);
+        if (uniformShadow != null) uniformShadow.invalidate(location, count);
+        gl().programUniformMatrix4x3fv(id(), location, count, transpose, value);
     }
 
     public void uniformMatrix4x3fv(int location, int count, boolean transpose, float[] value) {
-        GL.programUniformMatrix4x3fv(id(), location, count, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X3F, transpose, 12, count, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x3fv(id(), location, count, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void uniformMatrix4x3fv(int location, boolean transpose, float[] value) {
-        GL.programUniformMatrix4x3fv(id(), location, transpose, value);
+        if (uniformShadow == null || uniformShadow.updateMatrix(location, UniformShadow.MAT4X3F, transpose, 12, value)) {
+            final ScratchArena arena = ScratchArena.get();
+            final long mark = arena.mark();
+            try {
+                gl().programUniformMatrix4x3fv(id(), location, value.length / 12, transpose, arena.allocateArray(JAVA_FLOAT, value));
+            } finally {
+                arena.release(mark);
+            }
+        }
     }
 
     public void getActiveAtomicCounterBufferiv(int bufferIndex, int pname, Addressable params) {
-        GL.getActiveAtomicCounterBufferiv(id(), bufferIndex, pname, params);
+        gl().getActiveAtomicCounterBufferiv(id(), bufferIndex, pname, params);
     }
 
     public void getActiveAtomicCounterBufferiv(int bufferIndex, int pname, int[] params) {
-        GL.getActiveAtomicCounterBufferiv(id(), bufferIndex, pname, params);
+        gl().getActiveAtomicCounterBufferiv(id(), bufferIndex, pname, params);
     }
 
     public int getActiveAtomicCounterBufferi(int bufferIndex, int pname) {
-        return GL.getActiveAtomicCounterBufferi(id(), bufferIndex, pname);
+        return gl().getActiveAtomicCounterBufferi(id(), bufferIndex, pname);
     }
 
     public void getInterfaceiv(int programInterface, int pname, Addressable params) {
-        GL.getProgramInterfaceiv(id(), programInterface, pname, params);
+        gl().getProgramInterfaceiv(id(), programInterface, pname, params);
     }
 
     public int getInterfacei(int programInterface, int pname) {
-        return GL.getProgramInterfacei(id(), programInterface, pname);
+        return gl().getProgramInterfacei(id(), programInterface, pname);
     }
 
     public int getResourceIndex(int programInterface, Addressable name) {
-        return GL.getProgramResourceIndex(id(), programInterface, name);
+        return gl().getProgramResourceIndex(id(), programInterface, name);
     }
 
     public int getResourceIndex(int programInterface, String name) {
-        return GL.getProgramResourceIndex(id(), programInterface, name);
+        return gl().getProgramResourceIndex(id(), programInterface, name);
     }
 
     public int getResourceLocation(int programInterface, Addressable name) {
-        return GL.getProgramResourceLocation(id(), programInterface, name);
+        return gl().getProgramResourceLocation(id(), programInterface, name);
     }
 
     public int getResourceLocation(int programInterface, String name) {
-        return GL.getProgramResourceLocation(id(), programInterface, name);
+        return gl().getProgramResourceLocation(id(), programInterface, name);
     }
 
     public int getResourceLocationIndex(int programInterface, Addressable name) {
-        return GL.getProgramResourceLocationIndex(id(), programInterface, name);
+        return gl().getProgramResourceLocationIndex(id(), programInterface, name);
     }
 
     public int getResourceLocationIndex(int programInterface, String name) {
-        return GL.getProgramResourceLocationIndex(id(), programInterface, name);
+        return gl().getProgramResourceLocationIndex(id(), programInterface, name);
     }
 
     public void getResourceName(int programInterface, int index, int bufSize, Addressable length, Addressable name) {
-        GL.getProgramResourceName(id(), programInterface, index, bufSize, length, name);
+        gl().getProgramResourceName(id(), programInterface, index, bufSize, length, name);
     }
 
     public void getResourceName(int programInterface, int index, Addressable length, MemorySegment name) {
-        GL.getProgramResourceName(id(), programInterface, index, length, name);
+        gl().getProgramResourceName(id(), programInterface, index, length, name);
     }
 
     public String getResourceName(int programInterface, int index, int bufSize, int @Nullable [] length) {
-        return GL.getProgramResourceName(id(), programInterface, index, bufSize, length);
+        return gl().getProgramResourceName(id(), programInterface, index, bufSize, length);
     }
 
     public String getResourceName(int programInterface, int index, int @Nullable [] length) {
-        return GL.getProgramResourceName(id(), programInterface, index, length);
+        return gl().getProgramResourceName(id(), programInterface, index, length);
     }
 
     public void getResourceiv(int programInterface, int index, int propCount, Addressable props, int count, Addressable length, Addressable params) {
-        GL.getProgramResourceiv(id(), programInterface, index, propCount, props, count, length, params);
+        gl().getProgramResourceiv(id(), programInterface, index, propCount, props, count, length, params);
     }
 
     public void getResourceiv(int programInterface, int index, MemorySegment props, Addressable length, MemorySegment params) {
-        GL.getProgramResourceiv(id(), programInterface, index, props, length, params);
+        gl().getProgramResourceiv(id(), programInterface, index, props, length, params);
     }
 
     public void getResourceiv(int programInterface, int index, int[] props, int @Nullable [] length, int[] params) {
-        GL.getProgramResourceiv(id(), programInterface, index, props, length, params);
+        gl().getProgramResourceiv(id(), programInterface, index, props, length, params);
     }
 
     public int getResourceiv(int programInterface, int index, int[] props) {
-        return GL.getProgramResourceiv(id(), programInterface, index, props);
+        return gl().getProgramResourceiv(id(), programInterface, index, props);
     }
 
     public void shaderStorageBlockBinding(int storageBlockIndex, int storageBlockBinding) {
-        GL.shaderStorageBlockBinding(id(), storageBlockIndex, storageBlockBinding);
+        gl().shaderStorageBlockBinding(id(), storageBlockIndex, storageBlockBinding);
     }
 
     public void getnUniformdv(int location, int bufSize, Addressable params) {
-        GL.getnUniformdv(id(), location, bufSize, params);
+        gl().getnUniformdv(id(), location, bufSize, params);
     }
 
     public void getnUniformdv(int location, MemorySegment params) {
-        GL.getnUniformdv(id(), location, params);
+        gl().getnUniformdv(id(), location, params);
     }
 
     public void getnUniformdv(int location, double[] params) {
-        GL.getnUniformdv(id(), location, params);
+        gl().getnUniformdv(id(), location, params);
     }
 
     public void getnUniformfv(int location, int bufSize, Addressable params) {
-        GL.getnUniformfv(id(), location, bufSize, params);
+        gl().getnUniformfv(id(), location, bufSize, params);
     }
 
     public void getnUniformfv(int location, MemorySegment params) {
-        GL.getnUniformfv(id(), location, params);
+        gl().getnUniformfv(id(), location, params);
     }
 
     public void getnUniformfv(int location, float[] params) {
-        GL.getnUniformfv(id(), location, params);
+        gl().getnUniformfv(id(), location, params);
     }
 
     public void getnUniformiv(int location, int bufSize, Addressable params) {
-        GL.getnUniformiv(id(), location, bufSize, params);
+        gl().getnUniformiv(id(), location, bufSize, params);
     }
 
     public void getnUniformiv(int location, MemorySegment params) {
-        GL.getnUniformiv(id(), location, params);
+        gl().getnUniformiv(id(), location, params);
     }
 
     public void getnUniformiv(int location, int[] params) {
-        GL.getnUniformiv(id(), location, params);
+        gl().getnUniformiv(id(), location, params);
     }
 
     public void getnUniformuiv(int location, int bufSize, Addressable params) {
-        GL.getnUniformuiv(id(), location, bufSize, params);
+        gl().getnUniformuiv(id(), location, bufSize, params);
     }
 
     public void getnUniformuiv(int location, MemorySegment params) {
-        GL.getnUniformuiv(id(), location, params);
+        gl().getnUniformuiv(id(), location, params);
     }
 
     public void getnUniformuiv(int location, int[] params) {
-        GL.getnUniformuiv(id(), location, params);
+        gl().getnUniformuiv(id(), location, params);
+    }
+
+    /**
+     * Enables the shadow uniform state of this program.
+     * <p>
+     * With the shadow state enabled, the {@code uniform*} methods skip the OpenGL call
+     * if the value is bit-identical to the last value written by this program.
+     *
+     * @return the shadow uniform state
+     */
+    public UniformShadow enableUniformShadow() {
+        if (uniformShadow == null) {
+            uniformShadow = new UniformShadow();
+        }
+        return uniformShadow;
+    }
+
+    /**
+     * Disables the shadow uniform state of this program.
+     */
+    public void disableUniformShadow() {
+        uniformShadow = null;
+    }
+
+    /**
+     * Gets the shadow uniform state of this program.
+     *
+     * @return the shadow uniform state, or {@code null} if it is not enabled
+     */
+    public @Nullable UniformShadow uniformShadow() {
+        return uniformShadow;
     }
 
     /**
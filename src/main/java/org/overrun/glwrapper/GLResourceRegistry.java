@@ -0,0 +1,396 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.lang.ref.Cleaner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * Tracks the OpenGL objects created by the wrappers of a context.
+ * <p>
+ * Each wrapper {@link #register(Type, int, long, Object) registers} its object as a {@link Resource}
+ * with the type and the approximate size, and marks it deleted in its {@code delete()} method;
+ * sync objects are registered by {@link #registerSync(MemoryAddress, Object)}.
+ * The live counts and byte totals are available per type as metrics.
+ * <p>
+ * {@link Resource#deleteLater()} can be called from any thread; it queues the object, and
+ * {@link #processDeletions()} deletes all queued objects in one pass on the context thread.
+ * {@link GLFWWindow#swapBuffers()} does this at the end of each frame.
+ * <p>
+ * With {@link #setLeakDetection(boolean) leak detection}, a {@link Cleaner} watches the wrappers.
+ * If a wrapper becomes unreachable without being deleted, its object is queued for deletion as well
+ * and counted as a {@link #leaks() leak}.
+ * <p>
+ * Each {@link GLStateManager} owns a registry; use {@code GLStateManager.current().resources()}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class GLResourceRegistry {
+    private static final Type[] TYPES = Type.values();
+    private static final int LIVE = 0, QUEUED = 1, DELETED = 2;
+    private final GLStateManager stateManager;
+    private final ConcurrentLinkedQueue<Resource> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLongArray counts = new AtomicLongArray(TYPES.length);
+    private final AtomicLongArray bytes = new AtomicLongArray(TYPES.length);
+    private final AtomicLong leaks = new AtomicLong();
+    private volatile boolean leakDetection;
+    private long deferredDeletions;
+
+    GLResourceRegistry(GLStateManager stateManager) {
+        this.stateManager = stateManager;
+    }
+
+    private static final class CleanerHolder {
+        // created on first use, as it starts a thread
+        static final Cleaner CLEANER = Cleaner.create();
+    }
+
+    /**
+     * The types of the tracked objects.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public enum Type {
+        /**
+         * Buffer objects.
+         */
+        BUFFER,
+        /**
+         * Texture objects.
+         */
+        TEXTURE,
+        /**
+         * Vertex array objects.
+         */
+        VERTEX_ARRAY,
+        /**
+         * Program objects.
+         */
+        PROGRAM,
+        /**
+         * Shader objects.
+         */
+        SHADER,
+        /**
+         * Query objects.
+         */
+        QUERY,
+        /**
+         * Sampler objects.
+         */
+        SAMPLER,
+        /**
+         * Sync objects, e.g. the fences of the streamed buffers. Their size is 0.
+         */
+        SYNC
+    }
+
+    /**
+     * A tracked object.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Resource {
+        private final GLResourceRegistry registry;
+        private final Type type;
+        private final long handle;
+        private final AtomicInteger state = new AtomicInteger(LIVE);
+        private volatile long size;
+        private Cleaner.@Nullable Cleanable cleanable;
+
+        private Resource(GLResourceRegistry registry, Type type, long handle, long size) {
+            this.registry = registry;
+            this.type = type;
+            this.handle = handle;
+            this.size = size;
+        }
+
+        /**
+         * Sets the approximate size, e.g. after the data store of a buffer is recreated.
+         *
+         * @param size the size in bytes
+         */
+        public void resize(long size) {
+            if (state.get() == DELETED) return;
+            registry.bytes.addAndGet(type.ordinal(), size - this.size);
+            this.size = size;
+        }
+
+        /**
+         * Marks the object deleted. The wrapper calls this after deleting the object itself.
+         */
+        public void markDeleted() {
+            if (state.getAndSet(DELETED) != DELETED) {
+                registry.untrack(this);
+            }
+        }
+
+        /**
+         * Queues the object to be deleted by {@link GLResourceRegistry#processDeletions()}.
+         * This can be called from any thread. The wrapper must not be used anymore.
+         */
+        public void deleteLater() {
+            if (state.compareAndSet(LIVE, QUEUED)) {
+                registry.queue.add(this);
+            }
+        }
+
+        /**
+         * Gets whether the object is neither deleted nor queued.
+         *
+         * @return {@code true} if the object is live
+         */
+        public boolean isLive() {
+            return state.get() == LIVE;
+        }
+
+        /**
+         * Gets the type of the object.
+         *
+         * @return the type
+         */
+        public Type type() {
+            return type;
+        }
+
+        /**
+         * Gets the name of the object.
+         *
+         * @return the name, or the low bits of the handle of a {@link Type#SYNC SYNC} object
+         */
+        public int id() {
+            return (int) handle;
+        }
+
+        /**
+         * Gets the handle of a {@link Type#SYNC SYNC} object, or the name of another object.
+         *
+         * @return the handle
+         */
+        public long handle() {
+            return handle;
+        }
+
+        /**
+         * Gets the approximate size of the object.
+         *
+         * @return the size in bytes
+         */
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + handle + " (" + size + " bytes)";
+        }
+    }
+
+    /**
+     * The cleaning action; must not refer to the wrapper.
+     *
+     * @param resource the object of the wrapper
+     */
+    private record LeakAction(Resource resource) implements Runnable {
+        @Override
+        public void run() {
+            if (resource.state.compareAndSet(LIVE, QUEUED)) {
+                resource.registry.leaks.incrementAndGet();
+                resource.registry.queue.add(resource);
+            }
+        }
+    }
+
+    /**
+     * Starts tracking an object.
+     *
+     * @param type  the type of the object
+     * @param id    the name of the object
+     * @param size  the approximate size in bytes
+     * @param owner the wrapper to watch for leaks, or {@code null}
+     * @return the resource
+     */
+    public Resource register(Type type, int id, long size, @Nullable Object owner) {
+        return track(type, id, size, owner);
+    }
+
+    /**
+     * Starts tracking a sync object.
+     *
+     * @param sync  the sync object
+     * @param owner the wrapper to watch for leaks, or {@code null}
+     * @return the resource
+     */
+    public Resource registerSync(MemoryAddress sync, @Nullable Object owner) {
+        return track(Type.SYNC, sync.toRawLongValue(), 0, owner);
+    }
+
+    private Resource track(Type type, long handle, long size, @Nullable Object owner) {
+        final var resource = new Resource(this, type, handle, size);
+        counts.incrementAndGet(type.ordinal());
+        bytes.addAndGet(type.ordinal(), size);
+        if (owner != null && leakDetection) {
+            resource.cleanable = CleanerHolder.CLEANER.register(owner, new LeakAction(resource));
+        }
+        return resource;
+    }
+
+    private void untrack(Resource resource) {
+        counts.decrementAndGet(resource.type.ordinal());
+        bytes.addAndGet(resource.type.ordinal(), -resource.size);
+        final Cleaner.Cleanable cleanable = resource.cleanable;
+        if (cleanable != null) {
+            // the state is DELETED, so this only unregisters the action
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Deletes the queued objects. Must be called on the context thread.
+     *
+     * @return the count of the deleted objects
+     */
+    public int processDeletions() {
+        int count = 0;
+        Resource resource;
+        while ((resource = queue.poll()) != null) {
+            if (!resource.state.compareAndSet(QUEUED, DELETED)) {
+                // deleted directly in the meantime
+                continue;
+            }
+            final int id = resource.id();
+            switch (resource.type) {
+                case BUFFER -> stateManager.deleteBuffer(id);
+                case TEXTURE -> stateManager.deleteTexture(id);
+                case VERTEX_ARRAY -> stateManager.deleteVertexArray(id);
+                case PROGRAM -> {
+                    gl().deleteProgram(id);
+                    stateManager.programDeleted(id);
+                }
+                case SHADER -> gl().deleteShader(id);
+                case QUERY -> gl().deleteQuery(id);
+                case SAMPLER -> stateManager.deleteSampler(id);
+                case SYNC -> gl().deleteSync(MemoryAddress.ofLong(resource.handle));
+            }
+            untrack(resource);
+            ++count;
+        }
+        deferredDeletions += count;
+        return count;
+    }
+
+    /**
+     * Enables or disables leak detection for the objects registered afterwards.
+     *
+     * @param leakDetection {@code true} to watch the wrappers with a {@link Cleaner}
+     */
+    public void setLeakDetection(boolean leakDetection) {
+        this.leakDetection = leakDetection;
+    }
+
+    /**
+     * Gets the count of the live objects of a type, including the queued ones.
+     *
+     * @param type the type
+     * @return the count of the objects
+     */
+    public long liveCount(Type type) {
+        return counts.get(type.ordinal());
+    }
+
+    /**
+     * Gets the approximate size of the live objects of a type, including the queued ones.
+     *
+     * @param type the type
+     * @return the size in bytes
+     */
+    public long liveBytes(Type type) {
+        return bytes.get(type.ordinal());
+    }
+
+    /**
+     * Gets the count of all live objects.
+     *
+     * @return the count of the objects
+     */
+    public long liveCount() {
+        long sum = 0;
+        for (int i = 0; i < TYPES.length; i++) {
+            sum += counts.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the approximate size of all live objects.
+     *
+     * @return the size in bytes
+     */
+    public long liveBytes() {
+        long sum = 0;
+        for (int i = 0; i < TYPES.length; i++) {
+            sum += bytes.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the count of the wrappers that became unreachable without being deleted.
+     *
+     * @return the count of the leaks
+     */
+    public long leaks() {
+        return leaks.get();
+    }
+
+    /**
+     * Gets the count of the objects deleted by {@link #processDeletions()}.
+     *
+     * @return the count of the objects
+     */
+    public long deferredDeletions() {
+        return deferredDeletions;
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder("GLResourceRegistry{");
+        for (Type type : TYPES) {
+            sb.append(type).append('=').append(liveCount(type)).append('/').append(liveBytes(type)).append("B, ");
+        }
+        return sb.append("leaks=").append(leaks()).append('}').toString();
+    }
+}
@@ -25,12 +25,21 @@
 package org.overrun.glwrapper;
 
 import org.jetbrains.annotations.Nullable;
-import org.overrun.glib.gl.GL;
 
+import java.io.IOException;
 import java.lang.foreign.Addressable;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
 
 /**
  * The OpenGL shader object.
+ * <p>
+ * The shader is tracked by the {@link GLResourceRegistry} if a {@link GLStateManager} is current
+ * when it is created.
  *
  * @author squid233
  * @since 0.1.0
@@ -38,6 +47,7 @@ import java.lang.foreign.Addressable;
 public class GLShader {
     private final int id;
     private final int type;
+    private final @Nullable GLResourceRegistry.Resource resource;
 
     /**
      * Creates the shader.
@@ -46,87 +56,139 @@ public class GLShader {
      */
     public GLShader(int type) {
         this.type = type;
-        id = GL.createShader(type);
+        id = gl().createShader(type);
+        final GLStateManager state = GLStateManager.currentOrNull();
+        resource = state != null ? state.resources().register(GLResourceRegistry.Type.SHADER, id, 0, this) : null;
     }
 
     public void compile() {
-        GL.compileShader(id());
+        gl().compileShader(id());
     }
 
     public void delete() {
-        GL.deleteShader(id());
+        gl().deleteShader(id());
+        if (resource != null) {
+            resource.markDeleted();
+        }
+    }
+
+    /**
+     * Queues the shader to be deleted at the end of the frame. This can be called from any thread.
+     *
+     * @throws IllegalStateException if the shader was created without a current state manager
+     * @see GLResourceRegistry.Resource#deleteLater()
+     */
+    public void deleteLater() {
+        if (resource == null) {
+            throw new IllegalStateException("Shader " + id() + " is not tracked by a resource registry");
+        }
+        resource.deleteLater();
     }
 
     public void getInfoLog(int bufSize, Addressable length, Addressable infoLog) {
-        GL.getShaderInfoLog(id(), bufSize, length, infoLog);
+        gl().getShaderInfoLog(id(), bufSize, length, infoLog);
     }
 
     public void getInfoLog(int bufSize, int @Nullable [] length, String[] infoLog) {
-        GL.getShaderInfoLog(id(), bufSize, length, infoLog);
+        gl().getShaderInfoLog(id(), bufSize, length, infoLog);
     }
 
     public String getInfoLog(int bufSize, int @Nullable [] length) {
-        return GL.getShaderInfoLog(id(), bufSize, length);
+        return gl().getShaderInfoLog(id(), bufSize, length);
     }
 
     public String getInfoLog() {
-        return GL.getShaderInfoLog(id());
+        return gl().getShaderInfoLog(id());
     }
 
     public void getSource(int bufSize, Addressable length, Addressable source) {
-        GL.getShaderSource(id(), bufSize, length, source);
+        gl().getShaderSource(id(), bufSize, length, source);
     }
 
     public void getSource(int bufSize, int @Nullable [] length, String[] source) {
-        GL.getShaderSource(id(), bufSize, length, source);
+        gl().getShaderSource(id(), bufSize, length, source);
     }
 
     public String getSource(int bufSize, int @Nullable [] length) {
-        return GL.getShaderSource(id(), bufSize, length);
+        return gl().getShaderSource(id(), bufSize, length);
     }
 
     public String getSource() {
-        return GL.getShaderSource(id());
+        return gl().getShaderSource(id());
     }
 
     public void getiv(int pname, Addressable params) {
-        GL.getShaderiv(id(), pname, params);
+        gl().getShaderiv(id(), pname, params);
     }
 
     public void getiv(int pname, int[] params) {
-        GL.getShaderiv(id(), pname, params);
+        gl().getShaderiv(id(), pname, params);
     }
 
     public int geti(int pname) {
-        return GL.getShaderi(id(), pname);
+        return gl().getShaderi(id(), pname);
     }
 
     public boolean isShader() {
-        return GL.isShader(id());
+        return gl().isShader(id());
     }
 
     public void source(int count, Addressable string, Addressable length) {
-        GL.shaderSource(id(), count, string, length);
+        gl().shaderSource(id(), count, string, length);
     }
 
     public void source(String[] string) {
-        GL.shaderSource(id(), string);
+        gl().shaderSource(id(), string);
     }
 
     public void source(String string) {
-        GL.shaderSource(id(), string);
+        gl().shaderSource(id(), string);
+    }
+
+    /**
+     * Sets the source from UTF-8 strings in native memory, e.g. {@link MappedFile mapped files}.
+     * The strings are not required to be null-terminated, and no Java string is created.
+     *
+     * @param strings the native segments of the source strings
+     */
+    public void source(MemorySegment... strings) {
+        final var arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            final var pointers = arena.allocateArray(ADDRESS, strings.length);
+            final var lengths = arena.allocateArray(JAVA_INT, strings.length);
+            for (int i = 0; i < strings.length; i++) {
+                pointers.setAtIndex(ADDRESS, i, strings[i]);
+                lengths.setAtIndex(JAVA_INT, i, Math.toIntExact(strings[i].byteSize()));
+            }
+            source(strings.length, pointers, lengths);
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Sets the source from a UTF-8 file. The file is mapped and passed to OpenGL without a heap copy.
+     *
+     * @param path the path of the source file
+     * @throws IOException if the file cannot be read
+     */
+    public void source(Path path) throws IOException {
+        try (var file = MappedFile.open(path)) {
+            source(file.segment());
+        }
     }
 
     public void specialize(Addressable pEntryPoint, int numSpecializationConstants, Addressable pConstantIndex, Addressable pConstantValue) {
-        GL.specializeShader(id(), pEntryPoint, numSpecializationConstants, pConstantIndex, pConstantValue);
+        gl().specializeShader(id(), pEntryPoint, numSpecializationConstants, pConstantIndex, pConstantValue);
     }
 
     public void specialize(@Nullable String pEntryPoint, int @Nullable [] pConstantIndex, int @Nullable [] pConstantValue) {
-        GL.specializeShader(id(), pEntryPoint, pConstantIndex, pConstantValue);
+        gl().specializeShader(id(), pEntryPoint, pConstantIndex, pConstantValue);
     }
 
     public void specialize(@Nullable String pEntryPoint) {
-        GL.specializeShader(id(), pEntryPoint);
+        gl().specializeShader(id(), pEntryPoint);
     }
 
     /**
@@ -0,0 +1,598 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The state cache of an OpenGL context.
+ * <p>
+ * The state manager remembers the current program, the bound vertex array, the buffers bound to
+ * each target, the textures bound to each unit and target, the samplers bound to each unit,
+ * and the blend, depth and cull states.
+ * A call that doesn't change the remembered state is skipped.
+ * <p>
+ * Each {@link GLFWWindow} owns a state manager that becomes {@link #current() current} for the
+ * calling thread in {@link GLFWWindow#makeContextCurrent()}. Without a window, such as with a headless
+ * dispatch, create a state manager and pass it to {@link #makeCurrent(GLStateManager)}.
+ * All states are unknown initially, so the first call of each kind is always issued.
+ * <p>
+ * State changes that are not made through the state manager are not seen by it;
+ * call {@link #invalidate()} after such changes. Objects must be deleted with the delete methods of
+ * the state manager, as OpenGL unbinds them and may reuse their names.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class GLStateManager {
+    private static final ThreadLocal<GLStateManager> CURRENT = new ThreadLocal<>();
+    private static final int UNKNOWN = -1;
+    private static final int[] BUFFER_TARGETS = {
+        GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER, GL_UNIFORM_BUFFER, GL_SHADER_STORAGE_BUFFER,
+        GL_DRAW_INDIRECT_BUFFER, GL_DISPATCH_INDIRECT_BUFFER, GL_PIXEL_PACK_BUFFER, GL_PIXEL_UNPACK_BUFFER,
+        GL_COPY_READ_BUFFER, GL_COPY_WRITE_BUFFER, GL_TEXTURE_BUFFER, GL_QUERY_BUFFER,
+        GL_ATOMIC_COUNTER_BUFFER, GL_TRANSFORM_FEEDBACK_BUFFER
+    };
+    private static final int ELEMENT_ARRAY_INDEX = 1;
+    private static final int[] TEXTURE_TARGETS = {
+        GL_TEXTURE_2D, GL_TEXTURE_2D_ARRAY, GL_TEXTURE_CUBE_MAP, GL_TEXTURE_3D,
+        GL_TEXTURE_1D, GL_TEXTURE_1D_ARRAY, GL_TEXTURE_RECTANGLE, GL_TEXTURE_BUFFER,
+        GL_TEXTURE_CUBE_MAP_ARRAY, GL_TEXTURE_2D_MULTISAMPLE, GL_TEXTURE_2D_MULTISAMPLE_ARRAY
+    };
+    private static final int[] CAPABILITIES = {
+        GL_BLEND, GL_DEPTH_TEST, GL_CULL_FACE, GL_SCISSOR_TEST, GL_STENCIL_TEST,
+        GL_POLYGON_OFFSET_FILL, GL_FRAMEBUFFER_SRGB, GL_MULTISAMPLE, GL_PRIMITIVE_RESTART,
+        GL_PROGRAM_POINT_SIZE, GL_TEXTURE_CUBE_MAP_SEAMLESS
+    };
+    private final GLResourceRegistry resources = new GLResourceRegistry(this);
+    private final int[] buffers = new int[BUFFER_TARGETS.length];
+    private final byte[] capabilities = new byte[CAPABILITIES.length];
+    private int[] textures = new int[16 * TEXTURE_TARGETS.length];
+    private int[] samplers = new int[16];
+    private int program;
+    private int vertexArray;
+    private int activeTexture;
+    private int blendSrcRGB, blendDstRGB, blendSrcAlpha, blendDstAlpha;
+    private int blendEquationRGB, blendEquationAlpha;
+    private int depthFunc;
+    private int depthMask;
+    private int cullFace;
+    private int frontFace;
+    private long skipped;
+    private long issued;
+    private @Nullable GLExtensions extensions;
+
+    /**
+     * Creates the state manager with all states unknown.
+     */
+    public GLStateManager() {
+        invalidate();
+    }
+
+    /**
+     * Gets the state manager of the context current on the calling thread.
+     *
+     * @return the current state manager
+     * @throws IllegalStateException if no state manager was made current on the calling thread
+     */
+    public static GLStateManager current() {
+        final GLStateManager stateManager = CURRENT.get();
+        if (stateManager == null) {
+            throw new IllegalStateException("No OpenGL context is current on thread " + Thread.currentThread().getName());
+        }
+        return stateManager;
+    }
+
+    /**
+     * Gets the state manager of the context current on the calling thread, if any.
+     * The wrappers use this to track their objects only when a state manager is current.
+     *
+     * @return the current state manager, or {@code null} if none was made current on the calling thread
+     */
+    public static @Nullable GLStateManager currentOrNull() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the state manager of the context current on the calling thread.
+     * This is called by {@link GLFWWindow#makeContextCurrent()} and {@link GLFWWindow#releaseCurrentContext()}.
+     *
+     * @param stateManager the state manager of the context, or {@code null} if no context is current
+     */
+    public static void makeCurrent(@Nullable GLStateManager stateManager) {
+        if (stateManager != null) {
+            CURRENT.set(stateManager);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Gets the registry of the objects of this context.
+     *
+     * @return the resource registry
+     */
+    public GLResourceRegistry resources() {
+        return resources;
+    }
+
+    /**
+     * Gets the version and the extensions of this context. They are queried on the first call.
+     *
+     * @return the extensions of this context
+     */
+    public GLExtensions extensions() {
+        if (extensions == null) {
+            extensions = GLExtensions.load();
+        }
+        return extensions;
+    }
+
+    private static int indexOf(int[] array, int value) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == value) return i;
+        }
+        return -1;
+    }
+
+    private boolean changed(boolean changed) {
+        if (changed) {
+            ++issued;
+        } else {
+            ++skipped;
+        }
+        return changed;
+    }
+
+    /**
+     * Forgets all states. Call this after changing the state without the state manager.
+     */
+    public void invalidate() {
+        Arrays.fill(buffers, UNKNOWN);
+        Arrays.fill(capabilities, (byte) UNKNOWN);
+        Arrays.fill(textures, UNKNOWN);
+        Arrays.fill(samplers, UNKNOWN);
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        activeTexture = UNKNOWN;
+        blendSrcRGB = blendDstRGB = blendSrcAlpha = blendDstAlpha = UNKNOWN;
+        blendEquationRGB = blendEquationAlpha = UNKNOWN;
+        depthFunc = UNKNOWN;
+        depthMask = UNKNOWN;
+        cullFace = UNKNOWN;
+        frontFace = UNKNOWN;
+    }
+
+    /**
+     * Installs a program as part of the current rendering state.
+     *
+     * @param program the program, or 0 to use no program
+     */
+    public void useProgram(int program) {
+        if (changed(this.program != program)) {
+            this.program = program;
+            gl().useProgram(program);
+        }
+    }
+
+    /**
+     * Binds a vertex array.
+     * The element array buffer binding is part of the vertex array, so it becomes unknown.
+     *
+     * @param array the vertex array, or 0
+     */
+    public void bindVertexArray(int array) {
+        if (changed(vertexArray != array)) {
+            vertexArray = array;
+            buffers[ELEMENT_ARRAY_INDEX] = UNKNOWN;
+            gl().bindVertexArray(array);
+        }
+    }
+
+    /**
+     * Binds a buffer to a target. Bindings to targets that are not tracked are always issued.
+     *
+     * @param target the target, e.g. {@code GL_ARRAY_BUFFER}
+     * @param buffer the buffer, or 0
+     */
+    public void bindBuffer(int target, int buffer) {
+        final int index = indexOf(BUFFER_TARGETS, target);
+        if (index < 0) {
+            ++issued;
+            gl().bindBuffer(target, buffer);
+        } else if (changed(buffers[index] != buffer)) {
+            buffers[index] = buffer;
+            gl().bindBuffer(target, buffer);
+        }
+    }
+
+    /**
+     * Binds a buffer to an indexed binding point. Indexed bindings are not tracked and always issued,
+     * but the generic binding of the target is updated, as OpenGL does.
+     *
+     * @param target the target, e.g. {@code GL_UNIFORM_BUFFER}
+     * @param index  the binding point
+     * @param buffer the buffer, or 0
+     */
+    public void bindBufferBase(int target, int index, int buffer) {
+        final int targetIndex = indexOf(BUFFER_TARGETS, target);
+        if (targetIndex >= 0) {
+            buffers[targetIndex] = buffer;
+        }
+        ++issued;
+        gl().bindBufferBase(target, index, buffer);
+    }
+
+    /**
+     * Binds a range of a buffer to an indexed binding point. Indexed bindings are not tracked and always issued,
+     * but the generic binding of the target is updated, as OpenGL does.
+     *
+     * @param target the target, e.g. {@code GL_SHADER_STORAGE_BUFFER}
+     * @param index  the binding point
+     * @param buffer the buffer, or 0
+     * @param offset the byte offset of the range
+     * @param size   the byte size of the range
+     */
+    public void bindBufferRange(int target, int index, int buffer, long offset, long size) {
+        final int targetIndex = indexOf(BUFFER_TARGETS, target);
+        if (targetIndex >= 0) {
+            buffers[targetIndex] = buffer;
+        }
+        ++issued;
+        gl().bindBufferRange(target, index, buffer, offset, size);
+    }
+
+    /**
+     * Selects the active texture unit.
+     *
+     * @param unit the zero-based index of the unit; not {@code GL_TEXTURE0 + unit}
+     */
+    public void activeTexture(int unit) {
+        if (changed(activeTexture != unit)) {
+            activeTexture = unit;
+            gl().activeTexture(GL_TEXTURE0 + unit);
+        }
+    }
+
+    /**
+     * Binds a texture to a target of a texture unit, and selects the unit if the binding changes.
+     *
+     * @param unit    the zero-based index of the unit
+     * @param target  the target, e.g. {@code GL_TEXTURE_2D}
+     * @param texture the texture, or 0
+     */
+    public void bindTexture(int unit, int target, int texture) {
+        final int targetIndex = indexOf(TEXTURE_TARGETS, target);
+        if (targetIndex < 0) {
+            activeTexture(unit);
+            ++issued;
+            gl().bindTexture(target, texture);
+            return;
+        }
+        final int index = unit * TEXTURE_TARGETS.length + targetIndex;
+        if (index >= textures.length) {
+            final int oldLength = textures.length;
+            textures = Arrays.copyOf(textures, Math.max(index + 1, oldLength * 2));
+            Arrays.fill(textures, oldLength, textures.length, UNKNOWN);
+        }
+        if (changed(textures[index] != texture)) {
+            textures[index] = texture;
+            activeTexture(unit);
+            gl().bindTexture(target, texture);
+        }
+    }
+
+    /**
+     * Binds a texture to a target of the active texture unit.
+     *
+     * @param target  the target, e.g. {@code GL_TEXTURE_2D}
+     * @param texture the texture, or 0
+     */
+    public void bindTexture(int target, int texture) {
+        if (activeTexture == UNKNOWN) {
+            activeTexture(0);
+        }
+        bindTexture(activeTexture, target, texture);
+    }
+
+    /**
+     * Binds a sampler to a texture unit.
+     *
+     * @param unit    the zero-based index of the unit
+     * @param sampler the sampler, or 0 to use the sampling state of the texture
+     */
+    public void bindSampler(int unit, int sampler) {
+        if (unit >= samplers.length) {
+            final int oldLength = samplers.length;
+            samplers = Arrays.copyOf(samplers, Math.max(unit + 1, oldLength * 2));
+            Arrays.fill(samplers, oldLength, samplers.length, UNKNOWN);
+        }
+        if (changed(samplers[unit] != sampler)) {
+            samplers[unit] = sampler;
+            gl().bindSampler(unit, sampler);
+        }
+    }
+
+    /**
+     * Enables or disables a capability. Capabilities that are not tracked are always issued.
+     *
+     * @param cap     the capability, e.g. {@code GL_BLEND}
+     * @param enabled {@code true} to enable
+     */
+    public void setEnabled(int cap, boolean enabled) {
+        final int index = indexOf(CAPABILITIES, cap);
+        final byte state = (byte) (enabled ? 1 : 0);
+        if (index < 0) {
+            ++issued;
+        } else if (changed(capabilities[index] != state)) {
+            capabilities[index] = state;
+        } else {
+            return;
+        }
+        if (enabled) {
+            gl().enable(cap);
+        } else {
+            gl().disable(cap);
+        }
+    }
+
+    /**
+     * Enables a capability.
+     *
+     * @param cap the capability, e.g. {@code GL_BLEND}
+     */
+    public void enable(int cap) {
+        setEnabled(cap, true);
+    }
+
+    /**
+     * Disables a capability.
+     *
+     * @param cap the capability, e.g. {@code GL_BLEND}
+     */
+    public void disable(int cap) {
+        setEnabled(cap, false);
+    }
+
+    /**
+     * Sets the blend factors for both color and alpha.
+     *
+     * @param sfactor the source factor
+     * @param dfactor the destination factor
+     */
+    public void blendFunc(int sfactor, int dfactor) {
+        blendFuncSeparate(sfactor, dfactor, sfactor, dfactor);
+    }
+
+    /**
+     * Sets the blend factors.
+     *
+     * @param srcRGB   the source color factor
+     * @param dstRGB   the destination color factor
+     * @param srcAlpha the source alpha factor
+     * @param dstAlpha the destination alpha factor
+     */
+    public void blendFuncSeparate(int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+        if (changed(blendSrcRGB != srcRGB || blendDstRGB != dstRGB || blendSrcAlpha != srcAlpha || blendDstAlpha != dstAlpha)) {
+            blendSrcRGB = srcRGB;
+            blendDstRGB = dstRGB;
+            blendSrcAlpha = srcAlpha;
+            blendDstAlpha = dstAlpha;
+            gl().blendFuncSeparate(srcRGB, dstRGB, srcAlpha, dstAlpha);
+        }
+    }
+
+    /**
+     * Sets the blend equation for both color and alpha.
+     *
+     * @param mode the equation, e.g. {@code GL_FUNC_ADD}
+     */
+    public void blendEquation(int mode) {
+        blendEquationSeparate(mode, mode);
+    }
+
+    /**
+     * Sets the blend equations.
+     *
+     * @param modeRGB   the color equation
+     * @param modeAlpha the alpha equation
+     */
+    public void blendEquationSeparate(int modeRGB, int modeAlpha) {
+        if (changed(blendEquationRGB != modeRGB || blendEquationAlpha != modeAlpha)) {
+            blendEquationRGB = modeRGB;
+            blendEquationAlpha = modeAlpha;
+            gl().blendEquationSeparate(modeRGB, modeAlpha);
+        }
+    }
+
+    /**
+     * Sets the depth comparison function.
+     *
+     * @param func the function, e.g. {@code GL_LESS}
+     */
+    public void depthFunc(int func) {
+        if (changed(depthFunc != func)) {
+            depthFunc = func;
+            gl().depthFunc(func);
+        }
+    }
+
+    /**
+     * Enables or disables writing into the depth buffer.
+     *
+     * @param flag {@code true} to enable writing
+     */
+    public void depthMask(boolean flag) {
+        final int mask = flag ? 1 : 0;
+        if (changed(depthMask != mask)) {
+            depthMask = mask;
+            gl().depthMask(flag);
+        }
+    }
+
+    /**
+     * Sets the faces to cull.
+     *
+     * @param mode {@code GL_FRONT}, {@code GL_BACK} or {@code GL_FRONT_AND_BACK}
+     */
+    public void cullFace(int mode) {
+        if (changed(cullFace != mode)) {
+            cullFace = mode;
+            gl().cullFace(mode);
+        }
+    }
+
+    /**
+     * Sets the winding of the front faces.
+     *
+     * @param mode {@code GL_CW} or {@code GL_CCW}
+     */
+    public void frontFace(int mode) {
+        if (changed(frontFace != mode)) {
+            frontFace = mode;
+            gl().frontFace(mode);
+        }
+    }
+
+    /**
+     * Deletes a buffer and forgets its bindings.
+     *
+     * @param buffer the buffer
+     */
+    public void deleteBuffer(int buffer) {
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] == buffer) buffers[i] = 0;
+        }
+        gl().deleteBuffer(buffer);
+    }
+
+    /**
+     * Deletes a texture and forgets its bindings.
+     *
+     * @param texture the texture
+     */
+    public void deleteTexture(int texture) {
+        for (int i = 0; i < textures.length; i++) {
+            if (textures[i] == texture) textures[i] = 0;
+        }
+        gl().deleteTexture(texture);
+    }
+
+    /**
+     * Deletes a sampler and forgets its bindings.
+     *
+     * @param sampler the sampler
+     */
+    public void deleteSampler(int sampler) {
+        for (int i = 0; i < samplers.length; i++) {
+            if (samplers[i] == sampler) samplers[i] = 0;
+        }
+        gl().deleteSampler(sampler);
+    }
+
+    /**
+     * Deletes a vertex array and forgets its binding.
+     *
+     * @param array the vertex array
+     */
+    public void deleteVertexArray(int array) {
+        if (vertexArray == array) {
+            vertexArray = 0;
+            buffers[ELEMENT_ARRAY_INDEX] = UNKNOWN;
+        }
+        gl().deleteVertexArray(array);
+    }
+
+    /**
+     * Forgets the program if it is current. Call this after deleting a program.
+     *
+     * @param program the deleted program
+     */
+    public void programDeleted(int program) {
+        if (this.program == program) {
+            this.program = UNKNOWN;
+        }
+    }
+
+    /**
+     * Gets the current program.
+     *
+     * @return the program, or -1 if unknown
+     */
+    public int program() {
+        return program;
+    }
+
+    /**
+     * Gets the bound vertex array.
+     *
+     * @return the vertex array, or -1 if unknown
+     */
+    public int vertexArray() {
+        return vertexArray;
+    }
+
+    /**
+     * Gets the buffer bound to a target.
+     *
+     * @param target the target
+     * @return the buffer, or -1 if unknown or the target is not tracked
+     */
+    public int buffer(int target) {
+        final int index = indexOf(BUFFER_TARGETS, target);
+        return index < 0 ? UNKNOWN : buffers[index];
+    }
+
+    /**
+     * Gets the count of the calls that were skipped because the state was already current.
+     *
+     * @return the count of the skipped calls
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    /**
+     * Gets the count of the calls that were passed to OpenGL.
+     *
+     * @return the count of the issued calls
+     */
+    public long issued() {
+        return issued;
+    }
+
+    /**
+     * Resets the skipped and issued counters.
+     */
+    public void resetCounters() {
+        skipped = 0;
+        issued = 0;
+    }
+}
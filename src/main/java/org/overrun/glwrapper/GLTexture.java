@@ -0,0 +1,412 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A 2D texture or 2D array texture with a fixed size and format.
+ * <p>
+ * The storage of all mip levels is allocated once with {@code glTexStorage2D} or {@code glTexStorage3D},
+ * so the texture is always complete and the driver doesn't need to validate it on each draw.
+ * Contexts without OpenGL 4.2 or {@code GL_ARB_texture_storage} allocate the levels with
+ * {@code glTexImage*} and limit {@code GL_TEXTURE_MAX_LEVEL} instead.
+ * <p>
+ * Array textures hold many same-sized images in one texture object, so draws that sample
+ * different images can be batched without rebinding.
+ * <p>
+ * The size of the storage is tracked by the {@link GLResourceRegistry} and can be limited with a
+ * {@link TextureBudget}. Textures created while no {@link GLStateManager} is current are not tracked,
+ * and bind directly.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var atlas = GLTexture.create2DArray(GL_RGBA8, 256, 256, 16, GLTexture.maxLevels(256, 256));
+ * atlas.subImage(0, 0, 0, layer, 256, 256, 1, GL_RGBA, GL_UNSIGNED_BYTE, pixels);
+ * atlas.generateMipmaps();
+ * atlas.bind(0);
+ * }</pre>
+ *
+ * @author squid233
+ * @see SamplerCache
+ * @since 0.1.0
+ */
+public final class GLTexture {
+    private final int target;
+    private final int id;
+    private final int internalFormat;
+    private final int width;
+    private final int height;
+    private final int layers;
+    private final int levels;
+    private final boolean immutable;
+    private final long size;
+    private final @Nullable GLResourceRegistry.Resource resource;
+    private boolean deleted;
+
+    private GLTexture(int target, int internalFormat, int width, int height, int layers, int levels) {
+        if (width <= 0 || height <= 0 || layers <= 0) {
+            throw new IllegalArgumentException("Invalid texture size " + width + "x" + height + "x" + layers);
+        }
+        if (levels <= 0 || levels > maxLevels(width, height)) {
+            throw new IllegalArgumentException("Invalid count of levels " + levels + " for size " + width + "x" + height);
+        }
+        this.target = target;
+        this.internalFormat = internalFormat;
+        this.width = width;
+        this.height = height;
+        this.layers = layers;
+        this.levels = levels;
+        final GLStateManager state = GLStateManager.currentOrNull();
+        immutable = supportsImmutableStorage(state != null ? state.extensions() : GLExtensions.load());
+        id = gl().genTexture();
+        bindToActiveUnit();
+        if (immutable) {
+            if (target == GL_TEXTURE_2D) {
+                gl().texStorage2D(target, levels, internalFormat, width, height);
+            } else {
+                gl().texStorage3D(target, levels, internalFormat, width, height, layers);
+            }
+        } else {
+            final int format = pixelFormat(internalFormat);
+            final int type = pixelType(internalFormat);
+            // NULL is an offset into the pixel unpack buffer if one is bound
+            if (state != null) {
+                state.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+            } else {
+                gl().bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+            }
+            for (int level = 0; level < levels; level++) {
+                final int w = Math.max(1, width >> level);
+                final int h = Math.max(1, height >> level);
+                if (target == GL_TEXTURE_2D) {
+                    gl().texImage2D(target, level, internalFormat, w, h, 0, format, type, MemoryAddress.NULL);
+                } else {
+                    gl().texImage3D(target, level, internalFormat, w, h, layers, 0, format, type, MemoryAddress.NULL);
+                }
+            }
+            gl().texParameteri(target, GL_TEXTURE_MAX_LEVEL, levels - 1);
+        }
+        long bytes = 0;
+        for (int level = 0; level < levels; level++) {
+            bytes += (long) Math.max(1, width >> level) * Math.max(1, height >> level);
+        }
+        size = bytes * layers * bytesPerPixel(internalFormat);
+        resource = state != null ? state.resources().register(GLResourceRegistry.Type.TEXTURE, id, size, this) : null;
+    }
+
+    private void bindToActiveUnit() {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindTexture(target, id);
+        } else {
+            gl().bindTexture(target, id);
+        }
+    }
+
+    /**
+     * Creates a 2D texture.
+     *
+     * @param internalFormat the sized internal format, e.g. {@code GL_RGBA8}
+     * @param width          the width of level 0
+     * @param height         the height of level 0
+     * @param levels         the count of the mip levels, 1 for no mipmaps
+     * @return the texture
+     * @throws IllegalArgumentException if a size or the count of the levels is invalid
+     */
+    public static GLTexture create2D(int internalFormat, int width, int height, int levels) {
+        return new GLTexture(GL_TEXTURE_2D, internalFormat, width, height, 1, levels);
+    }
+
+    /**
+     * Creates a 2D array texture.
+     *
+     * @param internalFormat the sized internal format, e.g. {@code GL_RGBA8}
+     * @param width          the width of level 0
+     * @param height         the height of level 0
+     * @param layers         the count of the layers
+     * @param levels         the count of the mip levels, 1 for no mipmaps
+     * @return the texture
+     * @throws IllegalArgumentException if a size or the count of the levels is invalid
+     */
+    public static GLTexture create2DArray(int internalFormat, int width, int height, int layers, int levels) {
+        return new GLTexture(GL_TEXTURE_2D_ARRAY, internalFormat, width, height, layers, levels);
+    }
+
+    /**
+     * Gets the count of the levels of a full mipmap chain.
+     *
+     * @param width  the width of level 0
+     * @param height the height of level 0
+     * @return the count of the levels
+     */
+    public static int maxLevels(int width, int height) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+    }
+
+    /**
+     * Checks if the context supports immutable texture storage.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if {@code glTexStorage2D} is available
+     */
+    public static boolean supportsImmutableStorage(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 2) || extensions.has("GL_ARB_texture_storage");
+    }
+
+    /**
+     * Gets the approximate count of the bytes of a texel. Formats with 3 components are assumed
+     * to be padded to 4, as most drivers do.
+     *
+     * @param internalFormat the sized internal format
+     * @return the count of the bytes
+     */
+    public static int bytesPerPixel(int internalFormat) {
+        return switch (internalFormat) {
+            case GL_R8 -> 1;
+            case GL_RG8, GL_R16F -> 2;
+            case GL_RGB16F, GL_RGBA16F, GL_RG32F -> 8;
+            case GL_RGB32F, GL_RGBA32F -> 16;
+            default -> 4;
+        };
+    }
+
+    private static int pixelFormat(int internalFormat) {
+        return switch (internalFormat) {
+            case GL_R8, GL_R16F, GL_R32F -> GL_RED;
+            case GL_RG8, GL_RG16F, GL_RG32F -> GL_RG;
+            case GL_RGB8, GL_SRGB8, GL_RGB16F, GL_RGB32F, GL_R11F_G11F_B10F -> GL_RGB;
+            case GL_RGBA8, GL_SRGB8_ALPHA8, GL_RGBA16F, GL_RGBA32F, GL_RGB10_A2 -> GL_RGBA;
+            case GL_DEPTH_COMPONENT24, GL_DEPTH_COMPONENT32F -> GL_DEPTH_COMPONENT;
+            case GL_DEPTH24_STENCIL8 -> GL_DEPTH_STENCIL;
+            default -> throw new IllegalArgumentException("Unsupported internal format without immutable storage: 0x" +
+                Integer.toHexString(internalFormat));
+        };
+    }
+
+    private static int pixelType(int internalFormat) {
+        return switch (internalFormat) {
+            case GL_R16F, GL_RG16F, GL_RGB16F, GL_RGBA16F -> GL_HALF_FLOAT;
+            case GL_R32F, GL_RG32F, GL_RGB32F, GL_RGBA32F, GL_DEPTH_COMPONENT32F -> GL_FLOAT;
+            case GL_R11F_G11F_B10F -> GL_UNSIGNED_INT_10F_11F_11F_REV;
+            case GL_RGB10_A2 -> GL_UNSIGNED_INT_2_10_10_10_REV;
+            case GL_DEPTH_COMPONENT24 -> GL_UNSIGNED_INT;
+            case GL_DEPTH24_STENCIL8 -> GL_UNSIGNED_INT_24_8;
+            default -> GL_UNSIGNED_BYTE;
+        };
+    }
+
+    /**
+     * Uploads a region of a level of a 2D texture. The texture is bound to the active texture unit.
+     *
+     * @param level  the mip level
+     * @param x      the x offset
+     * @param y      the y offset
+     * @param width  the width of the region
+     * @param height the height of the region
+     * @param format the pixel format, e.g. {@code GL_RGBA}
+     * @param type   the pixel type, e.g. {@code GL_UNSIGNED_BYTE}
+     * @param pixels the pixels, or an offset into the bound pixel unpack buffer
+     * @throws IllegalStateException if this is an array texture
+     */
+    public void subImage(int level, int x, int y, int width, int height, int format, int type, Addressable pixels) {
+        if (target != GL_TEXTURE_2D) {
+            throw new IllegalStateException("Texture " + id + " is an array texture");
+        }
+        bindToActiveUnit();
+        gl().texSubImage2D(target, level, x, y, width, height, format, type, pixels);
+    }
+
+    /**
+     * Uploads a region of a level of some layers. The texture is bound to the active texture unit.
+     *
+     * @param level  the mip level
+     * @param x      the x offset
+     * @param y      the y offset
+     * @param layer  the first layer
+     * @param width  the width of the region
+     * @param height the height of the region
+     * @param layers the count of the layers
+     * @param format the pixel format, e.g. {@code GL_RGBA}
+     * @param type   the pixel type, e.g. {@code GL_UNSIGNED_BYTE}
+     * @param pixels the pixels, or an offset into the bound pixel unpack buffer
+     */
+    public void subImage(int level, int x, int y, int layer, int width, int height, int layers, int format, int type, Addressable pixels) {
+        bindToActiveUnit();
+        if (target == GL_TEXTURE_2D) {
+            gl().texSubImage2D(target, level, x, y, width, height, format, type, pixels);
+        } else {
+            gl().texSubImage3D(target, level, x, y, layer, width, height, layers, format, type, pixels);
+        }
+    }
+
+    /**
+     * Generates the levels after level 0. The texture is bound to the active texture unit.
+     */
+    public void generateMipmaps() {
+        bindToActiveUnit();
+        gl().generateMipmap(target);
+    }
+
+    /**
+     * Binds this texture to a texture unit.
+     *
+     * @param unit the zero-based index of the unit
+     */
+    public void bind(int unit) {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindTexture(unit, target, id);
+        } else {
+            gl().activeTexture(GL_TEXTURE0 + unit);
+            gl().bindTexture(target, id);
+        }
+    }
+
+    /**
+     * Deletes this texture.
+     */
+    public void delete() {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.deleteTexture(id);
+        } else {
+            gl().deleteTexture(id);
+        }
+        deleted = true;
+        if (resource != null) {
+            resource.markDeleted();
+        }
+    }
+
+    /**
+     * Queues this texture to be deleted at the end of the frame. This can be called from any thread.
+     *
+     * @throws IllegalStateException if the texture was created without a current state manager
+     * @see GLResourceRegistry.Resource#deleteLater()
+     */
+    public void deleteLater() {
+        if (resource == null) {
+            throw new IllegalStateException("Texture " + id + " is not tracked by a resource registry");
+        }
+        resource.deleteLater();
+    }
+
+    /**
+     * Checks if this texture is neither deleted nor queued for deletion.
+     *
+     * @return {@code true} if this texture is live
+     */
+    public boolean isLive() {
+        return resource != null ? resource.isLive() : !deleted;
+    }
+
+    /**
+     * Gets the id of this texture.
+     *
+     * @return the id of this texture
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * Gets the target of this texture.
+     *
+     * @return {@code GL_TEXTURE_2D} or {@code GL_TEXTURE_2D_ARRAY}
+     */
+    public int target() {
+        return target;
+    }
+
+    /**
+     * Gets the internal format of this texture.
+     *
+     * @return the sized internal format
+     */
+    public int internalFormat() {
+        return internalFormat;
+    }
+
+    /**
+     * Gets the width of level 0.
+     *
+     * @return the width in pixels
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Gets the height of level 0.
+     *
+     * @return the height in pixels
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Gets the count of the layers.
+     *
+     * @return the count of the layers, 1 for 2D textures
+     */
+    public int layers() {
+        return layers;
+    }
+
+    /**
+     * Gets the count of the mip levels.
+     *
+     * @return the count of the levels
+     */
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * Gets the approximate size of the storage of all levels and layers.
+     *
+     * @return the size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the storage is allocated with {@code glTexStorage*}.
+     *
+     * @return {@code true} if the storage is immutable
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+}
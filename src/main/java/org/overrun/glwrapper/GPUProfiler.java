@@ -0,0 +1,446 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * Measures the GPU time of named regions with timer queries.
+ * <p>
+ * Each scope issues a {@code GL_TIMESTAMP} query at {@link #begin(int) begin} and {@link #end(int) end},
+ * so scopes can be nested, which {@code GL_TIME_ELAPSED} queries can't.
+ * The queries of a frame are taken from a ring of {@code frames} slots. The results of a slot are read back
+ * only when {@code GL_QUERY_RESULT_AVAILABLE} says that its last query is done, so the profiler never
+ * waits for the GPU. If the slot of a new frame is still waiting for its results, the frame is not measured
+ * and is counted by {@link #framesSkipped()}.
+ * <p>
+ * The GPU time of each region is summed per frame and recorded in the {@link FrameHistogram histogram}
+ * of the {@link Region region}.
+ * <p>
+ * All methods must be called on the thread that has the OpenGL context current.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var profiler = new GPUProfiler();
+ * int scene = profiler.region("scene");
+ * // per frame
+ * profiler.beginFrame();
+ * try (var scope = profiler.scope(scene)) {
+ *     program.use();
+ *     GL.drawElements(GL_TRIANGLES, count, GL_UNSIGNED_INT, MemoryAddress.NULL);
+ * }
+ * profiler.endFrame();
+ * window.swapBuffers();
+ * // later
+ * System.out.println(profiler.region(scene).histogram());
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class GPUProfiler {
+    /**
+     * The default count of the frames in the query ring.
+     */
+    public static final int DEFAULT_FRAMES = 4;
+    /**
+     * The default maximum count of the scopes per frame.
+     */
+    public static final int DEFAULT_MAX_SCOPES = 64;
+    private final int maxScopes;
+    private final Slot[] slots;
+    private final StringIntMap regionIds = new StringIntMap();
+    private final List<Region> regions = new ArrayList<>();
+    private final List<Scope> scopes = new ArrayList<>();
+    private final int[] stackRegion;
+    private final int[] stackScope;
+    private int depth;
+    private @Nullable Slot current;
+    private boolean inFrame;
+    private long frame;
+    private long framesCollected;
+    private long framesSkipped;
+
+    private static final class Slot {
+        private final int[] queries;
+        private final GLResourceRegistry.Resource[] resources;
+        private final int[] regionOf;
+        private int scopeCount;
+        private int lastQuery;
+        private boolean pending;
+
+        private Slot(int maxScopes) {
+            queries = new int[maxScopes * 2];
+            resources = new GLResourceRegistry.Resource[queries.length];
+            regionOf = new int[maxScopes];
+            final GLResourceRegistry registry = GLStateManager.current().resources();
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = gl().genQuery();
+                resources[i] = registry.register(GLResourceRegistry.Type.QUERY, queries[i], 0, null);
+            }
+        }
+    }
+
+    /**
+     * Creates the profiler with {@link #DEFAULT_FRAMES} frames and {@link #DEFAULT_MAX_SCOPES} scopes per frame.
+     */
+    public GPUProfiler() {
+        this(DEFAULT_FRAMES, DEFAULT_MAX_SCOPES);
+    }
+
+    /**
+     * Creates the profiler and its queries.
+     *
+     * @param frames    the count of the frames in the query ring; should be larger than
+     *                  the count of the frames the driver queues ahead
+     * @param maxScopes the maximum count of the scopes per frame, and the maximum nesting depth;
+     *                  further scopes in a frame are not measured
+     * @throws IllegalArgumentException if {@code frames} or {@code maxScopes} is less than 1
+     */
+    public GPUProfiler(int frames, int maxScopes) {
+        if (frames < 1 || maxScopes < 1) {
+            throw new IllegalArgumentException("frames and maxScopes must be at least 1: " + frames + ", " + maxScopes);
+        }
+        this.maxScopes = maxScopes;
+        slots = new Slot[frames];
+        for (int i = 0; i < frames; i++) {
+            slots[i] = new Slot(maxScopes);
+        }
+        stackRegion = new int[maxScopes];
+        stackScope = new int[maxScopes];
+    }
+
+    /**
+     * The statistics of a named region.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Region {
+        private final String name;
+        private final FrameHistogram histogram = new FrameHistogram();
+        private long frameSum;
+        private boolean touched;
+        private long last;
+
+        private Region(String name) {
+            this.name = name;
+        }
+
+        private void add(long nanos) {
+            frameSum += nanos;
+            touched = true;
+        }
+
+        private void commit() {
+            if (!touched) return;
+            histogram.record(frameSum);
+            last = frameSum;
+            frameSum = 0;
+            touched = false;
+        }
+
+        /**
+         * Gets the name of this region.
+         *
+         * @return the name
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Gets the histogram of the GPU time of this region per frame.
+         *
+         * @return the histogram
+         */
+        public FrameHistogram histogram() {
+            return histogram;
+        }
+
+        /**
+         * Gets the GPU time of this region in the latest frame that was read back and contained this region.
+         *
+         * @return the GPU time in nanoseconds
+         */
+        public long last() {
+            return last;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + histogram;
+        }
+    }
+
+    /**
+     * A scope of a region that ends the region when closed.
+     *
+     * @author squid233
+     * @see #scope(int)
+     * @since 0.1.0
+     */
+    public final class Scope implements AutoCloseable {
+        private final int region;
+
+        private Scope(int region) {
+            this.region = region;
+        }
+
+        /**
+         * Ends the region.
+         */
+        @Override
+        public void close() {
+            end(region);
+        }
+    }
+
+    /**
+     * Gets the id of the region with the given name, registering it if absent.
+     *
+     * @param name the name of the region
+     * @return the id of the region
+     */
+    public int region(String name) {
+        int id = regionIds.get(name, -1);
+        if (id == -1) {
+            id = regions.size();
+            regions.add(new Region(name));
+            scopes.add(new Scope(id));
+            regionIds.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the statistics of a region.
+     *
+     * @param region the id of the region
+     * @return the statistics of the region
+     */
+    public Region region(int region) {
+        return regions.get(region);
+    }
+
+    /**
+     * Gets the statistics of all regions.
+     *
+     * @return the regions in registration order
+     */
+    public List<Region> regions() {
+        return Collections.unmodifiableList(regions);
+    }
+
+    /**
+     * Reads back the finished frames and starts a new frame.
+     *
+     * @throws IllegalStateException if the previous frame was not ended
+     */
+    public void beginFrame() {
+        if (inFrame) {
+            throw new IllegalStateException("GPU profiler frame not ended");
+        }
+        collect();
+        final Slot slot = slots[(int) (frame % slots.length)];
+        ++frame;
+        inFrame = true;
+        if (slot.pending) {
+            ++framesSkipped;
+            current = null;
+        } else {
+            slot.scopeCount = 0;
+            current = slot;
+        }
+    }
+
+    /**
+     * Ends the frame and reads back the finished frames.
+     *
+     * @throws IllegalStateException if the frame was not begun, or a scope was not ended
+     */
+    public void endFrame() {
+        if (!inFrame) {
+            throw new IllegalStateException("GPU profiler frame not begun");
+        }
+        if (depth != 0) {
+            throw new IllegalStateException("GPU profiler scope not ended: " + regions.get(stackRegion[depth - 1]).name());
+        }
+        inFrame = false;
+        final Slot slot = current;
+        if (slot != null && slot.scopeCount > 0) {
+            slot.pending = true;
+        }
+        current = null;
+        collect();
+    }
+
+    private void collect() {
+        for (int i = 0; i < slots.length; i++) {
+            // the slot of the next frame is the oldest one
+            final Slot slot = slots[(int) ((frame + i) % slots.length)];
+            if (!slot.pending) continue;
+            if (gl().getQueryObjecti(slot.lastQuery, GL_QUERY_RESULT_AVAILABLE) == GL_FALSE) {
+                // the newer slots are not done either
+                break;
+            }
+            for (int scope = 0; scope < slot.scopeCount; scope++) {
+                final long start = gl().getQueryObjecti64(slot.queries[scope * 2], GL_QUERY_RESULT);
+                final long end = gl().getQueryObjecti64(slot.queries[scope * 2 + 1], GL_QUERY_RESULT);
+                regions.get(slot.regionOf[scope]).add(end - start);
+            }
+            for (int scope = 0; scope < slot.scopeCount; scope++) {
+                regions.get(slot.regionOf[scope]).commit();
+            }
+            slot.pending = false;
+            ++framesCollected;
+        }
+    }
+
+    /**
+     * Begins a scope of a region.
+     *
+     * @param region the id of the region
+     * @throws IllegalStateException if the frame was not begun, or the scopes are nested too deep
+     */
+    public void begin(int region) {
+        if (!inFrame) {
+            throw new IllegalStateException("GPU profiler frame not begun");
+        }
+        if (depth == stackRegion.length) {
+            throw new IllegalStateException("GPU profiler scopes nested deeper than " + maxScopes);
+        }
+        int scope = -1;
+        final Slot slot = current;
+        if (slot != null && slot.scopeCount < maxScopes) {
+            scope = slot.scopeCount++;
+            slot.regionOf[scope] = region;
+            slot.lastQuery = slot.queries[scope * 2];
+            gl().queryCounter(slot.lastQuery, GL_TIMESTAMP);
+        }
+        stackRegion[depth] = region;
+        stackScope[depth] = scope;
+        ++depth;
+    }
+
+    /**
+     * Begins a scope of a region, registering the region if absent.
+     *
+     * @param name the name of the region
+     */
+    public void begin(String name) {
+        begin(region(name));
+    }
+
+    /**
+     * Ends the innermost scope.
+     *
+     * @param region the id of the region of the innermost scope
+     * @throws IllegalStateException if the innermost scope is not of the given region
+     */
+    public void end(int region) {
+        if (depth == 0 || stackRegion[depth - 1] != region) {
+            throw new IllegalStateException("Unbalanced GPU profiler scope: " + regions.get(region).name());
+        }
+        --depth;
+        final int scope = stackScope[depth];
+        final Slot slot = current;
+        if (scope >= 0 && slot != null) {
+            slot.lastQuery = slot.queries[scope * 2 + 1];
+            gl().queryCounter(slot.lastQuery, GL_TIMESTAMP);
+        }
+    }
+
+    /**
+     * Ends the innermost scope.
+     *
+     * @param name the name of the region of the innermost scope
+     * @throws IllegalStateException if the innermost scope is not of the given region
+     */
+    public void end(String name) {
+        end(region(name));
+    }
+
+    /**
+     * Begins a scope of a region, and returns an object that ends it when closed.
+     * The object is cached per region, so this doesn't allocate.
+     *
+     * @param region the id of the region
+     * @return the scope
+     */
+    public Scope scope(int region) {
+        begin(region);
+        return scopes.get(region);
+    }
+
+    /**
+     * Gets the count of the frames whose results were read back.
+     *
+     * @return the count of the collected frames
+     */
+    public long framesCollected() {
+        return framesCollected;
+    }
+
+    /**
+     * Gets the count of the frames that were not measured because their slot was still waiting for results.
+     *
+     * @return the count of the skipped frames
+     */
+    public long framesSkipped() {
+        return framesSkipped;
+    }
+
+    /**
+     * Removes the recorded statistics of all regions.
+     */
+    public void reset() {
+        for (Region region : regions) {
+            region.histogram.reset();
+            region.last = 0;
+        }
+        framesCollected = 0;
+        framesSkipped = 0;
+    }
+
+    /**
+     * Deletes the queries.
+     */
+    public void delete() {
+        for (Slot slot : slots) {
+            for (int i = 0; i < slot.queries.length; i++) {
+                gl().deleteQuery(slot.queries[i]);
+                slot.resources[i].markDeleted();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Decodes encoded images, e.g. PNG files, to 8-bit pixels.
+ * <p>
+ * The decoder must call {@link PixelSink#allocate(int, int, int)} exactly once, as soon as it knows the size
+ * of the image, and write the pixels to the returned memory: tightly packed rows, top row first,
+ * {@code channels} bytes per pixel. The memory may be mapped GPU memory, so the decoder should write it
+ * sequentially and should not read it.
+ * <p>
+ * Decoders are called from multiple threads concurrently.
+ * <p>
+ * Example with STB:
+ * <pre>{@code
+ * ImageDecoder stb = (encoded, sink) -> {
+ *     try (var session = MemorySession.openConfined()) {
+ *         // x, y and channels
+ *         var size = session.allocateArray(ValueLayout.JAVA_INT, 3);
+ *         // STB reads the encoded image in place, e.g. from a mapped file
+ *         var data = STBImage.nloadFromMemory(encoded, (int) encoded.byteSize(),
+ *             size, size.asSlice(4), size.asSlice(8), STBImage.RGB_ALPHA);
+ *         if (data.equals(MemoryAddress.NULL)) throw new IOException("Failed to decode image");
+ *         var pixels = sink.allocate(size.getAtIndex(ValueLayout.JAVA_INT, 0), size.getAtIndex(ValueLayout.JAVA_INT, 1), 4);
+ *         MemorySegment.copy(MemorySegment.ofAddress(data, pixels.byteSize(), session), 0, pixels, 0, pixels.byteSize());
+ *         STBImage.free(data);
+ *     }
+ * };
+ * }</pre>
+ *
+ * @author squid233
+ * @see TextureStreamer
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ImageDecoder {
+    /**
+     * Decodes an image.
+     *
+     * @param encoded the encoded image
+     * @param sink    the destination of the pixels
+     * @throws IOException if the image is malformed
+     */
+    void decode(MemorySegment encoded, PixelSink sink) throws IOException;
+
+    /**
+     * The destination of the decoded pixels.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    interface PixelSink {
+        /**
+         * Allocates the memory of the pixels.
+         *
+         * @param width    the width of the image
+         * @param height   the height of the image
+         * @param channels the count of the channels, 1 to 4
+         * @return the memory of {@code width * height * channels} bytes
+         * @throws IllegalArgumentException if a dimension is not positive or the count of the channels is invalid
+         */
+        MemorySegment allocate(int width, int height, int channels);
+    }
+}
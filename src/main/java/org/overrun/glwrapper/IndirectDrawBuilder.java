@@ -0,0 +1,500 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * Records indexed draw commands and submits them with as few calls as the context allows.
+ * <p>
+ * Commands are recorded in native memory in the layout of {@code DrawElementsIndirectCommand}
+ * ({@code count}, {@code instanceCount}, {@code firstIndex}, {@code baseVertex}, {@code baseInstance}),
+ * and submitted by one of these {@link Path paths}:
+ * <ul>
+ *     <li>{@link Path#MULTI_DRAW_INDIRECT}: the commands are written to a {@link StreamBuffer} and drawn by one
+ *     {@code glMultiDrawElementsIndirect}; requires OpenGL 4.3 or {@code GL_ARB_multi_draw_indirect};</li>
+ *     <li>{@link Path#MULTI_DRAW_BASE_VERTEX}: if no command is instanced, the commands are drawn by one
+ *     {@code glMultiDrawElementsBaseVertex}; requires OpenGL 3.2 or {@code GL_ARB_draw_elements_base_vertex};</li>
+ *     <li>{@link Path#LOOP}: one draw call per command, the simplest one that can draw it.</li>
+ * </ul>
+ * <p>
+ * A non-zero {@code baseInstance} requires OpenGL 4.2 or {@code GL_ARB_base_instance}.
+ * <p>
+ * Each command can have per-draw data of a fixed stride, which is uploaded to a shader storage buffer
+ * and bound to the binding point given by {@link #bindDrawData(GLProgram, String, int)}; this requires
+ * OpenGL 4.3 or {@code GL_ARB_shader_storage_buffer_object}. With the multi-draw paths, shaders index it by
+ * {@code gl_DrawID}, which requires OpenGL 4.6 or {@code GL_ARB_shader_draw_parameters}; without it,
+ * {@link #detectPath(GLExtensions, boolean)} picks {@link Path#LOOP}, where the {@code int drawId} uniform of
+ * the program is set to the index of each command instead, if the program has it.
+ * <p>
+ * The vertex array with the element array buffer must be bound before {@link #submit(GLProgram, int)}.
+ * <p>
+ * The commands and the per-draw data are streamed through {@link StreamBuffer}s, whose frames are driven by
+ * {@link #beginFrame()} and {@link #endFrame()}. Each submission in a frame takes its own range of the
+ * region of the frame, so the builder can submit up to {@code submitsPerFrame} times per frame
+ * without waiting for the GPU.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var builder = new IndirectDrawBuilder(4096, 64);
+ * builder.bindDrawData(program, "DrawData", 0);
+ * // per frame
+ * builder.beginFrame();
+ * builder.begin();
+ * for (var mesh : meshes) {
+ *     int draw = builder.add(mesh.indexCount, mesh.firstIndex, mesh.baseVertex);
+ *     MemorySegment.copy(mesh.transform, 0, builder.drawData(draw), 0, 64);
+ * }
+ * state.bindVertexArray(sharedVao);
+ * builder.submit(program, GL_TRIANGLES);
+ * builder.endFrame();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class IndirectDrawBuilder {
+    /**
+     * The byte size of a {@code DrawElementsIndirectCommand}.
+     */
+    public static final int COMMAND_SIZE = 20;
+    /**
+     * The offset alignment of the per-draw data; the largest {@code GL_SHADER_STORAGE_BUFFER_OFFSET_ALIGNMENT}
+     * allowed by the specification.
+     */
+    private static final long DRAW_DATA_ALIGNMENT = 256;
+    private final int maxDraws;
+    private final int drawDataStride;
+    private final int indexType;
+    private final int indexSize;
+    private final Path path;
+    private final boolean baseInstance;
+    private final MemorySegment commands;
+    private final @Nullable MemorySegment drawData;
+    private final @Nullable MemorySegment counts;
+    private final @Nullable MemorySegment indexOffsets;
+    private final @Nullable MemorySegment baseVertices;
+    private final @Nullable StreamBuffer commandStream;
+    private final @Nullable StreamBuffer drawDataStream;
+    private int drawDataBinding = -1;
+    private int drawCount;
+    private boolean instanced;
+    private int drawCalls;
+
+    /**
+     * The submission paths.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public enum Path {
+        /**
+         * One {@code glMultiDrawElementsIndirect} from a buffer.
+         */
+        MULTI_DRAW_INDIRECT,
+        /**
+         * One {@code glMultiDrawElementsBaseVertex} from client memory, if no command is instanced.
+         */
+        MULTI_DRAW_BASE_VERTEX,
+        /**
+         * One draw call per command.
+         */
+        LOOP
+    }
+
+    /**
+     * Creates the builder with {@code GL_UNSIGNED_INT} indices that submits once per frame, detecting the path
+     * supported by the current context.
+     *
+     * @param maxDraws       the maximum count of the commands per submission
+     * @param drawDataStride the byte size of the per-draw data, or 0 for none
+     * @throws IllegalStateException if there is per-draw data and the context has no shader storage buffers
+     */
+    public IndirectDrawBuilder(int maxDraws, int drawDataStride) {
+        this(maxDraws, drawDataStride, GL_UNSIGNED_INT,
+            detectPath(GLStateManager.current().extensions(), drawDataStride > 0));
+    }
+
+    /**
+     * Creates the builder that submits once per frame.
+     *
+     * @param maxDraws       the maximum count of the commands per submission
+     * @param drawDataStride the byte size of the per-draw data, or 0 for none
+     * @param indexType      the index type, {@code GL_UNSIGNED_BYTE}, {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}
+     * @param path           the submission path
+     * @throws IllegalArgumentException if {@code maxDraws} is not positive, {@code drawDataStride} is negative
+     *                                  or the index type is invalid
+     * @throws IllegalStateException    if there is per-draw data and the context has no shader storage buffers,
+     *                                  or has no {@code gl_DrawID} and the path is not {@link Path#LOOP}
+     */
+    public IndirectDrawBuilder(int maxDraws, int drawDataStride, int indexType, Path path) {
+        this(maxDraws, drawDataStride, indexType, path, 1);
+    }
+
+    /**
+     * Creates the builder.
+     *
+     * @param maxDraws        the maximum count of the commands per submission
+     * @param drawDataStride  the byte size of the per-draw data, or 0 for none
+     * @param indexType       the index type, {@code GL_UNSIGNED_BYTE}, {@code GL_UNSIGNED_SHORT} or {@code GL_UNSIGNED_INT}
+     * @param path            the submission path
+     * @param submitsPerFrame the maximum count of the submissions per frame
+     * @throws IllegalArgumentException if {@code maxDraws} or {@code submitsPerFrame} is not positive,
+     *                                  {@code drawDataStride} is negative or the index type is invalid
+     * @throws IllegalStateException    if there is per-draw data and the context has no shader storage buffers,
+     *                                  or has no {@code gl_DrawID} and the path is not {@link Path#LOOP}
+     */
+    public IndirectDrawBuilder(int maxDraws, int drawDataStride, int indexType, Path path, int submitsPerFrame) {
+        if (maxDraws <= 0 || drawDataStride < 0 || submitsPerFrame <= 0) {
+            throw new IllegalArgumentException("Invalid maxDraws, drawDataStride or submitsPerFrame: "
+                + maxDraws + ", " + drawDataStride + ", " + submitsPerFrame);
+        }
+        this.maxDraws = maxDraws;
+        this.drawDataStride = drawDataStride;
+        this.indexType = indexType;
+        indexSize = switch (indexType) {
+            case GL_UNSIGNED_BYTE -> 1;
+            case GL_UNSIGNED_SHORT -> 2;
+            case GL_UNSIGNED_INT -> 4;
+            default -> throw new IllegalArgumentException("Invalid index type: 0x" + Integer.toHexString(indexType));
+        };
+        final GLExtensions extensions = GLStateManager.current().extensions();
+        if (drawDataStride > 0) {
+            if (!supportsDrawData(extensions)) {
+                throw new IllegalStateException("Per-draw data requires shader storage buffers");
+            }
+            if (path != Path.LOOP && !supportsDrawId(extensions)) {
+                throw new IllegalStateException("Per-draw data with " + path + " requires gl_DrawID");
+            }
+        }
+        this.path = path;
+        baseInstance = supportsBaseInstance(extensions);
+        final MemorySession session = MemorySession.openImplicit();
+        commands = MemorySegment.allocateNative((long) maxDraws * COMMAND_SIZE, 4, session);
+        if (path == Path.MULTI_DRAW_BASE_VERTEX) {
+            counts = MemorySegment.allocateNative(JAVA_INT.byteSize() * maxDraws, 4, session);
+            indexOffsets = MemorySegment.allocateNative(ADDRESS.byteSize() * maxDraws, ADDRESS.byteSize(), session);
+            baseVertices = MemorySegment.allocateNative(JAVA_INT.byteSize() * maxDraws, 4, session);
+        } else {
+            counts = null;
+            indexOffsets = null;
+            baseVertices = null;
+        }
+        commandStream = path == Path.MULTI_DRAW_INDIRECT
+            ? new StreamBuffer(GL_DRAW_INDIRECT_BUFFER, commands.byteSize() * submitsPerFrame)
+            : null;
+        if (drawDataStride > 0) {
+            drawData = MemorySegment.allocateNative((long) maxDraws * drawDataStride, 16, session);
+            // each submission starts at an aligned offset
+            final long alignedSize = (drawData.byteSize() + DRAW_DATA_ALIGNMENT - 1) & -DRAW_DATA_ALIGNMENT;
+            drawDataStream = new StreamBuffer(GL_SHADER_STORAGE_BUFFER, alignedSize * submitsPerFrame);
+        } else {
+            drawData = null;
+            drawDataStream = null;
+        }
+    }
+
+    /**
+     * Gets the best path supported by the context, for commands without per-draw data.
+     *
+     * @param extensions the extensions of the context
+     * @return the path
+     */
+    public static Path detectPath(GLExtensions extensions) {
+        return detectPath(extensions, false);
+    }
+
+    /**
+     * Gets the best path supported by the context. The multi-draw paths are only used for per-draw data
+     * if shaders have {@code gl_DrawID}.
+     *
+     * @param extensions the extensions of the context
+     * @param drawData   whether the commands have per-draw data
+     * @return the path
+     */
+    public static Path detectPath(GLExtensions extensions, boolean drawData) {
+        if (drawData && !supportsDrawId(extensions)) {
+            return Path.LOOP;
+        }
+        if (extensions.versionAtLeast(4, 3) || extensions.has("GL_ARB_multi_draw_indirect")) {
+            return Path.MULTI_DRAW_INDIRECT;
+        }
+        if (extensions.versionAtLeast(3, 2) || extensions.has("GL_ARB_draw_elements_base_vertex")) {
+            return Path.MULTI_DRAW_BASE_VERTEX;
+        }
+        return Path.LOOP;
+    }
+
+    /**
+     * Checks whether the context supports a non-zero {@code baseInstance}.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if OpenGL 4.2 or {@code GL_ARB_base_instance} is supported
+     */
+    public static boolean supportsBaseInstance(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 2) || extensions.has("GL_ARB_base_instance");
+    }
+
+    /**
+     * Checks whether the context supports the shader storage buffers holding the per-draw data.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if OpenGL 4.3 or {@code GL_ARB_shader_storage_buffer_object} is supported
+     */
+    public static boolean supportsDrawData(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 3) || extensions.has("GL_ARB_shader_storage_buffer_object");
+    }
+
+    /**
+     * Checks whether shaders can index the per-draw data by {@code gl_DrawID}.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if OpenGL 4.6 or {@code GL_ARB_shader_draw_parameters} is supported
+     */
+    public static boolean supportsDrawId(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 6) || extensions.has("GL_ARB_shader_draw_parameters");
+    }
+
+    /**
+     * Binds the shader storage block of the per-draw data in the program to a binding point,
+     * where {@link #submit(GLProgram, int)} binds the data.
+     *
+     * @param program   the program
+     * @param blockName the name of the shader storage block
+     * @param binding   the binding point
+     * @throws IllegalArgumentException if the block is not active in the program
+     */
+    public void bindDrawData(GLProgram program, String blockName, int binding) {
+        final int index = program.getResourceIndex(GL_SHADER_STORAGE_BLOCK, blockName);
+        if (index == GL_INVALID_INDEX) {
+            throw new IllegalArgumentException("Shader storage block " + blockName + " is not active in program " + program.id());
+        }
+        program.shaderStorageBlockBinding(index, binding);
+        drawDataBinding = binding;
+    }
+
+    /**
+     * Begins a frame of the streamed buffers, waiting for the GPU if the region of the frame is still in use.
+     *
+     * @throws IllegalStateException if the last frame was not ended
+     * @see StreamBuffer#beginFrame()
+     */
+    public void beginFrame() {
+        if (commandStream != null) commandStream.beginFrame();
+        if (drawDataStream != null) drawDataStream.beginFrame();
+    }
+
+    /**
+     * Ends the frame of the streamed buffers. This must be called after the last {@link #submit(GLProgram, int)}
+     * of the frame.
+     *
+     * @throws IllegalStateException if the frame was not begun
+     * @see StreamBuffer#endFrame()
+     */
+    public void endFrame() {
+        if (commandStream != null) commandStream.endFrame();
+        if (drawDataStream != null) drawDataStream.endFrame();
+    }
+
+    /**
+     * Discards the recorded commands.
+     */
+    public void begin() {
+        drawCount = 0;
+        instanced = false;
+    }
+
+    /**
+     * Records a non-instanced command.
+     *
+     * @param count      the count of the indices
+     * @param firstIndex the index of the first index in the element array buffer
+     * @param baseVertex the value added to each index
+     * @return the index of the command
+     * @throws IllegalStateException if {@code maxDraws} commands are already recorded
+     */
+    public int add(int count, int firstIndex, int baseVertex) {
+        return add(count, 1, firstIndex, baseVertex, 0);
+    }
+
+    /**
+     * Records a command.
+     *
+     * @param count         the count of the indices
+     * @param instanceCount the count of the instances
+     * @param firstIndex    the index of the first index in the element array buffer
+     * @param baseVertex    the value added to each index
+     * @param baseInstance  the first instance for the instanced attributes
+     * @return the index of the command
+     * @throws IllegalStateException    if {@code maxDraws} commands are already recorded
+     * @throws IllegalArgumentException if {@code baseInstance} is not zero and the context doesn't
+     *                                  {@link #supportsBaseInstance(GLExtensions) support} it
+     */
+    public int add(int count, int instanceCount, int firstIndex, int baseVertex, int baseInstance) {
+        if (drawCount == maxDraws) {
+            throw new IllegalStateException("Indirect draw builder full: " + maxDraws + " commands");
+        }
+        if (baseInstance != 0 && !this.baseInstance) {
+            throw new IllegalArgumentException("Non-zero baseInstance requires OpenGL 4.2 or GL_ARB_base_instance");
+        }
+        final long offset = (long) drawCount * COMMAND_SIZE;
+        commands.set(JAVA_INT, offset, count);
+        commands.set(JAVA_INT, offset + 4, instanceCount);
+        commands.set(JAVA_INT, offset + 8, firstIndex);
+        commands.set(JAVA_INT, offset + 12, baseVertex);
+        commands.set(JAVA_INT, offset + 16, baseInstance);
+        if (instanceCount != 1 || baseInstance != 0) {
+            instanced = true;
+        }
+        return drawCount++;
+    }
+
+    /**
+     * Gets the per-draw data of a recorded command.
+     *
+     * @param draw the index of the command
+     * @return the memory to write the data to
+     * @throws IllegalStateException if the builder has no per-draw data
+     */
+    public MemorySegment drawData(int draw) {
+        if (drawData == null) {
+            throw new IllegalStateException("Indirect draw builder has no per-draw data");
+        }
+        return drawData.asSlice((long) draw * drawDataStride, drawDataStride);
+    }
+
+    /**
+     * Uses the program and draws the recorded commands. The commands are kept until {@link #begin()}.
+     * This must be called between {@link #beginFrame()} and {@link #endFrame()}.
+     *
+     * @param program the program
+     * @param mode    the primitive mode, e.g. {@code GL_TRIANGLES}
+     * @throws IllegalStateException if the frame was not begun, the region of the frame is full,
+     *                               or the builder has per-draw data that was not {@link #bindDrawData bound}
+     */
+    public void submit(GLProgram program, int mode) {
+        drawCalls = 0;
+        if (drawCount == 0) return;
+        if (drawData != null && drawDataBinding < 0) {
+            throw new IllegalStateException("Per-draw data is not bound; call bindDrawData first");
+        }
+        program.use();
+        if (drawData != null && drawDataStream != null) {
+            final long size = (long) drawCount * drawDataStride;
+            final MemorySegment data = drawDataStream.allocate(size, DRAW_DATA_ALIGNMENT);
+            MemorySegment.copy(drawData, 0, data, 0, size);
+            drawDataStream.flush();
+            drawDataStream.buffer().bindRange(drawDataBinding, drawDataStream.offsetOf(data), size);
+        }
+        if (path == Path.MULTI_DRAW_INDIRECT && commandStream != null) {
+            final long size = (long) drawCount * COMMAND_SIZE;
+            final MemorySegment indirect = commandStream.allocate(size, 4);
+            MemorySegment.copy(commands, 0, indirect, 0, size);
+            commandStream.flush();
+            commandStream.buffer().bind();
+            gl().multiDrawElementsIndirect(mode, indexType, MemoryAddress.ofLong(commandStream.offsetOf(indirect)), drawCount, 0);
+            ++drawCalls;
+        } else if (path == Path.MULTI_DRAW_BASE_VERTEX && !instanced && counts != null && indexOffsets != null && baseVertices != null) {
+            for (int i = 0; i < drawCount; i++) {
+                final long offset = (long) i * COMMAND_SIZE;
+                counts.setAtIndex(JAVA_INT, i, commands.get(JAVA_INT, offset));
+                indexOffsets.setAtIndex(ADDRESS, i, MemoryAddress.ofLong((long) commands.get(JAVA_INT, offset + 8) * indexSize));
+                baseVertices.setAtIndex(JAVA_INT, i, commands.get(JAVA_INT, offset + 12));
+            }
+            gl().multiDrawElementsBaseVertex(mode, counts, indexType, indexOffsets, drawCount, baseVertices);
+            ++drawCalls;
+        } else {
+            final int drawIdLocation = program.getUniformLocation("drawId");
+            for (int i = 0; i < drawCount; i++) {
+                final long offset = (long) i * COMMAND_SIZE;
+                if (drawIdLocation >= 0) {
+                    program.uniform1i(drawIdLocation, i);
+                }
+                final int count = commands.get(JAVA_INT, offset);
+                final int instanceCount = commands.get(JAVA_INT, offset + 4);
+                final MemoryAddress indices = MemoryAddress.ofLong((long) commands.get(JAVA_INT, offset + 8) * indexSize);
+                final int baseVertex = commands.get(JAVA_INT, offset + 12);
+                final int baseInstance = commands.get(JAVA_INT, offset + 16);
+                if (baseInstance != 0) {
+                    gl().drawElementsInstancedBaseVertexBaseInstance(mode, count, indexType, indices, instanceCount, baseVertex, baseInstance);
+                } else if (instanceCount != 1) {
+                    if (baseVertex != 0) {
+                        gl().drawElementsInstancedBaseVertex(mode, count, indexType, indices, instanceCount, baseVertex);
+                    } else {
+                        gl().drawElementsInstanced(mode, count, indexType, indices, instanceCount);
+                    }
+                } else if (baseVertex != 0) {
+                    gl().drawElementsBaseVertex(mode, count, indexType, indices, baseVertex);
+                } else {
+                    gl().drawElements(mode, count, indexType, indices);
+                }
+                ++drawCalls;
+            }
+        }
+    }
+
+    /**
+     * Gets the count of the recorded commands.
+     *
+     * @return the count of the commands
+     */
+    public int drawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Gets the count of the draw calls issued by the last {@link #submit(GLProgram, int)}.
+     *
+     * @return the count of the draw calls
+     */
+    public int drawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * Gets the submission path.
+     *
+     * @return the path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Deletes the buffers.
+     */
+    public void delete() {
+        if (commandStream != null) commandStream.delete();
+        if (drawDataStream != null) drawDataStream.delete();
+    }
+}
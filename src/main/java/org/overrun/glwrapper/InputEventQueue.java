@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * A single-producer single-consumer ring buffer of input events.
+ * <p>
+ * Events are fixed-size records in preallocated native memory. The producer is the thread that
+ * polls the GLFW events, and the consumer is one other thread, e.g. the simulation thread, which
+ * {@link #drain(Handler) drains} the events in batches. Pushing and draining don't allocate
+ * and don't lock.
+ * <p>
+ * If the ring is full, new events are dropped and counted by {@link #dropped()}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var queue = window.enableInputQueue(1024);
+ * // main thread
+ * while (!window.shouldClose()) GLFW.waitEvents();
+ * // simulation thread
+ * queue.drain(new InputEventQueue.Handler() {
+ *     public void onKey(int key, int scancode, int action, int mods) { ... }
+ * });
+ * }</pre>
+ *
+ * @author squid233
+ * @see GLFWWindow#enableInputQueue(int)
+ * @since 0.1.0
+ */
+public final class InputEventQueue {
+    /**
+     * The event types.
+     */
+    public static final int KEY = 1, CHAR = 2, MOUSE_BUTTON = 3, CURSOR_POS = 4, CURSOR_ENTER = 5, SCROLL = 6;
+    /**
+     * The default capacity in events.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * The record layout: the type at 0, up to 4 {@code int}s at 4, 8, 12 and 16,
+     * or 2 {@code double}s at 16 and 24.
+     */
+    private static final long RECORD_SIZE = 32;
+    private final MemorySegment ring;
+    private final int capacity;
+    private final int mask;
+    /**
+     * The index of the next event to read, written by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * The index of the next event to write, written by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead;
+    private volatile long dropped;
+
+    /**
+     * Creates the queue.
+     *
+     * @param capacity the count of the events that the queue can hold; rounded up to a power of two
+     */
+    public InputEventQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+        mask = this.capacity - 1;
+        ring = MemorySegment.allocateNative(this.capacity * RECORD_SIZE, 8, MemorySession.openImplicit());
+    }
+
+    /**
+     * The consumer of the events. All methods do nothing by default.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public interface Handler {
+        /**
+         * Handles a key event.
+         *
+         * @param key      the keyboard key
+         * @param scancode the platform-specific scancode
+         * @param action   {@code PRESS}, {@code RELEASE} or {@code REPEAT}
+         * @param mods     the modifier bits
+         */
+        default void onKey(int key, int scancode, int action, int mods) {
+        }
+
+        /**
+         * Handles a character input.
+         *
+         * @param codepoint the Unicode code point
+         */
+        default void onChar(int codepoint) {
+        }
+
+        /**
+         * Handles a mouse button event.
+         *
+         * @param button the mouse button
+         * @param action {@code PRESS} or {@code RELEASE}
+         * @param mods   the modifier bits
+         */
+        default void onMouseButton(int button, int action, int mods) {
+        }
+
+        /**
+         * Handles a cursor movement.
+         *
+         * @param xpos the x-coordinate, relative to the left edge of the content area
+         * @param ypos the y-coordinate, relative to the top edge of the content area
+         */
+        default void onCursorPos(double xpos, double ypos) {
+        }
+
+        /**
+         * Handles the cursor entering or leaving the content area.
+         *
+         * @param entered {@code true} if the cursor entered the content area
+         */
+        default void onCursorEnter(boolean entered) {
+        }
+
+        /**
+         * Handles a scroll event.
+         *
+         * @param xoffset the scroll offset along the x-axis
+         * @param yoffset the scroll offset along the y-axis
+         */
+        default void onScroll(double xoffset, double yoffset) {
+        }
+    }
+
+    private long claim(int type) {
+        final long t = tail.getPlain();
+        if (t - cachedHead >= capacity) {
+            cachedHead = head.getAcquire();
+            if (t - cachedHead >= capacity) {
+                dropped = dropped + 1;
+                return -1;
+            }
+        }
+        final long offset = (t & mask) * RECORD_SIZE;
+        ring.set(JAVA_INT, offset, type);
+        return offset;
+    }
+
+    private void publish() {
+        tail.setRelease(tail.getPlain() + 1);
+    }
+
+    /**
+     * Pushes a key event. Only called by the producer thread.
+     *
+     * @param key      the keyboard key
+     * @param scancode the platform-specific scancode
+     * @param action   the action
+     * @param mods     the modifier bits
+     */
+    public void pushKey(int key, int scancode, int action, int mods) {
+        final long offset = claim(KEY);
+        if (offset < 0) return;
+        ring.set(JAVA_INT, offset + 4, key);
+        ring.set(JAVA_INT, offset + 8, scancode);
+        ring.set(JAVA_INT, offset + 12, action);
+        ring.set(JAVA_INT, offset + 16, mods);
+        publish();
+    }
+
+    /**
+     * Pushes a character input. Only called by the producer thread.
+     *
+     * @param codepoint the Unicode code point
+     */
+    public void pushChar(int codepoint) {
+        final long offset = claim(CHAR);
+        if (offset < 0) return;
+        ring.set(JAVA_INT, offset + 4, codepoint);
+        publish();
+    }
+
+    /**
+     * Pushes a mouse button event. Only called by the producer thread.
+     *
+     * @param button the mouse button
+     * @param action the action
+     * @param mods   the modifier bits
+     */
+    public void pushMouseButton(int button, int action, int mods) {
+        final long offset = claim(MOUSE_BUTTON);
+        if (offset < 0) return;
+        ring.set(JAVA_INT, offset + 4, button);
+        ring.set(JAVA_INT, offset + 8, action);
+        ring.set(JAVA_INT, offset + 12, mods);
+        publish();
+    }
+
+    /**
+     * Pushes a cursor movement. Only called by the producer thread.
+     *
+     * @param xpos the x-coordinate
+     * @param ypos the y-coordinate
+     */
+    public void pushCursorPos(double xpos, double ypos) {
+        final long offset = claim(CURSOR_POS);
+        if (offset < 0) return;
+        ring.set(JAVA_DOUBLE, offset + 16, xpos);
+        ring.set(JAVA_DOUBLE, offset + 24, ypos);
+        publish();
+    }
+
+    /**
+     * Pushes a cursor enter event. Only called by the producer thread.
+     *
+     * @param entered {@code true} if the cursor entered the content area
+     */
+    public void pushCursorEnter(boolean entered) {
+        final long offset = claim(CURSOR_ENTER);
+        if (offset < 0) return;
+        ring.set(JAVA_INT, offset + 4, entered ? 1 : 0);
+        publish();
+    }
+
+    /**
+     * Pushes a scroll event. Only called by the producer thread.
+     *
+     * @param xoffset the scroll offset along the x-axis
+     * @param yoffset the scroll offset along the y-axis
+     */
+    public void pushScroll(double xoffset, double yoffset) {
+        final long offset = claim(SCROLL);
+        if (offset < 0) return;
+        ring.set(JAVA_DOUBLE, offset + 16, xoffset);
+        ring.set(JAVA_DOUBLE, offset + 24, yoffset);
+        publish();
+    }
+
+    /**
+     * Passes all pending events to the handler. Only called by the consumer thread.
+     *
+     * @param handler the handler
+     * @return the count of the handled events
+     */
+    public int drain(Handler handler) {
+        return drain(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Passes at most {@code max} pending events to the handler. Only called by the consumer thread.
+     * <p>
+     * If the handler throws, the events before the failing one are consumed.
+     *
+     * @param handler the handler
+     * @param max     the maximum count of the events to handle
+     * @return the count of the handled events
+     */
+    public int drain(Handler handler, int max) {
+        final long h = head.getPlain();
+        final int count = (int) Math.min(tail.getAcquire() - h, max);
+        int i = 0;
+        try {
+            for (; i < count; i++) {
+                final long offset = ((h + i) & mask) * RECORD_SIZE;
+                switch (ring.get(JAVA_INT, offset)) {
+                    case KEY -> handler.onKey(ring.get(JAVA_INT, offset + 4),
+                        ring.get(JAVA_INT, offset + 8),
+                        ring.get(JAVA_INT, offset + 12),
+                        ring.get(JAVA_INT, offset + 16));
+                    case CHAR -> handler.onChar(ring.get(JAVA_INT, offset + 4));
+                    case MOUSE_BUTTON -> handler.onMouseButton(ring.get(JAVA_INT, offset + 4),
+                        ring.get(JAVA_INT, offset + 8),
+                        ring.get(JAVA_INT, offset + 12));
+                    case CURSOR_POS -> handler.onCursorPos(ring.get(JAVA_DOUBLE, offset + 16),
+                        ring.get(JAVA_DOUBLE, offset + 24));
+                    case CURSOR_ENTER -> handler.onCursorEnter(ring.get(JAVA_INT, offset + 4) != 0);
+                    case SCROLL -> handler.onScroll(ring.get(JAVA_DOUBLE, offset + 16),
+                        ring.get(JAVA_DOUBLE, offset + 24));
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            head.setRelease(h + i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the count of the pending events. The result may be stale when used concurrently.
+     *
+     * @return the count of the pending events
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Gets the count of the events that the queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the count of the events dropped because the queue was full.
+     *
+     * @return the count of the dropped events
+     */
+    public long dropped() {
+        return dropped;
+    }
+}
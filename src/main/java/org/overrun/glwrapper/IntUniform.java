@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The handle of an {@code int}, {@code bool}, sampler or image uniform.
+ *
+ * @author squid233
+ * @see ProgramReflection#intUniform(String)
+ * @since 0.1.0
+ */
+public final class IntUniform extends UniformHandle {
+    IntUniform(GLProgram program, String name, int location, boolean dsa) {
+        super(program, name, location, dsa);
+    }
+
+    /**
+     * Writes the value. The call is skipped if the {@link UniformShadow uniform shadow} has the same value.
+     *
+     * @param value the value, e.g. the texture unit of a sampler
+     */
+    public void set(int value) {
+        if (location < 0) return;
+        final UniformShadow shadow = program.uniformShadow();
+        if (shadow != null && !shadow.update(location, UniformShadow.I1, value)) return;
+        if (dsa) {
+            gl().programUniform1i(program.id(), location, value);
+        } else {
+            prepare();
+            gl().uniform1i(location, value);
+        }
+    }
+}
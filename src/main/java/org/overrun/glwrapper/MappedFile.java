@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A read-only memory-mapped file.
+ * <p>
+ * The contents are read by the OS on demand and are not copied to the Java heap, so a mapped shader source
+ * can be passed to {@link GLShader#source(MemorySegment...)} and a mapped image to an {@link ImageDecoder}
+ * without decoding them to a {@link String} or a {@code byte[]}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (var file = MappedFile.open(Path.of("shader.vert"))) {
+ *     shader.source(file.segment());
+ * }
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class MappedFile implements AutoCloseable {
+    private final MemorySession session;
+    private final MemorySegment segment;
+
+    private MappedFile(MemorySession session, MemorySegment segment) {
+        this.session = session;
+        this.segment = segment;
+    }
+
+    /**
+     * Maps a file that can only be accessed by the current thread.
+     *
+     * @param path the path of the file
+     * @return the mapped file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static MappedFile open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Maps a file.
+     *
+     * @param path   the path of the file
+     * @param shared {@code true} if the mapping is accessed or closed by other threads
+     * @return the mapped file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static MappedFile open(Path path, boolean shared) throws IOException {
+        final MemorySession session = shared ? MemorySession.openShared() : MemorySession.openConfined();
+        try (var channel = FileChannel.open(path, READ)) {
+            return new MappedFile(session, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), session));
+        } catch (IOException | RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the contents of the file. The segment is valid until this file is closed.
+     *
+     * @return the contents of the file
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return the size in bytes
+     */
+    public long size() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Unmaps the file.
+     */
+    @Override
+    public void close() {
+        session.close();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The handle of a {@code mat4} uniform.
+ *
+ * @author squid233
+ * @see ProgramReflection#mat4(String)
+ * @since 0.1.0
+ */
+public final class Mat4Uniform extends UniformHandle {
+    Mat4Uniform(GLProgram program, String name, int location, boolean dsa) {
+        super(program, name, location, dsa);
+    }
+
+    /**
+     * Writes a column-major matrix. The call is skipped if the {@link UniformShadow uniform shadow}
+     * has the same matrix.
+     *
+     * @param value the column-major matrix of 16 floats
+     */
+    public void set(float[] value) {
+        if (location < 0) return;
+        final UniformShadow shadow = program.uniformShadow();
+        if (shadow != null && !shadow.updateMatrix(location, UniformShadow.MAT4F, false, 16, 1, value)) return;
+        final ScratchArena arena = ScratchArena.get();
+        final long mark = arena.mark();
+        try {
+            final MemorySegment segment = arena.allocateArray(JAVA_FLOAT, 16);
+            MemorySegment.copy(value, 0, segment, JAVA_FLOAT, 0, 16);
+            write(segment);
+        } finally {
+            arena.release(mark);
+        }
+    }
+
+    /**
+     * Writes a column-major matrix from native memory. The call is always issued.
+     *
+     * @param value the column-major matrix of 16 floats
+     */
+    public void set(MemorySegment value) {
+        if (location < 0) return;
+        write(value);
+        invalidate();
+    }
+
+    private void write(MemorySegment value) {
+        if (dsa) {
+            gl().programUniformMatrix4fv(program.id(), location, 1, false, value);
+        } else {
+            prepare();
+            gl().uniformMatrix4fv(location, 1, false, value);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.nio.file.StandardOpenOption.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A persistent on-disk cache of program binaries.
+ * <p>
+ * Each program is stored in its own memory-mapped file, named by a SHA-256 hash of the
+ * shader sources and types, the attribute bindings, and the vendor, renderer and version
+ * strings of the driver. A driver update therefore never sees binaries of the old driver.
+ * <p>
+ * If the driver rejects a cached binary, the file is deleted and the program is
+ * compiled and linked from the sources, then stored again.
+ * <p>
+ * The cache must be created and used on the thread that has the OpenGL context current.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class ProgramBinaryCache {
+    private static final int MAGIC = 0x42504C47; // "GLPB"
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private final Path directory;
+    private final String driver;
+    private int hits;
+    private int misses;
+    private int rejections;
+
+    /**
+     * Creates the cache.
+     *
+     * @param directory the directory to store the binaries in; created if absent
+     * @throws UncheckedIOException if the directory cannot be created
+     */
+    public ProgramBinaryCache(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        driver = gl().getString(GL_VENDOR) + '\n' + gl().getString(GL_RENDERER) + '\n' + gl().getString(GL_VERSION);
+    }
+
+    /**
+     * Computes the cache key of the program source.
+     *
+     * @param source the program source
+     * @return the hex string of the key
+     */
+    public String key(ProgramSource source) {
+        final MessageDigest digest = ProgramSource.sha256();
+        ProgramSource.update(digest, driver);
+        source.update(digest);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Path path(String key) {
+        return directory.resolve(key + ".bin");
+    }
+
+    /**
+     * Loads the program from the cache, or compiles and links it from the sources and
+     * stores the binary.
+     *
+     * @param source the program source
+     * @return the linked program
+     * @throws IllegalStateException if the program failed to compile or link from the sources
+     */
+    public GLProgram load(ProgramSource source) {
+        final String key = key(source);
+        final Path path = path(key);
+        final GLProgram program = new GLProgram();
+        if (Files.isRegularFile(path)) {
+            if (loadBinary(program, path)) {
+                program.cacheUniformLocations();
+                ++hits;
+                return program;
+            }
+            ++rejections;
+            delete(path);
+        }
+        ++misses;
+        program.parameteri(GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+        source.linkInto(program);
+        store(program, path);
+        return program;
+    }
+
+    private static boolean loadBinary(GLProgram program, Path path) {
+        try (var session = MemorySession.openConfined();
+             var channel = FileChannel.open(path, READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return false;
+            }
+            final MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, session);
+            final int length = file.get(JAVA_INT, 12);
+            if (file.get(JAVA_INT, 0) != MAGIC ||
+                file.get(JAVA_INT, 4) != FILE_VERSION ||
+                length != size - HEADER_SIZE) {
+                return false;
+            }
+            program.binary(file.get(JAVA_INT, 8), file.asSlice(HEADER_SIZE, length));
+            return program.geti(GL_LINK_STATUS) == GL_TRUE;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void store(GLProgram program, Path path) {
+        final int length = program.geti(GL_PROGRAM_BINARY_LENGTH);
+        if (length <= 0) {
+            // the driver supports no binary formats
+            return;
+        }
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+                final int[] written = new int[1];
+                try (var session = MemorySession.openConfined()) {
+                    final MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + length, session);
+                    final int[] format = new int[1];
+                    program.getBinary(written, format, file.asSlice(HEADER_SIZE, length));
+                    file.set(JAVA_INT, 0, MAGIC);
+                    file.set(JAVA_INT, 4, FILE_VERSION);
+                    file.set(JAVA_INT, 8, format[0]);
+                    file.set(JAVA_INT, 12, written[0]);
+                    file.force();
+                }
+                // a mapped file can't be truncated on Windows, so the mapping is closed first
+                if (written[0] != length) {
+                    channel.truncate(HEADER_SIZE + written[0]);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the cache is best-effort; the program itself is linked already
+            delete(temp);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Removes the cached binary of the program source.
+     *
+     * @param source the program source
+     */
+    public void invalidate(ProgramSource source) {
+        delete(path(key(source)));
+    }
+
+    /**
+     * Gets the count of the programs loaded from binaries.
+     *
+     * @return the count of the hits
+     */
+    public int hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the count of the programs compiled from sources.
+     *
+     * @return the count of the misses
+     */
+    public int misses() {
+        return misses;
+    }
+
+    /**
+     * Gets the count of the binaries rejected by the driver or corrupted.
+     *
+     * @return the count of the rejections
+     */
+    public int rejections() {
+        return rejections;
+    }
+
+    /**
+     * Gets the cache directory.
+     *
+     * @return the cache directory
+     */
+    public Path directory() {
+        return directory;
+    }
+}
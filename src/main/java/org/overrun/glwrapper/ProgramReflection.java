@@ -0,0 +1,465 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The active uniforms, attributes and blocks of a linked program, and the typed uniform handles.
+ * <p>
+ * With OpenGL 4.3 or {@code GL_ARB_program_interface_query}, the program is reflected with
+ * {@code glGetProgramResourceiv} and {@code glGetProgramResourceName}, which return all properties
+ * of a resource in one call. Otherwise, {@code glGetActiveUniformName}, {@code glGetActiveUniformsiv},
+ * {@code glGetActiveAttrib} and {@code glGetActiveUniformBlockiv} are used, and shader storage blocks are
+ * not reflected.
+ * <p>
+ * The typed handles, e.g. {@link #vec4(String)} and {@link #mat4(String)}, check the type of the uniform once
+ * and write without a name lookup. They write with {@code glProgramUniform*} if OpenGL 4.1 or
+ * {@code GL_ARB_separate_shader_objects} is available, and with {@code glUseProgram} and {@code glUniform*} otherwise.
+ * A handle of a uniform that is not active has the location {@code -1} and ignores the writes, like OpenGL does.
+ * The handles skip unchanged values through the {@link UniformShadow uniform shadow} of the program, so any
+ * count of handles of the same uniform can be created.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var reflection = program.reflection();
+ * Mat4Uniform projection = reflection.mat4("projection");
+ * Vec4Uniform color = reflection.vec4("color");
+ * // per frame
+ * projection.set(matrix);
+ * color.set(1f, 1f, 1f, 1f);
+ * }</pre>
+ *
+ * @author squid233
+ * @see GLProgram#reflection()
+ * @since 0.1.0
+ */
+public final class ProgramReflection {
+    private static final int[] UNIFORM_PROPS = {GL_TYPE, GL_ARRAY_SIZE, GL_LOCATION, GL_BLOCK_INDEX};
+    private static final int[] ATTRIB_PROPS = {GL_TYPE, GL_ARRAY_SIZE, GL_LOCATION};
+    private static final int[] BLOCK_PROPS = {GL_BUFFER_BINDING, GL_BUFFER_DATA_SIZE};
+    private final GLProgram program;
+    private final boolean dsa;
+    private final List<UniformInfo> uniforms;
+    private final Map<String, UniformInfo> uniformsByName;
+    private final List<AttribInfo> attributes;
+    private final List<BlockInfo> uniformBlocks;
+    private final List<BlockInfo> storageBlocks;
+
+    private ProgramReflection(GLProgram program,
+                              boolean dsa,
+                              List<UniformInfo> uniforms,
+                              List<AttribInfo> attributes,
+                              List<BlockInfo> uniformBlocks,
+                              List<BlockInfo> storageBlocks) {
+        this.program = program;
+        this.dsa = dsa;
+        this.uniforms = uniforms;
+        this.attributes = attributes;
+        this.uniformBlocks = uniformBlocks;
+        this.storageBlocks = storageBlocks;
+        final Map<String, UniformInfo> byName = new HashMap<>(uniforms.size() * 2);
+        for (UniformInfo uniform : uniforms) {
+            byName.put(uniform.name(), uniform);
+            // arrays are reported as "name[0]", but "name" is also valid
+            if (uniform.name().endsWith("[0]")) {
+                byName.putIfAbsent(uniform.name().substring(0, uniform.name().length() - 3), uniform);
+            }
+        }
+        uniformsByName = byName;
+    }
+
+    /**
+     * An active uniform of the default uniform block.
+     *
+     * @param name     the name of the uniform
+     * @param type     the OpenGL type of the uniform, e.g. {@code GL_FLOAT_VEC4}
+     * @param size     the count of the array elements, or 1 for non-array uniforms
+     * @param location the location of the uniform
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record UniformInfo(String name, int type, int size, int location) {
+    }
+
+    /**
+     * An active vertex attribute.
+     *
+     * @param name     the name of the attribute
+     * @param type     the OpenGL type of the attribute, e.g. {@code GL_FLOAT_VEC3}
+     * @param size     the count of the array elements, or 1 for non-array attributes
+     * @param location the location of the attribute
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record AttribInfo(String name, int type, int size, int location) {
+    }
+
+    /**
+     * An active uniform block or shader storage block.
+     *
+     * @param name     the name of the block
+     * @param index    the index of the block
+     * @param binding  the binding point of the block
+     * @param dataSize the minimum buffer size of the block in bytes
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record BlockInfo(String name, int index, int binding, int dataSize) {
+    }
+
+    /**
+     * Reflects a linked program with the extensions of the current context.
+     *
+     * @param program the linked program
+     * @return the reflection
+     */
+    public static ProgramReflection reflect(GLProgram program) {
+        return reflect(program, GLStateManager.current().extensions());
+    }
+
+    /**
+     * Reflects a linked program.
+     *
+     * @param program    the linked program
+     * @param extensions the extensions of the context
+     * @return the reflection
+     */
+    public static ProgramReflection reflect(GLProgram program, GLExtensions extensions) {
+        final boolean dsa = extensions.versionAtLeast(4, 1) || extensions.has("GL_ARB_separate_shader_objects");
+        if (program.geti(GL_LINK_STATUS) == GL_FALSE) {
+            return new ProgramReflection(program, dsa, List.of(), List.of(), List.of(), List.of());
+        }
+        if (extensions.versionAtLeast(4, 3) || extensions.has("GL_ARB_program_interface_query")) {
+            return new ProgramReflection(program,
+                dsa,
+                queryUniforms(program),
+                queryAttributes(program),
+                queryBlocks(program, GL_UNIFORM_BLOCK),
+                queryBlocks(program, GL_SHADER_STORAGE_BLOCK));
+        }
+        return new ProgramReflection(program,
+            dsa,
+            activeUniforms(program),
+            activeAttributes(program),
+            activeUniformBlocks(program),
+            List.of());
+    }
+
+    private static List<UniformInfo> queryUniforms(GLProgram program) {
+        final int id = program.id();
+        final int count = gl().getProgramInterfacei(id, GL_UNIFORM, GL_ACTIVE_RESOURCES);
+        final int maxLength = gl().getProgramInterfacei(id, GL_UNIFORM, GL_MAX_NAME_LENGTH);
+        final List<UniformInfo> list = new ArrayList<>(count);
+        final int[] params = new int[UNIFORM_PROPS.length];
+        for (int i = 0; i < count; i++) {
+            gl().getProgramResourceiv(id, GL_UNIFORM, i, UNIFORM_PROPS, null, params);
+            // members of uniform blocks are described by UniformBlockLayout
+            if (params[3] != -1) continue;
+            list.add(new UniformInfo(gl().getProgramResourceName(id, GL_UNIFORM, i, maxLength, null), params[0], params[1], params[2]));
+        }
+        return List.copyOf(list);
+    }
+
+    private static List<AttribInfo> queryAttributes(GLProgram program) {
+        final int id = program.id();
+        final int count = gl().getProgramInterfacei(id, GL_PROGRAM_INPUT, GL_ACTIVE_RESOURCES);
+        final int maxLength = gl().getProgramInterfacei(id, GL_PROGRAM_INPUT, GL_MAX_NAME_LENGTH);
+        final List<AttribInfo> list = new ArrayList<>(count);
+        final int[] params = new int[ATTRIB_PROPS.length];
+        for (int i = 0; i < count; i++) {
+            final String name = gl().getProgramResourceName(id, GL_PROGRAM_INPUT, i, maxLength, null);
+            if (name.startsWith("gl_")) continue;
+            gl().getProgramResourceiv(id, GL_PROGRAM_INPUT, i, ATTRIB_PROPS, null, params);
+            list.add(new AttribInfo(name, params[0], params[1], params[2]));
+        }
+        return List.copyOf(list);
+    }
+
+    private static List<BlockInfo> queryBlocks(GLProgram program, int programInterface) {
+        final int id = program.id();
+        final int count = gl().getProgramInterfacei(id, programInterface, GL_ACTIVE_RESOURCES);
+        final int maxLength = gl().getProgramInterfacei(id, programInterface, GL_MAX_NAME_LENGTH);
+        final List<BlockInfo> list = new ArrayList<>(count);
+        final int[] params = new int[BLOCK_PROPS.length];
+        for (int i = 0; i < count; i++) {
+            gl().getProgramResourceiv(id, programInterface, i, BLOCK_PROPS, null, params);
+            list.add(new BlockInfo(gl().getProgramResourceName(id, programInterface, i, maxLength, null), i, params[0], params[1]));
+        }
+        return List.copyOf(list);
+    }
+
+    private static List<UniformInfo> activeUniforms(GLProgram program) {
+        final int count = program.geti(GL_ACTIVE_UNIFORMS);
+        if (count == 0) {
+            return List.of();
+        }
+        final int maxLength = program.geti(GL_ACTIVE_UNIFORM_MAX_LENGTH);
+        final int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+        }
+        final int[] types = new int[count];
+        final int[] sizes = new int[count];
+        final int[] blocks = new int[count];
+        program.getActiveUniformsiv(indices, GL_UNIFORM_TYPE, types);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_SIZE, sizes);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_BLOCK_INDEX, blocks);
+        final List<UniformInfo> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (blocks[i] != -1) continue;
+            final String name = program.getActiveUniformName(i, maxLength);
+            list.add(new UniformInfo(name, types[i], sizes[i], gl().getUniformLocation(program.id(), name)));
+        }
+        return List.copyOf(list);
+    }
+
+    private static List<AttribInfo> activeAttributes(GLProgram program) {
+        final int id = program.id();
+        final int count = program.geti(GL_ACTIVE_ATTRIBUTES);
+        final int maxLength = program.geti(GL_ACTIVE_ATTRIBUTE_MAX_LENGTH);
+        final List<AttribInfo> list = new ArrayList<>(count);
+        final int[] size = new int[1];
+        final int[] type = new int[1];
+        final String[] name = new String[1];
+        for (int i = 0; i < count; i++) {
+            gl().getActiveAttrib(id, i, maxLength, null, size, type, name);
+            if (name[0].startsWith("gl_")) continue;
+            list.add(new AttribInfo(name[0], type[0], size[0], gl().getAttribLocation(id, name[0])));
+        }
+        return List.copyOf(list);
+    }
+
+    private static List<BlockInfo> activeUniformBlocks(GLProgram program) {
+        final int count = program.geti(GL_ACTIVE_UNIFORM_BLOCKS);
+        final int maxLength = program.geti(GL_ACTIVE_UNIFORM_BLOCK_MAX_NAME_LENGTH);
+        final List<BlockInfo> list = new ArrayList<>(count);
+        final int[] binding = new int[1];
+        final int[] dataSize = new int[1];
+        for (int i = 0; i < count; i++) {
+            program.getActiveUniformBlockiv(i, GL_UNIFORM_BLOCK_BINDING, binding);
+            program.getActiveUniformBlockiv(i, GL_UNIFORM_BLOCK_DATA_SIZE, dataSize);
+            list.add(new BlockInfo(gl().getActiveUniformBlockName(program.id(), i, maxLength), i, binding[0], dataSize[0]));
+        }
+        return List.copyOf(list);
+    }
+
+    /**
+     * Gets an active uniform of the default uniform block.
+     *
+     * @param name the name of the uniform; arrays can be named with or without {@code [0]}
+     * @return the uniform, or {@code null} if it is not active
+     */
+    public @Nullable UniformInfo uniform(String name) {
+        return uniformsByName.get(name);
+    }
+
+    private int location(String name, String handle, int... types) {
+        final UniformInfo uniform = uniformsByName.get(name);
+        if (uniform == null) {
+            return -1;
+        }
+        for (int type : types) {
+            if (uniform.type() == type) {
+                return uniform.location();
+            }
+        }
+        throw new IllegalArgumentException("Uniform " + name + " of type 0x" + Integer.toHexString(uniform.type()) +
+                                           " doesn't match " + handle + " in program " + program.id());
+    }
+
+    /**
+     * Creates a handle of a {@code float} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public FloatUniform floatUniform(String name) {
+        return new FloatUniform(program, name, location(name, "FloatUniform", GL_FLOAT), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code vec2} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public Vec2Uniform vec2(String name) {
+        return new Vec2Uniform(program, name, location(name, "Vec2Uniform", GL_FLOAT_VEC2), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code vec3} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public Vec3Uniform vec3(String name) {
+        return new Vec3Uniform(program, name, location(name, "Vec3Uniform", GL_FLOAT_VEC3), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code vec4} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public Vec4Uniform vec4(String name) {
+        return new Vec4Uniform(program, name, location(name, "Vec4Uniform", GL_FLOAT_VEC4), dsa);
+    }
+
+    /**
+     * Creates a handle of an {@code int}, {@code bool}, sampler or image uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public IntUniform intUniform(String name) {
+        final UniformInfo uniform = uniformsByName.get(name);
+        if (uniform != null && (uniform.type() == GL_INT || uniform.type() == GL_BOOL || isOpaque(uniform.type()))) {
+            return new IntUniform(program, name, uniform.location(), dsa);
+        }
+        return new IntUniform(program, name, location(name, "IntUniform", GL_INT, GL_BOOL), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code uint} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public UIntUniform uintUniform(String name) {
+        return new UIntUniform(program, name, location(name, "UIntUniform", GL_UNSIGNED_INT), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code mat3} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public Mat3Uniform mat3(String name) {
+        return new Mat3Uniform(program, name, location(name, "Mat3Uniform", GL_FLOAT_MAT3), dsa);
+    }
+
+    /**
+     * Creates a handle of a {@code mat4} uniform.
+     *
+     * @param name the name of the uniform
+     * @return the handle
+     * @throws IllegalArgumentException if the uniform is active and has another type
+     */
+    public Mat4Uniform mat4(String name) {
+        return new Mat4Uniform(program, name, location(name, "Mat4Uniform", GL_FLOAT_MAT4), dsa);
+    }
+
+    /**
+     * Checks whether a type is a sampler, image or atomic counter type, which are set as {@code int}.
+     *
+     * @param type the OpenGL type
+     * @return {@code true} if the type is opaque
+     */
+    public static boolean isOpaque(int type) {
+        return switch (type) {
+            case GL_FLOAT, GL_FLOAT_VEC2, GL_FLOAT_VEC3, GL_FLOAT_VEC4,
+                GL_INT, GL_INT_VEC2, GL_INT_VEC3, GL_INT_VEC4,
+                GL_UNSIGNED_INT, GL_UNSIGNED_INT_VEC2, GL_UNSIGNED_INT_VEC3, GL_UNSIGNED_INT_VEC4,
+                GL_BOOL, GL_BOOL_VEC2, GL_BOOL_VEC3, GL_BOOL_VEC4,
+                GL_DOUBLE, GL_DOUBLE_VEC2, GL_DOUBLE_VEC3, GL_DOUBLE_VEC4,
+                GL_FLOAT_MAT2, GL_FLOAT_MAT3, GL_FLOAT_MAT4,
+                GL_FLOAT_MAT2x3, GL_FLOAT_MAT2x4, GL_FLOAT_MAT3x2, GL_FLOAT_MAT3x4, GL_FLOAT_MAT4x2, GL_FLOAT_MAT4x3,
+                GL_DOUBLE_MAT2, GL_DOUBLE_MAT3, GL_DOUBLE_MAT4,
+                GL_DOUBLE_MAT2x3, GL_DOUBLE_MAT2x4, GL_DOUBLE_MAT3x2, GL_DOUBLE_MAT3x4, GL_DOUBLE_MAT4x2, GL_DOUBLE_MAT4x3 -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * Gets the active uniforms of the default uniform block.
+     * Members of uniform blocks are described by {@link UniformBlockLayout}.
+     *
+     * @return the uniforms
+     */
+    public List<UniformInfo> uniforms() {
+        return uniforms;
+    }
+
+    /**
+     * Gets the active vertex attributes, without the built-in ones.
+     *
+     * @return the attributes
+     */
+    public List<AttribInfo> attributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets the active uniform blocks.
+     *
+     * @return the uniform blocks
+     */
+    public List<BlockInfo> uniformBlocks() {
+        return uniformBlocks;
+    }
+
+    /**
+     * Gets the active shader storage blocks. Empty without program interface queries.
+     *
+     * @return the shader storage blocks
+     */
+    public List<BlockInfo> storageBlocks() {
+        return storageBlocks;
+    }
+
+    /**
+     * Gets whether the handles write with {@code glProgramUniform*}.
+     *
+     * @return {@code true} if the direct state access path is used
+     */
+    public boolean isDirect() {
+        return dsa;
+    }
+
+    /**
+     * Gets the reflected program.
+     *
+     * @return the program
+     */
+    public GLProgram program() {
+        return program;
+    }
+}
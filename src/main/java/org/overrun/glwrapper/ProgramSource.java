@@ -0,0 +1,263 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * The sources of a program: shader stages and attribute bindings.
+ * <p>
+ * A program source is an immutable value and can be used as a key.
+ *
+ * @param stages          the shader stages
+ * @param attribLocations the attribute locations to bind before linking
+ * @author squid233
+ * @since 0.1.0
+ */
+public record ProgramSource(List<Stage> stages, List<AttribLocation> attribLocations) {
+    /**
+     * Creates the program source.
+     *
+     * @param stages          the shader stages
+     * @param attribLocations the attribute locations to bind before linking
+     */
+    public ProgramSource {
+        stages = List.copyOf(stages);
+        attribLocations = List.copyOf(attribLocations);
+    }
+
+    /**
+     * A shader stage.
+     *
+     * @param type   the shader type, e.g. {@code GL_VERTEX_SHADER}
+     * @param source the shader source
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record Stage(int type, String source) {
+    }
+
+    /**
+     * An attribute location binding.
+     *
+     * @param index the attribute index
+     * @param name  the attribute name
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record AttribLocation(int index, String name) {
+    }
+
+    /**
+     * Gets the builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The program source builder.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Builder {
+        private final List<Stage> stages = new ArrayList<>();
+        private final List<AttribLocation> attribLocations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a shader stage.
+         *
+         * @param type   the shader type, e.g. {@code GL_VERTEX_SHADER}
+         * @param source the shader source
+         * @return this
+         */
+        public Builder shader(int type, String source) {
+            stages.add(new Stage(type, source));
+            return this;
+        }
+
+        /**
+         * Binds an attribute location before linking.
+         *
+         * @param index the attribute index
+         * @param name  the attribute name
+         * @return this
+         */
+        public Builder attribLocation(int index, String name) {
+            attribLocations.add(new AttribLocation(index, name));
+            return this;
+        }
+
+        /**
+         * Builds the program source.
+         *
+         * @return the program source
+         */
+        public ProgramSource build() {
+            return new ProgramSource(stages, attribLocations);
+        }
+    }
+
+    /**
+     * Computes a SHA-256 hash of the shader sources and types and the attribute bindings.
+     *
+     * @return the hex string of the hash
+     */
+    public String digest() {
+        final MessageDigest digest = sha256();
+        update(digest);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    void update(MessageDigest digest) {
+        for (Stage stage : stages) {
+            update(digest, Integer.toString(stage.type()));
+            update(digest, stage.source());
+        }
+        for (AttribLocation attrib : attribLocations) {
+            update(digest, Integer.toString(attrib.index()));
+            update(digest, attrib.name());
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void update(MessageDigest digest, String s) {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        final int length = bytes.length;
+        // length prefix, so that ("ab", "c") and ("a", "bc") differ
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+
+    /**
+     * Creates the shaders of this source.
+     * The shaders are sourced and compilation is started, but the status is not checked.
+     *
+     * @return the shaders, in the order of the stages
+     */
+    public GLShader[] compileShaders() {
+        final GLShader[] shaders = new GLShader[stages.size()];
+        for (int i = 0; i < shaders.length; i++) {
+            final Stage stage = stages.get(i);
+            final GLShader shader = new GLShader(stage.type());
+            shader.source(stage.source());
+            shader.compile();
+            shaders[i] = shader;
+        }
+        return shaders;
+    }
+
+    /**
+     * Attaches the shaders to the program, binds the attribute locations and links the program.
+     * The link status is not checked.
+     *
+     * @param program the program
+     * @param shaders the compiled shaders
+     */
+    public void link(GLProgram program, GLShader[] shaders) {
+        for (GLShader shader : shaders) {
+            program.attachShader(shader);
+        }
+        for (AttribLocation attrib : attribLocations) {
+            program.bindAttribLocation(attrib.index(), attrib.name());
+        }
+        program.link();
+        for (GLShader shader : shaders) {
+            program.detachShader(shader);
+        }
+    }
+
+    /**
+     * Checks the compile status of the shaders and the link status of the program, then
+     * deletes the shaders and fills the {@link GLProgram#cacheUniformLocations() uniform location cache}.
+     *
+     * @param program the linked program
+     * @param shaders the shaders
+     * @throws IllegalStateException if a shader failed to compile or the program failed to link;
+     *                               the program is deleted in this case
+     */
+    public static void checkStatus(GLProgram program, GLShader[] shaders) {
+        String error = null;
+        for (GLShader shader : shaders) {
+            if (error == null && shader.geti(GL_COMPILE_STATUS) == GL_FALSE) {
+                error = "Failed to compile the shader " + shader.id() + ": " + shader.getInfoLog();
+            }
+            shader.delete();
+        }
+        if (error == null && program.geti(GL_LINK_STATUS) == GL_FALSE) {
+            error = "Failed to link the program " + program.id() + ": " + program.getInfoLog();
+        }
+        if (error != null) {
+            program.delete();
+            throw new IllegalStateException(error);
+        }
+        program.cacheUniformLocations();
+    }
+
+    /**
+     * Compiles the shaders and links them into the given program.
+     *
+     * @param program the program
+     * @throws IllegalStateException if a shader failed to compile or the program failed to link;
+     *                               the program is deleted in this case
+     */
+    public void linkInto(GLProgram program) {
+        final GLShader[] shaders = compileShaders();
+        link(program, shaders);
+        checkStatus(program, shaders);
+    }
+
+    /**
+     * Compiles the shaders and links them into a new program.
+     *
+     * @return the linked program
+     * @throws IllegalStateException if a shader failed to compile or the program failed to link
+     */
+    public GLProgram create() {
+        final GLProgram program = new GLProgram();
+        linkInto(program);
+        return program;
+    }
+}
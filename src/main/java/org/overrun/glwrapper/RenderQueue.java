@@ -0,0 +1,681 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.Arrays;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A queue of draw items that are sorted by state before drawing.
+ * <p>
+ * Each item is encoded into a 64-bit sort key when it is {@link #add() added}. The low 24 bits hold the index of
+ * the item, and the high bits hold its state:
+ * <ul>
+ * <li>opaque items are grouped by program, then by the texture of unit 0, then by vertex array, then sorted
+ * front to back by a coarse depth;</li>
+ * <li>translucent items are drawn after the opaque ones, back to front, then grouped by blend mode, program
+ * and texture.</li>
+ * </ul>
+ * Programs, textures and vertex arrays are ranked by the order they are first seen in a frame, so the key stays
+ * compact; the ranks are reset when the queue is emptied. Ranks wider than their field share the masked bits,
+ * which groups the items less tightly but still draws them correctly. Items with equal state keep their
+ * submission order.
+ * <p>
+ * {@link #execute()} sorts the keys with an LSD radix sort over the state bytes, and only issues the state
+ * changes between consecutive items. It leaves blending disabled and depth writes enabled, like an opaque item.
+ * All storage is preallocated, so a frame doesn't allocate, unless the
+ * queue is longer than the {@link #setParallelThreshold(int) parallel threshold}; such queues are sorted with
+ * {@link Arrays#parallelSort(long[], int, int)} on the common fork/join pool.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var queue = new RenderQueue(4096);
+ * queue.setCallback((userData, program) -> modelUniform.set(models[userData]));
+ * // per frame, in scene-graph order
+ * queue.add()
+ *     .program(program)
+ *     .vertexArray(vao)
+ *     .texture(0, texture)
+ *     .depth(distance)
+ *     .userData(node)
+ *     .drawElements(GL_TRIANGLES, 36, GL_UNSIGNED_INT, 0);
+ * queue.execute();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class RenderQueue {
+    /**
+     * The maximum count of the texture units of an item.
+     */
+    public static final int MAX_TEXTURES = 4;
+    /**
+     * The maximum capacity of a queue, limited by the index bits of the sort key.
+     */
+    public static final int MAX_CAPACITY = 1 << 24;
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = MAX_CAPACITY - 1;
+    /**
+     * The count of the radix digits above the index bits.
+     */
+    private static final int DIGITS = (64 - INDEX_BITS) / 8;
+    /**
+     * Queues shorter than this are sorted with {@link Arrays#sort(long[], int, int)}.
+     */
+    private static final int SMALL_SORT = 64;
+    private final int capacity;
+    private final GLProgram[] programs;
+    private final Blend[] blends;
+    private final int[] vertexArrays;
+    private final int[] textureTargets;
+    private final int[] textures;
+    private final int[] modes;
+    private final int[] counts;
+    private final int[] indexTypes;
+    private final long[] offsets;
+    private final int[] instances;
+    private final int[] userData;
+    private final int[] histogram = new int[DIGITS * 256];
+    private final RankTable programRanks = new RankTable();
+    private final RankTable textureRanks = new RankTable();
+    private final RankTable vertexArrayRanks = new RankTable();
+    private final int[] boundTextures = new int[MAX_TEXTURES];
+    private final int[] boundTargets = new int[MAX_TEXTURES];
+    private final Item item = new Item();
+    private long[] keys;
+    private long[] scratch;
+    private int count;
+    private int parallelThreshold = Integer.MAX_VALUE;
+    private @Nullable ItemCallback callback;
+    private int drawCalls;
+    private int programChanges;
+    private int textureChanges;
+    private int vertexArrayChanges;
+    private int blendChanges;
+
+    /**
+     * Creates the queue.
+     *
+     * @param capacity the maximum count of the items of a frame
+     * @throws IllegalArgumentException if the capacity is not positive or exceeds {@link #MAX_CAPACITY}
+     */
+    public RenderQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid render queue capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        programs = new GLProgram[capacity];
+        blends = new Blend[capacity];
+        vertexArrays = new int[capacity];
+        textureTargets = new int[capacity];
+        textures = new int[capacity * MAX_TEXTURES];
+        modes = new int[capacity];
+        counts = new int[capacity];
+        indexTypes = new int[capacity];
+        offsets = new long[capacity];
+        instances = new int[capacity];
+        userData = new int[capacity];
+        keys = new long[capacity];
+        scratch = new long[capacity];
+    }
+
+    /**
+     * The blend mode of an item.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public enum Blend {
+        /**
+         * Blending disabled, depth writes enabled.
+         */
+        OPAQUE,
+        /**
+         * {@code (GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA)}, depth writes disabled.
+         */
+        ALPHA,
+        /**
+         * {@code (GL_ONE, GL_ONE_MINUS_SRC_ALPHA)}, depth writes disabled.
+         */
+        PREMULTIPLIED,
+        /**
+         * {@code (GL_ONE, GL_ONE)}, depth writes disabled.
+         */
+        ADDITIVE
+    }
+
+    /**
+     * Called before each item is drawn, after its program is in use, e.g. to set per-item uniforms.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    public interface ItemCallback {
+        /**
+         * Prepares an item.
+         *
+         * @param userData the user data of the item
+         * @param program  the program of the item
+         */
+        void prepare(int userData, GLProgram program);
+    }
+
+    /**
+     * Assigns dense ranks to object names in the order they are first seen.
+     */
+    private static final class RankTable {
+        private int[] ranks = new int[64];
+        // the ranked names, in rank order
+        private int[] ids = new int[64];
+        private int next;
+
+        private int rank(int id) {
+            if (id >= ranks.length) {
+                ranks = Arrays.copyOf(ranks, Math.max(id + 1, ranks.length * 2));
+            }
+            int rank = ranks[id];
+            if (rank == 0) {
+                if (next == ids.length) {
+                    ids = Arrays.copyOf(ids, next * 2);
+                }
+                ids[next] = id;
+                rank = ++next;
+                ranks[id] = rank;
+            }
+            return rank;
+        }
+
+        /**
+         * Forgets the ranks, clearing only the entries that were assigned.
+         */
+        private void reset() {
+            for (int i = 0; i < next; i++) {
+                ranks[ids[i]] = 0;
+            }
+            next = 0;
+        }
+    }
+
+    /**
+     * The item being added. There is only one item per queue; it is reset by {@link #add()} and
+     * committed by {@link #drawArrays} or {@link #drawElements}.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public final class Item {
+        private @Nullable GLProgram program;
+        private int vertexArray;
+        private int textureTarget;
+        private final int[] itemTextures = new int[MAX_TEXTURES];
+        private float depth;
+        private Blend blend;
+        private int itemInstances;
+        private int itemUserData;
+
+        private Item() {
+        }
+
+        private Item reset() {
+            program = null;
+            vertexArray = 0;
+            textureTarget = GL_TEXTURE_2D;
+            Arrays.fill(itemTextures, -1);
+            depth = 0.0f;
+            blend = Blend.OPAQUE;
+            itemInstances = 1;
+            itemUserData = 0;
+            return this;
+        }
+
+        /**
+         * Sets the program.
+         *
+         * @param program the program
+         * @return this
+         */
+        public Item program(GLProgram program) {
+            this.program = program;
+            return this;
+        }
+
+        /**
+         * Sets the vertex array.
+         *
+         * @param vertexArray the vertex array
+         * @return this
+         */
+        public Item vertexArray(int vertexArray) {
+            this.vertexArray = vertexArray;
+            return this;
+        }
+
+        /**
+         * Sets the texture of a unit. Units without a texture are left unchanged.
+         *
+         * @param unit    the zero-based index of the unit, less than {@link #MAX_TEXTURES}
+         * @param texture the texture
+         * @return this
+         */
+        public Item texture(int unit, int texture) {
+            itemTextures[unit] = texture;
+            return this;
+        }
+
+        /**
+         * Sets the texture of a unit and the texture target of the item.
+         *
+         * @param unit    the zero-based index of the unit, less than {@link #MAX_TEXTURES}
+         * @param texture the texture
+         * @return this
+         */
+        public Item texture(int unit, GLTexture texture) {
+            textureTarget = texture.target();
+            return texture(unit, texture.id());
+        }
+
+        /**
+         * Sets the texture target of all units, default {@code GL_TEXTURE_2D}.
+         *
+         * @param target the texture target
+         * @return this
+         */
+        public Item textureTarget(int target) {
+            textureTarget = target;
+            return this;
+        }
+
+        /**
+         * Sets the view depth used for ordering. Negative depths are treated as 0.
+         *
+         * @param depth the distance from the camera
+         * @return this
+         */
+        public Item depth(float depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the blend mode, default {@link Blend#OPAQUE}.
+         *
+         * @param blend the blend mode
+         * @return this
+         */
+        public Item blend(Blend blend) {
+            this.blend = blend;
+            return this;
+        }
+
+        /**
+         * Sets the count of the instances, default 1.
+         *
+         * @param instances the count of the instances
+         * @return this
+         */
+        public Item instances(int instances) {
+            itemInstances = instances;
+            return this;
+        }
+
+        /**
+         * Sets the value passed to the {@link ItemCallback}.
+         *
+         * @param userData the user data
+         * @return this
+         */
+        public Item userData(int userData) {
+            itemUserData = userData;
+            return this;
+        }
+
+        /**
+         * Commits the item as a {@code glDrawArrays} call.
+         *
+         * @param mode  the primitive mode
+         * @param first the first vertex
+         * @param count the count of the vertices
+         * @throws IllegalStateException if the program is not set or the queue is full
+         */
+        public void drawArrays(int mode, int first, int count) {
+            commit(this, mode, count, 0, first);
+        }
+
+        /**
+         * Commits the item as a {@code glDrawElements} call.
+         *
+         * @param mode   the primitive mode
+         * @param count  the count of the indices
+         * @param type   the index type, e.g. {@code GL_UNSIGNED_INT}
+         * @param offset the byte offset in the element buffer
+         * @throws IllegalStateException if the program is not set or the queue is full
+         */
+        public void drawElements(int mode, int count, int type, long offset) {
+            commit(this, mode, count, type, offset);
+        }
+    }
+
+    /**
+     * Starts an item. An item that was started but not committed is discarded.
+     *
+     * @return the item
+     */
+    public Item add() {
+        return item.reset();
+    }
+
+    private void commit(Item item, int mode, int vertexCount, int indexType, long offset) {
+        final GLProgram program = item.program;
+        if (program == null) {
+            throw new IllegalStateException("Render queue item has no program");
+        }
+        if (count == capacity) {
+            throw new IllegalStateException("Render queue is full: " + capacity);
+        }
+        final int index = count++;
+        programs[index] = program;
+        blends[index] = item.blend;
+        vertexArrays[index] = item.vertexArray;
+        textureTargets[index] = item.textureTarget;
+        System.arraycopy(item.itemTextures, 0, textures, index * MAX_TEXTURES, MAX_TEXTURES);
+        modes[index] = mode;
+        counts[index] = vertexCount;
+        indexTypes[index] = indexType;
+        offsets[index] = offset;
+        instances[index] = item.itemInstances;
+        userData[index] = item.itemUserData;
+
+        final long programRank = programRanks.rank(program.id());
+        final int texture = item.itemTextures[0];
+        final long textureRank = texture < 0 ? 0 : textureRanks.rank(texture);
+        // non-negative float bits are ordered like the floats
+        final long depthBits = item.depth > 0.0f ? Float.floatToRawIntBits(item.depth) : 0;
+        final long state;
+        if (item.blend == Blend.OPAQUE) {
+            // program 10 bits, texture 12 bits, vertex array 9 bits, depth exponent 7 bits
+            state = (programRank & 0x3FF) << 28 |
+                (textureRank & 0xFFF) << 16 |
+                (vertexArrayRanks.rank(item.vertexArray) & 0x1FF) << 7 |
+                depthBits >>> 24;
+        } else {
+            // translucent flag, reversed depth 24 bits, blend 2 bits, program 10 bits, texture 2 bits
+            state = 1L << 38 |
+                (0xFFFFFFL - (depthBits >>> 7)) << 14 |
+                (long) item.blend.ordinal() << 12 |
+                (programRank & 0x3FF) << 2 |
+                textureRank & 0x3;
+        }
+        keys[index] = state << INDEX_BITS | index;
+    }
+
+    private void sort() {
+        final int n = count;
+        if (n < SMALL_SORT) {
+            Arrays.sort(keys, 0, n);
+            return;
+        }
+        if (n >= parallelThreshold) {
+            Arrays.parallelSort(keys, 0, n);
+            return;
+        }
+        // the keys are added in index order, so a stable sort of the state bytes also orders the indices
+        Arrays.fill(histogram, 0);
+        for (int i = 0; i < n; i++) {
+            final long key = keys[i] >>> INDEX_BITS;
+            for (int d = 0; d < DIGITS; d++) {
+                ++histogram[(d << 8) + (int) ((key >>> (d << 3)) & 0xFF)];
+            }
+        }
+        long[] src = keys;
+        long[] dst = scratch;
+        for (int d = 0; d < DIGITS; d++) {
+            final int base = d << 8;
+            final int shift = INDEX_BITS + (d << 3);
+            if (histogram[base + (int) ((src[0] >>> shift) & 0xFF)] == n) {
+                // all keys have the same digit
+                continue;
+            }
+            int sum = 0;
+            for (int b = 0; b < 256; b++) {
+                final int c = histogram[base + b];
+                histogram[base + b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                final long key = src[i];
+                dst[histogram[base + (int) ((key >>> shift) & 0xFF)]++] = key;
+            }
+            final long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        keys = src;
+        scratch = dst;
+    }
+
+    private void applyBlend(GLStateManager state, Blend blend) {
+        switch (blend) {
+            case OPAQUE -> state.disable(GL_BLEND);
+            case ALPHA -> {
+                state.enable(GL_BLEND);
+                state.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+            }
+            case PREMULTIPLIED -> {
+                state.enable(GL_BLEND);
+                state.blendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+            }
+            case ADDITIVE -> {
+                state.enable(GL_BLEND);
+                state.blendFunc(GL_ONE, GL_ONE);
+            }
+        }
+        state.depthMask(blend == Blend.OPAQUE);
+    }
+
+    /**
+     * Sorts and draws the items, and empties the queue. This should be called once per frame on the context thread.
+     * Blending is disabled and depth writes are enabled afterwards.
+     *
+     * @return the count of the draw calls
+     */
+    public int execute() {
+        final int n = count;
+        drawCalls = programChanges = textureChanges = vertexArrayChanges = blendChanges = 0;
+        if (n == 0) {
+            return 0;
+        }
+        sort();
+        final var state = GLStateManager.current();
+        GLProgram currentProgram = null;
+        Blend currentBlend = null;
+        int currentVertexArray = -1;
+        Arrays.fill(boundTextures, -1);
+        for (int i = 0; i < n; i++) {
+            final int index = (int) (keys[i] & INDEX_MASK);
+            final Blend blend = blends[index];
+            if (blend != currentBlend) {
+                applyBlend(state, blend);
+                currentBlend = blend;
+                ++blendChanges;
+            }
+            final GLProgram program = programs[index];
+            if (program != currentProgram) {
+                program.use();
+                currentProgram = program;
+                ++programChanges;
+            }
+            final int vertexArray = vertexArrays[index];
+            if (vertexArray != currentVertexArray) {
+                state.bindVertexArray(vertexArray);
+                currentVertexArray = vertexArray;
+                ++vertexArrayChanges;
+            }
+            final int target = textureTargets[index];
+            for (int unit = 0; unit < MAX_TEXTURES; unit++) {
+                final int texture = textures[index * MAX_TEXTURES + unit];
+                if (texture >= 0 && (boundTextures[unit] != texture || boundTargets[unit] != target)) {
+                    state.bindTexture(unit, target, texture);
+                    boundTextures[unit] = texture;
+                    boundTargets[unit] = target;
+                    ++textureChanges;
+                }
+            }
+            if (callback != null) {
+                callback.prepare(userData[index], program);
+            }
+            draw(index);
+        }
+        if (currentBlend != Blend.OPAQUE) {
+            applyBlend(state, Blend.OPAQUE);
+        }
+        drawCalls = n;
+        clear();
+        return n;
+    }
+
+    private void draw(int index) {
+        final int mode = modes[index];
+        final int vertexCount = counts[index];
+        final int indexType = indexTypes[index];
+        final int instanceCount = instances[index];
+        if (indexType == 0) {
+            final int first = (int) offsets[index];
+            if (instanceCount == 1) {
+                gl().drawArrays(mode, first, vertexCount);
+            } else {
+                gl().drawArraysInstanced(mode, first, vertexCount, instanceCount);
+            }
+        } else {
+            final var indices = MemoryAddress.ofLong(offsets[index]);
+            if (instanceCount == 1) {
+                gl().drawElements(mode, vertexCount, indexType, indices);
+            } else {
+                gl().drawElementsInstanced(mode, vertexCount, indexType, indices, instanceCount);
+            }
+        }
+    }
+
+    /**
+     * Discards the items without drawing them.
+     */
+    public void clear() {
+        Arrays.fill(programs, 0, count, null);
+        Arrays.fill(blends, 0, count, null);
+        count = 0;
+        programRanks.reset();
+        textureRanks.reset();
+        vertexArrayRanks.reset();
+    }
+
+    /**
+     * Sets the count of the items from which the queue is sorted in parallel. Parallel sorting allocates
+     * a work buffer.
+     *
+     * @param parallelThreshold the minimum count of the items, or {@link Integer#MAX_VALUE} to disable
+     *                          parallel sorting (default)
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the callback called before each item is drawn.
+     *
+     * @param callback the callback, or {@code null}
+     */
+    public void setCallback(@Nullable ItemCallback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * Gets the count of the queued items.
+     *
+     * @return the count of the items
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the capacity of the queue.
+     *
+     * @return the maximum count of the items
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the count of the draw calls of the last {@link #execute()}.
+     *
+     * @return the count of the draw calls
+     */
+    public int drawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * Gets the count of the program changes of the last {@link #execute()}.
+     *
+     * @return the count of the program changes
+     */
+    public int programChanges() {
+        return programChanges;
+    }
+
+    /**
+     * Gets the count of the texture binds of the last {@link #execute()}.
+     *
+     * @return the count of the texture binds
+     */
+    public int textureChanges() {
+        return textureChanges;
+    }
+
+    /**
+     * Gets the count of the vertex array binds of the last {@link #execute()}.
+     *
+     * @return the count of the vertex array binds
+     */
+    public int vertexArrayChanges() {
+        return vertexArrayChanges;
+    }
+
+    /**
+     * Gets the count of the blend mode changes of the last {@link #execute()}.
+     *
+     * @return the count of the blend mode changes
+     */
+    public int blendChanges() {
+        return blendChanges;
+    }
+}
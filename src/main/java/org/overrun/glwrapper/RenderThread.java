@@ -0,0 +1,348 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * A dedicated thread that owns the OpenGL context of a window.
+ * <p>
+ * After {@link #start()}, the thread that created the window keeps polling the events and builds the frames,
+ * and the render thread runs the submitted frames and swaps the buffers. At most
+ * {@link #framesInFlight() framesInFlight} frames can be submitted but not yet swapped;
+ * {@link #submitFrame(Runnable)} blocks until a frame slot is free, so the building thread runs at most
+ * that many frames ahead. Use {@link #DOUBLE_BUFFERED} for the lowest latency, or {@link #TRIPLE_BUFFERED}
+ * to absorb more jitter.
+ * <p>
+ * A frame must not touch data that the building thread writes while building the next frame;
+ * copy the per-frame data into the frame, or keep one copy per frame slot.
+ * <p>
+ * By default, an exception thrown by a frame stops the render thread, and the later calls throw
+ * an {@link IllegalStateException} caused by it. With a {@link #setFrameErrorHandler(Consumer) frame error handler},
+ * the exception is passed to the handler on the render thread instead, the buffers of the frame are not swapped,
+ * and the render thread keeps running.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * try (var renderThread = new RenderThread(window, RenderThread.DOUBLE_BUFFERED)) {
+ *     renderThread.start();
+ *     renderThread.execute(() -> init()).join();
+ *     while (!window.shouldClose()) {
+ *         GLFW.pollEvents();
+ *         var snapshot = update();
+ *         renderThread.submitFrame(() -> render(snapshot));
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class RenderThread implements AutoCloseable {
+    /**
+     * One frame rendering while the next one is queued.
+     */
+    public static final int DOUBLE_BUFFERED = 2;
+    /**
+     * One frame rendering while two are queued.
+     */
+    public static final int TRIPLE_BUFFERED = 3;
+    private static final Task STOP = new Task(() -> {
+    }, null, false);
+    private final GLFWWindow window;
+    private final int framesInFlight;
+    private final Semaphore frameSlots;
+    private final LinkedBlockingQueue<Task> tasks = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private final Object queueLock = new Object();
+    private volatile @Nullable Throwable failure;
+    private volatile @Nullable Consumer<? super RuntimeException> frameErrorHandler;
+    private volatile long framesRendered;
+    private long framesSubmitted;
+    private boolean started;
+    private boolean closed;
+    private boolean stopped;
+
+    private record Task(Runnable action, @Nullable CompletableFuture<?> future, boolean frame) {
+    }
+
+    /**
+     * Creates the render thread. The thread is not started.
+     *
+     * @param window         the window whose context the thread owns
+     * @param framesInFlight the maximum count of the frames submitted but not yet swapped
+     * @throws IllegalArgumentException if {@code framesInFlight} is less than 1
+     */
+    public RenderThread(GLFWWindow window, int framesInFlight) {
+        if (framesInFlight < 1) {
+            throw new IllegalArgumentException("framesInFlight must be at least 1: " + framesInFlight);
+        }
+        this.window = window;
+        this.framesInFlight = framesInFlight;
+        frameSlots = new Semaphore(framesInFlight);
+        thread = new Thread(this::run, "Render Thread (" + window.title() + ")");
+    }
+
+    /**
+     * Releases the context from the calling thread and starts the render thread,
+     * which makes the context current. The calling thread has no
+     * {@link GLStateManager#current() current state manager} until {@link #close()}.
+     *
+     * @throws IllegalStateException if the thread was already started
+     */
+    public void start() {
+        if (started) {
+            throw new IllegalStateException("Render thread already started");
+        }
+        started = true;
+        GLFWWindow.releaseCurrentContext();
+        thread.start();
+    }
+
+    private void run() {
+        window.makeContextCurrent();
+        try {
+            while (true) {
+                final Task task = tasks.take();
+                if (task == STOP) break;
+                if (task.frame()) {
+                    try {
+                        task.action().run();
+                        window.swapBuffers();
+                    } catch (RuntimeException e) {
+                        final Consumer<? super RuntimeException> handler = frameErrorHandler;
+                        if (handler == null) throw e;
+                        handler.accept(e);
+                    } finally {
+                        framesRendered = framesRendered + 1;
+                        frameSlots.release();
+                    }
+                } else {
+                    task.action().run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            // no task can be enqueued after the drain
+            synchronized (queueLock) {
+                stopped = true;
+                Task task;
+                while ((task = tasks.poll()) != null) {
+                    if (task.future() != null) task.future().cancel(false);
+                }
+            }
+            // wake up the building thread if it is waiting for a slot
+            frameSlots.release(framesInFlight);
+            GLFWWindow.releaseCurrentContext();
+        }
+    }
+
+    private void checkRunning() {
+        final Throwable t = failure;
+        if (t != null) {
+            throw new IllegalStateException("Render thread failed", t);
+        }
+        if (!started || closed) {
+            throw new IllegalStateException("Render thread is not running");
+        }
+    }
+
+    private void enqueue(Task task) {
+        synchronized (queueLock) {
+            if (!stopped) {
+                tasks.add(task);
+                return;
+            }
+        }
+        checkRunning();
+        throw new IllegalStateException("Render thread is not running");
+    }
+
+    /**
+     * Submits a frame, waiting for a free frame slot. The render thread runs the frame
+     * and then swaps the buffers.
+     *
+     * @param frame the frame
+     * @throws IllegalStateException if the render thread is not running or failed
+     */
+    public void submitFrame(Runnable frame) {
+        checkRunning();
+        frameSlots.acquireUninterruptibly();
+        submitAcquired(frame);
+    }
+
+    /**
+     * Submits a frame if a frame slot is free. This lets the building thread skip a frame
+     * instead of waiting if the render thread is behind.
+     *
+     * @param frame the frame
+     * @return {@code true} if the frame was submitted
+     * @throws IllegalStateException if the render thread is not running or failed
+     */
+    public boolean trySubmitFrame(Runnable frame) {
+        checkRunning();
+        if (!frameSlots.tryAcquire()) {
+            return false;
+        }
+        submitAcquired(frame);
+        return true;
+    }
+
+    private void submitAcquired(Runnable frame) {
+        try {
+            enqueue(new Task(frame, null, true));
+        } catch (IllegalStateException e) {
+            frameSlots.release();
+            throw e;
+        }
+        ++framesSubmitted;
+    }
+
+    /**
+     * Runs a task on the render thread in submission order, without swapping the buffers.
+     * This is used to create and delete resources that need the context.
+     * <p>
+     * If the task throws, the future completes exceptionally and the render thread keeps running.
+     * If the render thread stops before running the task, the future is cancelled.
+     *
+     * @param task the task
+     * @param <T>  the type of the result
+     * @return the future of the result
+     * @throws IllegalStateException if the render thread is not running or failed
+     */
+    public <T> CompletableFuture<T> execute(Callable<T> task) {
+        checkRunning();
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        enqueue(new Task(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, future, false));
+        return future;
+    }
+
+    /**
+     * Waits until all submitted frames and tasks are done.
+     *
+     * @throws IllegalStateException if the render thread is not running or failed
+     */
+    public void awaitIdle() {
+        execute(() -> null).join();
+    }
+
+    /**
+     * Stops the render thread after the submitted frames and tasks are done, and makes the context
+     * current on the calling thread again.
+     *
+     * @throws IllegalStateException if the render thread failed
+     */
+    @Override
+    public void close() {
+        if (!started || closed) return;
+        closed = true;
+        tasks.add(STOP);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        window.makeContextCurrent();
+        final Throwable t = failure;
+        if (t != null) {
+            throw new IllegalStateException("Render thread failed", t);
+        }
+    }
+
+    /**
+     * Sets the handler of the exceptions thrown by the frames. The handler runs on the render thread.
+     *
+     * @param handler the handler, or {@code null} to stop the render thread on the first failed frame
+     */
+    public void setFrameErrorHandler(@Nullable Consumer<? super RuntimeException> handler) {
+        frameErrorHandler = handler;
+    }
+
+    /**
+     * Gets the maximum count of the frames submitted but not yet swapped.
+     *
+     * @return the maximum count of the frames in flight
+     */
+    public int framesInFlight() {
+        return framesInFlight;
+    }
+
+    /**
+     * Gets the count of the submitted frames.
+     *
+     * @return the count of the submitted frames
+     */
+    public long framesSubmitted() {
+        return framesSubmitted;
+    }
+
+    /**
+     * Gets the count of the frames swapped by the render thread.
+     *
+     * @return the count of the rendered frames
+     */
+    public long framesRendered() {
+        return framesRendered;
+    }
+
+    /**
+     * Gets the window.
+     *
+     * @return the window
+     */
+    public GLFWWindow window() {
+        return window;
+    }
+
+    /**
+     * Gets the thread that owns the context.
+     *
+     * @return the thread
+     */
+    public Thread thread() {
+        return thread;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A cache of sampler objects keyed by their sampling state.
+ * <p>
+ * Each distinct {@link SamplerState} is created once, and textures that are sampled the same way
+ * share the sampler. Samplers override the sampling parameters of the textures bound to the same unit.
+ * Sampler objects require OpenGL 3.3. They are registered in the {@link GLResourceRegistry resource registry}
+ * of the current context as {@link GLResourceRegistry.Type#SAMPLER SAMPLER} objects.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var samplers = new SamplerCache();
+ * var pixelated = SamplerCache.SamplerState.of(GL_NEAREST, GL_NEAREST, GL_CLAMP_TO_EDGE);
+ * texture.bind(0);
+ * samplers.bind(0, pixelated);
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class SamplerCache {
+    private final Map<SamplerState, GLResourceRegistry.Resource> samplers = new HashMap<>();
+
+    /**
+     * The sampling state of a sampler.
+     *
+     * @param minFilter     the minifying filter, e.g. {@code GL_LINEAR_MIPMAP_LINEAR}
+     * @param magFilter     the magnifying filter, e.g. {@code GL_LINEAR}
+     * @param wrapS         the wrap mode of the s coordinate, e.g. {@code GL_REPEAT}
+     * @param wrapT         the wrap mode of the t coordinate
+     * @param wrapR         the wrap mode of the r coordinate
+     * @param maxAnisotropy the maximum degree of anisotropy, 1 to disable anisotropic filtering;
+     *                      requires OpenGL 4.6 or {@code GL_EXT_texture_filter_anisotropic}
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record SamplerState(int minFilter, int magFilter, int wrapS, int wrapT, int wrapR, float maxAnisotropy) {
+        /**
+         * Creates the state.
+         *
+         * @throws IllegalArgumentException if the maximum degree of anisotropy is less than 1
+         */
+        public SamplerState {
+            if (!(maxAnisotropy >= 1.0f)) {
+                throw new IllegalArgumentException("Invalid max anisotropy: " + maxAnisotropy);
+            }
+        }
+
+        /**
+         * Creates a state with the same wrap mode for all coordinates and without anisotropic filtering.
+         *
+         * @param minFilter the minifying filter
+         * @param magFilter the magnifying filter
+         * @param wrap      the wrap mode
+         * @return the state
+         */
+        public static SamplerState of(int minFilter, int magFilter, int wrap) {
+            return new SamplerState(minFilter, magFilter, wrap, wrap, wrap, 1.0f);
+        }
+
+        /**
+         * Creates a copy of this state with anisotropic filtering.
+         *
+         * @param maxAnisotropy the maximum degree of anisotropy
+         * @return the state
+         */
+        public SamplerState withAnisotropy(float maxAnisotropy) {
+            return new SamplerState(minFilter, magFilter, wrapS, wrapT, wrapR, maxAnisotropy);
+        }
+    }
+
+    /**
+     * Gets the sampler of a state, creating it if absent.
+     *
+     * @param state the sampling state
+     * @return the sampler
+     */
+    public int get(SamplerState state) {
+        final GLResourceRegistry.Resource cached = samplers.get(state);
+        if (cached != null) {
+            return cached.id();
+        }
+        final int sampler = gl().genSampler();
+        gl().samplerParameteri(sampler, GL_TEXTURE_MIN_FILTER, state.minFilter());
+        gl().samplerParameteri(sampler, GL_TEXTURE_MAG_FILTER, state.magFilter());
+        gl().samplerParameteri(sampler, GL_TEXTURE_WRAP_S, state.wrapS());
+        gl().samplerParameteri(sampler, GL_TEXTURE_WRAP_T, state.wrapT());
+        gl().samplerParameteri(sampler, GL_TEXTURE_WRAP_R, state.wrapR());
+        if (state.maxAnisotropy() > 1.0f) {
+            gl().samplerParameterf(sampler, GL_TEXTURE_MAX_ANISOTROPY, state.maxAnisotropy());
+        }
+        samplers.put(state, GLStateManager.current().resources().register(GLResourceRegistry.Type.SAMPLER, sampler, 0, this));
+        return sampler;
+    }
+
+    /**
+     * Binds the sampler of a state to a texture unit.
+     *
+     * @param unit  the zero-based index of the unit
+     * @param state the sampling state
+     */
+    public void bind(int unit, SamplerState state) {
+        GLStateManager.current().bindSampler(unit, get(state));
+    }
+
+    /**
+     * Gets the count of the cached samplers.
+     *
+     * @return the count of the samplers
+     */
+    public int size() {
+        return samplers.size();
+    }
+
+    /**
+     * Deletes all cached samplers.
+     */
+    public void delete() {
+        final var state = GLStateManager.current();
+        for (GLResourceRegistry.Resource sampler : samplers.values()) {
+            state.deleteSampler(sampler.id());
+            sampler.markDeleted();
+        }
+        samplers.clear();
+    }
+}
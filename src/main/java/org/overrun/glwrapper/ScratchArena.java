@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.lang.foreign.SegmentAllocator;
+
+/**
+ * A per-thread bump allocator over a reusable native memory block.
+ * <p>
+ * Allocations are slices of one native block, so they don't create a
+ * {@link MemorySession} per call. Use {@link #mark()} and {@link #release(long)}
+ * around short-lived allocations, releasing in a {@code finally} block so that
+ * an exception doesn't leave the allocations behind. Nothing resets the arena
+ * implicitly; {@link #reset()} discards all allocations of the thread at once.
+ * <p>
+ * If the block is full, a new block with at least twice the size is allocated.
+ * The old block is freed once all segments allocated from it are unreachable.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var arena = ScratchArena.get();
+ * long mark = arena.mark();
+ * try {
+ *     var seg = arena.allocateArray(ValueLayout.JAVA_FLOAT, matrix);
+ *     program.uniformMatrix4fv(location, 1, false, seg);
+ * } finally {
+ *     arena.release(mark);
+ * }
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class ScratchArena implements SegmentAllocator {
+    /**
+     * The default block size of the thread-local arenas.
+     */
+    public static final long DEFAULT_SIZE = 64 * 1024;
+    private static final ThreadLocal<ScratchArena> LOCAL = ThreadLocal.withInitial(() -> new ScratchArena(DEFAULT_SIZE));
+    private MemorySegment block;
+    private long offset;
+
+    /**
+     * Creates the arena.
+     *
+     * @param size the initial block size in bytes
+     */
+    public ScratchArena(long size) {
+        block = MemorySegment.allocateNative(size, 16, MemorySession.openImplicit());
+    }
+
+    /**
+     * Gets the arena of the current thread.
+     *
+     * @return the arena of the current thread
+     */
+    public static ScratchArena get() {
+        return LOCAL.get();
+    }
+
+    @Override
+    public MemorySegment allocate(long bytesSize, long bytesAlignment) {
+        long start = (offset + bytesAlignment - 1) & -bytesAlignment;
+        long end = start + bytesSize;
+        if (end > block.byteSize()) {
+            final long size = Math.max(block.byteSize() * 2, bytesSize + bytesAlignment);
+            block = MemorySegment.allocateNative(size, 16, MemorySession.openImplicit());
+            start = (bytesAlignment - 1) & -bytesAlignment;
+            end = start + bytesSize;
+        }
+        offset = end;
+        return block.asSlice(start, bytesSize);
+    }
+
+    /**
+     * Gets the current allocation offset.
+     *
+     * @return the mark to pass to {@link #release(long)}
+     */
+    public long mark() {
+        return offset;
+    }
+
+    /**
+     * Frees all allocations made after the mark.
+     * The segments allocated after the mark must not be used anymore.
+     *
+     * @param mark the mark returned by {@link #mark()}
+     */
+    public void release(long mark) {
+        offset = mark;
+    }
+
+    /**
+     * Frees all allocations. The segments allocated from this arena must not be used anymore.
+     */
+    public void reset() {
+        offset = 0;
+    }
+
+    /**
+     * Gets the size of the current block.
+     *
+     * @return the size in bytes
+     */
+    public long capacity() {
+        return block.byteSize();
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expands {@code #include} directives, injects {@code #define}s and normalizes {@code #version}
+ * before the sources are passed to {@link GLShader#source(String) GLShader.source}.
+ * <p>
+ * The output of {@link #process(String, Map)} is:
+ * <ol>
+ *     <li>the {@code #version} directive; the {@link Builder#version(String) configured version}
+ *     if any, otherwise the first {@code #version} of the source with its whitespace collapsed;</li>
+ *     <li>the defines of the builder and of the call, sorted by name, so that equal define sets
+ *     always expand to equal text;</li>
+ *     <li>the source, with {@code #version} lines removed and each {@code #include} replaced by
+ *     the expanded file.</li>
+ * </ol>
+ * {@code #include "path"} is resolved relative to the including file first, then against the
+ * {@link IncludeResolver resolvers} in the order they were added; {@code #include <path>} only
+ * against the resolvers. Each file is included at most once per source, so include cycles and
+ * repeated headers need no guards. {@code #line} directives keep the line numbers of compile errors
+ * correct; the source string number of the main source is 0 and each included file gets the next
+ * number in the order of first inclusion.
+ * <p>
+ * The contents of included files are cached after the first read. A preprocessor is thread-safe.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var preprocessor = ShaderPreprocessor.builder()
+ *     .classpath("shaders/")
+ *     .directory(Path.of("assets/shaders"))
+ *     .version("330 core")
+ *     .build();
+ * String source = preprocessor.process(uberShader, Map.of("NORMAL_MAP", "", "LIGHT_COUNT", "4"));
+ * }</pre>
+ *
+ * @author squid233
+ * @see ShaderVariantCache
+ * @since 0.1.0
+ */
+public final class ShaderPreprocessor {
+    private final List<IncludeResolver> resolvers;
+    private final @Nullable String version;
+    private final Map<String, String> defines;
+    private final Map<String, String> files = new ConcurrentHashMap<>();
+
+    private ShaderPreprocessor(List<IncludeResolver> resolvers, @Nullable String version, Map<String, String> defines) {
+        this.resolvers = resolvers;
+        this.version = version;
+        this.defines = defines;
+    }
+
+    /**
+     * Reads the files of {@code #include} directives.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    @FunctionalInterface
+    public interface IncludeResolver {
+        /**
+         * Reads a file.
+         *
+         * @param path the normalized path of the file, separated by {@code /}
+         * @return the content of the file, or {@code null} if absent
+         * @throws IOException if the file exists but cannot be read
+         */
+        @Nullable String read(String path) throws IOException;
+
+        /**
+         * Creates a resolver reading resources of a class loader.
+         *
+         * @param loader the class loader
+         * @param root   the resource path prefix, e.g. {@code "shaders/"}
+         * @return the resolver
+         */
+        static IncludeResolver classpath(ClassLoader loader, String root) {
+            final String prefix = root.isEmpty() || root.endsWith("/") ? root : root + '/';
+            return path -> {
+                try (InputStream in = loader.getResourceAsStream(prefix + path)) {
+                    return in != null ? new String(in.readAllBytes(), StandardCharsets.UTF_8) : null;
+                }
+            };
+        }
+
+        /**
+         * Creates a resolver reading files under a directory. Paths that leave the directory are not resolved.
+         *
+         * @param root the directory
+         * @return the resolver
+         */
+        static IncludeResolver directory(Path root) {
+            final Path base = root.toAbsolutePath().normalize();
+            return path -> {
+                final Path file = base.resolve(path).normalize();
+                if (!file.startsWith(base) || !Files.isRegularFile(file)) {
+                    return null;
+                }
+                return Files.readString(file);
+            };
+        }
+    }
+
+    /**
+     * Gets the builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The preprocessor builder.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Builder {
+        private final List<IncludeResolver> resolvers = new ArrayList<>();
+        private final Map<String, String> defines = new HashMap<>();
+        private @Nullable String version;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a resolver.
+         *
+         * @param resolver the resolver
+         * @return this
+         */
+        public Builder resolver(IncludeResolver resolver) {
+            resolvers.add(resolver);
+            return this;
+        }
+
+        /**
+         * Adds a resolver reading resources of the class loader of this library.
+         *
+         * @param root the resource path prefix, e.g. {@code "shaders/"}
+         * @return this
+         */
+        public Builder classpath(String root) {
+            return resolver(IncludeResolver.classpath(ShaderPreprocessor.class.getClassLoader(), root));
+        }
+
+        /**
+         * Adds a resolver reading files under a directory.
+         *
+         * @param root the directory
+         * @return this
+         */
+        public Builder directory(Path root) {
+            return resolver(IncludeResolver.directory(root));
+        }
+
+        /**
+         * Sets the version to write to all sources, replacing their own {@code #version}.
+         *
+         * @param version the version, e.g. {@code "330 core"}, or {@code null} to keep the version of each source
+         * @return this
+         */
+        public Builder version(@Nullable String version) {
+            this.version = version != null ? collapse(version) : null;
+            return this;
+        }
+
+        /**
+         * Adds a define to all sources. The defines of {@link #process(String, Map)} override it.
+         *
+         * @param name  the name of the macro
+         * @param value the value of the macro; may be empty
+         * @return this
+         */
+        public Builder define(String name, String value) {
+            defines.put(name, value);
+            return this;
+        }
+
+        /**
+         * Builds the preprocessor.
+         *
+         * @return the preprocessor
+         */
+        public ShaderPreprocessor build() {
+            return new ShaderPreprocessor(List.copyOf(resolvers), version, Map.copyOf(defines));
+        }
+    }
+
+    private static final class Expansion {
+        final Map<String, Integer> included = new HashMap<>();
+        @Nullable String version;
+    }
+
+    /**
+     * Preprocesses a shader source.
+     *
+     * @param source  the source
+     * @param defines the defines to inject, keyed by name; the values may be empty
+     * @return the expanded source
+     * @throws IllegalArgumentException if an {@code #include} is malformed or cannot be resolved
+     * @throws UncheckedIOException     if an included file cannot be read
+     */
+    public String process(String source, Map<String, String> defines) {
+        final var expansion = new Expansion();
+        final var body = new StringBuilder(source.length() + 256);
+        expand(source, null, 0, body, expansion);
+        final String ver = version != null ? version : expansion.version;
+        final var out = new StringBuilder(body.length() + 256);
+        if (ver != null) {
+            out.append("#version ").append(ver).append('\n');
+        }
+        final var sorted = new TreeMap<>(this.defines);
+        sorted.putAll(defines);
+        for (var e : sorted.entrySet()) {
+            out.append("#define ").append(e.getKey());
+            if (!e.getValue().isEmpty()) {
+                out.append(' ').append(e.getValue());
+            }
+            out.append('\n');
+        }
+        if (ver != null || !sorted.isEmpty()) {
+            out.append("#line 1 0\n");
+        }
+        return out.append(body).toString();
+    }
+
+    /**
+     * Preprocesses all stages of a program source with the same defines.
+     *
+     * @param source  the program source
+     * @param defines the defines to inject, keyed by name; the values may be empty
+     * @return the expanded program source
+     * @throws IllegalArgumentException if an {@code #include} is malformed or cannot be resolved
+     * @throws UncheckedIOException     if an included file cannot be read
+     */
+    public ProgramSource process(ProgramSource source, Map<String, String> defines) {
+        final var stages = new ArrayList<ProgramSource.Stage>(source.stages().size());
+        for (ProgramSource.Stage stage : source.stages()) {
+            stages.add(new ProgramSource.Stage(stage.type(), process(stage.source(), defines)));
+        }
+        return new ProgramSource(stages, source.attribLocations());
+    }
+
+    private void expand(String text, @Nullable String path, int sourceNumber, StringBuilder out, Expansion expansion) {
+        int lineNumber = 0;
+        for (String line : (Iterable<String>) text.lines()::iterator) {
+            ++lineNumber;
+            final String trimmed = line.strip();
+            if (!trimmed.startsWith("#")) {
+                out.append(line).append('\n');
+                continue;
+            }
+            final String directive = trimmed.substring(1).stripLeading();
+            if (isDirective(directive, "version")) {
+                if (path == null && expansion.version == null) {
+                    expansion.version = collapse(directive.substring(7));
+                }
+                // keep the line count
+                out.append('\n');
+            } else if (isDirective(directive, "include")) {
+                final String operand = directive.substring(7).strip();
+                final boolean relative;
+                if (operand.length() > 2 && operand.startsWith("\"") && operand.endsWith("\"")) {
+                    relative = true;
+                } else if (operand.length() > 2 && operand.startsWith("<") && operand.endsWith(">")) {
+                    relative = false;
+                } else {
+                    throw new IllegalArgumentException("Malformed #include at " + location(path, lineNumber) + ": " + trimmed);
+                }
+                final String name = operand.substring(1, operand.length() - 1);
+                final String resolved = resolve(name, path, relative, lineNumber);
+                if (expansion.included.containsKey(resolved)) {
+                    out.append('\n');
+                    continue;
+                }
+                final int number = expansion.included.size() + 1;
+                expansion.included.put(resolved, number);
+                out.append("#line 1 ").append(number).append('\n');
+                expand(files.get(resolved), resolved, number, out, expansion);
+                out.append("#line ").append(lineNumber + 1).append(' ').append(sourceNumber).append('\n');
+            } else {
+                out.append(line).append('\n');
+            }
+        }
+    }
+
+    private String resolve(String name, @Nullable String path, boolean relative, int lineNumber) {
+        if (relative && path != null) {
+            final int slash = path.lastIndexOf('/');
+            if (slash >= 0) {
+                final String candidate = normalize(path.substring(0, slash + 1) + name);
+                if (candidate != null && read(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        final String candidate = normalize(name);
+        if (candidate != null && read(candidate)) {
+            return candidate;
+        }
+        throw new IllegalArgumentException("Shader include " + name + " not found at " + location(path, lineNumber));
+    }
+
+    private boolean read(String path) {
+        if (files.containsKey(path)) {
+            return true;
+        }
+        for (IncludeResolver resolver : resolvers) {
+            final String content;
+            try {
+                content = resolver.read(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read shader include " + path, e);
+            }
+            if (content != null) {
+                files.putIfAbsent(path, content);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the cached contents of the included files, e.g. after they are edited.
+     */
+    public void clearIncludeCache() {
+        files.clear();
+    }
+
+    private static @Nullable String normalize(String path) {
+        final var parts = new ArrayDeque<String>();
+        for (String part : path.split("/")) {
+            if (part.isEmpty() || ".".equals(part)) continue;
+            if ("..".equals(part)) {
+                if (parts.isEmpty()) {
+                    // escapes all roots
+                    return null;
+                }
+                parts.removeLast();
+            } else {
+                parts.addLast(part);
+            }
+        }
+        return String.join("/", parts);
+    }
+
+    private static boolean isDirective(String directive, String name) {
+        return directive.startsWith(name) &&
+               (directive.length() == name.length() || Character.isWhitespace(directive.charAt(name.length())));
+    }
+
+    private static String location(@Nullable String path, int lineNumber) {
+        return (path != null ? path : "<source>") + ':' + lineNumber;
+    }
+
+    private static String collapse(String s) {
+        return String.join(" ", s.strip().split("\\s+"));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the programs compiled from preprocessed shader variants.
+ * <p>
+ * A variant is a {@link ProgramSource} template and a set of defines. The first request of
+ * a variant {@link ShaderPreprocessor#process(ProgramSource, Map) expands} it and hashes the
+ * expanded text with SHA-256; programs are keyed by the hash, so variants that expand to the
+ * same text share one program. Later requests of the variant skip the expansion while its program is cached;
+ * the hashes of up to {@code capacity} variants are kept.
+ * <p>
+ * When more than {@code capacity} programs are cached, the least recently used one is
+ * {@linkplain GLProgram#deleteLater() queued for deletion} at the end of the frame, so a program used
+ * by draws earlier in the frame stays valid. It must still not be kept across calls that may evict it;
+ * request it again instead, which is a hash map lookup.
+ * <p>
+ * Programs are compiled synchronously, through a {@link ProgramBinaryCache} if given.
+ * The cache must be used on the thread that has the OpenGL context current.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var variants = new ShaderVariantCache(preprocessor, 256, binaryCache);
+ * // per draw
+ * var program = variants.get(uberShader, material.defines());
+ * program.use();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class ShaderVariantCache {
+    /**
+     * The default count of the cached programs.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+    private final ShaderPreprocessor preprocessor;
+    private final @Nullable ProgramBinaryCache binaryCache;
+    private final int capacity;
+    private final LinkedHashMap<Variant, String> variants;
+    private final LinkedHashMap<String, GLProgram> programs;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    private record Variant(ProgramSource source, Map<String, String> defines) {
+    }
+
+    /**
+     * Creates the cache with the {@link #DEFAULT_CAPACITY default capacity} and no binary cache.
+     *
+     * @param preprocessor the preprocessor
+     */
+    public ShaderVariantCache(ShaderPreprocessor preprocessor) {
+        this(preprocessor, DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Creates the cache.
+     *
+     * @param preprocessor the preprocessor
+     * @param capacity     the maximum count of the cached programs
+     * @param binaryCache  the binary cache to load the programs through, or {@code null} to compile them from the sources
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public ShaderVariantCache(ShaderPreprocessor preprocessor, int capacity, @Nullable ProgramBinaryCache binaryCache) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.preprocessor = preprocessor;
+        this.capacity = capacity;
+        this.binaryCache = binaryCache;
+        programs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GLProgram> eldest) {
+                if (size() > ShaderVariantCache.this.capacity) {
+                    eldest.getValue().deleteLater();
+                    ++evictions;
+                    return true;
+                }
+                return false;
+            }
+        };
+        variants = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Variant, String> eldest) {
+                return size() > ShaderVariantCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the program of a variant, compiling it if it is not cached.
+     *
+     * @param source  the program source template
+     * @param defines the defines of the variant, keyed by name; the values may be empty
+     * @return the linked program
+     * @throws IllegalArgumentException if an {@code #include} is malformed or cannot be resolved
+     * @throws IllegalStateException    if the program failed to compile or link
+     */
+    public GLProgram get(ProgramSource source, Map<String, String> defines) {
+        final Variant variant = new Variant(source, Map.copyOf(defines));
+        String hash = variants.get(variant);
+        GLProgram program;
+        if (hash != null) {
+            program = programs.get(hash);
+            if (program != null) {
+                ++hits;
+                return program;
+            }
+        }
+        final ProgramSource expanded = preprocessor.process(source, defines);
+        hash = expanded.digest();
+        variants.put(variant, hash);
+        program = programs.get(hash);
+        if (program != null) {
+            ++hits;
+            return program;
+        }
+        ++misses;
+        program = binaryCache != null ? binaryCache.load(expanded) : expanded.create();
+        programs.put(hash, program);
+        return program;
+    }
+
+    /**
+     * Deletes all cached programs.
+     */
+    public void clear() {
+        for (GLProgram program : programs.values()) {
+            program.delete();
+        }
+        programs.clear();
+        variants.clear();
+    }
+
+    /**
+     * Gets the count of the cached programs.
+     *
+     * @return the count of the programs
+     */
+    public int size() {
+        return programs.size();
+    }
+
+    /**
+     * Gets the maximum count of the cached programs.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the count of the requests served by a cached program.
+     *
+     * @return the count of the hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the count of the requests that compiled a program.
+     *
+     * @return the count of the misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Gets the count of the programs evicted to stay within the capacity.
+     *
+     * @return the count of the evictions
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the preprocessor.
+     *
+     * @return the preprocessor
+     */
+    public ShaderPreprocessor preprocessor() {
+        return preprocessor;
+    }
+}
@@ -0,0 +1,486 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A batched renderer of textured 2D quads.
+ * <p>
+ * Quads are accumulated in native memory and written to a {@link StreamBuffer} when flushed; all quads share
+ * one static index buffer. Up to 16 textures are bound to different units at the same time, and each vertex
+ * carries the index of its unit, so quads with different textures are drawn by one draw call.
+ * A new draw call is only needed when more textures are used than there are units.
+ * <p>
+ * With {@link SortMode#TEXTURE}, quads are sorted by texture before drawing, which minimizes the draw calls
+ * but doesn't keep the drawing order; use it for opaque or non-overlapping quads.
+ * <p>
+ * The batch is flushed by {@link #end()} and when the {@link #setProgram(GLProgram) program} changes. All
+ * flushes of a frame share one region of the stream buffer, so {@code maxQuads} bounds the quads of the whole
+ * frame, not of a single flush. A custom program must declare the same attributes and the {@code projection} and
+ * {@code textures} uniforms as the {@link #createProgram(int) default program}. The uniforms are set with
+ * {@code glProgramUniform}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var batch = new SpriteBatch(SpriteBatch.DEFAULT_MAX_QUADS);
+ * // per frame
+ * batch.setOrthographic(width, height);
+ * batch.begin();
+ * for (var sprite : sprites) {
+ *     batch.draw(sprite.texture, sprite.x, sprite.y, sprite.width, sprite.height);
+ * }
+ * batch.end();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class SpriteBatch {
+    /**
+     * The default maximum count of the quads per frame.
+     */
+    public static final int DEFAULT_MAX_QUADS = 65536;
+    /**
+     * Opaque white in the format of the {@code color} parameters.
+     */
+    public static final int WHITE = 0xFFFFFFFF;
+    /**
+     * The byte size of a vertex: position, texture coordinates, color and texture unit.
+     */
+    public static final int VERTEX_SIZE = 24;
+    private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+    private static final int MAX_UNITS = 16;
+    private static final ValueLayout.OfInt COLOR = JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private final int maxQuads;
+    private final int units;
+    private final int[] unitIndices;
+    private final GLProgram defaultProgram;
+    private final StreamBuffer stream;
+    private final GLBuffer indexBuffer;
+    private final int vertexArray;
+    private final GLResourceRegistry.Resource vertexArrayResource;
+    private final MemorySegment staging;
+    private final int[] quadTextures;
+    private final long[] keys;
+    private final int[] rangeEnds;
+    private final int[] rangeUnits;
+    private final int[] rangeTextures;
+    private final float[] projection = {
+        1, 0, 0, 0,
+        0, 1, 0, 0,
+        0, 0, 1, 0,
+        0, 0, 0, 1
+    };
+    private GLProgram program;
+    private SortMode sortMode = SortMode.SUBMISSION;
+    private int count;
+    private int quads;
+    private int drawCalls;
+    private boolean drawing;
+
+    /**
+     * The order of the quads in a flush.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public enum SortMode {
+        /**
+         * The quads are drawn in submission order.
+         */
+        SUBMISSION,
+        /**
+         * The quads are grouped by texture.
+         */
+        TEXTURE
+    }
+
+    /**
+     * Creates the batch, its buffers and the default program.
+     *
+     * @param maxQuads the maximum count of the quads per frame
+     * @throws IllegalArgumentException if {@code maxQuads} is not positive
+     */
+    public SpriteBatch(int maxQuads) {
+        if (maxQuads <= 0) {
+            throw new IllegalArgumentException("maxQuads must be positive: " + maxQuads);
+        }
+        this.maxQuads = maxQuads;
+        units = Math.max(1, Math.min(MAX_UNITS, gl().getInteger(GL_MAX_TEXTURE_IMAGE_UNITS)));
+        unitIndices = new int[units];
+        for (int i = 0; i < units; i++) {
+            unitIndices[i] = i;
+        }
+        defaultProgram = createProgram(units).create();
+        program = defaultProgram;
+        program.uniform1iv(program.getUniformLocation("textures"), unitIndices);
+        stream = new StreamBuffer(GL_ARRAY_BUFFER, (long) maxQuads * QUAD_SIZE);
+        staging = MemorySegment.allocateNative((long) maxQuads * QUAD_SIZE, 16, MemorySession.openImplicit());
+        quadTextures = new int[maxQuads];
+        keys = new long[maxQuads];
+        rangeEnds = new int[maxQuads];
+        rangeUnits = new int[maxQuads];
+        rangeTextures = new int[maxQuads];
+
+        final GLStateManager state = GLStateManager.current();
+        vertexArray = gl().genVertexArray();
+        vertexArrayResource = state.resources().register(GLResourceRegistry.Type.VERTEX_ARRAY, vertexArray, 0, this);
+        state.bindVertexArray(vertexArray);
+        indexBuffer = new GLBuffer(GL_ELEMENT_ARRAY_BUFFER);
+        try (MemorySession session = MemorySession.openConfined()) {
+            final MemorySegment indices = MemorySegment.allocateNative(maxQuads * 6L * 4L, 4, session);
+            for (int i = 0, v = 0; i < maxQuads * 6; i += 6, v += 4) {
+                indices.setAtIndex(JAVA_INT, i, v);
+                indices.setAtIndex(JAVA_INT, i + 1, v + 1);
+                indices.setAtIndex(JAVA_INT, i + 2, v + 2);
+                indices.setAtIndex(JAVA_INT, i + 3, v + 2);
+                indices.setAtIndex(JAVA_INT, i + 4, v + 3);
+                indices.setAtIndex(JAVA_INT, i + 5, v);
+            }
+            indexBuffer.data(indices, GL_STATIC_DRAW);
+        }
+        indexBuffer.bind();
+        for (int i = 0; i < 4; i++) {
+            gl().enableVertexAttribArray(i);
+        }
+    }
+
+    /**
+     * Creates the source of the default program.
+     * <p>
+     * The attributes are {@code Position} ({@code vec2}) at 0, {@code UV0} ({@code vec2}) at 1,
+     * {@code Color} ({@code vec4}) at 2 and {@code TexIndex} ({@code float}) at 3.
+     * The uniforms are {@code mat4 projection} and {@code sampler2D textures[units]}.
+     *
+     * @param units the count of the texture units
+     * @return the program source
+     */
+    public static ProgramSource createProgram(int units) {
+        final StringBuilder cases = new StringBuilder();
+        for (int i = 0; i < units - 1; i++) {
+            cases.append("        case ").append(i).append(": texel = texture(textures[").append(i).append("], uv); break;\n");
+        }
+        cases.append("        default: texel = texture(textures[").append(units - 1).append("], uv); break;\n");
+        return ProgramSource.builder()
+            .shader(GL_VERTEX_SHADER, """
+                #version 330 core
+                in vec2 Position;
+                in vec2 UV0;
+                in vec4 Color;
+                in float TexIndex;
+                uniform mat4 projection;
+                out vec2 uv;
+                out vec4 color;
+                flat out int texIndex;
+                void main() {
+                    gl_Position = projection * vec4(Position, 0.0, 1.0);
+                    uv = UV0;
+                    color = Color;
+                    texIndex = int(TexIndex);
+                }
+                """)
+            .shader(GL_FRAGMENT_SHADER, """
+                #version 330 core
+                in vec2 uv;
+                in vec4 color;
+                flat in int texIndex;
+                uniform sampler2D textures[%d];
+                out vec4 FragColor;
+                void main() {
+                    vec4 texel;
+                    switch (texIndex) {
+                %s    }
+                    FragColor = texel * color;
+                }
+                """.formatted(units, cases))
+            .attribLocation(0, "Position")
+            .attribLocation(1, "UV0")
+            .attribLocation(2, "Color")
+            .attribLocation(3, "TexIndex")
+            .build();
+    }
+
+    /**
+     * Starts a frame of quads.
+     *
+     * @throws IllegalStateException if the batch was already begun
+     */
+    public void begin() {
+        if (drawing) {
+            throw new IllegalStateException("Sprite batch already begun");
+        }
+        drawing = true;
+        count = 0;
+        quads = 0;
+        drawCalls = 0;
+        stream.beginFrame();
+    }
+
+    /**
+     * Adds a quad with the whole texture and white color.
+     *
+     * @param texture the 2D texture
+     * @param x       the x-coordinate of the first corner
+     * @param y       the y-coordinate of the first corner
+     * @param width   the width
+     * @param height  the height
+     */
+    public void draw(int texture, float x, float y, float width, float height) {
+        draw(texture, x, y, width, height, 0f, 0f, 1f, 1f, WHITE);
+    }
+
+    /**
+     * Adds a quad.
+     *
+     * @param texture the 2D texture
+     * @param x       the x-coordinate of the first corner
+     * @param y       the y-coordinate of the first corner
+     * @param width   the width
+     * @param height  the height
+     * @param u0      the texture x-coordinate at the first corner
+     * @param v0      the texture y-coordinate at the first corner
+     * @param u1      the texture x-coordinate at the opposite corner
+     * @param v1      the texture y-coordinate at the opposite corner
+     * @param color   the color multiplied with the texture, as {@code 0xAABBGGRR}
+     * @throws IllegalStateException if the batch was not begun, or {@code maxQuads} quads were already
+     *                               drawn in this frame
+     */
+    public void draw(int texture, float x, float y, float width, float height,
+                     float u0, float v0, float u1, float v1, int color) {
+        if (!drawing) {
+            throw new IllegalStateException("Sprite batch not begun");
+        }
+        if (quads + count == maxQuads) {
+            throw new IllegalStateException("More than " + maxQuads + " quads drawn in this frame");
+        }
+        final long offset = (long) count * QUAD_SIZE;
+        final float x1 = x + width;
+        final float y1 = y + height;
+        putVertex(offset, x, y, u0, v0, color);
+        putVertex(offset + VERTEX_SIZE, x, y1, u0, v1, color);
+        putVertex(offset + VERTEX_SIZE * 2, x1, y1, u1, v1, color);
+        putVertex(offset + VERTEX_SIZE * 3, x1, y, u1, v0, color);
+        quadTextures[count] = texture;
+        ++count;
+    }
+
+    private void putVertex(long offset, float x, float y, float u, float v, int color) {
+        staging.set(JAVA_FLOAT, offset, x);
+        staging.set(JAVA_FLOAT, offset + 4, y);
+        staging.set(JAVA_FLOAT, offset + 8, u);
+        staging.set(JAVA_FLOAT, offset + 12, v);
+        staging.set(COLOR, offset + 16, color);
+    }
+
+    private static int indexOf(int[] array, int from, int length, int value) {
+        for (int i = from; i < from + length; i++) {
+            if (array[i] == value) return i - from;
+        }
+        return -1;
+    }
+
+    /**
+     * Draws the added quads.
+     *
+     * @throws IllegalStateException if the batch was not begun, or more than {@code maxQuads} quads
+     *                               were drawn in this frame
+     */
+    public void flush() {
+        if (!drawing) {
+            throw new IllegalStateException("Sprite batch not begun");
+        }
+        if (count == 0) return;
+        for (int i = 0; i < count; i++) {
+            keys[i] = sortMode == SortMode.TEXTURE ? ((long) quadTextures[i] << 32) | i : i;
+        }
+        if (sortMode == SortMode.TEXTURE) {
+            Arrays.sort(keys, 0, count);
+        }
+        final MemorySegment vertices = stream.allocate((long) count * QUAD_SIZE, 4);
+        // every quad is copied before the stream is flushed, so a non-persistent stream uploads all ranges
+        int ranges = 0;
+        int rangeBase = 0;
+        int unitCount = 0;
+        for (int i = 0; i < count; i++) {
+            final int quad = (int) keys[i];
+            final int texture = quadTextures[quad];
+            int unit = indexOf(rangeTextures, rangeBase, unitCount, texture);
+            if (unit < 0) {
+                if (unitCount == units) {
+                    rangeEnds[ranges] = i;
+                    rangeUnits[ranges++] = unitCount;
+                    rangeBase += unitCount;
+                    unitCount = 0;
+                }
+                unit = unitCount;
+                rangeTextures[rangeBase + unitCount++] = texture;
+            }
+            final long dst = (long) i * QUAD_SIZE;
+            MemorySegment.copy(staging, (long) quad * QUAD_SIZE, vertices, dst, QUAD_SIZE);
+            for (int v = 0; v < 4; v++) {
+                vertices.set(JAVA_FLOAT, dst + v * VERTEX_SIZE + 20, unit);
+            }
+        }
+        rangeEnds[ranges] = count;
+        rangeUnits[ranges++] = unitCount;
+        stream.flush();
+
+        final GLStateManager state = GLStateManager.current();
+        state.bindVertexArray(vertexArray);
+        stream.buffer().bind();
+        final long base = stream.offsetOf(vertices);
+        gl().vertexAttribPointer(0, 2, GL_FLOAT, false, VERTEX_SIZE, MemoryAddress.ofLong(base));
+        gl().vertexAttribPointer(1, 2, GL_FLOAT, false, VERTEX_SIZE, MemoryAddress.ofLong(base + 8));
+        gl().vertexAttribPointer(2, 4, GL_UNSIGNED_BYTE, true, VERTEX_SIZE, MemoryAddress.ofLong(base + 16));
+        gl().vertexAttribPointer(3, 1, GL_FLOAT, false, VERTEX_SIZE, MemoryAddress.ofLong(base + 20));
+        program.uniformMatrix4fv(program.getUniformLocation("projection"), false, projection);
+        program.use();
+        int first = 0;
+        rangeBase = 0;
+        for (int r = 0; r < ranges; r++) {
+            for (int unit = 0; unit < rangeUnits[r]; unit++) {
+                state.bindTexture(unit, GL_TEXTURE_2D, rangeTextures[rangeBase + unit]);
+            }
+            gl().drawElements(GL_TRIANGLES, (rangeEnds[r] - first) * 6, GL_UNSIGNED_INT,
+                MemoryAddress.ofLong(first * 6L * 4L));
+            ++drawCalls;
+            rangeBase += rangeUnits[r];
+            first = rangeEnds[r];
+        }
+        quads += count;
+        count = 0;
+    }
+
+    /**
+     * Flushes the quads and ends the frame.
+     *
+     * @throws IllegalStateException if the batch was not begun
+     */
+    public void end() {
+        flush();
+        drawing = false;
+        stream.endFrame();
+    }
+
+    /**
+     * Sets the program, flushing the added quads if it changes.
+     *
+     * @param program the program, or {@code null} for the default program
+     */
+    public void setProgram(@Nullable GLProgram program) {
+        final GLProgram p = program != null ? program : defaultProgram;
+        if (p == this.program) return;
+        if (drawing) flush();
+        this.program = p;
+        p.uniform1iv(p.getUniformLocation("textures"), unitIndices);
+    }
+
+    /**
+     * Sets the projection matrix.
+     *
+     * @param matrix the column-major matrix
+     */
+    public void setProjection(float[] matrix) {
+        if (drawing) flush();
+        System.arraycopy(matrix, 0, projection, 0, 16);
+    }
+
+    /**
+     * Sets an orthographic projection with the origin at the top-left corner and the y-axis pointing down.
+     *
+     * @param width  the width of the view
+     * @param height the height of the view
+     */
+    public void setOrthographic(float width, float height) {
+        if (drawing) flush();
+        Arrays.fill(projection, 0f);
+        projection[0] = 2f / width;
+        projection[5] = -2f / height;
+        projection[10] = -1f;
+        projection[12] = -1f;
+        projection[13] = 1f;
+        projection[15] = 1f;
+    }
+
+    /**
+     * Sets the sort mode.
+     *
+     * @param sortMode the sort mode
+     */
+    public void setSortMode(SortMode sortMode) {
+        if (drawing) flush();
+        this.sortMode = sortMode;
+    }
+
+    /**
+     * Gets the count of the draw calls since {@link #begin()}.
+     *
+     * @return the count of the draw calls
+     */
+    public int drawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * Gets the count of the flushed quads since {@link #begin()}.
+     *
+     * @return the count of the quads
+     */
+    public int quads() {
+        return quads;
+    }
+
+    /**
+     * Gets the count of the texture units used per draw call.
+     *
+     * @return the count of the texture units
+     */
+    public int units() {
+        return units;
+    }
+
+    /**
+     * Deletes the buffers, the vertex array and the default program.
+     */
+    public void delete() {
+        stream.delete();
+        indexBuffer.delete();
+        GLStateManager.current().deleteVertexArray(vertexArray);
+        vertexArrayResource.markDeleted();
+        defaultProgram.delete();
+    }
+}
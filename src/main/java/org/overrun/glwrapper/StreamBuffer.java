@@ -0,0 +1,299 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.lang.foreign.SegmentAllocator;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A ring of per-frame regions in one buffer for streaming dynamic data.
+ * <p>
+ * With persistent mapping, the buffer is created with {@code glBufferStorage} and mapped once with
+ * {@code GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT}, and {@link #allocate(long, long) allocations}
+ * are slices of the mapped memory, so the written data reaches the GPU without a copy.
+ * {@link #endFrame()} puts a fence after the commands of the frame, and {@link #beginFrame()} waits for
+ * the fence of the region it reuses, so the CPU never overwrites data that the GPU still reads.
+ * <p>
+ * Without persistent mapping, allocations are slices of native staging memory, and {@link #flush()}
+ * uploads the range written since the last flush with one {@code glBufferSubData}; call it before
+ * the draw calls that read the allocations.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var stream = new StreamBuffer(GL_ARRAY_BUFFER, 4 * 1024 * 1024);
+ * // per frame
+ * stream.beginFrame();
+ * var vertices = stream.allocate(count * 20L, 4);
+ * fill(vertices);
+ * stream.flush();
+ * stream.buffer().bind();
+ * GL.vertexAttribPointer(0, 3, GL_FLOAT, false, 20, MemoryAddress.ofLong(stream.offsetOf(vertices)));
+ * GL.drawArrays(GL_TRIANGLES, 0, count);
+ * stream.endFrame();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class StreamBuffer implements SegmentAllocator {
+    /**
+     * The default count of the regions; one written by the CPU while two are read by the GPU.
+     */
+    public static final int DEFAULT_FRAMES = 3;
+    /**
+     * The region size is rounded up to this alignment, which satisfies the offset alignment
+     * of all buffer targets.
+     */
+    private static final long REGION_ALIGNMENT = 256;
+    private static final long FENCE_TIMEOUT = 1_000_000L;
+    private static final int FLAGS = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+    private final GLBuffer buffer;
+    private final boolean persistent;
+    private final long regionSize;
+    private final GLResourceRegistry resources;
+    // the registered fences of the regions, or null
+    private final GLResourceRegistry.Resource[] fences;
+    private final MemorySegment memory;
+    private final long baseAddress;
+    private long regionStart;
+    private long offset;
+    private long flushed;
+    private long frame;
+    private long stalls;
+    private boolean inFrame;
+
+    /**
+     * Creates the stream buffer with {@link #DEFAULT_FRAMES} regions, detecting persistent mapping support
+     * of the current context.
+     *
+     * @param target        the target of the buffer, e.g. {@code GL_ARRAY_BUFFER}
+     * @param bytesPerFrame the size of each region in bytes
+     * @throws IllegalStateException if no {@link GLStateManager state manager} is current
+     */
+    public StreamBuffer(int target, long bytesPerFrame) {
+        this(target, bytesPerFrame, DEFAULT_FRAMES, supportsPersistentMapping(GLStateManager.current().extensions()));
+    }
+
+    /**
+     * Creates the stream buffer.
+     *
+     * @param target        the target of the buffer, e.g. {@code GL_ARRAY_BUFFER}
+     * @param bytesPerFrame the size of each region in bytes
+     * @param frames        the count of the regions
+     * @param persistent    {@code true} to map the buffer persistently; requires OpenGL 4.4 or
+     *                      {@code GL_ARB_buffer_storage}
+     * @throws IllegalArgumentException if {@code bytesPerFrame} or {@code frames} is not positive
+     */
+    public StreamBuffer(int target, long bytesPerFrame, int frames, boolean persistent) {
+        if (bytesPerFrame <= 0 || frames <= 0) {
+            throw new IllegalArgumentException("bytesPerFrame and frames must be positive: " + bytesPerFrame + ", " + frames);
+        }
+        this.persistent = persistent;
+        regionSize = (bytesPerFrame + REGION_ALIGNMENT - 1) & -REGION_ALIGNMENT;
+        final long size = regionSize * frames;
+        resources = GLStateManager.current().resources();
+        fences = new GLResourceRegistry.Resource[frames];
+        buffer = new GLBuffer(target);
+        if (persistent) {
+            buffer.storage(size, FLAGS);
+            memory = buffer.map(0, size, FLAGS);
+        } else {
+            buffer.data(size, GL_STREAM_DRAW);
+            memory = MemorySegment.allocateNative(size, REGION_ALIGNMENT, MemorySession.openImplicit());
+        }
+        baseAddress = memory.address().toRawLongValue();
+    }
+
+    /**
+     * Checks if the context supports persistent mapping.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if {@code glBufferStorage} is available
+     */
+    public static boolean supportsPersistentMapping(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 4) || extensions.has("GL_ARB_buffer_storage");
+    }
+
+    /**
+     * Starts a frame, waiting for the GPU to finish reading the region of the frame if needed.
+     *
+     * @throws IllegalStateException if the previous frame was not ended, or waiting for the fence failed
+     */
+    public void beginFrame() {
+        if (inFrame) {
+            throw new IllegalStateException("Stream buffer frame not ended");
+        }
+        final int region = (int) (frame % fences.length);
+        final GLResourceRegistry.Resource resource = fences[region];
+        if (resource != null) {
+            final MemoryAddress fence = MemoryAddress.ofLong(resource.handle());
+            int status = gl().clientWaitSync(fence, 0, 0L);
+            if (status == GL_TIMEOUT_EXPIRED) {
+                ++stalls;
+                do {
+                    status = gl().clientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT);
+                } while (status == GL_TIMEOUT_EXPIRED);
+            }
+            gl().deleteSync(fence);
+            resource.markDeleted();
+            fences[region] = null;
+            if (status == GL_WAIT_FAILED) {
+                throw new IllegalStateException("Failed to wait for the fence of stream buffer " + buffer.id());
+            }
+        }
+        regionStart = region * regionSize;
+        offset = regionStart;
+        flushed = regionStart;
+        inFrame = true;
+    }
+
+    /**
+     * Allocates a range of the region of the current frame. The alignment is relative to the start
+     * of the buffer, so it can satisfy the offset alignment of the buffer target.
+     *
+     * @param bytesSize      the size in bytes
+     * @param bytesAlignment the alignment in bytes; must be a power of two
+     * @return the memory to write to
+     * @throws IllegalStateException if the frame was not begun, or the region is full
+     */
+    @Override
+    public MemorySegment allocate(long bytesSize, long bytesAlignment) {
+        if (!inFrame) {
+            throw new IllegalStateException("Stream buffer frame not begun");
+        }
+        final long start = (offset + bytesAlignment - 1) & -bytesAlignment;
+        final long end = start + bytesSize;
+        if (end > regionStart + regionSize) {
+            throw new IllegalStateException("Stream buffer region full: " + (end - regionStart) + " > " + regionSize + " bytes");
+        }
+        offset = end;
+        return memory.asSlice(start, bytesSize);
+    }
+
+    /**
+     * Gets the byte offset in the buffer of an allocation, to pass to the draw or bind calls.
+     *
+     * @param allocation the memory returned by {@link #allocate(long, long)}
+     * @return the byte offset in the buffer
+     */
+    public long offsetOf(MemorySegment allocation) {
+        return allocation.address().toRawLongValue() - baseAddress;
+    }
+
+    /**
+     * Makes the allocations since the last flush visible to the GPU. Without persistent mapping,
+     * this uploads them; with persistent mapping, the writes are already visible and this does nothing.
+     */
+    public void flush() {
+        if (!persistent && offset > flushed) {
+            buffer.subData(flushed, memory.asSlice(flushed, offset - flushed));
+        }
+        flushed = offset;
+    }
+
+    /**
+     * Ends the frame, {@link #flush() flushing} the remaining allocations. With persistent mapping, this puts
+     * the fence of the region, and must be called after the commands that read the region.
+     *
+     * @throws IllegalStateException if the frame was not begun
+     */
+    public void endFrame() {
+        if (!inFrame) {
+            throw new IllegalStateException("Stream buffer frame not begun");
+        }
+        flush();
+        inFrame = false;
+        final int region = (int) (frame % fences.length);
+        ++frame;
+        if (persistent && offset > regionStart) {
+            fences[region] = resources.registerSync(gl().fenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0), this);
+        }
+    }
+
+    /**
+     * Gets the count of the bytes allocated in the current frame, including the alignment padding.
+     *
+     * @return the used size in bytes
+     */
+    public long used() {
+        return offset - regionStart;
+    }
+
+    /**
+     * Gets the size of each region.
+     *
+     * @return the region size in bytes
+     */
+    public long regionSize() {
+        return regionSize;
+    }
+
+    /**
+     * Gets the count of the frames that had to wait for the GPU in {@link #beginFrame()}.
+     *
+     * @return the count of the stalls
+     */
+    public long stalls() {
+        return stalls;
+    }
+
+    /**
+     * Returns whether the buffer is persistently mapped.
+     *
+     * @return {@code true} if the buffer is persistently mapped
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Gets the buffer.
+     *
+     * @return the buffer
+     */
+    public GLBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Deletes the fences and the buffer.
+     */
+    public void delete() {
+        for (int i = 0; i < fences.length; i++) {
+            final GLResourceRegistry.Resource fence = fences[i];
+            if (fence != null) {
+                gl().deleteSync(MemoryAddress.ofLong(fence.handle()));
+                fence.markDeleted();
+                fences[i] = null;
+            }
+        }
+        buffer.delete();
+    }
+}
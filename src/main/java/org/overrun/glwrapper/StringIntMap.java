@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from {@link String} to {@code int}.
+ * <p>
+ * Lookups only use {@link String#hashCode()} and {@link String#equals(Object)},
+ * so a lookup with an existing string never allocates.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+final class StringIntMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private String[] keys;
+    private int[] values;
+    private int size;
+    private int threshold;
+
+    /**
+     * Creates the map with the default capacity.
+     */
+    StringIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the map.
+     *
+     * @param expectedSize the expected count of the entries
+     */
+    StringIntMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        // load factor 0.5
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new int[capacity];
+        threshold = capacity >>> 1;
+    }
+
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is absent
+     * @return the mapped value, or {@code defaultValue}
+     */
+    int get(String key, int defaultValue) {
+        final String[] ks = keys;
+        final int mask = ks.length - 1;
+        int i = mix(key.hashCode()) & mask;
+        String k;
+        while ((k = ks[i]) != null) {
+            if (k.equals(key)) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Maps the value to the given key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(String key, int value) {
+        final int mask = keys.length - 1;
+        int i = mix(key.hashCode()) & mask;
+        String k;
+        while ((k = keys[i]) != null) {
+            if (k.equals(key)) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    private void rehash(int capacity) {
+        final String[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            final String k = oldKeys[j];
+            if (k == null) continue;
+            int i = mix(k.hashCode()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+
+    /**
+     * Removes all entries and makes sure the table can hold {@code expectedSize} entries.
+     *
+     * @param expectedSize the expected count of the entries
+     */
+    void clear(int expectedSize) {
+        final int capacity = tableSizeFor(expectedSize);
+        if (capacity > keys.length) {
+            allocate(capacity);
+        } else {
+            Arrays.fill(keys, null);
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets the count of the entries.
+     *
+     * @return the count of the entries
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A budget of the texture memory with least-recently-used eviction.
+ * <p>
+ * The memory of all live textures is read from the {@link GLResourceRegistry}. Only tracked textures,
+ * e.g. streamed textures that can be loaded again, are evicted. Call {@link #touch(GLTexture)} or
+ * {@link #bind(int, GLTexture)} when a texture is used, and {@link #enforce()} once per frame; it deletes
+ * the least recently used textures until the memory fits in the budget. Textures used in the current
+ * frame are never evicted, so the budget may be exceeded temporarily.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var budget = new TextureBudget(512L * 1024 * 1024);
+ * streamer.setBudget(budget);
+ * // per frame
+ * budget.bind(0, texture);
+ * budget.enforce();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class TextureBudget {
+    private final Map<GLTexture, Entry> textures = new LinkedHashMap<>(16, 0.75f, true);
+    private long budget;
+    private long trackedBytes;
+    private long frame;
+    private long evictions;
+
+    /**
+     * Creates the budget.
+     *
+     * @param budget the maximum size of all live textures in bytes
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public TextureBudget(long budget) {
+        setBudget(budget);
+    }
+
+    private static final class Entry {
+        private final @Nullable Consumer<GLTexture> onEvict;
+        private long frame;
+
+        private Entry(@Nullable Consumer<GLTexture> onEvict, long frame) {
+            this.onEvict = onEvict;
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * Tracks an evictable texture.
+     *
+     * @param texture the texture
+     */
+    public void track(GLTexture texture) {
+        track(texture, null);
+    }
+
+    /**
+     * Tracks an evictable texture.
+     *
+     * @param texture the texture
+     * @param onEvict the action called after the texture is evicted and deleted, e.g. to load it again on demand
+     */
+    public void track(GLTexture texture, @Nullable Consumer<GLTexture> onEvict) {
+        if (textures.put(texture, new Entry(onEvict, frame)) == null) {
+            trackedBytes += texture.size();
+        }
+    }
+
+    /**
+     * Stops tracking a texture. The texture is not deleted.
+     *
+     * @param texture the texture
+     */
+    public void untrack(GLTexture texture) {
+        if (textures.remove(texture) != null) {
+            trackedBytes -= texture.size();
+        }
+    }
+
+    /**
+     * Marks a texture as used in the current frame.
+     *
+     * @param texture the texture
+     */
+    public void touch(GLTexture texture) {
+        final Entry entry = textures.get(texture);
+        if (entry != null) {
+            entry.frame = frame;
+        }
+    }
+
+    /**
+     * Marks a texture as used in the current frame and binds it.
+     *
+     * @param unit    the zero-based index of the unit
+     * @param texture the texture
+     */
+    public void bind(int unit, GLTexture texture) {
+        touch(texture);
+        texture.bind(unit);
+    }
+
+    /**
+     * Evicts the least recently used textures until the memory of all live textures fits in the budget,
+     * and starts the next frame. This should be called once per frame on the context thread.
+     *
+     * @return the count of the evicted textures
+     */
+    public int enforce() {
+        final var resources = GLStateManager.current().resources();
+        int evicted = 0;
+        final Iterator<Map.Entry<GLTexture, Entry>> iterator = textures.entrySet().iterator();
+        while (iterator.hasNext() && resources.liveBytes(GLResourceRegistry.Type.TEXTURE) > budget) {
+            final var mapEntry = iterator.next();
+            final GLTexture texture = mapEntry.getKey();
+            final Entry entry = mapEntry.getValue();
+            if (!texture.isLive()) {
+                // deleted by the owner
+                iterator.remove();
+                trackedBytes -= texture.size();
+                continue;
+            }
+            if (entry.frame == frame) {
+                // the remaining textures are used more recently
+                break;
+            }
+            iterator.remove();
+            trackedBytes -= texture.size();
+            texture.delete();
+            ++evicted;
+            if (entry.onEvict != null) {
+                entry.onEvict.accept(texture);
+            }
+        }
+        evictions += evicted;
+        ++frame;
+        return evicted;
+    }
+
+    /**
+     * Sets the budget.
+     *
+     * @param budget the maximum size of all live textures in bytes
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Invalid texture budget: " + budget);
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the budget.
+     *
+     * @return the maximum size of all live textures in bytes
+     */
+    public long budget() {
+        return budget;
+    }
+
+    /**
+     * Gets the size of all live textures, including the untracked ones.
+     *
+     * @return the size in bytes
+     */
+    public long usedBytes() {
+        return GLStateManager.current().resources().liveBytes(GLResourceRegistry.Type.TEXTURE);
+    }
+
+    /**
+     * Gets the size of the tracked textures.
+     *
+     * @return the size in bytes
+     */
+    public long trackedBytes() {
+        return trackedBytes;
+    }
+
+    /**
+     * Gets the count of the tracked textures.
+     *
+     * @return the count of the textures
+     */
+    public int trackedCount() {
+        return textures.size();
+    }
+
+    /**
+     * Gets the total count of the evicted textures.
+     *
+     * @return the count of the evictions
+     */
+    public long evictions() {
+        return evictions;
+    }
+}
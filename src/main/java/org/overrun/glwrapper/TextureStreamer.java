@@ -0,0 +1,642 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * Loads textures without blocking the render thread.
+ * <p>
+ * A load runs in three stages:
+ * <ol>
+ * <li>The encoded image is read or mapped on a virtual thread.</li>
+ * <li>The image is decoded on a pool of platform threads by the {@link ImageDecoder}. The decoder writes the
+ * pixels directly to a persistently mapped pixel unpack buffer (the staging ring).</li>
+ * <li>{@link #update()} uploads the pixels from the staging ring with {@code glTexSubImage2D} on the context
+ * thread, in bands of rows, until the byte budget of the frame is spent. Large textures are spread
+ * over several frames.</li>
+ * </ol>
+ * The staging memory of an upload is reused once a fence shows that the GPU has finished reading it.
+ * Decoders wait while the staging ring is full. Images larger than the ring, and all images on contexts without
+ * {@code glBufferStorage}, are decoded to client memory instead.
+ * <p>
+ * The returned futures are completed on the context thread by {@link #update()}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var streamer = new TextureStreamer(decoder);
+ * var texture = streamer.load(Path.of("image.png"));
+ * // per frame
+ * streamer.update();
+ * if (texture.isDone()) texture.join().bind(0);
+ * }</pre>
+ *
+ * @author squid233
+ * @see ImageDecoder
+ * @since 0.1.0
+ */
+public final class TextureStreamer {
+    /**
+     * The default size of the staging ring, 32 MiB.
+     */
+    public static final long DEFAULT_STAGING_SIZE = 32L * 1024 * 1024;
+    /**
+     * The default byte budget of a frame, 4 MiB.
+     */
+    public static final long DEFAULT_BYTES_PER_FRAME = 4L * 1024 * 1024;
+    private static final int FLAGS = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+    /**
+     * The alignment of the staging allocations, a cache line.
+     */
+    private static final long ALIGNMENT = 64;
+    private final ImageDecoder decoder;
+    private final Executor ioExecutor;
+    private final Executor decodeExecutor;
+    private final boolean ownsExecutors;
+    private final @Nullable GLBuffer staging;
+    private final @Nullable MemorySegment stagingMemory;
+    private final Ring ring;
+    private final Queue<Upload> ready = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<Upload> active = new ArrayDeque<>();
+    private final ArrayDeque<Fence> fences = new ArrayDeque<>();
+    private final List<Region> finished = new ArrayList<>();
+    private final List<Upload> completed = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean deleted;
+    private long bytesPerFrame = DEFAULT_BYTES_PER_FRAME;
+    private int minFilter = GL_LINEAR_MIPMAP_LINEAR;
+    private int magFilter = GL_LINEAR;
+    private long uploadedBytes;
+    private @Nullable TextureBudget textureBudget;
+
+    /**
+     * Creates the streamer with its own executors and a staging ring of the default size.
+     * Persistent mapping is used if the current context supports it.
+     *
+     * @param decoder the image decoder
+     */
+    public TextureStreamer(ImageDecoder decoder) {
+        this(decoder,
+            DEFAULT_STAGING_SIZE,
+            StreamBuffer.supportsPersistentMapping(GLStateManager.current().extensions()),
+            Executors.newVirtualThreadPerTaskExecutor(),
+            Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+                final var thread = new Thread(runnable, "TextureStreamer-decode");
+                thread.setDaemon(true);
+                return thread;
+            }),
+            true);
+    }
+
+    /**
+     * Creates the streamer with the given executors. The executors are not shut down by {@link #delete()}.
+     *
+     * @param decoder        the image decoder
+     * @param stagingSize    the size of the staging ring in bytes
+     * @param persistent     {@code true} to decode to a persistently mapped buffer;
+     *                       requires OpenGL 4.4 or {@code GL_ARB_buffer_storage}
+     * @param ioExecutor     the executor that reads the encoded images, preferably virtual threads
+     * @param decodeExecutor the executor that decodes the images, preferably a pool of platform threads
+     */
+    public TextureStreamer(ImageDecoder decoder, long stagingSize, boolean persistent, Executor ioExecutor, Executor decodeExecutor) {
+        this(decoder, stagingSize, persistent, ioExecutor, decodeExecutor, false);
+    }
+
+    private TextureStreamer(ImageDecoder decoder, long stagingSize, boolean persistent, Executor ioExecutor, Executor decodeExecutor, boolean ownsExecutors) {
+        this.decoder = decoder;
+        this.ioExecutor = ioExecutor;
+        this.decodeExecutor = decodeExecutor;
+        this.ownsExecutors = ownsExecutors;
+        if (persistent) {
+            staging = new GLBuffer(GL_PIXEL_UNPACK_BUFFER);
+            staging.storage(stagingSize, FLAGS);
+            stagingMemory = staging.map(0, stagingSize, FLAGS);
+            GLStateManager.current().bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+        } else {
+            staging = null;
+            stagingMemory = null;
+        }
+        ring = new Ring(persistent ? stagingSize : 0);
+    }
+
+    /**
+     * A range of the staging ring.
+     */
+    private static final class Region {
+        private final long offset;
+        private final long end;
+        private boolean released;
+
+        private Region(long offset, long end) {
+            this.offset = offset;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The allocator of the staging ring. Regions are allocated by the decode threads
+     * and released in any order by the context thread.
+     */
+    private static final class Ring {
+        private final long capacity;
+        private final ArrayDeque<Region> regions = new ArrayDeque<>();
+        private long head;
+        private boolean closed;
+
+        private Ring(long capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Reserves a region, waiting while the ring is full.
+         *
+         * @param size the size in bytes
+         * @return the region, or {@code null} if the size exceeds the capacity
+         */
+        private synchronized @Nullable Region reserve(long size) throws InterruptedException {
+            final long aligned = (size + ALIGNMENT - 1) & -ALIGNMENT;
+            if (aligned > capacity) {
+                return null;
+            }
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("Texture streamer deleted");
+                }
+                long offset = -1;
+                if (regions.isEmpty()) {
+                    offset = 0;
+                } else {
+                    final long tail = regions.getFirst().offset;
+                    if (head > tail) {
+                        // free space is [head, capacity) and [0, tail)
+                        if (capacity - head >= aligned) offset = head;
+                        else if (tail >= aligned) offset = 0;
+                    } else if (tail - head >= aligned) {
+                        offset = head;
+                    }
+                }
+                if (offset >= 0) {
+                    final var region = new Region(offset, offset + aligned);
+                    regions.addLast(region);
+                    head = region.end;
+                    return region;
+                }
+                wait();
+            }
+        }
+
+        private synchronized void release(Region region) {
+            region.released = true;
+            while (!regions.isEmpty() && regions.getFirst().released) {
+                regions.removeFirst();
+            }
+            notifyAll();
+        }
+
+        private synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    private record Fence(GLResourceRegistry.Resource sync, List<Region> regions) {
+        private void delete() {
+            gl().deleteSync(address());
+            sync.markDeleted();
+        }
+
+        private MemoryAddress address() {
+            return MemoryAddress.ofLong(sync.handle());
+        }
+    }
+
+    /**
+     * A decoded image waiting for upload.
+     */
+    private static final class Upload {
+        private final CompletableFuture<GLTexture> future;
+        private int width;
+        private int height;
+        private int channels;
+        private @Nullable MemorySegment pixels;
+        private @Nullable Region region;
+        private @Nullable MemorySession session;
+        private @Nullable GLTexture texture;
+        private int row;
+
+        private Upload(CompletableFuture<GLTexture> future) {
+            this.future = future;
+        }
+    }
+
+    private final class Sink implements ImageDecoder.PixelSink {
+        private final Upload upload;
+
+        private Sink(Upload upload) {
+            this.upload = upload;
+        }
+
+        @Override
+        public MemorySegment allocate(int width, int height, int channels) {
+            if (upload.pixels != null) {
+                throw new IllegalStateException("Pixels already allocated");
+            }
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+            }
+            format(channels);
+            final long size = (long) width * height * channels;
+            try {
+                upload.region = stagingMemory != null ? ring.reserve(size) : null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for staging memory", e);
+            }
+            if (upload.region != null) {
+                upload.pixels = stagingMemory.asSlice(upload.region.offset, size);
+            } else {
+                upload.session = MemorySession.openShared();
+                upload.pixels = MemorySegment.allocateNative(size, ALIGNMENT, upload.session);
+            }
+            upload.width = width;
+            upload.height = height;
+            upload.channels = channels;
+            return upload.pixels;
+        }
+    }
+
+    private static int format(int channels) {
+        return switch (channels) {
+            case 1 -> GL_RED;
+            case 2 -> GL_RG;
+            case 3 -> GL_RGB;
+            case 4 -> GL_RGBA;
+            default -> throw new IllegalArgumentException("Invalid count of channels: " + channels);
+        };
+    }
+
+    private static int internalFormat(int channels) {
+        return switch (channels) {
+            case 1 -> GL_R8;
+            case 2 -> GL_RG8;
+            case 3 -> GL_RGB8;
+            default -> GL_RGBA8;
+        };
+    }
+
+    private void discard(Upload upload) {
+        if (upload.region != null) {
+            ring.release(upload.region);
+            upload.region = null;
+        }
+        if (upload.session != null) {
+            upload.session.close();
+            upload.session = null;
+        }
+    }
+
+    private void fail(Upload upload, Throwable t) {
+        discard(upload);
+        if (upload.future.completeExceptionally(t)) {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Loads a texture from a file. The file is {@link MappedFile mapped} and passed to the decoder
+     * without a heap copy, and is unmapped after decoding.
+     *
+     * @param path the path of the encoded image
+     * @return the future of the texture, which fails if an executor rejects the load
+     * @throws IllegalStateException if the streamer is deleted
+     */
+    public CompletableFuture<GLTexture> load(Path path) {
+        final var upload = begin();
+        execute(ioExecutor, upload, () -> {
+            final MappedFile file;
+            try {
+                file = MappedFile.open(path, true);
+            } catch (Throwable t) {
+                fail(upload, t);
+                return;
+            }
+            if (!execute(decodeExecutor, upload, () -> {
+                try (file) {
+                    decode(upload, file.segment());
+                }
+            })) {
+                file.close();
+            }
+        });
+        return upload.future;
+    }
+
+    /**
+     * Loads a texture. The reader is called on the I/O executor.
+     *
+     * @param reader the reader of the encoded image
+     * @return the future of the texture, which fails if an executor rejects the load
+     * @throws IllegalStateException if the streamer is deleted
+     */
+    public CompletableFuture<GLTexture> load(Callable<MemorySegment> reader) {
+        final var upload = begin();
+        execute(ioExecutor, upload, () -> {
+            final MemorySegment encoded;
+            try {
+                encoded = reader.call();
+            } catch (Throwable t) {
+                fail(upload, t);
+                return;
+            }
+            execute(decodeExecutor, upload, () -> decode(upload, encoded));
+        });
+        return upload.future;
+    }
+
+    /**
+     * Loads a texture from an encoded image in memory. The memory must stay alive until the future is completed.
+     *
+     * @param encoded the encoded image
+     * @return the future of the texture, which fails if the decode executor rejects the load
+     * @throws IllegalStateException if the streamer is deleted
+     */
+    public CompletableFuture<GLTexture> load(MemorySegment encoded) {
+        final var upload = begin();
+        execute(decodeExecutor, upload, () -> decode(upload, encoded));
+        return upload.future;
+    }
+
+    private Upload begin() {
+        if (deleted) {
+            throw new IllegalStateException("Texture streamer deleted");
+        }
+        pending.incrementAndGet();
+        return new Upload(new CompletableFuture<>());
+    }
+
+    private boolean execute(Executor executor, Upload upload, Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            fail(upload, e);
+            return false;
+        }
+    }
+
+    private void decode(Upload upload, MemorySegment encoded) {
+        try {
+            decoder.decode(encoded, new Sink(upload));
+            if (upload.pixels == null) {
+                throw new IOException("Image decoder did not allocate the pixels");
+            }
+        } catch (Throwable t) {
+            fail(upload, t);
+            return;
+        }
+        ready.add(upload);
+        if (deleted && ready.remove(upload)) {
+            fail(upload, new IllegalStateException("Texture streamer deleted"));
+        }
+    }
+
+    private void reclaim() {
+        while (!fences.isEmpty()) {
+            final Fence fence = fences.getFirst();
+            final int status = gl().clientWaitSync(fence.address(), 0, 0L);
+            if (status == GL_TIMEOUT_EXPIRED) {
+                break;
+            }
+            fences.removeFirst();
+            fence.delete();
+            for (Region region : fence.regions()) {
+                ring.release(region);
+            }
+            if (status == GL_WAIT_FAILED) {
+                throw new IllegalStateException("Failed to wait for the fence of texture streamer");
+            }
+        }
+    }
+
+    /**
+     * Uploads the decoded images within the byte budget of the frame and completes the finished textures.
+     * At least one row is uploaded if an image is waiting. This should be called once per frame on the
+     * context thread.
+     * <p>
+     * Texture and pixel unpack buffer bindings of the active texture unit are changed through the
+     * {@link GLStateManager}. The unpack alignment is reset to 4.
+     *
+     * @return the count of the completed textures
+     */
+    public int update() {
+        reclaim();
+        for (Upload upload; (upload = ready.poll()) != null; ) {
+            active.addLast(upload);
+        }
+        if (active.isEmpty()) {
+            return 0;
+        }
+        final var state = GLStateManager.current();
+        final boolean mipmaps = minFilter != GL_NEAREST && minFilter != GL_LINEAR;
+        gl().pixelStorei(GL_UNPACK_ALIGNMENT, 1);
+        long budget = bytesPerFrame;
+        boolean first = true;
+        while (!active.isEmpty()) {
+            final Upload upload = active.getFirst();
+            final long rowSize = (long) upload.width * upload.channels;
+            if (!first && budget < rowSize) {
+                break;
+            }
+            if (upload.texture == null) {
+                upload.texture = GLTexture.create2D(internalFormat(upload.channels), upload.width, upload.height,
+                    mipmaps ? GLTexture.maxLevels(upload.width, upload.height) : 1);
+                gl().texParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, minFilter);
+                gl().texParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, magFilter);
+            }
+            final int rows = (int) Math.min(upload.height - upload.row, Math.max(1, budget / rowSize));
+            final long offset = upload.row * rowSize;
+            final Addressable pixels;
+            if (upload.region != null) {
+                state.bindBuffer(GL_PIXEL_UNPACK_BUFFER, staging.id());
+                pixels = MemoryAddress.ofLong(upload.region.offset + offset);
+            } else {
+                state.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+                pixels = upload.pixels.asSlice(offset, rows * rowSize);
+            }
+            upload.texture.subImage(0, 0, upload.row, upload.width, rows, format(upload.channels), GL_UNSIGNED_BYTE, pixels);
+            upload.row += rows;
+            budget -= rows * rowSize;
+            uploadedBytes += rows * rowSize;
+            first = false;
+            if (upload.row == upload.height) {
+                active.removeFirst();
+                if (mipmaps) {
+                    upload.texture.generateMipmaps();
+                }
+                if (upload.region != null) {
+                    // released by the fence of this frame
+                    finished.add(upload.region);
+                    upload.region = null;
+                } else {
+                    // client memory is read before glTexSubImage2D returns
+                    discard(upload);
+                }
+                upload.pixels = null;
+                completed.add(upload);
+            }
+        }
+        if (!finished.isEmpty()) {
+            final MemoryAddress sync = gl().fenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+            fences.addLast(new Fence(state.resources().registerSync(sync, this), List.copyOf(finished)));
+            finished.clear();
+        }
+        gl().pixelStorei(GL_UNPACK_ALIGNMENT, 4);
+        state.bindBuffer(GL_PIXEL_UNPACK_BUFFER, 0);
+        final int count = completed.size();
+        for (Upload upload : completed) {
+            if (textureBudget != null) {
+                textureBudget.track(upload.texture);
+            }
+            pending.decrementAndGet();
+            upload.future.complete(upload.texture);
+        }
+        completed.clear();
+        return count;
+    }
+
+    /**
+     * Sets the filters of the created textures. Mipmaps are generated if the minifying filter uses mipmaps.
+     *
+     * @param minFilter the minifying filter, default {@code GL_LINEAR_MIPMAP_LINEAR}
+     * @param magFilter the magnifying filter, default {@code GL_LINEAR}
+     */
+    public void setFilter(int minFilter, int magFilter) {
+        this.minFilter = minFilter;
+        this.magFilter = magFilter;
+    }
+
+    /**
+     * Sets the texture budget that tracks the created textures, so they can be evicted.
+     *
+     * @param textureBudget the texture budget, or {@code null}
+     */
+    public void setBudget(@Nullable TextureBudget textureBudget) {
+        this.textureBudget = textureBudget;
+    }
+
+    /**
+     * Sets the byte budget of a frame.
+     *
+     * @param bytesPerFrame the maximum count of the bytes uploaded by {@link #update()}
+     * @throws IllegalArgumentException if the budget is not positive
+     */
+    public void setBytesPerFrame(long bytesPerFrame) {
+        if (bytesPerFrame <= 0) {
+            throw new IllegalArgumentException("Invalid byte budget: " + bytesPerFrame);
+        }
+        this.bytesPerFrame = bytesPerFrame;
+    }
+
+    /**
+     * Gets the count of the loads that are not completed.
+     *
+     * @return the count of the pending loads
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Gets the total count of the uploaded bytes.
+     *
+     * @return the count of the bytes
+     */
+    public long uploadedBytes() {
+        return uploadedBytes;
+    }
+
+    /**
+     * Checks if the decoders write to a persistently mapped buffer.
+     *
+     * @return {@code true} if the staging ring is available
+     */
+    public boolean isPersistent() {
+        return staging != null;
+    }
+
+    /**
+     * Deletes the staging ring and fails the pending loads.
+     * The executors are shut down and awaited if they are created by this streamer; otherwise
+     * the decode executor must have finished the decodes of this streamer, because they write to the staging ring.
+     */
+    public void delete() {
+        deleted = true;
+        ring.close();
+        final var exception = new IllegalStateException("Texture streamer deleted");
+        for (Upload upload; (upload = ready.poll()) != null; ) {
+            fail(upload, exception);
+        }
+        for (Upload upload : active) {
+            if (upload.texture != null) {
+                upload.texture.delete();
+            }
+            fail(upload, exception);
+        }
+        active.clear();
+        for (Fence fence : fences) {
+            fence.delete();
+        }
+        fences.clear();
+        if (ownsExecutors) {
+            ((ExecutorService) ioExecutor).shutdownNow();
+            final var executor = (ExecutorService) decodeExecutor;
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (staging != null) {
+            staging.delete();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.*;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * The memory layout of a uniform block or a shader storage block.
+ * <p>
+ * A layout is either {@link #reflect(GLProgram, String) reflected} from a linked program,
+ * or computed with a {@link Builder builder} following the {@link Packing#STD140 std140}
+ * or {@link Packing#STD430 std430} rules.
+ *
+ * @author squid233
+ * @see UniformBuffer
+ * @since 0.1.0
+ */
+public final class UniformBlockLayout {
+    private final int dataSize;
+    private final Map<String, Member> members;
+
+    private UniformBlockLayout(int dataSize, Map<String, Member> members) {
+        this.dataSize = dataSize;
+        this.members = members;
+    }
+
+    /**
+     * The block packing rules.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public enum Packing {
+        /**
+         * The {@code std140} layout. Array and matrix column strides are rounded up to 16 bytes.
+         */
+        STD140,
+        /**
+         * The {@code std430} layout. Only available for shader storage blocks.
+         */
+        STD430
+    }
+
+    /**
+     * A member of a block.
+     *
+     * @param name         the name of the member
+     * @param type         the OpenGL type of the member, e.g. {@code GL_FLOAT_VEC4}
+     * @param offset       the byte offset of the member in the block
+     * @param arraySize    the count of the array elements, or 1 for non-array members
+     * @param arrayStride  the byte stride between array elements, or 0 for non-array members
+     * @param matrixStride the byte stride between matrix columns, or 0 for non-matrix members
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record Member(String name, int type, int offset, int arraySize, int arrayStride, int matrixStride) {
+        /**
+         * Gets the byte offset of the array element.
+         *
+         * @param index the array index
+         * @return the byte offset
+         */
+        public int offset(int index) {
+            return offset + index * arrayStride;
+        }
+    }
+
+    /**
+     * Reflects the layout of a uniform block from a linked program.
+     * <p>
+     * Members are accessible by their full name (e.g. {@code "Matrices.projection"})
+     * and by the name without the block prefix (e.g. {@code "projection"}).
+     *
+     * @param program   the linked program
+     * @param blockName the name of the uniform block
+     * @return the layout
+     * @throws IllegalArgumentException if the block is not active in the program
+     */
+    public static UniformBlockLayout reflect(GLProgram program, String blockName) {
+        final int blockIndex = program.getUniformBlockIndex(blockName);
+        if (blockIndex == GL_INVALID_INDEX) {
+            throw new IllegalArgumentException("Uniform block " + blockName + " is not active in program " + program.id());
+        }
+        final int[] param = new int[1];
+        program.getActiveUniformBlockiv(blockIndex, GL_UNIFORM_BLOCK_DATA_SIZE, param);
+        final int dataSize = param[0];
+        program.getActiveUniformBlockiv(blockIndex, GL_UNIFORM_BLOCK_ACTIVE_UNIFORMS, param);
+        final int count = param[0];
+        final int[] indices = new int[count];
+        if (count > 0) {
+            program.getActiveUniformBlockiv(blockIndex, GL_UNIFORM_BLOCK_ACTIVE_UNIFORM_INDICES, indices);
+        }
+        final int[] offsets = new int[count];
+        final int[] types = new int[count];
+        final int[] sizes = new int[count];
+        final int[] arrayStrides = new int[count];
+        final int[] matrixStrides = new int[count];
+        program.getActiveUniformsiv(indices, GL_UNIFORM_OFFSET, offsets);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_TYPE, types);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_SIZE, sizes);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_ARRAY_STRIDE, arrayStrides);
+        program.getActiveUniformsiv(indices, GL_UNIFORM_MATRIX_STRIDE, matrixStrides);
+        final int maxLength = program.geti(GL_ACTIVE_UNIFORM_MAX_LENGTH);
+        final String prefix = blockName + '.';
+        final Map<String, Member> members = new HashMap<>(count * 4);
+        for (int i = 0; i < count; i++) {
+            String name = program.getActiveUniformName(indices[i], maxLength);
+            if (name.endsWith("[0]")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            final var member = new Member(name, types[i], offsets[i], sizes[i], arrayStrides[i], matrixStrides[i]);
+            members.put(name, member);
+            if (name.startsWith(prefix)) {
+                members.putIfAbsent(name.substring(prefix.length()), member);
+            }
+        }
+        return new UniformBlockLayout(dataSize, Collections.unmodifiableMap(members));
+    }
+
+    /**
+     * Creates a builder that computes the offsets by the given packing rules.
+     *
+     * @param packing the packing rules
+     * @return the builder
+     */
+    public static Builder builder(Packing packing) {
+        return new Builder(packing);
+    }
+
+    /**
+     * The builder of a block layout. Members are laid out in the order they are added.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Builder {
+        private final Packing packing;
+        private final Map<String, Member> members = new LinkedHashMap<>();
+        private int offset;
+        private int maxAlignment = 4;
+
+        private Builder(Packing packing) {
+            this.packing = packing;
+        }
+
+        private int roundUp(int value, int alignment) {
+            return (value + alignment - 1) / alignment * alignment;
+        }
+
+        private int vectorAlignment(int components, int scalarSize) {
+            return (components == 3 ? 4 : components) * scalarSize;
+        }
+
+        /**
+         * Adds a non-array member.
+         *
+         * @param name the name of the member
+         * @param type the OpenGL type of the member, e.g. {@code GL_FLOAT_MAT4}
+         * @return this
+         */
+        public Builder add(String name, int type) {
+            return add(name, type, 1);
+        }
+
+        /**
+         * Adds a member.
+         *
+         * @param name      the name of the member
+         * @param type      the OpenGL type of the member, e.g. {@code GL_FLOAT_MAT4}
+         * @param arraySize the count of the array elements, or 1 for non-array members
+         * @return this
+         * @throws IllegalArgumentException if the type is not supported
+         */
+        public Builder add(String name, int type, int arraySize) {
+            final int scalarSize = scalarSize(type);
+            final int columns = columns(type);
+            final int rows = rows(type);
+            int alignment;
+            int size;
+            int matrixStride = 0;
+            if (columns > 1) {
+                // a matrix is stored as an array of column vectors
+                matrixStride = vectorAlignment(rows, scalarSize);
+                if (packing == Packing.STD140) {
+                    matrixStride = roundUp(matrixStride, 16);
+                }
+                alignment = matrixStride;
+                size = matrixStride * columns;
+            } else {
+                alignment = vectorAlignment(rows, scalarSize);
+                size = rows * scalarSize;
+            }
+            int arrayStride = 0;
+            if (arraySize > 1) {
+                if (packing == Packing.STD140) {
+                    alignment = roundUp(alignment, 16);
+                }
+                arrayStride = roundUp(size, alignment);
+                size = arrayStride * arraySize;
+            }
+            offset = roundUp(offset, alignment);
+            members.put(name, new Member(name, type, offset, arraySize, arrayStride, matrixStride));
+            offset += size;
+            maxAlignment = Math.max(maxAlignment, alignment);
+            return this;
+        }
+
+        /**
+         * Builds the layout.
+         *
+         * @return the layout
+         */
+        public UniformBlockLayout build() {
+            final int baseAlignment = packing == Packing.STD140 ? roundUp(maxAlignment, 16) : maxAlignment;
+            return new UniformBlockLayout(roundUp(offset, baseAlignment), Collections.unmodifiableMap(new LinkedHashMap<>(members)));
+        }
+    }
+
+    private static int scalarSize(int type) {
+        return switch (type) {
+            case GL_DOUBLE, GL_DOUBLE_VEC2, GL_DOUBLE_VEC3, GL_DOUBLE_VEC4,
+                GL_DOUBLE_MAT2, GL_DOUBLE_MAT3, GL_DOUBLE_MAT4 -> 8;
+            default -> 4;
+        };
+    }
+
+    private static int columns(int type) {
+        return switch (type) {
+            case GL_FLOAT_MAT2, GL_FLOAT_MAT2x3, GL_FLOAT_MAT2x4, GL_DOUBLE_MAT2 -> 2;
+            case GL_FLOAT_MAT3, GL_FLOAT_MAT3x2, GL_FLOAT_MAT3x4, GL_DOUBLE_MAT3 -> 3;
+            case GL_FLOAT_MAT4, GL_FLOAT_MAT4x2, GL_FLOAT_MAT4x3, GL_DOUBLE_MAT4 -> 4;
+            default -> 1;
+        };
+    }
+
+    private static int rows(int type) {
+        return switch (type) {
+            case GL_FLOAT, GL_INT, GL_UNSIGNED_INT, GL_BOOL, GL_DOUBLE -> 1;
+            case GL_FLOAT_VEC2, GL_INT_VEC2, GL_UNSIGNED_INT_VEC2, GL_BOOL_VEC2, GL_DOUBLE_VEC2,
+                GL_FLOAT_MAT2, GL_FLOAT_MAT3x2, GL_FLOAT_MAT4x2, GL_DOUBLE_MAT2 -> 2;
+            case GL_FLOAT_VEC3, GL_INT_VEC3, GL_UNSIGNED_INT_VEC3, GL_BOOL_VEC3, GL_DOUBLE_VEC3,
+                GL_FLOAT_MAT3, GL_FLOAT_MAT2x3, GL_FLOAT_MAT4x3, GL_DOUBLE_MAT3 -> 3;
+            case GL_FLOAT_VEC4, GL_INT_VEC4, GL_UNSIGNED_INT_VEC4, GL_BOOL_VEC4, GL_DOUBLE_VEC4,
+                GL_FLOAT_MAT4, GL_FLOAT_MAT2x4, GL_FLOAT_MAT3x4, GL_DOUBLE_MAT4 -> 4;
+            default -> throw new IllegalArgumentException("Unsupported block member type: 0x" + Integer.toHexString(type));
+        };
+    }
+
+    /**
+     * Gets a member of this block.
+     *
+     * @param name the name of the member
+     * @return the member
+     * @throws IllegalArgumentException if the member is absent
+     */
+    public Member member(String name) {
+        final Member member = members.get(name);
+        if (member == null) {
+            throw new IllegalArgumentException("Block member " + name + " not found");
+        }
+        return member;
+    }
+
+    /**
+     * Gets the byte offset of a member of this block.
+     *
+     * @param name the name of the member
+     * @return the byte offset
+     * @throws IllegalArgumentException if the member is absent
+     */
+    public int offset(String name) {
+        return member(name).offset();
+    }
+
+    /**
+     * Gets all members of this block.
+     *
+     * @return the members keyed by name
+     */
+    public Map<String, Member> members() {
+        return members;
+    }
+
+    /**
+     * Gets the minimum buffer size of this block.
+     *
+     * @return the size in bytes
+     */
+    public int dataSize() {
+        return dataSize;
+    }
+}
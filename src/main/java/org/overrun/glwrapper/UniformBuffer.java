@@ -0,0 +1,381 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A buffer-backed uniform block with an off-heap staging copy.
+ * <p>
+ * Writes go to the staging memory and mark the written bytes as dirty.
+ * Writes of unchanged values don't mark anything. {@link #upload()} uploads only the
+ * dirty ranges with {@code glBufferSubData}, and should be called once per frame
+ * before drawing.
+ * <p>
+ * The buffer is tracked by the {@link GLResourceRegistry} if a {@link GLStateManager} is current
+ * when it is created; otherwise it binds directly.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var layout = UniformBlockLayout.reflect(program, "Matrices");
+ * var ubo = new UniformBuffer(layout);
+ * ubo.bindBase(0);
+ * program.uniformBlockBinding(program.getUniformBlockIndex("Matrices"), 0);
+ * int projection = layout.offset("projection");
+ * // per frame
+ * ubo.setMatrix4(projection, 16, matrix);
+ * ubo.upload();
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class UniformBuffer {
+    /**
+     * The byte granularity of the dirty tracking.
+     */
+    private static final int CHUNK_SHIFT = 4;
+    private final UniformBlockLayout layout;
+    private final int target;
+    private final int id;
+    private final @Nullable GLResourceRegistry.Resource resource;
+    private final MemorySegment staging;
+    private final long[] dirty;
+
+    /**
+     * Creates the uniform buffer with {@code GL_UNIFORM_BUFFER} target.
+     *
+     * @param layout the layout of the block
+     */
+    public UniformBuffer(UniformBlockLayout layout) {
+        this(layout, GL_UNIFORM_BUFFER);
+    }
+
+    /**
+     * Creates the buffer.
+     *
+     * @param layout the layout of the block
+     * @param target the buffer target, {@code GL_UNIFORM_BUFFER} or {@code GL_SHADER_STORAGE_BUFFER}
+     */
+    public UniformBuffer(UniformBlockLayout layout, int target) {
+        this.layout = layout;
+        this.target = target;
+        final int size = layout.dataSize();
+        // the staging memory is freed by the GC, so the buffer can be used and deleted on any thread
+        staging = MemorySegment.allocateNative(size, 16, MemorySession.openImplicit());
+        staging.fill((byte) 0);
+        dirty = new long[((size >> CHUNK_SHIFT) + 64) >> 6];
+        id = gl().genBuffer();
+        final GLStateManager state = GLStateManager.currentOrNull();
+        resource = state != null ? state.resources().register(GLResourceRegistry.Type.BUFFER, id, size, this) : null;
+        bind();
+        gl().bufferData(target, size, staging, GL_DYNAMIC_DRAW);
+    }
+
+    private void bind() {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindBuffer(target, id);
+        } else {
+            gl().bindBuffer(target, id);
+        }
+    }
+
+    private void markDirty(long offset, long size) {
+        final int first = (int) (offset >> CHUNK_SHIFT);
+        final int last = (int) ((offset + size - 1) >> CHUNK_SHIFT);
+        for (int i = first; i <= last; i++) {
+            dirty[i >> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Writes a {@code float}.
+     *
+     * @param offset the byte offset
+     * @param v0     the value
+     */
+    public void setFloat(int offset, float v0) {
+        if (Float.floatToRawIntBits(staging.get(JAVA_FLOAT, offset)) != Float.floatToRawIntBits(v0)) {
+            staging.set(JAVA_FLOAT, offset, v0);
+            markDirty(offset, 4);
+        }
+    }
+
+    /**
+     * Writes a {@code vec2}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     */
+    public void setFloat(int offset, float v0, float v1) {
+        setFloat(offset, v0);
+        setFloat(offset + 4, v1);
+    }
+
+    /**
+     * Writes a {@code vec3}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     * @param v2     the z component
+     */
+    public void setFloat(int offset, float v0, float v1, float v2) {
+        setFloat(offset, v0);
+        setFloat(offset + 4, v1);
+        setFloat(offset + 8, v2);
+    }
+
+    /**
+     * Writes a {@code vec4}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     * @param v2     the z component
+     * @param v3     the w component
+     */
+    public void setFloat(int offset, float v0, float v1, float v2, float v3) {
+        setFloat(offset, v0);
+        setFloat(offset + 4, v1);
+        setFloat(offset + 8, v2);
+        setFloat(offset + 12, v3);
+    }
+
+    /**
+     * Writes an {@code int}, {@code uint} or {@code bool}.
+     *
+     * @param offset the byte offset
+     * @param v0     the value
+     */
+    public void setInt(int offset, int v0) {
+        if (staging.get(JAVA_INT, offset) != v0) {
+            staging.set(JAVA_INT, offset, v0);
+            markDirty(offset, 4);
+        }
+    }
+
+    /**
+     * Writes an {@code ivec2}, {@code uvec2} or {@code bvec2}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     */
+    public void setInt(int offset, int v0, int v1) {
+        setInt(offset, v0);
+        setInt(offset + 4, v1);
+    }
+
+    /**
+     * Writes an {@code ivec3}, {@code uvec3} or {@code bvec3}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     * @param v2     the z component
+     */
+    public void setInt(int offset, int v0, int v1, int v2) {
+        setInt(offset, v0);
+        setInt(offset + 4, v1);
+        setInt(offset + 8, v2);
+    }
+
+    /**
+     * Writes an {@code ivec4}, {@code uvec4} or {@code bvec4}.
+     *
+     * @param offset the byte offset
+     * @param v0     the x component
+     * @param v1     the y component
+     * @param v2     the z component
+     * @param v3     the w component
+     */
+    public void setInt(int offset, int v0, int v1, int v2, int v3) {
+        setInt(offset, v0);
+        setInt(offset + 4, v1);
+        setInt(offset + 8, v2);
+        setInt(offset + 12, v3);
+    }
+
+    /**
+     * Writes a column-major matrix with 2, 3 or 4 rows.
+     *
+     * @param offset       the byte offset
+     * @param matrixStride the byte stride between the columns
+     * @param columns      the count of the columns
+     * @param rows         the count of the rows
+     * @param value        the column-major matrix
+     */
+    public void setMatrix(int offset, int matrixStride, int columns, int rows, float[] value) {
+        for (int c = 0; c < columns; c++) {
+            for (int r = 0; r < rows; r++) {
+                setFloat(offset + c * matrixStride + r * 4, value[c * rows + r]);
+            }
+        }
+    }
+
+    /**
+     * Writes a column-major {@code mat3}.
+     *
+     * @param offset       the byte offset
+     * @param matrixStride the byte stride between the columns, 16 for both std140 and std430
+     * @param value        the column-major matrix
+     */
+    public void setMatrix3(int offset, int matrixStride, float[] value) {
+        setMatrix(offset, matrixStride, 3, 3, value);
+    }
+
+    /**
+     * Writes a column-major {@code mat4}.
+     *
+     * @param offset       the byte offset
+     * @param matrixStride the byte stride between the columns, 16 for both std140 and std430
+     * @param value        the column-major matrix
+     */
+    public void setMatrix4(int offset, int matrixStride, float[] value) {
+        setMatrix(offset, matrixStride, 4, 4, value);
+    }
+
+    /**
+     * Writes raw bytes to the staging memory and marks them dirty.
+     *
+     * @param offset the byte offset
+     * @param src    the source memory
+     */
+    public void set(long offset, MemorySegment src) {
+        MemorySegment.copy(src, 0, staging, offset, src.byteSize());
+        markDirty(offset, src.byteSize());
+    }
+
+    /**
+     * Marks the whole block dirty.
+     */
+    public void markAllDirty() {
+        markDirty(0, staging.byteSize());
+    }
+
+    /**
+     * Uploads the dirty ranges to the buffer.
+     * Adjacent dirty chunks are merged to one {@code glBufferSubData} call.
+     *
+     * @return the count of the uploaded bytes
+     */
+    public long upload() {
+        final long size = staging.byteSize();
+        long uploaded = 0;
+        int chunk = 0;
+        final int chunks = (int) ((size + (1 << CHUNK_SHIFT) - 1) >> CHUNK_SHIFT);
+        while (chunk < chunks) {
+            final long bits = dirty[chunk >> 6] >>> (chunk & 63);
+            if (bits == 0) {
+                chunk = (chunk | 63) + 1;
+                continue;
+            }
+            chunk += Long.numberOfTrailingZeros(bits);
+            int end = chunk;
+            while (end < chunks && (dirty[end >> 6] & (1L << end)) != 0) {
+                end++;
+            }
+            final long from = (long) chunk << CHUNK_SHIFT;
+            final long to = Math.min((long) end << CHUNK_SHIFT, size);
+            if (uploaded == 0) {
+                bind();
+            }
+            gl().bufferSubData(target, from, to - from, staging.asSlice(from, to - from));
+            uploaded += to - from;
+            chunk = end;
+        }
+        if (uploaded > 0) {
+            Arrays.fill(dirty, 0L);
+        }
+        return uploaded;
+    }
+
+    /**
+     * Binds the buffer to an indexed binding point.
+     *
+     * @param index the binding point
+     */
+    public void bindBase(int index) {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.bindBufferBase(target, index, id);
+        } else {
+            gl().bindBufferBase(target, index, id);
+        }
+    }
+
+    /**
+     * Deletes the buffer. The staging memory is freed once this object is unreachable.
+     */
+    public void delete() {
+        final GLStateManager state = GLStateManager.currentOrNull();
+        if (state != null) {
+            state.deleteBuffer(id);
+        } else {
+            gl().deleteBuffer(id);
+        }
+        if (resource != null) {
+            resource.markDeleted();
+        }
+    }
+
+    /**
+     * Gets the layout of the block.
+     *
+     * @return the layout
+     */
+    public UniformBlockLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Gets the staging memory. Writes to it must be followed by {@link #markAllDirty()}.
+     *
+     * @return the staging memory
+     */
+    public MemorySegment staging() {
+        return staging;
+    }
+
+    /**
+     * Gets the id of the buffer.
+     *
+     * @return the id of the buffer
+     */
+    public int id() {
+        return id;
+    }
+}
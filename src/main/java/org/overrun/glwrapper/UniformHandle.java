@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+/**
+ * The base of the typed uniform handles created by {@link ProgramReflection}.
+ * <p>
+ * Creating a handle enables the {@link UniformShadow uniform shadow} of the program. A handle skips writing
+ * a value the shadow already has, so the handles of a uniform and the {@code uniform*} methods of the program
+ * see each other's writes. Writes that are made through neither are not seen; call {@link #invalidate()}
+ * after such writes. If the shadow is disabled later, every write is issued.
+ * <p>
+ * A handle is valid until the program is linked again.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public abstract class UniformHandle {
+    final GLProgram program;
+    final String name;
+    final int location;
+    final boolean dsa;
+
+    UniformHandle(GLProgram program, String name, int location, boolean dsa) {
+        this.program = program;
+        this.name = name;
+        this.location = location;
+        this.dsa = dsa;
+        program.enableUniformShadow();
+    }
+
+    /**
+     * Makes the program current if the handle writes with {@code glUniform*}.
+     */
+    final void prepare() {
+        if (!dsa) {
+            program.use();
+        }
+    }
+
+    /**
+     * Forgets the value of the uniform in the uniform shadow, so the next write is always issued.
+     */
+    public void invalidate() {
+        final UniformShadow shadow = program.uniformShadow();
+        if (shadow != null) {
+            shadow.invalidate(location, 1);
+        }
+    }
+
+    /**
+     * Gets whether the uniform is active in the program.
+     *
+     * @return {@code true} if the location is not {@code -1}
+     */
+    public boolean isActive() {
+        return location >= 0;
+    }
+
+    /**
+     * Gets the name of the uniform.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Gets the location of the uniform.
+     *
+     * @return the location, or {@code -1} if the uniform is not active
+     */
+    public int location() {
+        return location;
+    }
+
+    /**
+     * Gets the program of the uniform.
+     *
+     * @return the program
+     */
+    public GLProgram program() {
+        return program;
+    }
+}
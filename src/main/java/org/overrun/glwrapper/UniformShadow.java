@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import java.util.Arrays;
+
+/**
+ * The shadow uniform state of a {@link GLProgram program}.
+ * <p>
+ * The shadow state keeps the last written value of each uniform location, so
+ * the program can skip writing a value that is bit-identical to the current one.
+ * Values are stored in a flat {@code int} array indexed by location; doubles use two slots.
+ * <p>
+ * Uniform writes that are not made through the program or its {@link UniformHandle uniform handles}
+ * (e.g. {@code glUniform*} with the program in use) are not seen by the shadow state;
+ * call {@link #invalidate()} after such writes.
+ *
+ * @author squid233
+ * @see GLProgram#enableUniformShadow()
+ * @since 0.1.0
+ */
+public final class UniformShadow {
+    static final int F1 = 1, F2 = 2, F3 = 3, F4 = 4;
+    static final int I1 = 5, I2 = 6, I3 = 7, I4 = 8;
+    static final int UI1 = 9, UI2 = 10, UI3 = 11, UI4 = 12;
+    static final int D1 = 13, D2 = 14, D3 = 15, D4 = 16;
+    static final int MAT2F = 17, MAT2X3F = 18, MAT2X4F = 19,
+        MAT3F = 20, MAT3X2F = 21, MAT3X4F = 22,
+        MAT4F = 23, MAT4X2F = 24, MAT4X3F = 25;
+    static final int MAT2D = 26, MAT2X3D = 27, MAT2X4D = 28,
+        MAT3D = 29, MAT3X2D = 30, MAT3X4D = 31,
+        MAT4D = 32, MAT4X2D = 33, MAT4X3D = 34;
+    private static final int TRANSPOSE = 0x40;
+    /**
+     * Count of the {@code int} slots of a location; enough for a {@code mat4}.
+     */
+    private static final int STRIDE = 16;
+    private final int[] scratch = new int[STRIDE];
+    private byte[] tags = new byte[0];
+    private int[] values = new int[0];
+    private long hits;
+    private long misses;
+
+    UniformShadow() {
+    }
+
+    private boolean commit(int location, int tag, int n) {
+        if (location < 0) {
+            // writes to -1 are silently ignored by OpenGL
+            return false;
+        }
+        if (location >= tags.length) {
+            final int length = Math.max(location + 1, tags.length * 2);
+            tags = Arrays.copyOf(tags, length);
+            values = Arrays.copyOf(values, length * STRIDE);
+        }
+        final int base = location * STRIDE;
+        if (tags[location] == tag && Arrays.equals(values, base, base + n, scratch, 0, n)) {
+            ++hits;
+            return false;
+        }
+        tags[location] = (byte) tag;
+        System.arraycopy(scratch, 0, values, base, n);
+        ++misses;
+        return true;
+    }
+
+    private void putDouble(int index, double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        scratch[index] = (int) bits;
+        scratch[index + 1] = (int) (bits >>> 32);
+    }
+
+    boolean update(int location, int tag, float v0) {
+        scratch[0] = Float.floatToRawIntBits(v0);
+        return commit(location, tag, 1);
+    }
+
+    boolean update(int location, int tag, float v0, float v1) {
+        scratch[0] = Float.floatToRawIntBits(v0);
+        scratch[1] = Float.floatToRawIntBits(v1);
+        return commit(location, tag, 2);
+    }
+
+    boolean update(int location, int tag, float v0, float v1, float v2) {
+        scratch[0] = Float.floatToRawIntBits(v0);
+        scratch[1] = Float.floatToRawIntBits(v1);
+        scratch[2] = Float.floatToRawIntBits(v2);
+        return commit(location, tag, 3);
+    }
+
+    boolean update(int location, int tag, float v0, float v1, float v2, float v3) {
+        scratch[0] = Float.floatToRawIntBits(v0);
+        scratch[1] = Float.floatToRawIntBits(v1);
+        scratch[2] = Float.floatToRawIntBits(v2);
+        scratch[3] = Float.floatToRawIntBits(v3);
+        return commit(location, tag, 4);
+    }
+
+    boolean update(int location, int tag, int v0) {
+        scratch[0] = v0;
+        return commit(location, tag, 1);
+    }
+
+    boolean update(int location, int tag, int v0, int v1) {
+        scratch[0] = v0;
+        scratch[1] = v1;
+        return commit(location, tag, 2);
+    }
+
+    boolean update(int location, int tag, int v0, int v1, int v2) {
+        scratch[0] = v0;
+        scratch[1] = v1;
+        scratch[2] = v2;
+        return commit(location, tag, 3);
+    }
+
+    boolean update(int location, int tag, int v0, int v1, int v2, int v3) {
+        scratch[0] = v0;
+        scratch[1] = v1;
+        scratch[2] = v2;
+        scratch[3] = v3;
+        return commit(location, tag, 4);
+    }
+
+    boolean update(int location, int tag, double v0) {
+        putDouble(0, v0);
+        return commit(location, tag, 2);
+    }
+
+    boolean update(int location, int tag, double v0, double v1) {
+        putDouble(0, v0);
+        putDouble(2, v1);
+        return commit(location, tag, 4);
+    }
+
+    boolean update(int location, int tag, double v0, double v1, double v2) {
+        putDouble(0, v0);
+        putDouble(2, v1);
+        putDouble(4, v2);
+        return commit(location, tag, 6);
+    }
+
+    boolean update(int location, int tag, double v0, double v1, double v2, double v3) {
+        putDouble(0, v0);
+        putDouble(2, v1);
+        putDouble(4, v2);
+        putDouble(6, v3);
+        return commit(location, tag, 8);
+    }
+
+    boolean update(int location, int tag, int components, float[] value) {
+        return update(location, tag, components, value.length / components, value);
+    }
+
+    boolean update(int location, int tag, int components, int count, float[] value) {
+        if (count != 1 || value.length < components) {
+            invalidate(location, count);
+            return true;
+        }
+        for (int i = 0; i < components; i++) {
+            scratch[i] = Float.floatToRawIntBits(value[i]);
+        }
+        return commit(location, tag, components);
+    }
+
+    boolean update(int location, int tag, int components, int[] value) {
+        final int count = value.length / components;
+        if (count != 1) {
+            invalidate(location, count);
+            return true;
+        }
+        System.arraycopy(value, 0, scratch, 0, components);
+        return commit(location, tag, components);
+    }
+
+    boolean update(int location, int tag, int components, double[] value) {
+        return update(location, tag, components, value.length / components, value);
+    }
+
+    boolean update(int location, int tag, int components, int count, double[] value) {
+        if (count != 1 || value.length < components || components * 2 > STRIDE) {
+            invalidate(location, count);
+            return true;
+        }
+        for (int i = 0; i < components; i++) {
+            putDouble(i * 2, value[i]);
+        }
+        return commit(location, tag, components * 2);
+    }
+
+    boolean updateMatrix(int location, int tag, boolean transpose, int components, float[] value) {
+        return update(location, transpose ? tag | TRANSPOSE : tag, components, value);
+    }
+
+    boolean updateMatrix(int location, int tag, boolean transpose, int components, int count, float[] value) {
+        return update(location, transpose ? tag | TRANSPOSE : tag, components, count, value);
+    }
+
+    boolean updateMatrix(int location, int tag, boolean transpose, int components, double[] value) {
+        return update(location, transpose ? tag | TRANSPOSE : tag, components, value);
+    }
+
+    boolean updateMatrix(int location, int tag, boolean transpose, int components, int count, double[] value) {
+        return update(location, transpose ? tag | TRANSPOSE : tag, components, count, value);
+    }
+
+    /**
+     * Forgets the values of the given locations.
+     *
+     * @param location the first location
+     * @param count    the count of the locations
+     */
+    public void invalidate(int location, int count) {
+        if (location < 0) return;
+        final int end = Math.min(location + count, tags.length);
+        for (int i = location; i < end; i++) {
+            tags[i] = 0;
+        }
+    }
+
+    /**
+     * Forgets the values of all locations.
+     */
+    public void invalidate() {
+        Arrays.fill(tags, (byte) 0);
+    }
+
+    /**
+     * Gets the count of the writes that were skipped because the value was unchanged.
+     *
+     * @return the count of the hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the count of the writes that were passed to OpenGL.
+     *
+     * @return the count of the misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * The handle of a {@code vec3} uniform.
+ *
+ * @author squid233
+ * @see ProgramReflection#vec3(String)
+ * @since 0.1.0
+ */
+public final class Vec3Uniform extends UniformHandle {
+    Vec3Uniform(GLProgram program, String name, int location, boolean dsa) {
+        super(program, name, location, dsa);
+    }
+
+    /**
+     * Writes the value. The call is skipped if the {@link UniformShadow uniform shadow} has the same value.
+     *
+     * @param x the x component
+     * @param y the y component
+     * @param z the z component
+     */
+    public void set(float x, float y, float z) {
+        if (location < 0) return;
+        final UniformShadow shadow = program.uniformShadow();
+        if (shadow != null && !shadow.update(location, UniformShadow.F3, x, y, z)) return;
+        if (dsa) {
+            gl().programUniform3f(program.id(), location, x, y, z);
+        } else {
+            prepare();
+            gl().uniform3f(location, x, y, z);
+        }
+    }
+
+    /**
+     * Writes the value from an array.
+     *
+     * @param value the array of at least 3 components
+     */
+    public void set(float[] value) {
+        set(value[0], value[1], value[2]);
+    }
+}
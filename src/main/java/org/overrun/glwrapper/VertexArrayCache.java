@@ -0,0 +1,331 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.MemoryAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.overrun.glib.gl.GLConstC.*;
+import static org.overrun.glwrapper.dispatch.Dispatch.gl;
+
+/**
+ * A cache of vertex arrays keyed by {@link VertexFormat} and buffers.
+ * <p>
+ * With OpenGL 4.3 or {@code GL_ARB_vertex_attrib_binding}, the attribute formats are set once per format with
+ * {@code glVertexAttribFormat}, and all meshes of a format share one vertex array; binding another mesh only
+ * calls {@code glBindVertexBuffer} for the buffers that changed. Otherwise, each combination of format and
+ * buffers gets its own vertex array set up with {@code glVertexAttribPointer}.
+ * <p>
+ * Vertex buffers are bound at offset 0. The element buffer of a cached vertex array must only be changed by
+ * the cache. Call {@link #bufferDeleted(int)} after deleting a buffer, as OpenGL may reuse its name.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var vaos = new VertexArrayCache();
+ * // per mesh
+ * vaos.bind(format, mesh.indices(), mesh.vertices());
+ * GL.drawElements(GL_TRIANGLES, mesh.count(), GL_UNSIGNED_INT, MemoryAddress.NULL);
+ * }</pre>
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class VertexArrayCache {
+    private static final int[] NO_BUFFERS = new int[0];
+    private final boolean separate;
+    private final Map<Key, Entry> arrays = new HashMap<>();
+    private final Key probe = new Key();
+    private int[] scratch = NO_BUFFERS;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates the cache. Separate attribute formats are used if the current context supports them.
+     */
+    public VertexArrayCache() {
+        this(supportsAttribBinding(GLStateManager.current().extensions()));
+    }
+
+    /**
+     * Creates the cache.
+     *
+     * @param separate {@code true} to share a vertex array per format with separate attribute formats;
+     *                 requires OpenGL 4.3 or {@code GL_ARB_vertex_attrib_binding}
+     */
+    public VertexArrayCache(boolean separate) {
+        this.separate = separate;
+    }
+
+    /**
+     * Checks if the context supports separate attribute formats.
+     *
+     * @param extensions the extensions of the context
+     * @return {@code true} if {@code glVertexAttribFormat} is available
+     */
+    public static boolean supportsAttribBinding(GLExtensions extensions) {
+        return extensions.versionAtLeast(4, 3) || extensions.has("GL_ARB_vertex_attrib_binding");
+    }
+
+    /**
+     * The key of a vertex array. The probe key is reused for lookups and copied on insertion.
+     */
+    private static final class Key {
+        private VertexFormat format;
+        private int elementBuffer;
+        private int[] buffers;
+        private int hashCode;
+
+        private Key set(VertexFormat format, int elementBuffer, int[] buffers) {
+            this.format = format;
+            this.elementBuffer = elementBuffer;
+            this.buffers = buffers;
+            hashCode = (format.hashCode() * 31 + elementBuffer) * 31 + Arrays.hashCode(buffers);
+            return this;
+        }
+
+        private Key copy() {
+            return new Key().set(format, elementBuffer, buffers.clone());
+        }
+
+        private boolean references(int buffer) {
+            if (elementBuffer == buffer) return true;
+            for (int b : buffers) {
+                if (b == buffer) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key that)) return false;
+            return hashCode == that.hashCode &&
+                elementBuffer == that.elementBuffer &&
+                format.equals(that.format) &&
+                Arrays.equals(buffers, that.buffers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final int array;
+        private final GLResourceRegistry.Resource resource;
+        /**
+         * The buffers bound to the vertex array with separate attribute formats; -1 if unknown.
+         */
+        private final int[] buffers;
+        private int elementBuffer;
+
+        private Entry(int array, GLResourceRegistry.Resource resource, int bindings) {
+            this.array = array;
+            this.resource = resource;
+            buffers = new int[bindings];
+        }
+    }
+
+    /**
+     * Binds the vertex array of a format and buffers, creating it if absent.
+     *
+     * @param format        the vertex format
+     * @param elementBuffer the element buffer, or 0
+     * @param vertexBuffers the vertex buffer of each binding of the format
+     * @return the vertex array
+     * @throws IllegalArgumentException if the count of the vertex buffers doesn't match the bindings of the format
+     */
+    public int bind(VertexFormat format, int elementBuffer, int... vertexBuffers) {
+        final int bindings = format.bindings().size();
+        if (vertexBuffers.length != bindings) {
+            throw new IllegalArgumentException("Expected " + bindings + " vertex buffers, got " + vertexBuffers.length);
+        }
+        final var state = GLStateManager.current();
+        final Key key = separate ? probe.set(format, 0, NO_BUFFERS) : probe.set(format, elementBuffer, vertexBuffers);
+        Entry entry = arrays.get(key);
+        if (entry == null) {
+            ++misses;
+            entry = create(state, format, elementBuffer, vertexBuffers);
+            arrays.put(key.copy(), entry);
+        } else {
+            ++hits;
+            state.bindVertexArray(entry.array);
+        }
+        if (separate) {
+            for (int i = 0; i < bindings; i++) {
+                if (entry.buffers[i] != vertexBuffers[i]) {
+                    entry.buffers[i] = vertexBuffers[i];
+                    gl().bindVertexBuffer(i, vertexBuffers[i], 0L, format.stride(i));
+                }
+            }
+            if (entry.elementBuffer != elementBuffer) {
+                entry.elementBuffer = elementBuffer;
+                state.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, elementBuffer);
+            }
+        }
+        return entry.array;
+    }
+
+    /**
+     * Binds the vertex array of a format and buffers, creating it if absent.
+     *
+     * @param format        the vertex format
+     * @param elementBuffer the element buffer, or {@code null}
+     * @param vertexBuffers the vertex buffer of each binding of the format
+     * @return the vertex array
+     * @throws IllegalArgumentException if the count of the vertex buffers doesn't match the bindings of the format
+     */
+    public int bind(VertexFormat format, @Nullable GLBuffer elementBuffer, GLBuffer... vertexBuffers) {
+        if (scratch.length != vertexBuffers.length) {
+            scratch = new int[vertexBuffers.length];
+        }
+        for (int i = 0; i < vertexBuffers.length; i++) {
+            scratch[i] = vertexBuffers[i].id();
+        }
+        return bind(format, elementBuffer != null ? elementBuffer.id() : 0, scratch);
+    }
+
+    private Entry create(GLStateManager state, VertexFormat format, int elementBuffer, int[] vertexBuffers) {
+        final int array = gl().genVertexArray();
+        final var entry = new Entry(array,
+            state.resources().register(GLResourceRegistry.Type.VERTEX_ARRAY, array, 0, this),
+            format.bindings().size());
+        state.bindVertexArray(array);
+        for (VertexFormat.Attribute attribute : format.attributes()) {
+            final int location = attribute.location();
+            gl().enableVertexAttribArray(location);
+            if (separate) {
+                if (attribute.integer()) {
+                    gl().vertexAttribIFormat(location, attribute.components(), attribute.type(), attribute.offset());
+                } else {
+                    gl().vertexAttribFormat(location, attribute.components(), attribute.type(), attribute.normalized(), attribute.offset());
+                }
+                gl().vertexAttribBinding(location, attribute.binding());
+                continue;
+            }
+            final VertexFormat.Binding binding = format.bindings().get(attribute.binding());
+            state.bindBuffer(GL_ARRAY_BUFFER, vertexBuffers[attribute.binding()]);
+            final var pointer = MemoryAddress.ofLong(attribute.offset());
+            if (attribute.integer()) {
+                gl().vertexAttribIPointer(location, attribute.components(), attribute.type(), binding.stride(), pointer);
+            } else {
+                gl().vertexAttribPointer(location, attribute.components(), attribute.type(), attribute.normalized(), binding.stride(), pointer);
+            }
+            if (binding.divisor() != 0) {
+                gl().vertexAttribDivisor(location, binding.divisor());
+            }
+        }
+        if (separate) {
+            for (int i = 0; i < format.bindings().size(); i++) {
+                final int divisor = format.bindings().get(i).divisor();
+                if (divisor != 0) {
+                    gl().vertexBindingDivisor(i, divisor);
+                }
+            }
+        } else {
+            state.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, elementBuffer);
+        }
+        return entry;
+    }
+
+    /**
+     * Forgets a deleted buffer. Vertex arrays created for the buffer are deleted,
+     * and shared vertex arrays rebind the buffer on the next {@link #bind}.
+     *
+     * @param buffer the deleted buffer
+     */
+    public void bufferDeleted(int buffer) {
+        final var state = GLStateManager.current();
+        final Iterator<Map.Entry<Key, Entry>> iterator = arrays.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var mapEntry = iterator.next();
+            final Entry entry = mapEntry.getValue();
+            if (separate) {
+                for (int i = 0; i < entry.buffers.length; i++) {
+                    if (entry.buffers[i] == buffer) entry.buffers[i] = -1;
+                }
+                if (entry.elementBuffer == buffer) entry.elementBuffer = -1;
+            } else if (mapEntry.getKey().references(buffer)) {
+                iterator.remove();
+                state.deleteVertexArray(entry.array);
+                entry.resource.markDeleted();
+            }
+        }
+    }
+
+    /**
+     * Deletes all cached vertex arrays.
+     */
+    public void delete() {
+        final var state = GLStateManager.current();
+        for (Entry entry : arrays.values()) {
+            state.deleteVertexArray(entry.array);
+            entry.resource.markDeleted();
+        }
+        arrays.clear();
+    }
+
+    /**
+     * Gets the count of the cached vertex arrays.
+     *
+     * @return the count of the vertex arrays
+     */
+    public int size() {
+        return arrays.size();
+    }
+
+    /**
+     * Gets the count of the binds that found a cached vertex array.
+     *
+     * @return the count of the hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Gets the count of the binds that created a vertex array.
+     *
+     * @return the count of the misses
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Checks if the vertex arrays use separate attribute formats.
+     *
+     * @return {@code true} if a vertex array is shared per format
+     */
+    public boolean isSeparate() {
+        return separate;
+    }
+}
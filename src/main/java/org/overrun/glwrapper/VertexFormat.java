@@ -0,0 +1,338 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * An immutable description of the vertex attributes and the vertex buffer bindings they are read from.
+ * <p>
+ * Attributes are interleaved in the order they are added. The offset of each attribute is aligned to 4 bytes,
+ * and the stride of each binding is the aligned size of its attributes. Attribute {@code i} of the format
+ * is read from location {@code i}; use {@link #bindAttribLocations(GLProgram)} before linking a program,
+ * or {@link #matches(GLProgram)} to check a program that declares the locations itself.
+ * <p>
+ * Formats are compared by value, so equal formats share vertex arrays in a {@link VertexArrayCache}.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * var format = VertexFormat.builder()
+ *     .attribute("position", 3, GL_FLOAT)
+ *     .attribute("uv", 2, GL_FLOAT)
+ *     .attribute("color", 4, GL_UNSIGNED_BYTE, true)
+ *     .binding(1)  // the following attributes advance per instance
+ *     .attribute("offset", 2, GL_FLOAT)
+ *     .build();
+ * }</pre>
+ *
+ * @author squid233
+ * @see VertexArrayCache
+ * @since 0.1.0
+ */
+public final class VertexFormat {
+    private final List<Attribute> attributes;
+    private final List<Binding> bindings;
+    private final int hashCode;
+
+    private VertexFormat(List<Attribute> attributes, List<Binding> bindings) {
+        this.attributes = attributes;
+        this.bindings = bindings;
+        hashCode = 31 * attributes.hashCode() + bindings.hashCode();
+    }
+
+    /**
+     * A vertex attribute.
+     *
+     * @param name       the name of the attribute in the shader
+     * @param location   the location of the attribute
+     * @param components the count of the components, 1 to 4
+     * @param type       the component type, e.g. {@code GL_FLOAT}
+     * @param normalized {@code true} if fixed-point values are normalized to {@code [0, 1]} or {@code [-1, 1]}
+     * @param integer    {@code true} if the values are read as integers, e.g. for {@code ivec4}
+     * @param binding    the index of the buffer binding
+     * @param offset     the byte offset in a vertex of the binding
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record Attribute(String name, int location, int components, int type, boolean normalized, boolean integer,
+                            int binding, int offset) {
+    }
+
+    /**
+     * A vertex buffer binding.
+     *
+     * @param stride  the byte stride between vertices
+     * @param divisor 0 if the attributes advance per vertex, otherwise the count of instances per advance
+     * @author squid233
+     * @since 0.1.0
+     */
+    public record Binding(int stride, int divisor) {
+    }
+
+    /**
+     * Creates a builder. The first binding advances per vertex.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The builder of a vertex format.
+     *
+     * @author squid233
+     * @since 0.1.0
+     */
+    public static final class Builder {
+        private final List<Attribute> attributes = new ArrayList<>();
+        private final List<Binding> bindings = new ArrayList<>();
+        private int divisor;
+        private int offset;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a non-normalized floating-point attribute.
+         *
+         * @param name       the name of the attribute
+         * @param components the count of the components, 1 to 4
+         * @param type       the component type, e.g. {@code GL_FLOAT}
+         * @return this
+         */
+        public Builder attribute(String name, int components, int type) {
+            return attribute(name, components, type, false);
+        }
+
+        /**
+         * Adds a floating-point attribute.
+         *
+         * @param name       the name of the attribute
+         * @param components the count of the components, 1 to 4
+         * @param type       the component type, e.g. {@code GL_UNSIGNED_BYTE}
+         * @param normalized {@code true} if fixed-point values are normalized
+         * @return this
+         */
+        public Builder attribute(String name, int components, int type, boolean normalized) {
+            return add(name, components, type, normalized, false);
+        }
+
+        /**
+         * Adds an integer attribute.
+         *
+         * @param name       the name of the attribute
+         * @param components the count of the components, 1 to 4
+         * @param type       the integer component type, e.g. {@code GL_INT}
+         * @return this
+         */
+        public Builder integerAttribute(String name, int components, int type) {
+            return add(name, components, type, false, true);
+        }
+
+        /**
+         * Skips bytes in the current binding.
+         *
+         * @param bytes the count of the bytes
+         * @return this
+         */
+        public Builder padding(int bytes) {
+            offset += bytes;
+            return this;
+        }
+
+        /**
+         * Ends the current binding and starts the next one. The following attributes are read from the next buffer.
+         *
+         * @param divisor 0 if the attributes advance per vertex, otherwise the count of instances per advance
+         * @return this
+         */
+        public Builder binding(int divisor) {
+            bindings.add(new Binding(align(offset), this.divisor));
+            this.divisor = divisor;
+            offset = 0;
+            return this;
+        }
+
+        private Builder add(String name, int components, int type, boolean normalized, boolean integer) {
+            if (components < 1 || components > 4) {
+                throw new IllegalArgumentException("Invalid count of components of attribute " + name + ": " + components);
+            }
+            if (integer && (type == GL_FLOAT || type == GL_HALF_FLOAT || type == GL_DOUBLE)) {
+                throw new IllegalArgumentException("Integer attribute " + name + " has a floating-point type");
+            }
+            for (Attribute attribute : attributes) {
+                if (attribute.name().equals(name)) {
+                    throw new IllegalArgumentException("Duplicate attribute " + name);
+                }
+            }
+            offset = align(offset);
+            attributes.add(new Attribute(name, attributes.size(), components, type, normalized, integer, bindings.size(), offset));
+            offset += size(components, type);
+            return this;
+        }
+
+        /**
+         * Builds the format.
+         *
+         * @return the format
+         */
+        public VertexFormat build() {
+            final List<Binding> all = new ArrayList<>(bindings);
+            all.add(new Binding(align(offset), divisor));
+            return new VertexFormat(List.copyOf(attributes), List.copyOf(all));
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+
+    /**
+     * Gets the size of an attribute.
+     *
+     * @param components the count of the components
+     * @param type       the component type
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the type is not supported
+     */
+    public static int size(int components, int type) {
+        return switch (type) {
+            case GL_BYTE, GL_UNSIGNED_BYTE -> components;
+            case GL_SHORT, GL_UNSIGNED_SHORT, GL_HALF_FLOAT -> components * 2;
+            case GL_INT, GL_UNSIGNED_INT, GL_FLOAT -> components * 4;
+            case GL_DOUBLE -> components * 8;
+            // packed types hold all components in one int
+            case GL_INT_2_10_10_10_REV, GL_UNSIGNED_INT_2_10_10_10_REV -> 4;
+            default -> throw new IllegalArgumentException("Unsupported vertex attribute type: 0x" + Integer.toHexString(type));
+        };
+    }
+
+    /**
+     * Binds the attribute names to their locations. Call this before linking the program.
+     *
+     * @param program the program
+     */
+    public void bindAttribLocations(GLProgram program) {
+        for (Attribute attribute : attributes) {
+            program.bindAttribLocation(attribute.location(), attribute.name());
+        }
+    }
+
+    /**
+     * Adds the attribute locations to a program source.
+     *
+     * @param builder the builder of the program source
+     * @return the builder
+     */
+    public ProgramSource.Builder bindAttribLocations(ProgramSource.Builder builder) {
+        for (Attribute attribute : attributes) {
+            builder.attribLocation(attribute.location(), attribute.name());
+        }
+        return builder;
+    }
+
+    /**
+     * Checks if the active attributes of a linked program are at the locations of this format.
+     * Attributes that are not active in the program are ignored.
+     *
+     * @param program the linked program
+     * @return {@code true} if all active attributes match
+     */
+    public boolean matches(GLProgram program) {
+        for (Attribute attribute : attributes) {
+            final int location = program.getAttribLocation(attribute.name());
+            if (location != -1 && location != attribute.location()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets an attribute by name.
+     *
+     * @param name the name of the attribute
+     * @return the attribute, or {@code null} if absent
+     */
+    public @Nullable Attribute attribute(String name) {
+        for (Attribute attribute : attributes) {
+            if (attribute.name().equals(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the attributes.
+     *
+     * @return the attributes ordered by location
+     */
+    public List<Attribute> attributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets the buffer bindings.
+     *
+     * @return the bindings ordered by index
+     */
+    public List<Binding> bindings() {
+        return bindings;
+    }
+
+    /**
+     * Gets the stride of a binding.
+     *
+     * @param binding the index of the binding
+     * @return the stride in bytes
+     */
+    public int stride(int binding) {
+        return bindings.get(binding).stride();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VertexFormat that)) return false;
+        return hashCode == that.hashCode && attributes.equals(that.attributes) && bindings.equals(that.bindings);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "VertexFormat" + attributes + bindings;
+    }
+}
@@ -0,0 +1,968 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+/**
+ * The functions recorded by a {@link RecordingDispatch}.
+ * <p>
+ * The {@link #ordinal() ordinal} is stored in the {@link CommandLog command log}.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public enum Command {
+    /**
+     * {@code glCreateProgram}
+     */
+    CREATE_PROGRAM,
+    /**
+     * {@code glDeleteProgram}
+     */
+    DELETE_PROGRAM,
+    /**
+     * {@code glAttachShader}
+     */
+    ATTACH_SHADER,
+    /**
+     * {@code glDetachShader}
+     */
+    DETACH_SHADER,
+    /**
+     * {@code glBindAttribLocation}
+     */
+    BIND_ATTRIB_LOCATION,
+    /**
+     * {@code glLinkProgram}
+     */
+    LINK_PROGRAM,
+    /**
+     * {@code glUseProgram}
+     */
+    USE_PROGRAM,
+    /**
+     * {@code glValidateProgram}
+     */
+    VALIDATE_PROGRAM,
+    /**
+     * {@code glGetProgramiv}
+     */
+    GET_PROGRAMIV,
+    /**
+     * {@code glGetProgramiv}
+     */
+    GET_PROGRAMI,
+    /**
+     * {@code glGetProgramInfoLog}
+     */
+    GET_PROGRAM_INFO_LOG,
+    /**
+     * {@code glGetUniformLocation}
+     */
+    GET_UNIFORM_LOCATION,
+    /**
+     * {@code glGetActiveUniformName}
+     */
+    GET_ACTIVE_UNIFORM_NAME,
+    /**
+     * {@code glGetActiveUniformsiv}
+     */
+    GET_ACTIVE_UNIFORMSIV,
+    /**
+     * {@code glGetActiveUniformBlockiv}
+     */
+    GET_ACTIVE_UNIFORM_BLOCKIV,
+    /**
+     * {@code glGetUniformBlockIndex}
+     */
+    GET_UNIFORM_BLOCK_INDEX,
+    /**
+     * {@code glUniformBlockBinding}
+     */
+    UNIFORM_BLOCK_BINDING,
+    /**
+     * {@code glProgramParameteri}
+     */
+    PROGRAM_PARAMETERI,
+    /**
+     * {@code glProgramBinary}
+     */
+    PROGRAM_BINARY,
+    /**
+     * {@code glGetProgramBinary}
+     */
+    GET_PROGRAM_BINARY,
+    /**
+     * {@code glProgramUniform1f}
+     */
+    PROGRAM_UNIFORM1F,
+    /**
+     * {@code glProgramUniform2f}
+     */
+    PROGRAM_UNIFORM2F,
+    /**
+     * {@code glProgramUniform3f}
+     */
+    PROGRAM_UNIFORM3F,
+    /**
+     * {@code glProgramUniform4f}
+     */
+    PROGRAM_UNIFORM4F,
+    /**
+     * {@code glProgramUniform1i}
+     */
+    PROGRAM_UNIFORM1I,
+    /**
+     * {@code glProgramUniform2i}
+     */
+    PROGRAM_UNIFORM2I,
+    /**
+     * {@code glProgramUniform3i}
+     */
+    PROGRAM_UNIFORM3I,
+    /**
+     * {@code glProgramUniform4i}
+     */
+    PROGRAM_UNIFORM4I,
+    /**
+     * {@code glProgramUniform1ui}
+     */
+    PROGRAM_UNIFORM1UI,
+    /**
+     * {@code glProgramUniform2ui}
+     */
+    PROGRAM_UNIFORM2UI,
+    /**
+     * {@code glProgramUniform3ui}
+     */
+    PROGRAM_UNIFORM3UI,
+    /**
+     * {@code glProgramUniform4ui}
+     */
+    PROGRAM_UNIFORM4UI,
+    /**
+     * {@code glProgramUniform1d}
+     */
+    PROGRAM_UNIFORM1D,
+    /**
+     * {@code glProgramUniform2d}
+     */
+    PROGRAM_UNIFORM2D,
+    /**
+     * {@code glProgramUniform3d}
+     */
+    PROGRAM_UNIFORM3D,
+    /**
+     * {@code glProgramUniform4d}
+     */
+    PROGRAM_UNIFORM4D,
+    /**
+     * {@code glProgramUniform1fv}
+     */
+    PROGRAM_UNIFORM1FV,
+    /**
+     * {@code glProgramUniform2fv}
+     */
+    PROGRAM_UNIFORM2FV,
+    /**
+     * {@code glProgramUniform3fv}
+     */
+    PROGRAM_UNIFORM3FV,
+    /**
+     * {@code glProgramUniform4fv}
+     */
+    PROGRAM_UNIFORM4FV,
+    /**
+     * {@code glProgramUniform1iv}
+     */
+    PROGRAM_UNIFORM1IV,
+    /**
+     * {@code glProgramUniform2iv}
+     */
+    PROGRAM_UNIFORM2IV,
+    /**
+     * {@code glProgramUniform3iv}
+     */
+    PROGRAM_UNIFORM3IV,
+    /**
+     * {@code glProgramUniform4iv}
+     */
+    PROGRAM_UNIFORM4IV,
+    /**
+     * {@code glProgramUniform1uiv}
+     */
+    PROGRAM_UNIFORM1UIV,
+    /**
+     * {@code glProgramUniform2uiv}
+     */
+    PROGRAM_UNIFORM2UIV,
+    /**
+     * {@code glProgramUniform3uiv}
+     */
+    PROGRAM_UNIFORM3UIV,
+    /**
+     * {@code glProgramUniform4uiv}
+     */
+    PROGRAM_UNIFORM4UIV,
+    /**
+     * {@code glProgramUniform1dv}
+     */
+    PROGRAM_UNIFORM1DV,
+    /**
+     * {@code glProgramUniform2dv}
+     */
+    PROGRAM_UNIFORM2DV,
+    /**
+     * {@code glProgramUniform3dv}
+     */
+    PROGRAM_UNIFORM3DV,
+    /**
+     * {@code glProgramUniform4dv}
+     */
+    PROGRAM_UNIFORM4DV,
+    /**
+     * {@code glProgramUniformMatrix2fv}
+     */
+    PROGRAM_UNIFORM_MATRIX2FV,
+    /**
+     * {@code glProgramUniformMatrix3fv}
+     */
+    PROGRAM_UNIFORM_MATRIX3FV,
+    /**
+     * {@code glProgramUniformMatrix4fv}
+     */
+    PROGRAM_UNIFORM_MATRIX4FV,
+    /**
+     * {@code glProgramUniformMatrix2x3fv}
+     */
+    PROGRAM_UNIFORM_MATRIX2X3FV,
+    /**
+     * {@code glProgramUniformMatrix3x2fv}
+     */
+    PROGRAM_UNIFORM_MATRIX3X2FV,
+    /**
+     * {@code glProgramUniformMatrix2x4fv}
+     */
+    PROGRAM_UNIFORM_MATRIX2X4FV,
+    /**
+     * {@code glProgramUniformMatrix4x2fv}
+     */
+    PROGRAM_UNIFORM_MATRIX4X2FV,
+    /**
+     * {@code glProgramUniformMatrix3x4fv}
+     */
+    PROGRAM_UNIFORM_MATRIX3X4FV,
+    /**
+     * {@code glProgramUniformMatrix4x3fv}
+     */
+    PROGRAM_UNIFORM_MATRIX4X3FV,
+    /**
+     * {@code glProgramUniformMatrix2dv}
+     */
+    PROGRAM_UNIFORM_MATRIX2DV,
+    /**
+     * {@code glProgramUniformMatrix3dv}
+     */
+    PROGRAM_UNIFORM_MATRIX3DV,
+    /**
+     * {@code glProgramUniformMatrix4dv}
+     */
+    PROGRAM_UNIFORM_MATRIX4DV,
+    /**
+     * {@code glProgramUniformMatrix2x3dv}
+     */
+    PROGRAM_UNIFORM_MATRIX2X3DV,
+    /**
+     * {@code glProgramUniformMatrix3x2dv}
+     */
+    PROGRAM_UNIFORM_MATRIX3X2DV,
+    /**
+     * {@code glProgramUniformMatrix2x4dv}
+     */
+    PROGRAM_UNIFORM_MATRIX2X4DV,
+    /**
+     * {@code glProgramUniformMatrix4x2dv}
+     */
+    PROGRAM_UNIFORM_MATRIX4X2DV,
+    /**
+     * {@code glProgramUniformMatrix3x4dv}
+     */
+    PROGRAM_UNIFORM_MATRIX3X4DV,
+    /**
+     * {@code glProgramUniformMatrix4x3dv}
+     */
+    PROGRAM_UNIFORM_MATRIX4X3DV,
+    /**
+     * {@code glCreateShader}
+     */
+    CREATE_SHADER,
+    /**
+     * {@code glDeleteShader}
+     */
+    DELETE_SHADER,
+    /**
+     * {@code glShaderSource}
+     */
+    SHADER_SOURCE,
+    /**
+     * {@code glCompileShader}
+     */
+    COMPILE_SHADER,
+    /**
+     * {@code glGetShaderiv}
+     */
+    GET_SHADERIV,
+    /**
+     * {@code glGetShaderiv}
+     */
+    GET_SHADERI,
+    /**
+     * {@code glGetShaderInfoLog}
+     */
+    GET_SHADER_INFO_LOG,
+    /**
+     * {@code glGetString}
+     */
+    GET_STRING,
+    /**
+     * {@code glGetStringi}
+     */
+    GET_STRINGI,
+    /**
+     * {@code glGetIntegerv}
+     */
+    GET_INTEGER,
+    /**
+     * {@code glGenBuffers}
+     */
+    GEN_BUFFER,
+    /**
+     * {@code glDeleteBuffers}
+     */
+    DELETE_BUFFER,
+    /**
+     * {@code glBindBuffer}
+     */
+    BIND_BUFFER,
+    /**
+     * {@code glBufferData}
+     */
+    BUFFER_DATA,
+    /**
+     * {@code glBufferSubData}
+     */
+    BUFFER_SUB_DATA,
+    /**
+     * {@code glBindBufferBase}
+     */
+    BIND_BUFFER_BASE,
+    /**
+     * {@code glBindVertexArray}
+     */
+    BIND_VERTEX_ARRAY,
+    /**
+     * {@code glDeleteVertexArray}
+     */
+    DELETE_VERTEX_ARRAY,
+    /**
+     * {@code glActiveTexture}
+     */
+    ACTIVE_TEXTURE,
+    /**
+     * {@code glBindTexture}
+     */
+    BIND_TEXTURE,
+    /**
+     * {@code glDeleteTexture}
+     */
+    DELETE_TEXTURE,
+    /**
+     * {@code glEnable}
+     */
+    ENABLE,
+    /**
+     * {@code glDisable}
+     */
+    DISABLE,
+    /**
+     * {@code glBlendFuncSeparate}
+     */
+    BLEND_FUNC_SEPARATE,
+    /**
+     * {@code glBlendEquationSeparate}
+     */
+    BLEND_EQUATION_SEPARATE,
+    /**
+     * {@code glDepthFunc}
+     */
+    DEPTH_FUNC,
+    /**
+     * {@code glDepthMask}
+     */
+    DEPTH_MASK,
+    /**
+     * {@code glCullFace}
+     */
+    CULL_FACE,
+    /**
+     * {@code glFrontFace}
+     */
+    FRONT_FACE,
+    /**
+     * {@code glGenQueries}
+     */
+    GEN_QUERY,
+    /**
+     * {@code glDeleteQueries}
+     */
+    DELETE_QUERY,
+    /**
+     * {@code glBeginQuery}
+     */
+    BEGIN_QUERY,
+    /**
+     * {@code glEndQuery}
+     */
+    END_QUERY,
+    /**
+     * {@code glQueryCounter}
+     */
+    QUERY_COUNTER,
+    /**
+     * {@code glGetQueryObjectiv}
+     */
+    GET_QUERY_OBJECTI,
+    /**
+     * {@code glGetQueryObjecti64v}
+     */
+    GET_QUERY_OBJECTI64,
+    /**
+     * {@code glBufferStorage}
+     */
+    BUFFER_STORAGE,
+    /**
+     * {@code glMapBufferRange}
+     */
+    MAP_BUFFER_RANGE,
+    /**
+     * {@code glUnmapBuffer}
+     */
+    UNMAP_BUFFER,
+    /**
+     * {@code glFenceSync}
+     */
+    FENCE_SYNC,
+    /**
+     * {@code glClientWaitSync}
+     */
+    CLIENT_WAIT_SYNC,
+    /**
+     * {@code glDeleteSync}
+     */
+    DELETE_SYNC,
+    /**
+     * {@code glGenVertexArrays}
+     */
+    GEN_VERTEX_ARRAY,
+    /**
+     * {@code glEnableVertexAttribArray}
+     */
+    ENABLE_VERTEX_ATTRIB_ARRAY,
+    /**
+     * {@code glVertexAttribPointer}
+     */
+    VERTEX_ATTRIB_POINTER,
+    /**
+     * {@code glDrawElements}
+     */
+    DRAW_ELEMENTS,
+    /**
+     * {@code glBindBufferRange}
+     */
+    BIND_BUFFER_RANGE,
+    /**
+     * {@code glMultiDrawElementsIndirect}
+     */
+    MULTI_DRAW_ELEMENTS_INDIRECT,
+    /**
+     * {@code glMultiDrawElementsBaseVertex}
+     */
+    MULTI_DRAW_ELEMENTS_BASE_VERTEX,
+    /**
+     * {@code glDrawElementsInstancedBaseVertexBaseInstance}
+     */
+    DRAW_ELEMENTS_INSTANCED_BASE_VERTEX_BASE_INSTANCE,
+    /**
+     * {@code glGetAttribLocation}
+     */
+    GET_ATTRIB_LOCATION,
+    /**
+     * {@code glGetActiveAttrib}
+     */
+    GET_ACTIVE_ATTRIB,
+    /**
+     * {@code glGetActiveUniformBlockName}
+     */
+    GET_ACTIVE_UNIFORM_BLOCK_NAME,
+    /**
+     * {@code glGetProgramInterfaceiv}
+     */
+    GET_PROGRAM_INTERFACEI,
+    /**
+     * {@code glGetProgramResourceiv}
+     */
+    GET_PROGRAM_RESOURCEIV,
+    /**
+     * {@code glGetProgramResourceName}
+     */
+    GET_PROGRAM_RESOURCE_NAME,
+    /**
+     * {@code glUniform1f}
+     */
+    UNIFORM1F,
+    /**
+     * {@code glUniform2f}
+     */
+    UNIFORM2F,
+    /**
+     * {@code glUniform3f}
+     */
+    UNIFORM3F,
+    /**
+     * {@code glUniform4f}
+     */
+    UNIFORM4F,
+    /**
+     * {@code glUniform1i}
+     */
+    UNIFORM1I,
+    /**
+     * {@code glUniform1ui}
+     */
+    UNIFORM1UI,
+    /**
+     * {@code glUniformMatrix3fv}
+     */
+    UNIFORM_MATRIX3FV,
+    /**
+     * {@code glUniformMatrix4fv}
+     */
+    UNIFORM_MATRIX4FV,
+    /**
+     * {@code glGenTextures}
+     */
+    GEN_TEXTURE,
+    /**
+     * {@code glTexImage2D}
+     */
+    TEX_IMAGE2_D,
+    /**
+     * {@code glTexSubImage2D}
+     */
+    TEX_SUB_IMAGE2_D,
+    /**
+     * {@code glTexParameteri}
+     */
+    TEX_PARAMETERI,
+    /**
+     * {@code glPixelStorei}
+     */
+    PIXEL_STOREI,
+    /**
+     * {@code glGenerateMipmap}
+     */
+    GENERATE_MIPMAP,
+    /**
+     * {@code glTexStorage2D}
+     */
+    TEX_STORAGE2_D,
+    /**
+     * {@code glTexStorage3D}
+     */
+    TEX_STORAGE3_D,
+    /**
+     * {@code glTexImage3D}
+     */
+    TEX_IMAGE3_D,
+    /**
+     * {@code glTexSubImage3D}
+     */
+    TEX_SUB_IMAGE3_D,
+    /**
+     * {@code glGenSamplers}
+     */
+    GEN_SAMPLER,
+    /**
+     * {@code glDeleteSamplers}
+     */
+    DELETE_SAMPLER,
+    /**
+     * {@code glBindSampler}
+     */
+    BIND_SAMPLER,
+    /**
+     * {@code glSamplerParameteri}
+     */
+    SAMPLER_PARAMETERI,
+    /**
+     * {@code glSamplerParameterf}
+     */
+    SAMPLER_PARAMETERF,
+    /**
+     * {@code glVertexAttribIPointer}
+     */
+    VERTEX_ATTRIB_IPOINTER,
+    /**
+     * {@code glVertexAttribDivisor}
+     */
+    VERTEX_ATTRIB_DIVISOR,
+    /**
+     * {@code glVertexAttribFormat}
+     */
+    VERTEX_ATTRIB_FORMAT,
+    /**
+     * {@code glVertexAttribIFormat}
+     */
+    VERTEX_ATTRIB_IFORMAT,
+    /**
+     * {@code glVertexAttribBinding}
+     */
+    VERTEX_ATTRIB_BINDING,
+    /**
+     * {@code glBindVertexBuffer}
+     */
+    BIND_VERTEX_BUFFER,
+    /**
+     * {@code glVertexBindingDivisor}
+     */
+    VERTEX_BINDING_DIVISOR,
+    /**
+     * {@code glDrawArrays}
+     */
+    DRAW_ARRAYS,
+    /**
+     * {@code glDrawArraysInstanced}
+     */
+    DRAW_ARRAYS_INSTANCED,
+    /**
+     * {@code glDrawElementsInstanced}
+     */
+    DRAW_ELEMENTS_INSTANCED,
+    /**
+     * {@code glDrawElementsBaseVertex}
+     */
+    DRAW_ELEMENTS_BASE_VERTEX,
+    /**
+     * {@code glDrawElementsInstancedBaseVertex}
+     */
+    DRAW_ELEMENTS_INSTANCED_BASE_VERTEX,
+    /**
+     * {@code glGetActiveUniform}
+     */
+    GET_ACTIVE_UNIFORM,
+    /**
+     * {@code glGetAttachedShaders}
+     */
+    GET_ATTACHED_SHADERS,
+    /**
+     * {@code glGetUniformfv}
+     */
+    GET_UNIFORMFV,
+    /**
+     * {@code glGetUniformfv}
+     */
+    GET_UNIFORMF,
+    /**
+     * {@code glGetUniformiv}
+     */
+    GET_UNIFORMIV,
+    /**
+     * {@code glGetUniformiv}
+     */
+    GET_UNIFORMI,
+    /**
+     * {@code glIsProgram}
+     */
+    IS_PROGRAM,
+    /**
+     * {@code glBindFragDataLocation}
+     */
+    BIND_FRAG_DATA_LOCATION,
+    /**
+     * {@code glGetFragDataLocation}
+     */
+    GET_FRAG_DATA_LOCATION,
+    /**
+     * {@code glGetTransformFeedbackVarying}
+     */
+    GET_TRANSFORM_FEEDBACK_VARYING,
+    /**
+     * {@code glGetUniformuiv}
+     */
+    GET_UNIFORMUIV,
+    /**
+     * {@code glGetUniformuiv}
+     */
+    GET_UNIFORMUI,
+    /**
+     * {@code glTransformFeedbackVaryings}
+     */
+    TRANSFORM_FEEDBACK_VARYINGS,
+    /**
+     * {@code glGetActiveUniformsiv}
+     */
+    GET_ACTIVE_UNIFORMI,
+    /**
+     * {@code glGetUniformIndices}
+     */
+    GET_UNIFORM_INDICES,
+    /**
+     * {@code glGetUniformIndices}
+     */
+    GET_UNIFORM_INDEX,
+    /**
+     * {@code glBindFragDataLocationIndexed}
+     */
+    BIND_FRAG_DATA_LOCATION_INDEXED,
+    /**
+     * {@code glGetFragDataIndex}
+     */
+    GET_FRAG_DATA_INDEX,
+    /**
+     * {@code glGetActiveSubroutineName}
+     */
+    GET_ACTIVE_SUBROUTINE_NAME,
+    /**
+     * {@code glGetActiveSubroutineUniformName}
+     */
+    GET_ACTIVE_SUBROUTINE_UNIFORM_NAME,
+    /**
+     * {@code glGetActiveSubroutineUniformiv}
+     */
+    GET_ACTIVE_SUBROUTINE_UNIFORMIV,
+    /**
+     * {@code glGetActiveSubroutineUniformiv}
+     */
+    GET_ACTIVE_SUBROUTINE_UNIFORMI,
+    /**
+     * {@code glGetProgramStageiv}
+     */
+    GET_PROGRAM_STAGEIV,
+    /**
+     * {@code glGetProgramStageiv}
+     */
+    GET_PROGRAM_STAGEI,
+    /**
+     * {@code glGetSubroutineIndex}
+     */
+    GET_SUBROUTINE_INDEX,
+    /**
+     * {@code glGetSubroutineUniformLocation}
+     */
+    GET_SUBROUTINE_UNIFORM_LOCATION,
+    /**
+     * {@code glGetUniformdv}
+     */
+    GET_UNIFORMDV,
+    /**
+     * {@code glGetUniformdv}
+     */
+    GET_UNIFORMD,
+    /**
+     * {@code glGetActiveAtomicCounterBufferiv}
+     */
+    GET_ACTIVE_ATOMIC_COUNTER_BUFFERIV,
+    /**
+     * {@code glGetActiveAtomicCounterBufferiv}
+     */
+    GET_ACTIVE_ATOMIC_COUNTER_BUFFERI,
+    /**
+     * {@code glGetProgramInterfaceiv}
+     */
+    GET_PROGRAM_INTERFACEIV,
+    /**
+     * {@code glGetProgramResourceIndex}
+     */
+    GET_PROGRAM_RESOURCE_INDEX,
+    /**
+     * {@code glGetProgramResourceLocation}
+     */
+    GET_PROGRAM_RESOURCE_LOCATION,
+    /**
+     * {@code glGetProgramResourceLocationIndex}
+     */
+    GET_PROGRAM_RESOURCE_LOCATION_INDEX,
+    /**
+     * {@code glShaderStorageBlockBinding}
+     */
+    SHADER_STORAGE_BLOCK_BINDING,
+    /**
+     * {@code glGetnUniformdv}
+     */
+    GETN_UNIFORMDV,
+    /**
+     * {@code glGetnUniformfv}
+     */
+    GETN_UNIFORMFV,
+    /**
+     * {@code glGetnUniformiv}
+     */
+    GETN_UNIFORMIV,
+    /**
+     * {@code glGetnUniformuiv}
+     */
+    GETN_UNIFORMUIV,
+    /**
+     * {@code glGetShaderSource}
+     */
+    GET_SHADER_SOURCE,
+    /**
+     * {@code glIsShader}
+     */
+    IS_SHADER,
+    /**
+     * {@code glSpecializeShader}
+     */
+    SPECIALIZE_SHADER,
+    /**
+     * {@code glfwCreateWindow}
+     */
+    CREATE_WINDOW,
+    /**
+     * {@code glfwDestroyWindow}
+     */
+    DESTROY_WINDOW,
+    /**
+     * {@code glfwWindowShouldClose}
+     */
+    WINDOW_SHOULD_CLOSE,
+    /**
+     * {@code glfwSetWindowShouldClose}
+     */
+    SET_WINDOW_SHOULD_CLOSE,
+    /**
+     * {@code glfwMakeContextCurrent}
+     */
+    MAKE_CONTEXT_CURRENT,
+    /**
+     * {@code glfwSwapBuffers}
+     */
+    SWAP_BUFFERS,
+    /**
+     * {@code glfwSwapInterval}
+     */
+    SWAP_INTERVAL,
+    /**
+     * {@code glfwPollEvents}
+     */
+    POLL_EVENTS,
+    /**
+     * {@code glfwGetTime}
+     */
+    GET_TIME,
+    /**
+     * {@code glfwGetWindowPos}
+     */
+    GET_WINDOW_POS,
+    /**
+     * {@code glfwGetWindowSize}
+     */
+    GET_WINDOW_SIZE,
+    /**
+     * {@code glfwSetWindowSize}
+     */
+    SET_WINDOW_SIZE,
+    /**
+     * {@code glfwGetFramebufferSize}
+     */
+    GET_FRAMEBUFFER_SIZE,
+    /**
+     * {@code glfwGetWindowFrameSize}
+     */
+    GET_WINDOW_FRAME_SIZE,
+    /**
+     * {@code glfwGetWindowContentScale}
+     */
+    GET_WINDOW_CONTENT_SCALE,
+    /**
+     * {@code glfwGetCursorPos}
+     */
+    GET_CURSOR_POS,
+    /**
+     * {@code glfwNgetWindowPos}
+     */
+    NGET_WINDOW_POS,
+    /**
+     * {@code glfwNgetWindowSize}
+     */
+    NGET_WINDOW_SIZE,
+    /**
+     * {@code glfwNgetFramebufferSize}
+     */
+    NGET_FRAMEBUFFER_SIZE,
+    /**
+     * {@code glfwNgetWindowFrameSize}
+     */
+    NGET_WINDOW_FRAME_SIZE,
+    /**
+     * {@code glfwNgetWindowContentScale}
+     */
+    NGET_WINDOW_CONTENT_SCALE,
+    /**
+     * {@code glfwNgetCursorPos}
+     */
+    NGET_CURSOR_POS,
+    /**
+     * {@code glfwSetWindowSizeCallback}
+     */
+    SET_WINDOW_SIZE_CALLBACK,
+    /**
+     * {@code glfwSetFramebufferSizeCallback}
+     */
+    SET_FRAMEBUFFER_SIZE_CALLBACK,
+    /**
+     * {@code glfwSetCursorPosCallback}
+     */
+    SET_CURSOR_POS_CALLBACK,
+    /**
+     * {@code glfwSetKeyCallback}
+     */
+    SET_KEY_CALLBACK,
+    /**
+     * {@code glfwSetCharCallback}
+     */
+    SET_CHAR_CALLBACK,
+    /**
+     * {@code glfwSetMouseButtonCallback}
+     */
+    SET_MOUSE_BUTTON_CALLBACK,
+    /**
+     * {@code glfwSetCursorEnterCallback}
+     */
+    SET_CURSOR_ENTER_CALLBACK,
+    /**
+     * {@code glfwSetScrollCallback}
+     */
+    SET_SCROLL_CALLBACK
+}
@@ -0,0 +1,241 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.util.Arrays;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * A compact off-heap log of the recorded commands.
+ * <p>
+ * The log is a sequence of {@code int} slots. Each command starts with a header slot
+ * {@code (command.ordinal() << 8) | argumentSlots}, followed by the argument slots.
+ * {@code float} arguments are stored by their raw bits, {@code long} and {@code double}
+ * arguments and pointers take two slots (low bits first), and arrays and strings
+ * are stored by their length.
+ * <p>
+ * Recording a command writes to preallocated memory and doesn't allocate on the heap,
+ * unless the log is full and has to grow.
+ *
+ * @author squid233
+ * @see RecordingDispatch
+ * @since 0.1.0
+ */
+public final class CommandLog {
+    /**
+     * The default capacity in slots.
+     */
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+    private static final Command[] COMMANDS = Command.values();
+    private final int[] counts = new int[COMMANDS.length];
+    private MemorySegment segment;
+    private long size;
+    private long header;
+    private int count;
+
+    /**
+     * Creates the log with the default capacity.
+     */
+    public CommandLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the log.
+     *
+     * @param capacity the initial capacity in slots
+     */
+    public CommandLog(long capacity) {
+        segment = MemorySegment.allocateNative(Math.max(capacity, 16) * 4, 16, MemorySession.openImplicit());
+    }
+
+    private void put(int value) {
+        if ((size + 1) * 4 > segment.byteSize()) {
+            final MemorySegment grown = MemorySegment.allocateNative(segment.byteSize() * 2, 16, MemorySession.openImplicit());
+            MemorySegment.copy(segment, 0, grown, 0, size * 4);
+            segment = grown;
+        }
+        segment.setAtIndex(JAVA_INT, size++, value);
+    }
+
+    /**
+     * Starts a command.
+     *
+     * @param command the command
+     * @return this
+     */
+    public CommandLog begin(Command command) {
+        header = size;
+        put(command.ordinal() << 8);
+        ++counts[command.ordinal()];
+        ++count;
+        return this;
+    }
+
+    /**
+     * Writes an {@code int} argument.
+     *
+     * @param value the value
+     * @return this
+     */
+    public CommandLog i(int value) {
+        put(value);
+        return this;
+    }
+
+    /**
+     * Writes a {@code boolean} argument as {@code 1} or {@code 0}.
+     *
+     * @param value the value
+     * @return this
+     */
+    public CommandLog z(boolean value) {
+        put(value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * Writes a {@code float} argument.
+     *
+     * @param value the value
+     * @return this
+     */
+    public CommandLog f(float value) {
+        put(Float.floatToRawIntBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a {@code long} argument.
+     *
+     * @param value the value
+     * @return this
+     */
+    public CommandLog l(long value) {
+        put((int) value);
+        put((int) (value >>> 32));
+        return this;
+    }
+
+    /**
+     * Writes a {@code double} argument.
+     *
+     * @param value the value
+     * @return this
+     */
+    public CommandLog d(double value) {
+        return l(Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Writes a pointer argument.
+     *
+     * @param value the pointer, or {@code null}
+     * @return this
+     */
+    public CommandLog p(@Nullable Addressable value) {
+        return l(value != null ? value.address().toRawLongValue() : 0L);
+    }
+
+    /**
+     * Ends the current command and writes the count of its argument slots to the header.
+     */
+    public void end() {
+        segment.setAtIndex(JAVA_INT, header, segment.getAtIndex(JAVA_INT, header) | (int) (size - header - 1));
+    }
+
+    /**
+     * Gets the command of a header slot.
+     *
+     * @param header the header slot
+     * @return the command
+     */
+    public static Command command(int header) {
+        return COMMANDS[header >>> 8];
+    }
+
+    /**
+     * Gets the count of the argument slots of a header slot.
+     *
+     * @param header the header slot
+     * @return the count of the argument slots
+     */
+    public static int argumentSlots(int header) {
+        return header & 0xff;
+    }
+
+    /**
+     * Gets the count of the recorded commands.
+     *
+     * @return the count of the commands
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Gets the count of the recorded commands of the given kind.
+     *
+     * @param command the command
+     * @return the count of the command
+     */
+    public int countOf(Command command) {
+        return counts[command.ordinal()];
+    }
+
+    /**
+     * Gets the count of the used slots.
+     *
+     * @return the count of the slots
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the recorded slots.
+     * The returned segment doesn't see the commands recorded later.
+     *
+     * @return the segment of the used slots
+     */
+    public MemorySegment segment() {
+        return segment.asSlice(0, size * 4);
+    }
+
+    /**
+     * Discards all recorded commands. The memory is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+        count = 0;
+        Arrays.fill(counts, 0);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+/**
+ * The dispatch of the OpenGL and GLFW functions called by the wrapper.
+ * <p>
+ * By default, the functions are forwarded to OverrunGL by {@link OverrunGLDispatch}.
+ * Install a {@link RecordingDispatch} to run the wrapper without a GPU, e.g. for tests and benchmarks:
+ * <pre>{@code
+ * var recording = new RecordingDispatch();
+ * Dispatch.set(recording, recording);
+ * GLStateManager.makeCurrent(new GLStateManager());
+ * var program = new GLProgram();
+ * // ...
+ * int uploads = recording.log().countOf(Command.PROGRAM_UNIFORM_MATRIX4FV);
+ * Dispatch.reset();
+ * }</pre>
+ * The dispatch is a plain static field, so it should be set before other threads call the wrapper.
+ * <p>
+ * Only the functions of the hot paths and of the program, shader, buffer and window lifecycles are
+ * dispatched; the other wrapper methods call OverrunGL directly.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class Dispatch {
+    private static GLDispatch gl = OverrunGLDispatch.INSTANCE;
+    private static GLFWDispatch glfw = OverrunGLDispatch.INSTANCE;
+
+    private Dispatch() {
+    }
+
+    /**
+     * Gets the current OpenGL dispatch.
+     *
+     * @return the OpenGL dispatch
+     */
+    public static GLDispatch gl() {
+        return gl;
+    }
+
+    /**
+     * Gets the current GLFW dispatch.
+     *
+     * @return the GLFW dispatch
+     */
+    public static GLFWDispatch glfw() {
+        return glfw;
+    }
+
+    /**
+     * Sets the dispatches.
+     *
+     * @param gl   the OpenGL dispatch
+     * @param glfw the GLFW dispatch
+     */
+    public static void set(GLDispatch gl, GLFWDispatch glfw) {
+        Dispatch.gl = gl;
+        Dispatch.glfw = glfw;
+    }
+
+    /**
+     * Restores the {@link OverrunGLDispatch default} dispatches.
+     */
+    public static void reset() {
+        set(OverrunGLDispatch.INSTANCE, OverrunGLDispatch.INSTANCE);
+    }
+}
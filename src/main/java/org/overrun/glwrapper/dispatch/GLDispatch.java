@@ -0,0 +1,1384 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * The OpenGL functions that the wrapper calls through {@link Dispatch#gl()}.
+ * <p>
+ * The parameters and the return values are the same as the functions of the same name in
+ * {@link org.overrun.glib.gl.GL GL}.
+ *
+ * @author squid233
+ * @see OverrunGLDispatch
+ * @see RecordingDispatch
+ * @since 0.1.0
+ */
+public interface GLDispatch {
+    /**
+     * Dispatches {@code glCreateProgram}.
+     */
+    int createProgram();
+
+    /**
+     * Dispatches {@code glDeleteProgram}.
+     */
+    void deleteProgram(int program);
+
+    /**
+     * Dispatches {@code glAttachShader}.
+     */
+    void attachShader(int program, int shader);
+
+    /**
+     * Dispatches {@code glDetachShader}.
+     */
+    void detachShader(int program, int shader);
+
+    /**
+     * Dispatches {@code glBindAttribLocation}.
+     */
+    void bindAttribLocation(int program, int index, Addressable name);
+
+    /**
+     * Dispatches {@code glBindAttribLocation}.
+     */
+    void bindAttribLocation(int program, int index, String name);
+
+    /**
+     * Dispatches {@code glLinkProgram}.
+     */
+    void linkProgram(int program);
+
+    /**
+     * Dispatches {@code glUseProgram}.
+     */
+    void useProgram(int program);
+
+    /**
+     * Dispatches {@code glValidateProgram}.
+     */
+    void validateProgram(int program);
+
+    /**
+     * Dispatches {@code glGetProgramiv}.
+     */
+    void getProgramiv(int program, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetProgramiv}.
+     */
+    void getProgramiv(int program, int pname, int[] params);
+
+    /**
+     * Dispatches {@code glGetProgramiv}.
+     */
+    int getProgrami(int program, int pname);
+
+    /**
+     * Dispatches {@code glGetProgramInfoLog}.
+     */
+    void getProgramInfoLog(int program, int bufSize, Addressable length, Addressable infoLog);
+
+    /**
+     * Dispatches {@code glGetProgramInfoLog}.
+     */
+    void getProgramInfoLog(int program, int bufSize, int @Nullable [] length, String[] infoLog);
+
+    /**
+     * Dispatches {@code glGetProgramInfoLog}.
+     */
+    String getProgramInfoLog(int program, int bufSize, int @Nullable [] length);
+
+    /**
+     * Dispatches {@code glGetProgramInfoLog}.
+     */
+    String getProgramInfoLog(int program);
+
+    /**
+     * Dispatches {@code glGetUniformLocation}.
+     */
+    int getUniformLocation(int program, Addressable name);
+
+    /**
+     * Dispatches {@code glGetUniformLocation}.
+     */
+    int getUniformLocation(int program, String name);
+
+    /**
+     * Dispatches {@code glGetActiveUniformName}.
+     */
+    void getActiveUniformName(int program, int uniformIndex, int bufSize, Addressable length, Addressable uniformName);
+
+    /**
+     * Dispatches {@code glGetActiveUniformName}.
+     */
+    void getActiveUniformName(int program, int uniformIndex, int bufSize, int @Nullable [] length, String[] uniformName);
+
+    /**
+     * Dispatches {@code glGetActiveUniformName}.
+     */
+    String getActiveUniformName(int program, int uniformIndex, int bufSize);
+
+    /**
+     * Dispatches {@code glGetActiveUniformsiv}.
+     */
+    void getActiveUniformsiv(int program, int uniformCount, Addressable uniformIndices, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetActiveUniformsiv}.
+     */
+    void getActiveUniformsiv(int program, int[] uniformIndices, int pname, int[] params);
+
+    /**
+     * Dispatches {@code glGetActiveUniformBlockiv}.
+     */
+    void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetActiveUniformBlockiv}.
+     */
+    void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, int[] params);
+
+    /**
+     * Dispatches {@code glGetUniformBlockIndex}.
+     */
+    int getUniformBlockIndex(int program, Addressable uniformBlockName);
+
+    /**
+     * Dispatches {@code glGetUniformBlockIndex}.
+     */
+    int getUniformBlockIndex(int program, String uniformBlockName);
+
+    /**
+     * Dispatches {@code glUniformBlockBinding}.
+     */
+    void uniformBlockBinding(int program, int uniformBlockIndex, int uniformBlockBinding);
+
+    /**
+     * Dispatches {@code glProgramParameteri}.
+     */
+    void programParameteri(int program, int pname, int value);
+
+    /**
+     * Dispatches {@code glProgramBinary}.
+     */
+    void programBinary(int program, int binaryFormat, Addressable binary, int length);
+
+    /**
+     * Dispatches {@code glProgramBinary}.
+     */
+    void programBinary(int program, int binaryFormat, MemorySegment binary);
+
+    /**
+     * Dispatches {@code glGetProgramBinary}.
+     */
+    void getProgramBinary(int program, int bufSize, Addressable length, Addressable binaryFormat, Addressable binary);
+
+    /**
+     * Dispatches {@code glGetProgramBinary}.
+     */
+    void getProgramBinary(int program, int bufSize, int @Nullable [] length, int[] binaryFormat, Addressable binary);
+
+    /**
+     * Dispatches {@code glGetProgramBinary}.
+     */
+    void getProgramBinary(int program, int @Nullable [] length, int[] binaryFormat, MemorySegment binary);
+
+    /**
+     * Dispatches {@code glProgramUniform1f}.
+     */
+    void programUniform1f(int program, int location, float v0);
+
+    /**
+     * Dispatches {@code glProgramUniform2f}.
+     */
+    void programUniform2f(int program, int location, float v0, float v1);
+
+    /**
+     * Dispatches {@code glProgramUniform3f}.
+     */
+    void programUniform3f(int program, int location, float v0, float v1, float v2);
+
+    /**
+     * Dispatches {@code glProgramUniform4f}.
+     */
+    void programUniform4f(int program, int location, float v0, float v1, float v2, float v3);
+
+    /**
+     * Dispatches {@code glProgramUniform1i}.
+     */
+    void programUniform1i(int program, int location, int v0);
+
+    /**
+     * Dispatches {@code glProgramUniform2i}.
+     */
+    void programUniform2i(int program, int location, int v0, int v1);
+
+    /**
+     * Dispatches {@code glProgramUniform3i}.
+     */
+    void programUniform3i(int program, int location, int v0, int v1, int v2);
+
+    /**
+     * Dispatches {@code glProgramUniform4i}.
+     */
+    void programUniform4i(int program, int location, int v0, int v1, int v2, int v3);
+
+    /**
+     * Dispatches {@code glProgramUniform1ui}.
+     */
+    void programUniform1ui(int program, int location, int v0);
+
+    /**
+     * Dispatches {@code glProgramUniform2ui}.
+     */
+    void programUniform2ui(int program, int location, int v0, int v1);
+
+    /**
+     * Dispatches {@code glProgramUniform3ui}.
+     */
+    void programUniform3ui(int program, int location, int v0, int v1, int v2);
+
+    /**
+     * Dispatches {@code glProgramUniform4ui}.
+     */
+    void programUniform4ui(int program, int location, int v0, int v1, int v2, int v3);
+
+    /**
+     * Dispatches {@code glProgramUniform1d}.
+     */
+    void programUniform1d(int program, int location, double v0);
+
+    /**
+     * Dispatches {@code glProgramUniform2d}.
+     */
+    void programUniform2d(int program, int location, double v0, double v1);
+
+    /**
+     * Dispatches {@code glProgramUniform3d}.
+     */
+    void programUniform3d(int program, int location, double v0, double v1, double v2);
+
+    /**
+     * Dispatches {@code glProgramUniform4d}.
+     */
+    void programUniform4d(int program, int location, double v0, double v1, double v2, double v3);
+
+    /**
+     * Dispatches {@code glProgramUniform1fv}.
+     */
+    void programUniform1fv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform2fv}.
+     */
+    void programUniform2fv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform3fv}.
+     */
+    void programUniform3fv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform4fv}.
+     */
+    void programUniform4fv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform1iv}.
+     */
+    void programUniform1iv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform2iv}.
+     */
+    void programUniform2iv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform3iv}.
+     */
+    void programUniform3iv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform4iv}.
+     */
+    void programUniform4iv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform1uiv}.
+     */
+    void programUniform1uiv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform2uiv}.
+     */
+    void programUniform2uiv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform3uiv}.
+     */
+    void programUniform3uiv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform4uiv}.
+     */
+    void programUniform4uiv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform1dv}.
+     */
+    void programUniform1dv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform2dv}.
+     */
+    void programUniform2dv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform3dv}.
+     */
+    void programUniform3dv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniform4dv}.
+     */
+    void programUniform4dv(int program, int location, int count, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2fv}.
+     */
+    void programUniformMatrix2fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3fv}.
+     */
+    void programUniformMatrix3fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4fv}.
+     */
+    void programUniformMatrix4fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2x3fv}.
+     */
+    void programUniformMatrix2x3fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3x2fv}.
+     */
+    void programUniformMatrix3x2fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2x4fv}.
+     */
+    void programUniformMatrix2x4fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4x2fv}.
+     */
+    void programUniformMatrix4x2fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3x4fv}.
+     */
+    void programUniformMatrix3x4fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4x3fv}.
+     */
+    void programUniformMatrix4x3fv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2dv}.
+     */
+    void programUniformMatrix2dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3dv}.
+     */
+    void programUniformMatrix3dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4dv}.
+     */
+    void programUniformMatrix4dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2x3dv}.
+     */
+    void programUniformMatrix2x3dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3x2dv}.
+     */
+    void programUniformMatrix3x2dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix2x4dv}.
+     */
+    void programUniformMatrix2x4dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4x2dv}.
+     */
+    void programUniformMatrix4x2dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix3x4dv}.
+     */
+    void programUniformMatrix3x4dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glProgramUniformMatrix4x3dv}.
+     */
+    void programUniformMatrix4x3dv(int program, int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glCreateShader}.
+     */
+    int createShader(int type);
+
+    /**
+     * Dispatches {@code glDeleteShader}.
+     */
+    void deleteShader(int shader);
+
+    /**
+     * Dispatches {@code glShaderSource}.
+     */
+    void shaderSource(int shader, int count, Addressable string, Addressable length);
+
+    /**
+     * Dispatches {@code glShaderSource}.
+     */
+    void shaderSource(int shader, String[] string);
+
+    /**
+     * Dispatches {@code glShaderSource}.
+     */
+    void shaderSource(int shader, String string);
+
+    /**
+     * Dispatches {@code glCompileShader}.
+     */
+    void compileShader(int shader);
+
+    /**
+     * Dispatches {@code glGetShaderiv}.
+     */
+    void getShaderiv(int shader, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetShaderiv}.
+     */
+    void getShaderiv(int shader, int pname, int[] params);
+
+    /**
+     * Dispatches {@code glGetShaderiv}.
+     */
+    int getShaderi(int shader, int pname);
+
+    /**
+     * Dispatches {@code glGetShaderInfoLog}.
+     */
+    void getShaderInfoLog(int shader, int bufSize, Addressable length, Addressable infoLog);
+
+    /**
+     * Dispatches {@code glGetShaderInfoLog}.
+     */
+    void getShaderInfoLog(int shader, int bufSize, int @Nullable [] length, String[] infoLog);
+
+    /**
+     * Dispatches {@code glGetShaderInfoLog}.
+     */
+    String getShaderInfoLog(int shader, int bufSize, int @Nullable [] length);
+
+    /**
+     * Dispatches {@code glGetShaderInfoLog}.
+     */
+    String getShaderInfoLog(int shader);
+
+    /**
+     * Dispatches {@code glGetString}.
+     */
+    String getString(int name);
+
+    /**
+     * Dispatches {@code glGetStringi}.
+     */
+    String getStringi(int name, int index);
+
+    /**
+     * Dispatches {@code glGetIntegerv}.
+     */
+    int getInteger(int pname);
+
+    /**
+     * Dispatches {@code glGenBuffers}.
+     */
+    int genBuffer();
+
+    /**
+     * Dispatches {@code glDeleteBuffers}.
+     */
+    void deleteBuffer(int buffer);
+
+    /**
+     * Dispatches {@code glBindBuffer}.
+     */
+    void bindBuffer(int target, int buffer);
+
+    /**
+     * Dispatches {@code glBufferData}.
+     */
+    void bufferData(int target, long size, Addressable data, int usage);
+
+    /**
+     * Dispatches {@code glBufferSubData}.
+     */
+    void bufferSubData(int target, long offset, long size, Addressable data);
+
+    /**
+     * Dispatches {@code glBindBufferBase}.
+     */
+    void bindBufferBase(int target, int index, int buffer);
+
+    /**
+     * Dispatches {@code glBindVertexArray}.
+     */
+    void bindVertexArray(int array);
+
+    /**
+     * Dispatches {@code glDeleteVertexArray}.
+     */
+    void deleteVertexArray(int array);
+
+    /**
+     * Dispatches {@code glActiveTexture}.
+     */
+    void activeTexture(int texture);
+
+    /**
+     * Dispatches {@code glBindTexture}.
+     */
+    void bindTexture(int target, int texture);
+
+    /**
+     * Dispatches {@code glDeleteTexture}.
+     */
+    void deleteTexture(int texture);
+
+    /**
+     * Dispatches {@code glEnable}.
+     */
+    void enable(int cap);
+
+    /**
+     * Dispatches {@code glDisable}.
+     */
+    void disable(int cap);
+
+    /**
+     * Dispatches {@code glBlendFuncSeparate}.
+     */
+    void blendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha);
+
+    /**
+     * Dispatches {@code glBlendEquationSeparate}.
+     */
+    void blendEquationSeparate(int modeRGB, int modeAlpha);
+
+    /**
+     * Dispatches {@code glDepthFunc}.
+     */
+    void depthFunc(int func);
+
+    /**
+     * Dispatches {@code glDepthMask}.
+     */
+    void depthMask(boolean flag);
+
+    /**
+     * Dispatches {@code glCullFace}.
+     */
+    void cullFace(int mode);
+
+    /**
+     * Dispatches {@code glFrontFace}.
+     */
+    void frontFace(int mode);
+
+    /**
+     * Dispatches {@code glGenQueries}.
+     */
+    int genQuery();
+
+    /**
+     * Dispatches {@code glDeleteQueries}.
+     */
+    void deleteQuery(int id);
+
+    /**
+     * Dispatches {@code glBeginQuery}.
+     */
+    void beginQuery(int target, int id);
+
+    /**
+     * Dispatches {@code glEndQuery}.
+     */
+    void endQuery(int target);
+
+    /**
+     * Dispatches {@code glQueryCounter}.
+     */
+    void queryCounter(int id, int target);
+
+    /**
+     * Dispatches {@code glGetQueryObjectiv}.
+     */
+    int getQueryObjecti(int id, int pname);
+
+    /**
+     * Dispatches {@code glGetQueryObjecti64v}.
+     */
+    long getQueryObjecti64(int id, int pname);
+
+    /**
+     * Dispatches {@code glBufferStorage}.
+     */
+    void bufferStorage(int target, long size, Addressable data, int flags);
+
+    /**
+     * Dispatches {@code glMapBufferRange}.
+     */
+    MemoryAddress mapBufferRange(int target, long offset, long length, int access);
+
+    /**
+     * Dispatches {@code glUnmapBuffer}.
+     */
+    boolean unmapBuffer(int target);
+
+    /**
+     * Dispatches {@code glFenceSync}.
+     */
+    MemoryAddress fenceSync(int condition, int flags);
+
+    /**
+     * Dispatches {@code glClientWaitSync}.
+     */
+    int clientWaitSync(MemoryAddress sync, int flags, long timeout);
+
+    /**
+     * Dispatches {@code glDeleteSync}.
+     */
+    void deleteSync(MemoryAddress sync);
+
+    /**
+     * Dispatches {@code glGenVertexArrays}.
+     */
+    int genVertexArray();
+
+    /**
+     * Dispatches {@code glEnableVertexAttribArray}.
+     */
+    void enableVertexAttribArray(int index);
+
+    /**
+     * Dispatches {@code glVertexAttribPointer}.
+     */
+    void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, Addressable pointer);
+
+    /**
+     * Dispatches {@code glDrawElements}.
+     */
+    void drawElements(int mode, int count, int type, Addressable indices);
+
+    /**
+     * Dispatches {@code glBindBufferRange}.
+     */
+    void bindBufferRange(int target, int index, int buffer, long offset, long size);
+
+    /**
+     * Dispatches {@code glMultiDrawElementsIndirect}.
+     */
+    void multiDrawElementsIndirect(int mode, int type, Addressable indirect, int drawcount, int stride);
+
+    /**
+     * Dispatches {@code glMultiDrawElementsBaseVertex}.
+     */
+    void multiDrawElementsBaseVertex(int mode, Addressable count, int type, Addressable indices, int drawcount, Addressable basevertex);
+
+    /**
+     * Dispatches {@code glDrawElementsInstancedBaseVertexBaseInstance}.
+     */
+    void drawElementsInstancedBaseVertexBaseInstance(int mode, int count, int type, Addressable indices, int instancecount, int basevertex, int baseinstance);
+
+    /**
+     * Dispatches {@code glGetAttribLocation}.
+     */
+    int getAttribLocation(int program, String name);
+
+    /**
+     * Dispatches {@code glGetActiveAttrib}.
+     */
+    void getActiveAttrib(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name);
+
+    /**
+     * Dispatches {@code glGetActiveUniformBlockName}.
+     */
+    String getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize);
+
+    /**
+     * Dispatches {@code glGetProgramInterfaceiv}.
+     */
+    int getProgramInterfacei(int program, int programInterface, int pname);
+
+    /**
+     * Dispatches {@code glGetProgramResourceiv}.
+     */
+    void getProgramResourceiv(int program, int programInterface, int index, int[] props, int @Nullable [] length, int[] params);
+
+    /**
+     * Dispatches {@code glGetProgramResourceName}.
+     */
+    String getProgramResourceName(int program, int programInterface, int index, int bufSize, int @Nullable [] length);
+
+    /**
+     * Dispatches {@code glUniform1f}.
+     */
+    void uniform1f(int location, float v0);
+
+    /**
+     * Dispatches {@code glUniform2f}.
+     */
+    void uniform2f(int location, float v0, float v1);
+
+    /**
+     * Dispatches {@code glUniform3f}.
+     */
+    void uniform3f(int location, float v0, float v1, float v2);
+
+    /**
+     * Dispatches {@code glUniform4f}.
+     */
+    void uniform4f(int location, float v0, float v1, float v2, float v3);
+
+    /**
+     * Dispatches {@code glUniform1i}.
+     */
+    void uniform1i(int location, int v0);
+
+    /**
+     * Dispatches {@code glUniform1ui}.
+     */
+    void uniform1ui(int location, int v0);
+
+    /**
+     * Dispatches {@code glUniformMatrix3fv}.
+     */
+    void uniformMatrix3fv(int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glUniformMatrix4fv}.
+     */
+    void uniformMatrix4fv(int location, int count, boolean transpose, Addressable value);
+
+    /**
+     * Dispatches {@code glGenTextures}.
+     */
+    int genTexture();
+
+    /**
+     * Dispatches {@code glTexImage2D}.
+     */
+    void texImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Addressable pixels);
+
+    /**
+     * Dispatches {@code glTexSubImage2D}.
+     */
+    void texSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Addressable pixels);
+
+    /**
+     * Dispatches {@code glTexParameteri}.
+     */
+    void texParameteri(int target, int pname, int param);
+
+    /**
+     * Dispatches {@code glPixelStorei}.
+     */
+    void pixelStorei(int pname, int param);
+
+    /**
+     * Dispatches {@code glGenerateMipmap}.
+     */
+    void generateMipmap(int target);
+
+    /**
+     * Dispatches {@code glTexStorage2D}.
+     */
+    void texStorage2D(int target, int levels, int internalformat, int width, int height);
+
+    /**
+     * Dispatches {@code glTexStorage3D}.
+     */
+    void texStorage3D(int target, int levels, int internalformat, int width, int height, int depth);
+
+    /**
+     * Dispatches {@code glTexImage3D}.
+     */
+    void texImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, Addressable pixels);
+
+    /**
+     * Dispatches {@code glTexSubImage3D}.
+     */
+    void texSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth, int format, int type, Addressable pixels);
+
+    /**
+     * Dispatches {@code glGenSamplers}.
+     */
+    int genSampler();
+
+    /**
+     * Dispatches {@code glDeleteSamplers}.
+     */
+    void deleteSampler(int sampler);
+
+    /**
+     * Dispatches {@code glBindSampler}.
+     */
+    void bindSampler(int unit, int sampler);
+
+    /**
+     * Dispatches {@code glSamplerParameteri}.
+     */
+    void samplerParameteri(int sampler, int pname, int param);
+
+    /**
+     * Dispatches {@code glSamplerParameterf}.
+     */
+    void samplerParameterf(int sampler, int pname, float param);
+
+    /**
+     * Dispatches {@code glVertexAttribIPointer}.
+     */
+    void vertexAttribIPointer(int index, int size, int type, int stride, Addressable pointer);
+
+    /**
+     * Dispatches {@code glVertexAttribDivisor}.
+     */
+    void vertexAttribDivisor(int index, int divisor);
+
+    /**
+     * Dispatches {@code glVertexAttribFormat}.
+     */
+    void vertexAttribFormat(int attribindex, int size, int type, boolean normalized, int relativeoffset);
+
+    /**
+     * Dispatches {@code glVertexAttribIFormat}.
+     */
+    void vertexAttribIFormat(int attribindex, int size, int type, int relativeoffset);
+
+    /**
+     * Dispatches {@code glVertexAttribBinding}.
+     */
+    void vertexAttribBinding(int attribindex, int bindingindex);
+
+    /**
+     * Dispatches {@code glBindVertexBuffer}.
+     */
+    void bindVertexBuffer(int bindingindex, int buffer, long offset, int stride);
+
+    /**
+     * Dispatches {@code glVertexBindingDivisor}.
+     */
+    void vertexBindingDivisor(int bindingindex, int divisor);
+
+    /**
+     * Dispatches {@code glDrawArrays}.
+     */
+    void drawArrays(int mode, int first, int count);
+
+    /**
+     * Dispatches {@code glDrawArraysInstanced}.
+     */
+    void drawArraysInstanced(int mode, int first, int count, int instancecount);
+
+    /**
+     * Dispatches {@code glDrawElementsInstanced}.
+     */
+    void drawElementsInstanced(int mode, int count, int type, Addressable indices, int instancecount);
+
+    /**
+     * Dispatches {@code glDrawElementsBaseVertex}.
+     */
+    void drawElementsBaseVertex(int mode, int count, int type, Addressable indices, int basevertex);
+
+    /**
+     * Dispatches {@code glDrawElementsInstancedBaseVertex}.
+     */
+    void drawElementsInstancedBaseVertex(int mode, int count, int type, Addressable indices, int instancecount, int basevertex);
+
+    /**
+     * Dispatches {@code glGetActiveAttrib}.
+     */
+    void getActiveAttrib(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name);
+
+    /**
+     * Dispatches {@code glGetActiveUniform}.
+     */
+    void getActiveUniform(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name);
+
+    /**
+     * Dispatches {@code glGetActiveUniform}.
+     */
+    void getActiveUniform(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name);
+
+    /**
+     * Dispatches {@code glGetAttachedShaders}.
+     */
+    void getAttachedShaders(int program, int maxCount, Addressable count, Addressable shaders);
+
+    /**
+     * Dispatches {@code glGetAttachedShaders}.
+     */
+    void getAttachedShaders(int program, int @Nullable [] count, int[] shaders);
+
+    /**
+     * Dispatches {@code glGetAttribLocation}.
+     */
+    int getAttribLocation(int program, Addressable name);
+
+    /**
+     * Dispatches {@code glGetUniformfv}.
+     */
+    void getUniformfv(int program, int location, Addressable params);
+
+    /**
+     * Dispatches {@code glGetUniformfv}.
+     */
+    void getUniformfv(int program, int location, float[] params);
+
+    /**
+     * Dispatches {@code glGetUniformfv}.
+     */
+    float getUniformf(int program, int location);
+
+    /**
+     * Dispatches {@code glGetUniformiv}.
+     */
+    void getUniformiv(int program, int location, Addressable params);
+
+    /**
+     * Dispatches {@code glGetUniformiv}.
+     */
+    void getUniformiv(int program, int location, int[] params);
+
+    /**
+     * Dispatches {@code glGetUniformiv}.
+     */
+    int getUniformi(int program, int location);
+
+    /**
+     * Dispatches {@code glIsProgram}.
+     */
+    boolean isProgram(int program);
+
+    /**
+     * Dispatches {@code glBindFragDataLocation}.
+     */
+    void bindFragDataLocation(int program, int color, Addressable name);
+
+    /**
+     * Dispatches {@code glBindFragDataLocation}.
+     */
+    void bindFragDataLocation(int program, int color, String name);
+
+    /**
+     * Dispatches {@code glGetFragDataLocation}.
+     */
+    int getFragDataLocation(int program, Addressable name);
+
+    /**
+     * Dispatches {@code glGetFragDataLocation}.
+     */
+    int getFragDataLocation(int program, String name);
+
+    /**
+     * Dispatches {@code glGetTransformFeedbackVarying}.
+     */
+    void getTransformFeedbackVarying(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name);
+
+    /**
+     * Dispatches {@code glGetTransformFeedbackVarying}.
+     */
+    void getTransformFeedbackVarying(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name);
+
+    /**
+     * Dispatches {@code glGetUniformuiv}.
+     */
+    void getUniformuiv(int program, int location, Addressable params);
+
+    /**
+     * Dispatches {@code glGetUniformuiv}.
+     */
+    void getUniformuiv(int program, int location, int[] params);
+
+    /**
+     * Dispatches {@code glGetUniformuiv}.
+     */
+    int getUniformui(int program, int location);
+
+    /**
+     * Dispatches {@code glTransformFeedbackVaryings}.
+     */
+    void transformFeedbackVaryings(int program, int count, Addressable varyings, int bufferMode);
+
+    /**
+     * Dispatches {@code glTransformFeedbackVaryings}.
+     */
+    void transformFeedbackVaryings(int program, String[] varyings, int bufferMode);
+
+    /**
+     * Dispatches {@code glGetActiveUniformBlockName}.
+     */
+    void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, Addressable length, Addressable uniformBlockName);
+
+    /**
+     * Dispatches {@code glGetActiveUniformBlockName}.
+     */
+    void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, int @Nullable [] length, String[] uniformBlockName);
+
+    /**
+     * Dispatches {@code glGetActiveUniformsiv}.
+     */
+    int getActiveUniformi(int program, int uniformIndex, int pname);
+
+    /**
+     * Dispatches {@code glGetUniformIndices}.
+     */
+    void getUniformIndices(int program, int uniformCount, Addressable uniformNames, Addressable uniformIndices);
+
+    /**
+     * Dispatches {@code glGetUniformIndices}.
+     */
+    void getUniformIndices(int program, String[] uniformNames, int[] uniformIndices);
+
+    /**
+     * Dispatches {@code glGetUniformIndices}.
+     */
+    int getUniformIndex(int program, String uniformName);
+
+    /**
+     * Dispatches {@code glBindFragDataLocationIndexed}.
+     */
+    void bindFragDataLocationIndexed(int program, int colorNumber, int index, Addressable name);
+
+    /**
+     * Dispatches {@code glBindFragDataLocationIndexed}.
+     */
+    void bindFragDataLocationIndexed(int program, int colorNumber, int index, String name);
+
+    /**
+     * Dispatches {@code glGetFragDataIndex}.
+     */
+    int getFragDataIndex(int program, Addressable name);
+
+    /**
+     * Dispatches {@code glGetFragDataIndex}.
+     */
+    int getFragDataIndex(int program, String name);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineName}.
+     */
+    void getActiveSubroutineName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineName}.
+     */
+    String getActiveSubroutineName(int program, int shaderType, int index, int bufSize);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineUniformName}.
+     */
+    void getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineUniformName}.
+     */
+    String getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineUniformiv}.
+     */
+    void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, Addressable values);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineUniformiv}.
+     */
+    void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, int[] values);
+
+    /**
+     * Dispatches {@code glGetActiveSubroutineUniformiv}.
+     */
+    int getActiveSubroutineUniformi(int program, int shaderType, int index, int pname);
+
+    /**
+     * Dispatches {@code glGetProgramStageiv}.
+     */
+    void getProgramStageiv(int program, int shaderType, int pname, Addressable values);
+
+    /**
+     * Dispatches {@code glGetProgramStageiv}.
+     */
+    int getProgramStagei(int program, int shaderType, int pname);
+
+    /**
+     * Dispatches {@code glGetSubroutineIndex}.
+     */
+    int getSubroutineIndex(int program, int shaderType, Addressable name);
+
+    /**
+     * Dispatches {@code glGetSubroutineIndex}.
+     */
+    int getSubroutineIndex(int program, int shaderType, String name);
+
+    /**
+     * Dispatches {@code glGetSubroutineUniformLocation}.
+     */
+    int getSubroutineUniformLocation(int program, int shaderType, Addressable name);
+
+    /**
+     * Dispatches {@code glGetSubroutineUniformLocation}.
+     */
+    int getSubroutineUniformLocation(int program, int shaderType, String name);
+
+    /**
+     * Dispatches {@code glGetUniformdv}.
+     */
+    void getUniformdv(int program, int location, Addressable params);
+
+    /**
+     * Dispatches {@code glGetUniformdv}.
+     */
+    void getUniformdv(int program, int location, double[] params);
+
+    /**
+     * Dispatches {@code glGetUniformdv}.
+     */
+    double getUniformd(int program, int location);
+
+    /**
+     * Dispatches {@code glGetActiveAtomicCounterBufferiv}.
+     */
+    void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetActiveAtomicCounterBufferiv}.
+     */
+    void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, int[] params);
+
+    /**
+     * Dispatches {@code glGetActiveAtomicCounterBufferiv}.
+     */
+    int getActiveAtomicCounterBufferi(int program, int bufferIndex, int pname);
+
+    /**
+     * Dispatches {@code glGetProgramInterfaceiv}.
+     */
+    void getProgramInterfaceiv(int program, int programInterface, int pname, Addressable params);
+
+    /**
+     * Dispatches {@code glGetProgramResourceIndex}.
+     */
+    int getProgramResourceIndex(int program, int programInterface, Addressable name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceIndex}.
+     */
+    int getProgramResourceIndex(int program, int programInterface, String name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceLocation}.
+     */
+    int getProgramResourceLocation(int program, int programInterface, Addressable name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceLocation}.
+     */
+    int getProgramResourceLocation(int program, int programInterface, String name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceLocationIndex}.
+     */
+    int getProgramResourceLocationIndex(int program, int programInterface, Addressable name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceLocationIndex}.
+     */
+    int getProgramResourceLocationIndex(int program, int programInterface, String name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceName}.
+     */
+    void getProgramResourceName(int program, int programInterface, int index, int bufSize, Addressable length, Addressable name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceName}.
+     */
+    void getProgramResourceName(int program, int programInterface, int index, Addressable length, MemorySegment name);
+
+    /**
+     * Dispatches {@code glGetProgramResourceName}.
+     */
+    String getProgramResourceName(int program, int programInterface, int index, int @Nullable [] length);
+
+    /**
+     * Dispatches {@code glGetProgramResourceiv}.
+     */
+    void getProgramResourceiv(int program, int programInterface, int index, int propCount, Addressable props, int count, Addressable length, Addressable params);
+
+    /**
+     * Dispatches {@code glGetProgramResourceiv}.
+     */
+    void getProgramResourceiv(int program, int programInterface, int index, MemorySegment props, Addressable length, MemorySegment params);
+
+    /**
+     * Dispatches {@code glGetProgramResourceiv}.
+     */
+    int getProgramResourceiv(int program, int programInterface, int index, int[] props);
+
+    /**
+     * Dispatches {@code glShaderStorageBlockBinding}.
+     */
+    void shaderStorageBlockBinding(int program, int storageBlockIndex, int storageBlockBinding);
+
+    /**
+     * Dispatches {@code glGetnUniformdv}.
+     */
+    void getnUniformdv(int program, int location, int bufSize, Addressable params);
+
+    /**
+     * Dispatches {@code glGetnUniformdv}.
+     */
+    void getnUniformdv(int program, int location, MemorySegment params);
+
+    /**
+     * Dispatches {@code glGetnUniformdv}.
+     */
+    void getnUniformdv(int program, int location, double[] params);
+
+    /**
+     * Dispatches {@code glGetnUniformfv}.
+     */
+    void getnUniformfv(int program, int location, int bufSize, Addressable params);
+
+    /**
+     * Dispatches {@code glGetnUniformfv}.
+     */
+    void getnUniformfv(int program, int location, MemorySegment params);
+
+    /**
+     * Dispatches {@code glGetnUniformfv}.
+     */
+    void getnUniformfv(int program, int location, float[] params);
+
+    /**
+     * Dispatches {@code glGetnUniformiv}.
+     */
+    void getnUniformiv(int program, int location, int bufSize, Addressable params);
+
+    /**
+     * Dispatches {@code glGetnUniformiv}.
+     */
+    void getnUniformiv(int program, int location, MemorySegment params);
+
+    /**
+     * Dispatches {@code glGetnUniformiv}.
+     */
+    void getnUniformiv(int program, int location, int[] params);
+
+    /**
+     * Dispatches {@code glGetnUniformuiv}.
+     */
+    void getnUniformuiv(int program, int location, int bufSize, Addressable params);
+
+    /**
+     * Dispatches {@code glGetnUniformuiv}.
+     */
+    void getnUniformuiv(int program, int location, MemorySegment params);
+
+    /**
+     * Dispatches {@code glGetnUniformuiv}.
+     */
+    void getnUniformuiv(int program, int location, int[] params);
+
+    /**
+     * Dispatches {@code glGetShaderSource}.
+     */
+    void getShaderSource(int shader, int bufSize, Addressable length, Addressable source);
+
+    /**
+     * Dispatches {@code glGetShaderSource}.
+     */
+    void getShaderSource(int shader, int bufSize, int @Nullable [] length, String[] source);
+
+    /**
+     * Dispatches {@code glGetShaderSource}.
+     */
+    String getShaderSource(int shader, int bufSize, int @Nullable [] length);
+
+    /**
+     * Dispatches {@code glGetShaderSource}.
+     */
+    String getShaderSource(int shader);
+
+    /**
+     * Dispatches {@code glIsShader}.
+     */
+    boolean isShader(int shader);
+
+    /**
+     * Dispatches {@code glSpecializeShader}.
+     */
+    void specializeShader(int shader, Addressable pEntryPoint, int numSpecializationConstants, Addressable pConstantIndex, Addressable pConstantValue);
+
+    /**
+     * Dispatches {@code glSpecializeShader}.
+     */
+    void specializeShader(int shader, @Nullable String pEntryPoint, int @Nullable [] pConstantIndex, int @Nullable [] pConstantValue);
+
+    /**
+     * Dispatches {@code glSpecializeShader}.
+     */
+    void specializeShader(int shader, @Nullable String pEntryPoint);
+}
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+import org.jetbrains.annotations.Nullable;
+import org.overrun.glib.glfw.IGLFWCharFun;
+import org.overrun.glib.glfw.IGLFWCursorEnterFun;
+import org.overrun.glib.glfw.IGLFWCursorPosFun;
+import org.overrun.glib.glfw.IGLFWFramebufferSizeFun;
+import org.overrun.glib.glfw.IGLFWKeyFun;
+import org.overrun.glib.glfw.IGLFWMouseButtonFun;
+import org.overrun.glib.glfw.IGLFWScrollFun;
+import org.overrun.glib.glfw.IGLFWWindowSizeFun;
+import org.overrun.glib.util.ValueDouble2;
+import org.overrun.glib.util.ValueFloat2;
+import org.overrun.glib.util.ValueInt2;
+import org.overrun.glib.util.ValueInt4;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+
+/**
+ * The GLFW functions that the wrapper calls through {@link Dispatch#glfw()}.
+ * <p>
+ * The parameters and the return values are the same as the functions of the same name in
+ * {@link org.overrun.glib.glfw.GLFW GLFW}.
+ *
+ * @author squid233
+ * @see OverrunGLDispatch
+ * @see RecordingDispatch
+ * @since 0.1.0
+ */
+public interface GLFWDispatch {
+    /**
+     * Dispatches {@code glfwCreateWindow}.
+     */
+    MemoryAddress createWindow(int width, int height, String title, MemoryAddress monitor, MemoryAddress share);
+
+    /**
+     * Dispatches {@code glfwDestroyWindow}.
+     */
+    void destroyWindow(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwWindowShouldClose}.
+     */
+    boolean windowShouldClose(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwSetWindowShouldClose}.
+     */
+    void setWindowShouldClose(MemoryAddress window, boolean value);
+
+    /**
+     * Dispatches {@code glfwMakeContextCurrent}.
+     */
+    void makeContextCurrent(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwSwapBuffers}.
+     */
+    void swapBuffers(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwSwapInterval}.
+     */
+    void swapInterval(int interval);
+
+    /**
+     * Dispatches {@code glfwPollEvents}.
+     */
+    void pollEvents();
+
+    /**
+     * Dispatches {@code glfwGetTime}.
+     */
+    double getTime();
+
+    /**
+     * Dispatches {@code glfwGetWindowPos}.
+     */
+    ValueInt2 getWindowPos(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwGetWindowSize}.
+     */
+    ValueInt2 getWindowSize(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwSetWindowSize}.
+     */
+    void setWindowSize(MemoryAddress window, int width, int height);
+
+    /**
+     * Dispatches {@code glfwGetFramebufferSize}.
+     */
+    ValueInt2 getFramebufferSize(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwGetWindowFrameSize}.
+     */
+    ValueInt4 getWindowFrameSize(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwGetWindowContentScale}.
+     */
+    ValueFloat2 getWindowContentScale(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwGetCursorPos}.
+     */
+    ValueDouble2 getCursorPos(MemoryAddress window);
+
+    /**
+     * Dispatches {@code glfwNgetWindowPos}.
+     */
+    void ngetWindowPos(MemoryAddress window, Addressable xpos, Addressable ypos);
+
+    /**
+     * Dispatches {@code glfwNgetWindowSize}.
+     */
+    void ngetWindowSize(MemoryAddress window, Addressable width, Addressable height);
+
+    /**
+     * Dispatches {@code glfwNgetFramebufferSize}.
+     */
+    void ngetFramebufferSize(MemoryAddress window, Addressable width, Addressable height);
+
+    /**
+     * Dispatches {@code glfwNgetWindowFrameSize}.
+     */
+    void ngetWindowFrameSize(MemoryAddress window, Addressable left, Addressable top, Addressable right, Addressable bottom);
+
+    /**
+     * Dispatches {@code glfwNgetWindowContentScale}.
+     */
+    void ngetWindowContentScale(MemoryAddress window, Addressable xscale, Addressable yscale);
+
+    /**
+     * Dispatches {@code glfwNgetCursorPos}.
+     */
+    void ngetCursorPos(MemoryAddress window, Addressable xpos, Addressable ypos);
+
+    /**
+     * Dispatches {@code glfwSetWindowSizeCallback}.
+     */
+    MemoryAddress setWindowSizeCallback(MemoryAddress window, @Nullable IGLFWWindowSizeFun callback);
+
+    /**
+     * Dispatches {@code glfwSetFramebufferSizeCallback}.
+     */
+    MemoryAddress setFramebufferSizeCallback(MemoryAddress window, @Nullable IGLFWFramebufferSizeFun callback);
+
+    /**
+     * Dispatches {@code glfwSetCursorPosCallback}.
+     */
+    MemoryAddress setCursorPosCallback(MemoryAddress window, @Nullable IGLFWCursorPosFun callback);
+
+    /**
+     * Dispatches {@code glfwSetKeyCallback}.
+     */
+    MemoryAddress setKeyCallback(MemoryAddress window, @Nullable IGLFWKeyFun callback);
+
+    /**
+     * Dispatches {@code glfwSetCharCallback}.
+     */
+    MemoryAddress setCharCallback(MemoryAddress window, @Nullable IGLFWCharFun callback);
+
+    /**
+     * Dispatches {@code glfwSetMouseButtonCallback}.
+     */
+    MemoryAddress setMouseButtonCallback(MemoryAddress window, @Nullable IGLFWMouseButtonFun callback);
+
+    /**
+     * Dispatches {@code glfwSetCursorEnterCallback}.
+     */
+    MemoryAddress setCursorEnterCallback(MemoryAddress window, @Nullable IGLFWCursorEnterFun callback);
+
+    /**
+     * Dispatches {@code glfwSetScrollCallback}.
+     */
+    MemoryAddress setScrollCallback(MemoryAddress window, @Nullable IGLFWScrollFun callback);
+}
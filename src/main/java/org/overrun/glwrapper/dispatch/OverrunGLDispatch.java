@@ -0,0 +1,1553 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+import org.jetbrains.annotations.Nullable;
+import org.overrun.glib.gl.GL;
+import org.overrun.glib.glfw.Callbacks;
+import org.overrun.glib.glfw.GLFW;
+import org.overrun.glib.glfw.IGLFWCharFun;
+import org.overrun.glib.glfw.IGLFWCursorEnterFun;
+import org.overrun.glib.glfw.IGLFWCursorPosFun;
+import org.overrun.glib.glfw.IGLFWFramebufferSizeFun;
+import org.overrun.glib.glfw.IGLFWKeyFun;
+import org.overrun.glib.glfw.IGLFWMouseButtonFun;
+import org.overrun.glib.glfw.IGLFWScrollFun;
+import org.overrun.glib.glfw.IGLFWWindowSizeFun;
+import org.overrun.glib.util.ValueDouble2;
+import org.overrun.glib.util.ValueFloat2;
+import org.overrun.glib.util.ValueInt2;
+import org.overrun.glib.util.ValueInt4;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * The default dispatch that forwards to OverrunGL.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class OverrunGLDispatch implements GLDispatch, GLFWDispatch {
+    /**
+     * The instance.
+     */
+    public static final OverrunGLDispatch INSTANCE = new OverrunGLDispatch();
+
+    private OverrunGLDispatch() {
+    }
+
+    @Override
+    public int createProgram() {
+        return GL.createProgram();
+    }
+
+    @Override
+    public void deleteProgram(int program) {
+        GL.deleteProgram(program);
+    }
+
+    @Override
+    public void attachShader(int program, int shader) {
+        GL.attachShader(program, shader);
+    }
+
+    @Override
+    public void detachShader(int program, int shader) {
+        GL.detachShader(program, shader);
+    }
+
+    @Override
+    public void bindAttribLocation(int program, int index, Addressable name) {
+        GL.bindAttribLocation(program, index, name);
+    }
+
+    @Override
+    public void bindAttribLocation(int program, int index, String name) {
+        GL.bindAttribLocation(program, index, name);
+    }
+
+    @Override
+    public void linkProgram(int program) {
+        GL.linkProgram(program);
+    }
+
+    @Override
+    public void useProgram(int program) {
+        GL.useProgram(program);
+    }
+
+    @Override
+    public void validateProgram(int program) {
+        GL.validateProgram(program);
+    }
+
+    @Override
+    public void getProgramiv(int program, int pname, Addressable params) {
+        GL.getProgramiv(program, pname, params);
+    }
+
+    @Override
+    public void getProgramiv(int program, int pname, int[] params) {
+        GL.getProgramiv(program, pname, params);
+    }
+
+    @Override
+    public int getProgrami(int program, int pname) {
+        return GL.getProgrami(program, pname);
+    }
+
+    @Override
+    public void getProgramInfoLog(int program, int bufSize, Addressable length, Addressable infoLog) {
+        GL.getProgramInfoLog(program, bufSize, length, infoLog);
+    }
+
+    @Override
+    public void getProgramInfoLog(int program, int bufSize, int @Nullable [] length, String[] infoLog) {
+        GL.getProgramInfoLog(program, bufSize, length, infoLog);
+    }
+
+    @Override
+    public String getProgramInfoLog(int program, int bufSize, int @Nullable [] length) {
+        return GL.getProgramInfoLog(program, bufSize, length);
+    }
+
+    @Override
+    public String getProgramInfoLog(int program) {
+        return GL.getProgramInfoLog(program);
+    }
+
+    @Override
+    public int getUniformLocation(int program, Addressable name) {
+        return GL.getUniformLocation(program, name);
+    }
+
+    @Override
+    public int getUniformLocation(int program, String name) {
+        return GL.getUniformLocation(program, name);
+    }
+
+    @Override
+    public void getActiveUniformName(int program, int uniformIndex, int bufSize, Addressable length, Addressable uniformName) {
+        GL.getActiveUniformName(program, uniformIndex, bufSize, length, uniformName);
+    }
+
+    @Override
+    public void getActiveUniformName(int program, int uniformIndex, int bufSize, int @Nullable [] length, String[] uniformName) {
+        GL.getActiveUniformName(program, uniformIndex, bufSize, length, uniformName);
+    }
+
+    @Override
+    public String getActiveUniformName(int program, int uniformIndex, int bufSize) {
+        return GL.getActiveUniformName(program, uniformIndex, bufSize);
+    }
+
+    @Override
+    public void getActiveUniformsiv(int program, int uniformCount, Addressable uniformIndices, int pname, Addressable params) {
+        GL.getActiveUniformsiv(program, uniformCount, uniformIndices, pname, params);
+    }
+
+    @Override
+    public void getActiveUniformsiv(int program, int[] uniformIndices, int pname, int[] params) {
+        GL.getActiveUniformsiv(program, uniformIndices, pname, params);
+    }
+
+    @Override
+    public void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, Addressable params) {
+        GL.getActiveUniformBlockiv(program, uniformBlockIndex, pname, params);
+    }
+
+    @Override
+    public void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, int[] params) {
+        GL.getActiveUniformBlockiv(program, uniformBlockIndex, pname, params);
+    }
+
+    @Override
+    public int getUniformBlockIndex(int program, Addressable uniformBlockName) {
+        return GL.getUniformBlockIndex(program, uniformBlockName);
+    }
+
+    @Override
+    public int getUniformBlockIndex(int program, String uniformBlockName) {
+        return GL.getUniformBlockIndex(program, uniformBlockName);
+    }
+
+    @Override
+    public void uniformBlockBinding(int program, int uniformBlockIndex, int uniformBlockBinding) {
+        GL.uniformBlockBinding(program, uniformBlockIndex, uniformBlockBinding);
+    }
+
+    @Override
+    public void programParameteri(int program, int pname, int value) {
+        GL.programParameteri(program, pname, value);
+    }
+
+    @Override
+    public void programBinary(int program, int binaryFormat, Addressable binary, int length) {
+        GL.programBinary(program, binaryFormat, binary, length);
+    }
+
+    @Override
+    public void programBinary(int program, int binaryFormat, MemorySegment binary) {
+        GL.programBinary(program, binaryFormat, binary);
+    }
+
+    @Override
+    public void getProgramBinary(int program, int bufSize, Addressable length, Addressable binaryFormat, Addressable binary) {
+        GL.getProgramBinary(program, bufSize, length, binaryFormat, binary);
+    }
+
+    @Override
+    public void getProgramBinary(int program, int bufSize, int @Nullable [] length, int[] binaryFormat, Addressable binary) {
+        GL.getProgramBinary(program, bufSize, length, binaryFormat, binary);
+    }
+
+    @Override
+    public void getProgramBinary(int program, int @Nullable [] length, int[] binaryFormat, MemorySegment binary) {
+        GL.getProgramBinary(program, length, binaryFormat, binary);
+    }
+
+    @Override
+    public void programUniform1f(int program, int location, float v0) {
+        GL.programUniform1f(program, location, v0);
+    }
+
+    @Override
+    public void programUniform2f(int program, int location, float v0, float v1) {
+        GL.programUniform2f(program, location, v0, v1);
+    }
+
+    @Override
+    public void programUniform3f(int program, int location, float v0, float v1, float v2) {
+        GL.programUniform3f(program, location, v0, v1, v2);
+    }
+
+    @Override
+    public void programUniform4f(int program, int location, float v0, float v1, float v2, float v3) {
+        GL.programUniform4f(program, location, v0, v1, v2, v3);
+    }
+
+    @Override
+    public void programUniform1i(int program, int location, int v0) {
+        GL.programUniform1i(program, location, v0);
+    }
+
+    @Override
+    public void programUniform2i(int program, int location, int v0, int v1) {
+        GL.programUniform2i(program, location, v0, v1);
+    }
+
+    @Override
+    public void programUniform3i(int program, int location, int v0, int v1, int v2) {
+        GL.programUniform3i(program, location, v0, v1, v2);
+    }
+
+    @Override
+    public void programUniform4i(int program, int location, int v0, int v1, int v2, int v3) {
+        GL.programUniform4i(program, location, v0, v1, v2, v3);
+    }
+
+    @Override
+    public void programUniform1ui(int program, int location, int v0) {
+        GL.programUniform1ui(program, location, v0);
+    }
+
+    @Override
+    public void programUniform2ui(int program, int location, int v0, int v1) {
+        GL.programUniform2ui(program, location, v0, v1);
+    }
+
+    @Override
+    public void programUniform3ui(int program, int location, int v0, int v1, int v2) {
+        GL.programUniform3ui(program, location, v0, v1, v2);
+    }
+
+    @Override
+    public void programUniform4ui(int program, int location, int v0, int v1, int v2, int v3) {
+        GL.programUniform4ui(program, location, v0, v1, v2, v3);
+    }
+
+    @Override
+    public void programUniform1d(int program, int location, double v0) {
+        GL.programUniform1d(program, location, v0);
+    }
+
+    @Override
+    public void programUniform2d(int program, int location, double v0, double v1) {
+        GL.programUniform2d(program, location, v0, v1);
+    }
+
+    @Override
+    public void programUniform3d(int program, int location, double v0, double v1, double v2) {
+        GL.programUniform3d(program, location, v0, v1, v2);
+    }
+
+    @Override
+    public void programUniform4d(int program, int location, double v0, double v1, double v2, double v3) {
+        GL.programUniform4d(program, location, v0, v1, v2, v3);
+    }
+
+    @Override
+    public void programUniform1fv(int program, int location, int count, Addressable value) {
+        GL.programUniform1fv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform2fv(int program, int location, int count, Addressable value) {
+        GL.programUniform2fv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform3fv(int program, int location, int count, Addressable value) {
+        GL.programUniform3fv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform4fv(int program, int location, int count, Addressable value) {
+        GL.programUniform4fv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform1iv(int program, int location, int count, Addressable value) {
+        GL.programUniform1iv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform2iv(int program, int location, int count, Addressable value) {
+        GL.programUniform2iv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform3iv(int program, int location, int count, Addressable value) {
+        GL.programUniform3iv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform4iv(int program, int location, int count, Addressable value) {
+        GL.programUniform4iv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform1uiv(int program, int location, int count, Addressable value) {
+        GL.programUniform1uiv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform2uiv(int program, int location, int count, Addressable value) {
+        GL.programUniform2uiv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform3uiv(int program, int location, int count, Addressable value) {
+        GL.programUniform3uiv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform4uiv(int program, int location, int count, Addressable value) {
+        GL.programUniform4uiv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform1dv(int program, int location, int count, Addressable value) {
+        GL.programUniform1dv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform2dv(int program, int location, int count, Addressable value) {
+        GL.programUniform2dv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform3dv(int program, int location, int count, Addressable value) {
+        GL.programUniform3dv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniform4dv(int program, int location, int count, Addressable value) {
+        GL.programUniform4dv(program, location, count, value);
+    }
+
+    @Override
+    public void programUniformMatrix2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix2x3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2x3fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3x2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3x2fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix2x4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2x4fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4x2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4x2fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3x4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3x4fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4x3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4x3fv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix2x3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2x3dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3x2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3x2dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix2x4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix2x4dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4x2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4x2dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix3x4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix3x4dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public void programUniformMatrix4x3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        GL.programUniformMatrix4x3dv(program, location, count, transpose, value);
+    }
+
+    @Override
+    public int createShader(int type) {
+        return GL.createShader(type);
+    }
+
+    @Override
+    public void deleteShader(int shader) {
+        GL.deleteShader(shader);
+    }
+
+    @Override
+    public void shaderSource(int shader, int count, Addressable string, Addressable length) {
+        GL.shaderSource(shader, count, string, length);
+    }
+
+    @Override
+    public void shaderSource(int shader, String[] string) {
+        GL.shaderSource(shader, string);
+    }
+
+    @Override
+    public void shaderSource(int shader, String string) {
+        GL.shaderSource(shader, string);
+    }
+
+    @Override
+    public void compileShader(int shader) {
+        GL.compileShader(shader);
+    }
+
+    @Override
+    public void getShaderiv(int shader, int pname, Addressable params) {
+        GL.getShaderiv(shader, pname, params);
+    }
+
+    @Override
+    public void getShaderiv(int shader, int pname, int[] params) {
+        GL.getShaderiv(shader, pname, params);
+    }
+
+    @Override
+    public int getShaderi(int shader, int pname) {
+        return GL.getShaderi(shader, pname);
+    }
+
+    @Override
+    public void getShaderInfoLog(int shader, int bufSize, Addressable length, Addressable infoLog) {
+        GL.getShaderInfoLog(shader, bufSize, length, infoLog);
+    }
+
+    @Override
+    public void getShaderInfoLog(int shader, int bufSize, int @Nullable [] length, String[] infoLog) {
+        GL.getShaderInfoLog(shader, bufSize, length, infoLog);
+    }
+
+    @Override
+    public String getShaderInfoLog(int shader, int bufSize, int @Nullable [] length) {
+        return GL.getShaderInfoLog(shader, bufSize, length);
+    }
+
+    @Override
+    public String getShaderInfoLog(int shader) {
+        return GL.getShaderInfoLog(shader);
+    }
+
+    @Override
+    public String getString(int name) {
+        return GL.getString(name);
+    }
+
+    @Override
+    public String getStringi(int name, int index) {
+        return GL.getStringi(name, index);
+    }
+
+    @Override
+    public int getInteger(int pname) {
+        return GL.getInteger(pname);
+    }
+
+    @Override
+    public int genBuffer() {
+        return GL.genBuffer();
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        GL.deleteBuffer(buffer);
+    }
+
+    @Override
+    public void bindBuffer(int target, int buffer) {
+        GL.bindBuffer(target, buffer);
+    }
+
+    @Override
+    public void bufferData(int target, long size, Addressable data, int usage) {
+        GL.bufferData(target, size, data, usage);
+    }
+
+    @Override
+    public void bufferSubData(int target, long offset, long size, Addressable data) {
+        GL.bufferSubData(target, offset, size, data);
+    }
+
+    @Override
+    public void bindBufferBase(int target, int index, int buffer) {
+        GL.bindBufferBase(target, index, buffer);
+    }
+
+    @Override
+    public void bindVertexArray(int array) {
+        GL.bindVertexArray(array);
+    }
+
+    @Override
+    public void deleteVertexArray(int array) {
+        GL.deleteVertexArray(array);
+    }
+
+    @Override
+    public void activeTexture(int texture) {
+        GL.activeTexture(texture);
+    }
+
+    @Override
+    public void bindTexture(int target, int texture) {
+        GL.bindTexture(target, texture);
+    }
+
+    @Override
+    public void deleteTexture(int texture) {
+        GL.deleteTexture(texture);
+    }
+
+    @Override
+    public void enable(int cap) {
+        GL.enable(cap);
+    }
+
+    @Override
+    public void disable(int cap) {
+        GL.disable(cap);
+    }
+
+    @Override
+    public void blendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha) {
+        GL.blendFuncSeparate(sfactorRGB, dfactorRGB, sfactorAlpha, dfactorAlpha);
+    }
+
+    @Override
+    public void blendEquationSeparate(int modeRGB, int modeAlpha) {
+        GL.blendEquationSeparate(modeRGB, modeAlpha);
+    }
+
+    @Override
+    public void depthFunc(int func) {
+        GL.depthFunc(func);
+    }
+
+    @Override
+    public void depthMask(boolean flag) {
+        GL.depthMask(flag);
+    }
+
+    @Override
+    public void cullFace(int mode) {
+        GL.cullFace(mode);
+    }
+
+    @Override
+    public void frontFace(int mode) {
+        GL.frontFace(mode);
+    }
+
+    @Override
+    public int genQuery() {
+        return GL.genQuery();
+    }
+
+    @Override
+    public void deleteQuery(int id) {
+        GL.deleteQuery(id);
+    }
+
+    @Override
+    public void beginQuery(int target, int id) {
+        GL.beginQuery(target, id);
+    }
+
+    @Override
+    public void endQuery(int target) {
+        GL.endQuery(target);
+    }
+
+    @Override
+    public void queryCounter(int id, int target) {
+        GL.queryCounter(id, target);
+    }
+
+    @Override
+    public int getQueryObjecti(int id, int pname) {
+        return GL.getQueryObjecti(id, pname);
+    }
+
+    @Override
+    public long getQueryObjecti64(int id, int pname) {
+        return GL.getQueryObjecti64(id, pname);
+    }
+
+    @Override
+    public void bufferStorage(int target, long size, Addressable data, int flags) {
+        GL.bufferStorage(target, size, data, flags);
+    }
+
+    @Override
+    public MemoryAddress mapBufferRange(int target, long offset, long length, int access) {
+        return GL.mapBufferRange(target, offset, length, access);
+    }
+
+    @Override
+    public boolean unmapBuffer(int target) {
+        return GL.unmapBuffer(target);
+    }
+
+    @Override
+    public MemoryAddress fenceSync(int condition, int flags) {
+        return GL.fenceSync(condition, flags);
+    }
+
+    @Override
+    public int clientWaitSync(MemoryAddress sync, int flags, long timeout) {
+        return GL.clientWaitSync(sync, flags, timeout);
+    }
+
+    @Override
+    public void deleteSync(MemoryAddress sync) {
+        GL.deleteSync(sync);
+    }
+
+    @Override
+    public int genVertexArray() {
+        return GL.genVertexArray();
+    }
+
+    @Override
+    public void enableVertexAttribArray(int index) {
+        GL.enableVertexAttribArray(index);
+    }
+
+    @Override
+    public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, Addressable pointer) {
+        GL.vertexAttribPointer(index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void drawElements(int mode, int count, int type, Addressable indices) {
+        GL.drawElements(mode, count, type, indices);
+    }
+
+    @Override
+    public void bindBufferRange(int target, int index, int buffer, long offset, long size) {
+        GL.bindBufferRange(target, index, buffer, offset, size);
+    }
+
+    @Override
+    public void multiDrawElementsIndirect(int mode, int type, Addressable indirect, int drawcount, int stride) {
+        GL.multiDrawElementsIndirect(mode, type, indirect, drawcount, stride);
+    }
+
+    @Override
+    public void multiDrawElementsBaseVertex(int mode, Addressable count, int type, Addressable indices, int drawcount, Addressable basevertex) {
+        GL.multiDrawElementsBaseVertex(mode, count, type, indices, drawcount, basevertex);
+    }
+
+    @Override
+    public void drawElementsInstancedBaseVertexBaseInstance(int mode, int count, int type, Addressable indices, int instancecount, int basevertex, int baseinstance) {
+        GL.drawElementsInstancedBaseVertexBaseInstance(mode, count, type, indices, instancecount, basevertex, baseinstance);
+    }
+
+    @Override
+    public int getAttribLocation(int program, String name) {
+        return GL.getAttribLocation(program, name);
+    }
+
+    @Override
+    public void getActiveAttrib(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        GL.getActiveAttrib(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public String getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize) {
+        return GL.getActiveUniformBlockName(program, uniformBlockIndex, bufSize);
+    }
+
+    @Override
+    public int getProgramInterfacei(int program, int programInterface, int pname) {
+        return GL.getProgramInterfacei(program, programInterface, pname);
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, int[] props, int @Nullable [] length, int[] params) {
+        GL.getProgramResourceiv(program, programInterface, index, props, length, params);
+    }
+
+    @Override
+    public String getProgramResourceName(int program, int programInterface, int index, int bufSize, int @Nullable [] length) {
+        return GL.getProgramResourceName(program, programInterface, index, bufSize, length);
+    }
+
+    @Override
+    public void uniform1f(int location, float v0) {
+        GL.uniform1f(location, v0);
+    }
+
+    @Override
+    public void uniform2f(int location, float v0, float v1) {
+        GL.uniform2f(location, v0, v1);
+    }
+
+    @Override
+    public void uniform3f(int location, float v0, float v1, float v2) {
+        GL.uniform3f(location, v0, v1, v2);
+    }
+
+    @Override
+    public void uniform4f(int location, float v0, float v1, float v2, float v3) {
+        GL.uniform4f(location, v0, v1, v2, v3);
+    }
+
+    @Override
+    public void uniform1i(int location, int v0) {
+        GL.uniform1i(location, v0);
+    }
+
+    @Override
+    public void uniform1ui(int location, int v0) {
+        GL.uniform1ui(location, v0);
+    }
+
+    @Override
+    public void uniformMatrix3fv(int location, int count, boolean transpose, Addressable value) {
+        GL.uniformMatrix3fv(location, count, transpose, value);
+    }
+
+    @Override
+    public void uniformMatrix4fv(int location, int count, boolean transpose, Addressable value) {
+        GL.uniformMatrix4fv(location, count, transpose, value);
+    }
+
+    @Override
+    public int genTexture() {
+        return GL.genTexture();
+    }
+
+    @Override
+    public void texImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Addressable pixels) {
+        GL.texImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+    }
+
+    @Override
+    public void texSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Addressable pixels) {
+        GL.texSubImage2D(target, level, xoffset, yoffset, width, height, format, type, pixels);
+    }
+
+    @Override
+    public void texParameteri(int target, int pname, int param) {
+        GL.texParameteri(target, pname, param);
+    }
+
+    @Override
+    public void pixelStorei(int pname, int param) {
+        GL.pixelStorei(pname, param);
+    }
+
+    @Override
+    public void generateMipmap(int target) {
+        GL.generateMipmap(target);
+    }
+
+    @Override
+    public void texStorage2D(int target, int levels, int internalformat, int width, int height) {
+        GL.texStorage2D(target, levels, internalformat, width, height);
+    }
+
+    @Override
+    public void texStorage3D(int target, int levels, int internalformat, int width, int height, int depth) {
+        GL.texStorage3D(target, levels, internalformat, width, height, depth);
+    }
+
+    @Override
+    public void texImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, Addressable pixels) {
+        GL.texImage3D(target, level, internalformat, width, height, depth, border, format, type, pixels);
+    }
+
+    @Override
+    public void texSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth, int format, int type, Addressable pixels) {
+        GL.texSubImage3D(target, level, xoffset, yoffset, zoffset, width, height, depth, format, type, pixels);
+    }
+
+    @Override
+    public int genSampler() {
+        return GL.genSampler();
+    }
+
+    @Override
+    public void deleteSampler(int sampler) {
+        GL.deleteSampler(sampler);
+    }
+
+    @Override
+    public void bindSampler(int unit, int sampler) {
+        GL.bindSampler(unit, sampler);
+    }
+
+    @Override
+    public void samplerParameteri(int sampler, int pname, int param) {
+        GL.samplerParameteri(sampler, pname, param);
+    }
+
+    @Override
+    public void samplerParameterf(int sampler, int pname, float param) {
+        GL.samplerParameterf(sampler, pname, param);
+    }
+
+    @Override
+    public void vertexAttribIPointer(int index, int size, int type, int stride, Addressable pointer) {
+        GL.vertexAttribIPointer(index, size, type, stride, pointer);
+    }
+
+    @Override
+    public void vertexAttribDivisor(int index, int divisor) {
+        GL.vertexAttribDivisor(index, divisor);
+    }
+
+    @Override
+    public void vertexAttribFormat(int attribindex, int size, int type, boolean normalized, int relativeoffset) {
+        GL.vertexAttribFormat(attribindex, size, type, normalized, relativeoffset);
+    }
+
+    @Override
+    public void vertexAttribIFormat(int attribindex, int size, int type, int relativeoffset) {
+        GL.vertexAttribIFormat(attribindex, size, type, relativeoffset);
+    }
+
+    @Override
+    public void vertexAttribBinding(int attribindex, int bindingindex) {
+        GL.vertexAttribBinding(attribindex, bindingindex);
+    }
+
+    @Override
+    public void bindVertexBuffer(int bindingindex, int buffer, long offset, int stride) {
+        GL.bindVertexBuffer(bindingindex, buffer, offset, stride);
+    }
+
+    @Override
+    public void vertexBindingDivisor(int bindingindex, int divisor) {
+        GL.vertexBindingDivisor(bindingindex, divisor);
+    }
+
+    @Override
+    public void drawArrays(int mode, int first, int count) {
+        GL.drawArrays(mode, first, count);
+    }
+
+    @Override
+    public void drawArraysInstanced(int mode, int first, int count, int instancecount) {
+        GL.drawArraysInstanced(mode, first, count, instancecount);
+    }
+
+    @Override
+    public void drawElementsInstanced(int mode, int count, int type, Addressable indices, int instancecount) {
+        GL.drawElementsInstanced(mode, count, type, indices, instancecount);
+    }
+
+    @Override
+    public void drawElementsBaseVertex(int mode, int count, int type, Addressable indices, int basevertex) {
+        GL.drawElementsBaseVertex(mode, count, type, indices, basevertex);
+    }
+
+    @Override
+    public void drawElementsInstancedBaseVertex(int mode, int count, int type, Addressable indices, int instancecount, int basevertex) {
+        GL.drawElementsInstancedBaseVertex(mode, count, type, indices, instancecount, basevertex);
+    }
+
+    @Override
+    public void getActiveAttrib(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        GL.getActiveAttrib(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public void getActiveUniform(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        GL.getActiveUniform(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public void getActiveUniform(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        GL.getActiveUniform(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public void getAttachedShaders(int program, int maxCount, Addressable count, Addressable shaders) {
+        GL.getAttachedShaders(program, maxCount, count, shaders);
+    }
+
+    @Override
+    public void getAttachedShaders(int program, int @Nullable [] count, int[] shaders) {
+        GL.getAttachedShaders(program, count, shaders);
+    }
+
+    @Override
+    public int getAttribLocation(int program, Addressable name) {
+        return GL.getAttribLocation(program, name);
+    }
+
+    @Override
+    public void getUniformfv(int program, int location, Addressable params) {
+        GL.getUniformfv(program, location, params);
+    }
+
+    @Override
+    public void getUniformfv(int program, int location, float[] params) {
+        GL.getUniformfv(program, location, params);
+    }
+
+    @Override
+    public float getUniformf(int program, int location) {
+        return GL.getUniformf(program, location);
+    }
+
+    @Override
+    public void getUniformiv(int program, int location, Addressable params) {
+        GL.getUniformiv(program, location, params);
+    }
+
+    @Override
+    public void getUniformiv(int program, int location, int[] params) {
+        GL.getUniformiv(program, location, params);
+    }
+
+    @Override
+    public int getUniformi(int program, int location) {
+        return GL.getUniformi(program, location);
+    }
+
+    @Override
+    public boolean isProgram(int program) {
+        return GL.isProgram(program);
+    }
+
+    @Override
+    public void bindFragDataLocation(int program, int color, Addressable name) {
+        GL.bindFragDataLocation(program, color, name);
+    }
+
+    @Override
+    public void bindFragDataLocation(int program, int color, String name) {
+        GL.bindFragDataLocation(program, color, name);
+    }
+
+    @Override
+    public int getFragDataLocation(int program, Addressable name) {
+        return GL.getFragDataLocation(program, name);
+    }
+
+    @Override
+    public int getFragDataLocation(int program, String name) {
+        return GL.getFragDataLocation(program, name);
+    }
+
+    @Override
+    public void getTransformFeedbackVarying(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        GL.getTransformFeedbackVarying(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public void getTransformFeedbackVarying(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        GL.getTransformFeedbackVarying(program, index, bufSize, length, size, type, name);
+    }
+
+    @Override
+    public void getUniformuiv(int program, int location, Addressable params) {
+        GL.getUniformuiv(program, location, params);
+    }
+
+    @Override
+    public void getUniformuiv(int program, int location, int[] params) {
+        GL.getUniformuiv(program, location, params);
+    }
+
+    @Override
+    public int getUniformui(int program, int location) {
+        return GL.getUniformui(program, location);
+    }
+
+    @Override
+    public void transformFeedbackVaryings(int program, int count, Addressable varyings, int bufferMode) {
+        GL.transformFeedbackVaryings(program, count, varyings, bufferMode);
+    }
+
+    @Override
+    public void transformFeedbackVaryings(int program, String[] varyings, int bufferMode) {
+        GL.transformFeedbackVaryings(program, varyings, bufferMode);
+    }
+
+    @Override
+    public void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, Addressable length, Addressable uniformBlockName) {
+        GL.getActiveUniformBlockName(program, uniformBlockIndex, bufSize, length, uniformBlockName);
+    }
+
+    @Override
+    public void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, int @Nullable [] length, String[] uniformBlockName) {
+        GL.getActiveUniformBlockName(program, uniformBlockIndex, bufSize, length, uniformBlockName);
+    }
+
+    @Override
+    public int getActiveUniformi(int program, int uniformIndex, int pname) {
+        return GL.getActiveUniformi(program, uniformIndex, pname);
+    }
+
+    @Override
+    public void getUniformIndices(int program, int uniformCount, Addressable uniformNames, Addressable uniformIndices) {
+        GL.getUniformIndices(program, uniformCount, uniformNames, uniformIndices);
+    }
+
+    @Override
+    public void getUniformIndices(int program, String[] uniformNames, int[] uniformIndices) {
+        GL.getUniformIndices(program, uniformNames, uniformIndices);
+    }
+
+    @Override
+    public int getUniformIndex(int program, String uniformName) {
+        return GL.getUniformIndex(program, uniformName);
+    }
+
+    @Override
+    public void bindFragDataLocationIndexed(int program, int colorNumber, int index, Addressable name) {
+        GL.bindFragDataLocationIndexed(program, colorNumber, index, name);
+    }
+
+    @Override
+    public void bindFragDataLocationIndexed(int program, int colorNumber, int index, String name) {
+        GL.bindFragDataLocationIndexed(program, colorNumber, index, name);
+    }
+
+    @Override
+    public int getFragDataIndex(int program, Addressable name) {
+        return GL.getFragDataIndex(program, name);
+    }
+
+    @Override
+    public int getFragDataIndex(int program, String name) {
+        return GL.getFragDataIndex(program, name);
+    }
+
+    @Override
+    public void getActiveSubroutineName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name) {
+        GL.getActiveSubroutineName(program, shaderType, index, bufSize, length, name);
+    }
+
+    @Override
+    public String getActiveSubroutineName(int program, int shaderType, int index, int bufSize) {
+        return GL.getActiveSubroutineName(program, shaderType, index, bufSize);
+    }
+
+    @Override
+    public void getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name) {
+        GL.getActiveSubroutineUniformName(program, shaderType, index, bufSize, length, name);
+    }
+
+    @Override
+    public String getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize) {
+        return GL.getActiveSubroutineUniformName(program, shaderType, index, bufSize);
+    }
+
+    @Override
+    public void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, Addressable values) {
+        GL.getActiveSubroutineUniformiv(program, shaderType, index, pname, values);
+    }
+
+    @Override
+    public void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, int[] values) {
+        GL.getActiveSubroutineUniformiv(program, shaderType, index, pname, values);
+    }
+
+    @Override
+    public int getActiveSubroutineUniformi(int program, int shaderType, int index, int pname) {
+        return GL.getActiveSubroutineUniformi(program, shaderType, index, pname);
+    }
+
+    @Override
+    public void getProgramStageiv(int program, int shaderType, int pname, Addressable values) {
+        GL.getProgramStageiv(program, shaderType, pname, values);
+    }
+
+    @Override
+    public int getProgramStagei(int program, int shaderType, int pname) {
+        return GL.getProgramStagei(program, shaderType, pname);
+    }
+
+    @Override
+    public int getSubroutineIndex(int program, int shaderType, Addressable name) {
+        return GL.getSubroutineIndex(program, shaderType, name);
+    }
+
+    @Override
+    public int getSubroutineIndex(int program, int shaderType, String name) {
+        return GL.getSubroutineIndex(program, shaderType, name);
+    }
+
+    @Override
+    public int getSubroutineUniformLocation(int program, int shaderType, Addressable name) {
+        return GL.getSubroutineUniformLocation(program, shaderType, name);
+    }
+
+    @Override
+    public int getSubroutineUniformLocation(int program, int shaderType, String name) {
+        return GL.getSubroutineUniformLocation(program, shaderType, name);
+    }
+
+    @Override
+    public void getUniformdv(int program, int location, Addressable params) {
+        GL.getUniformdv(program, location, params);
+    }
+
+    @Override
+    public void getUniformdv(int program, int location, double[] params) {
+        GL.getUniformdv(program, location, params);
+    }
+
+    @Override
+    public double getUniformd(int program, int location) {
+        return GL.getUniformd(program, location);
+    }
+
+    @Override
+    public void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, Addressable params) {
+        GL.getActiveAtomicCounterBufferiv(program, bufferIndex, pname, params);
+    }
+
+    @Override
+    public void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, int[] params) {
+        GL.getActiveAtomicCounterBufferiv(program, bufferIndex, pname, params);
+    }
+
+    @Override
+    public int getActiveAtomicCounterBufferi(int program, int bufferIndex, int pname) {
+        return GL.getActiveAtomicCounterBufferi(program, bufferIndex, pname);
+    }
+
+    @Override
+    public void getProgramInterfaceiv(int program, int programInterface, int pname, Addressable params) {
+        GL.getProgramInterfaceiv(program, programInterface, pname, params);
+    }
+
+    @Override
+    public int getProgramResourceIndex(int program, int programInterface, Addressable name) {
+        return GL.getProgramResourceIndex(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceIndex(int program, int programInterface, String name) {
+        return GL.getProgramResourceIndex(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceLocation(int program, int programInterface, Addressable name) {
+        return GL.getProgramResourceLocation(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceLocation(int program, int programInterface, String name) {
+        return GL.getProgramResourceLocation(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceLocationIndex(int program, int programInterface, Addressable name) {
+        return GL.getProgramResourceLocationIndex(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceLocationIndex(int program, int programInterface, String name) {
+        return GL.getProgramResourceLocationIndex(program, programInterface, name);
+    }
+
+    @Override
+    public void getProgramResourceName(int program, int programInterface, int index, int bufSize, Addressable length, Addressable name) {
+        GL.getProgramResourceName(program, programInterface, index, bufSize, length, name);
+    }
+
+    @Override
+    public void getProgramResourceName(int program, int programInterface, int index, Addressable length, MemorySegment name) {
+        GL.getProgramResourceName(program, programInterface, index, length, name);
+    }
+
+    @Override
+    public String getProgramResourceName(int program, int programInterface, int index, int @Nullable [] length) {
+        return GL.getProgramResourceName(program, programInterface, index, length);
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, int propCount, Addressable props, int count, Addressable length, Addressable params) {
+        GL.getProgramResourceiv(program, programInterface, index, propCount, props, count, length, params);
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, MemorySegment props, Addressable length, MemorySegment params) {
+        GL.getProgramResourceiv(program, programInterface, index, props, length, params);
+    }
+
+    @Override
+    public int getProgramResourceiv(int program, int programInterface, int index, int[] props) {
+        return GL.getProgramResourceiv(program, programInterface, index, props);
+    }
+
+    @Override
+    public void shaderStorageBlockBinding(int program, int storageBlockIndex, int storageBlockBinding) {
+        GL.shaderStorageBlockBinding(program, storageBlockIndex, storageBlockBinding);
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, int bufSize, Addressable params) {
+        GL.getnUniformdv(program, location, bufSize, params);
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, MemorySegment params) {
+        GL.getnUniformdv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, double[] params) {
+        GL.getnUniformdv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, int bufSize, Addressable params) {
+        GL.getnUniformfv(program, location, bufSize, params);
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, MemorySegment params) {
+        GL.getnUniformfv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, float[] params) {
+        GL.getnUniformfv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, int bufSize, Addressable params) {
+        GL.getnUniformiv(program, location, bufSize, params);
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, MemorySegment params) {
+        GL.getnUniformiv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, int[] params) {
+        GL.getnUniformiv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, int bufSize, Addressable params) {
+        GL.getnUniformuiv(program, location, bufSize, params);
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, MemorySegment params) {
+        GL.getnUniformuiv(program, location, params);
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, int[] params) {
+        GL.getnUniformuiv(program, location, params);
+    }
+
+    @Override
+    public void getShaderSource(int shader, int bufSize, Addressable length, Addressable source) {
+        GL.getShaderSource(shader, bufSize, length, source);
+    }
+
+    @Override
+    public void getShaderSource(int shader, int bufSize, int @Nullable [] length, String[] source) {
+        GL.getShaderSource(shader, bufSize, length, source);
+    }
+
+    @Override
+    public String getShaderSource(int shader, int bufSize, int @Nullable [] length) {
+        return GL.getShaderSource(shader, bufSize, length);
+    }
+
+    @Override
+    public String getShaderSource(int shader) {
+        return GL.getShaderSource(shader);
+    }
+
+    @Override
+    public boolean isShader(int shader) {
+        return GL.isShader(shader);
+    }
+
+    @Override
+    public void specializeShader(int shader, Addressable pEntryPoint, int numSpecializationConstants, Addressable pConstantIndex, Addressable pConstantValue) {
+        GL.specializeShader(shader, pEntryPoint, numSpecializationConstants, pConstantIndex, pConstantValue);
+    }
+
+    @Override
+    public void specializeShader(int shader, @Nullable String pEntryPoint, int @Nullable [] pConstantIndex, int @Nullable [] pConstantValue) {
+        GL.specializeShader(shader, pEntryPoint, pConstantIndex, pConstantValue);
+    }
+
+    @Override
+    public void specializeShader(int shader, @Nullable String pEntryPoint) {
+        GL.specializeShader(shader, pEntryPoint);
+    }
+
+    @Override
+    public MemoryAddress createWindow(int width, int height, String title, MemoryAddress monitor, MemoryAddress share) {
+        return GLFW.createWindow(width, height, title, monitor, share);
+    }
+
+    @Override
+    public void destroyWindow(MemoryAddress window) {
+        Callbacks.free(window);
+        GLFW.destroyWindow(window);
+    }
+
+    @Override
+    public boolean windowShouldClose(MemoryAddress window) {
+        return GLFW.windowShouldClose(window);
+    }
+
+    @Override
+    public void setWindowShouldClose(MemoryAddress window, boolean value) {
+        GLFW.setWindowShouldClose(window, value);
+    }
+
+    @Override
+    public void makeContextCurrent(MemoryAddress window) {
+        GLFW.makeContextCurrent(window);
+    }
+
+    @Override
+    public void swapBuffers(MemoryAddress window) {
+        GLFW.swapBuffers(window);
+    }
+
+    @Override
+    public void swapInterval(int interval) {
+        GLFW.swapInterval(interval);
+    }
+
+    @Override
+    public void pollEvents() {
+        GLFW.pollEvents();
+    }
+
+    @Override
+    public double getTime() {
+        return GLFW.getTime();
+    }
+
+    @Override
+    public ValueInt2 getWindowPos(MemoryAddress window) {
+        return GLFW.getWindowPos(window);
+    }
+
+    @Override
+    public ValueInt2 getWindowSize(MemoryAddress window) {
+        return GLFW.getWindowSize(window);
+    }
+
+    @Override
+    public void setWindowSize(MemoryAddress window, int width, int height) {
+        GLFW.setWindowSize(window, width, height);
+    }
+
+    @Override
+    public ValueInt2 getFramebufferSize(MemoryAddress window) {
+        return GLFW.getFramebufferSize(window);
+    }
+
+    @Override
+    public ValueInt4 getWindowFrameSize(MemoryAddress window) {
+        return GLFW.getWindowFrameSize(window);
+    }
+
+    @Override
+    public ValueFloat2 getWindowContentScale(MemoryAddress window) {
+        return GLFW.getWindowContentScale(window);
+    }
+
+    @Override
+    public ValueDouble2 getCursorPos(MemoryAddress window) {
+        return GLFW.getCursorPos(window);
+    }
+
+    @Override
+    public void ngetWindowPos(MemoryAddress window, Addressable xpos, Addressable ypos) {
+        GLFW.ngetWindowPos(window, xpos, ypos);
+    }
+
+    @Override
+    public void ngetWindowSize(MemoryAddress window, Addressable width, Addressable height) {
+        GLFW.ngetWindowSize(window, width, height);
+    }
+
+    @Override
+    public void ngetFramebufferSize(MemoryAddress window, Addressable width, Addressable height) {
+        GLFW.ngetFramebufferSize(window, width, height);
+    }
+
+    @Override
+    public void ngetWindowFrameSize(MemoryAddress window, Addressable left, Addressable top, Addressable right, Addressable bottom) {
+        GLFW.ngetWindowFrameSize(window, left, top, right, bottom);
+    }
+
+    @Override
+    public void ngetWindowContentScale(MemoryAddress window, Addressable xscale, Addressable yscale) {
+        GLFW.ngetWindowContentScale(window, xscale, yscale);
+    }
+
+    @Override
+    public void ngetCursorPos(MemoryAddress window, Addressable xpos, Addressable ypos) {
+        GLFW.ngetCursorPos(window, xpos, ypos);
+    }
+
+    @Override
+    public MemoryAddress setWindowSizeCallback(MemoryAddress window, @Nullable IGLFWWindowSizeFun callback) {
+        return GLFW.setWindowSizeCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setFramebufferSizeCallback(MemoryAddress window, @Nullable IGLFWFramebufferSizeFun callback) {
+        return GLFW.setFramebufferSizeCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setCursorPosCallback(MemoryAddress window, @Nullable IGLFWCursorPosFun callback) {
+        return GLFW.setCursorPosCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setKeyCallback(MemoryAddress window, @Nullable IGLFWKeyFun callback) {
+        return GLFW.setKeyCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setCharCallback(MemoryAddress window, @Nullable IGLFWCharFun callback) {
+        return GLFW.setCharCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setMouseButtonCallback(MemoryAddress window, @Nullable IGLFWMouseButtonFun callback) {
+        return GLFW.setMouseButtonCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setCursorEnterCallback(MemoryAddress window, @Nullable IGLFWCursorEnterFun callback) {
+        return GLFW.setCursorEnterCallback(window, callback);
+    }
+
+    @Override
+    public MemoryAddress setScrollCallback(MemoryAddress window, @Nullable IGLFWScrollFun callback) {
+        return GLFW.setScrollCallback(window, callback);
+    }
+}
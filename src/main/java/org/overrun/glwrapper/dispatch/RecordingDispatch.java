@@ -0,0 +1,2371 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.dispatch;
+
+import org.jetbrains.annotations.Nullable;
+import org.overrun.glib.glfw.*;
+import org.overrun.glib.util.ValueDouble2;
+import org.overrun.glib.util.ValueFloat2;
+import org.overrun.glib.util.ValueInt2;
+import org.overrun.glib.util.ValueInt4;
+import org.overrun.glwrapper.AsyncProgramCompiler;
+
+import java.lang.foreign.Addressable;
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * A headless dispatch that records the calls to a {@link CommandLog} without calling OpenGL or GLFW.
+ * <p>
+ * Queries are answered from an in-memory model:
+ * <ul>
+ *     <li>object names are allocated from counters;</li>
+ *     <li>shaders always compile and programs always link, and the completion status is always {@code GL_TRUE};</li>
+ *     <li>the active uniforms of a program are parsed from the {@code uniform} declarations
+ *     in the sources of the attached shaders; locations are assigned in declaration order,
+ *     and uniform blocks are not reported; shader storage blocks are parsed from the {@code buffer}
+ *     declarations and reported by the program interface queries;</li>
+ *     <li>program binaries are empty, so {@code GL_PROGRAM_BINARY_LENGTH} is {@code 0};</li>
+ *     <li>the context reports OpenGL 4.6 without extensions, and 16 texture image units;</li>
+ *     <li>buffers are backed by native memory, so mapped ranges can be written and read back;</li>
+ *     <li>timer queries read a simulated GPU clock that only moves with {@link #advanceGpuTime};
+ *     query results become available and fences are signaled after
+ *     {@link #setGpuLatency(int) a number of} buffer swaps;</li>
+ *     <li>windows keep their size, cursor position, close flag and input callbacks;
+ *     {@link #setWindowSize}, {@link #moveCursor}, {@link #key} and the other simulation methods
+ *     invoke the callbacks, and other window queries return fixed values.</li>
+ * </ul>
+ * Sources passed by pointer are read like the driver reads them, with the given lengths or null-terminated.
+ * Pointer out-parameters are only written if they are {@link MemorySegment segments}.
+ * <p>
+ * This dispatch is not thread-safe.
+ *
+ * @author squid233
+ * @see Dispatch#set(GLDispatch, GLFWDispatch)
+ * @since 0.1.0
+ */
+public final class RecordingDispatch implements GLDispatch, GLFWDispatch {
+    private static final int COMPLETION_STATUS = AsyncProgramCompiler.GL_COMPLETION_STATUS_KHR;
+    private static final Pattern UNIFORM = Pattern.compile(
+        "\\buniform\\s+(?:(?:lowp|mediump|highp)\\s+)?(\\w+)\\s+(\\w+)\\s*(?:\\[\\s*(\\d+)\\s*])?\\s*;");
+    private static final Pattern STORAGE_BLOCK = Pattern.compile("\\bbuffer\\s+(\\w+)\\s*\\{");
+    private static final int[] BUFFER_TARGETS = {
+        GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER, GL_UNIFORM_BUFFER, GL_SHADER_STORAGE_BUFFER,
+        GL_DRAW_INDIRECT_BUFFER, GL_DISPATCH_INDIRECT_BUFFER, GL_PIXEL_PACK_BUFFER, GL_PIXEL_UNPACK_BUFFER,
+        GL_COPY_READ_BUFFER, GL_COPY_WRITE_BUFFER, GL_TEXTURE_BUFFER, GL_QUERY_BUFFER,
+        GL_ATOMIC_COUNTER_BUFFER, GL_TRANSFORM_FEEDBACK_BUFFER
+    };
+    private static final long DELETED_FENCE = Long.MIN_VALUE;
+    private static final Map<String, Integer> TYPES = Map.ofEntries(
+        Map.entry("float", GL_FLOAT), Map.entry("vec2", GL_FLOAT_VEC2), Map.entry("vec3", GL_FLOAT_VEC3), Map.entry("vec4", GL_FLOAT_VEC4),
+        Map.entry("int", GL_INT), Map.entry("ivec2", GL_INT_VEC2), Map.entry("ivec3", GL_INT_VEC3), Map.entry("ivec4", GL_INT_VEC4),
+        Map.entry("uint", GL_UNSIGNED_INT), Map.entry("uvec2", GL_UNSIGNED_INT_VEC2), Map.entry("uvec3", GL_UNSIGNED_INT_VEC3), Map.entry("uvec4", GL_UNSIGNED_INT_VEC4),
+        Map.entry("bool", GL_BOOL), Map.entry("bvec2", GL_BOOL_VEC2), Map.entry("bvec3", GL_BOOL_VEC3), Map.entry("bvec4", GL_BOOL_VEC4),
+        Map.entry("double", GL_DOUBLE), Map.entry("dvec2", GL_DOUBLE_VEC2), Map.entry("dvec3", GL_DOUBLE_VEC3), Map.entry("dvec4", GL_DOUBLE_VEC4),
+        Map.entry("mat2", GL_FLOAT_MAT2), Map.entry("mat3", GL_FLOAT_MAT3), Map.entry("mat4", GL_FLOAT_MAT4),
+        Map.entry("mat2x3", GL_FLOAT_MAT2x3), Map.entry("mat2x4", GL_FLOAT_MAT2x4), Map.entry("mat3x2", GL_FLOAT_MAT3x2),
+        Map.entry("mat3x4", GL_FLOAT_MAT3x4), Map.entry("mat4x2", GL_FLOAT_MAT4x2), Map.entry("mat4x3", GL_FLOAT_MAT4x3),
+        Map.entry("dmat2", GL_DOUBLE_MAT2), Map.entry("dmat3", GL_DOUBLE_MAT3), Map.entry("dmat4", GL_DOUBLE_MAT4),
+        Map.entry("sampler1D", GL_SAMPLER_1D), Map.entry("sampler2D", GL_SAMPLER_2D), Map.entry("sampler3D", GL_SAMPLER_3D),
+        Map.entry("samplerCube", GL_SAMPLER_CUBE), Map.entry("sampler2DShadow", GL_SAMPLER_2D_SHADOW),
+        Map.entry("sampler2DArray", GL_SAMPLER_2D_ARRAY), Map.entry("samplerBuffer", GL_SAMPLER_BUFFER)
+    );
+    private final CommandLog log;
+    private final Map<Integer, ProgramModel> programs = new HashMap<>();
+    private final Map<Integer, ShaderModel> shaders = new HashMap<>();
+    private final Map<Long, WindowModel> windows = new HashMap<>();
+    private final Map<Integer, QueryModel> queries = new HashMap<>();
+    private final Map<Integer, Integer> activeQueries = new HashMap<>();
+    private final int[] boundBuffers = new int[BUFFER_TARGETS.length];
+    private MemorySegment[] buffers = new MemorySegment[16];
+    // the signal frames of the fences firstFence..nextSync, indexed by the name modulo the length
+    private long[] fences = new long[16];
+    private long firstFence = 1;
+    private final long startTime = System.nanoTime();
+    private int nextProgram;
+    private int nextShader;
+    private int nextBuffer;
+    private int nextQuery;
+    private int nextVertexArray;
+    private int nextTexture;
+    private int nextSampler;
+    private long gpuTime;
+    private long frame;
+    private long nextSync;
+    private int gpuLatency = 1;
+    private long nextWindow;
+
+    /**
+     * Creates the dispatch with a new log.
+     */
+    public RecordingDispatch() {
+        this(new CommandLog());
+    }
+
+    /**
+     * Creates the dispatch.
+     *
+     * @param log the log to record to
+     */
+    public RecordingDispatch(CommandLog log) {
+        this.log = log;
+    }
+
+    private record Uniform(String name, int type, int size, int location) {
+    }
+
+    private static final class ShaderModel {
+        private final int type;
+        private String source = "";
+
+        private ShaderModel(int type) {
+            this.type = type;
+        }
+    }
+
+    private static final class ProgramModel {
+        private final List<Integer> shaders = new ArrayList<>(2);
+        private final List<Uniform> uniforms = new ArrayList<>();
+        private final Map<String, Uniform> byName = new HashMap<>();
+        private final List<String> storageBlocks = new ArrayList<>();
+        private int maxNameLength;
+
+        private void link(Map<Integer, ShaderModel> models) {
+            uniforms.clear();
+            byName.clear();
+            storageBlocks.clear();
+            maxNameLength = 0;
+            int location = 0;
+            for (Integer shader : shaders) {
+                final ShaderModel model = models.get(shader);
+                if (model == null) continue;
+                final Matcher matcher = UNIFORM.matcher(model.source);
+                while (matcher.find()) {
+                    final String name = matcher.group(2);
+                    if (byName.containsKey(name)) continue;
+                    final int size = matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 1;
+                    final var uniform = new Uniform(matcher.group(3) != null ? name + "[0]" : name,
+                        TYPES.getOrDefault(matcher.group(1), 0),
+                        size,
+                        location);
+                    uniforms.add(uniform);
+                    byName.put(name, uniform);
+                    maxNameLength = Math.max(maxNameLength, uniform.name().length() + 1);
+                    location += size;
+                }
+                final Matcher blocks = STORAGE_BLOCK.matcher(model.source);
+                while (blocks.find()) {
+                    if (!storageBlocks.contains(blocks.group(1))) {
+                        storageBlocks.add(blocks.group(1));
+                    }
+                }
+            }
+        }
+
+        private int location(String name) {
+            final Uniform uniform = byName.get(name);
+            if (uniform != null) {
+                return uniform.location();
+            }
+            final int bracket = name.lastIndexOf('[');
+            if (bracket > 0 && name.endsWith("]")) {
+                final Uniform array = byName.get(name.substring(0, bracket));
+                if (array != null) {
+                    try {
+                        final int index = Integer.parseInt(name, bracket + 1, name.length() - 1, 10);
+                        if (index >= 0 && index < array.size()) {
+                            return array.location() + index;
+                        }
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class QueryModel {
+        private long begin;
+        private long result;
+        private long readyFrame = Long.MAX_VALUE;
+    }
+
+    private static final class WindowModel {
+        private int width;
+        private int height;
+        private double cursorX;
+        private double cursorY;
+        private boolean shouldClose;
+        private @Nullable IGLFWWindowSizeFun sizeCallback;
+        private @Nullable IGLFWFramebufferSizeFun framebufferSizeCallback;
+        private @Nullable IGLFWCursorPosFun cursorPosCallback;
+        private @Nullable IGLFWKeyFun keyCallback;
+        private @Nullable IGLFWCharFun charCallback;
+        private @Nullable IGLFWMouseButtonFun mouseButtonCallback;
+        private @Nullable IGLFWCursorEnterFun cursorEnterCallback;
+        private @Nullable IGLFWScrollFun scrollCallback;
+
+        private WindowModel(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static void putInt(@Nullable Addressable dst, long index, int value) {
+        if (dst instanceof MemorySegment segment) {
+            segment.setAtIndex(JAVA_INT, index, value);
+        }
+    }
+
+    private static void emptyLog(@Nullable Addressable length, @Nullable Addressable infoLog) {
+        putInt(length, 0, 0);
+        if (infoLog instanceof MemorySegment segment && segment.byteSize() > 0) {
+            segment.set(JAVA_BYTE, 0, (byte) 0);
+        }
+    }
+
+    private int programi(int program, int pname) {
+        final ProgramModel model = programs.get(program);
+        if (model == null) return 0;
+        return switch (pname) {
+            case GL_LINK_STATUS, GL_VALIDATE_STATUS, COMPLETION_STATUS -> GL_TRUE;
+            case GL_ATTACHED_SHADERS -> model.shaders.size();
+            case GL_ACTIVE_UNIFORMS -> model.uniforms.size();
+            case GL_ACTIVE_UNIFORM_MAX_LENGTH -> model.maxNameLength;
+            default -> 0;
+        };
+    }
+
+    private int shaderi(int shader, int pname) {
+        final ShaderModel model = shaders.get(shader);
+        if (model == null) return 0;
+        return switch (pname) {
+            case GL_SHADER_TYPE -> model.type;
+            case GL_COMPILE_STATUS, COMPLETION_STATUS -> GL_TRUE;
+            case GL_SHADER_SOURCE_LENGTH -> model.source.length() + 1;
+            default -> 0;
+        };
+    }
+
+    private int uniformLocation(int program, String name) {
+        final ProgramModel model = programs.get(program);
+        return model != null ? model.location(name) : -1;
+    }
+
+    private @Nullable Uniform activeUniform(int program, int index) {
+        final ProgramModel model = programs.get(program);
+        if (model == null || index < 0 || index >= model.uniforms.size()) return null;
+        return model.uniforms.get(index);
+    }
+
+    private static int targetIndex(int target) {
+        for (int i = 0; i < BUFFER_TARGETS.length; i++) {
+            if (BUFFER_TARGETS[i] == target) return i;
+        }
+        return -1;
+    }
+
+    private int boundBuffer(int target) {
+        final int index = targetIndex(target);
+        return index >= 0 ? boundBuffers[index] : 0;
+    }
+
+    private void bindBufferTarget(int target, int buffer) {
+        final int index = targetIndex(target);
+        if (index >= 0) boundBuffers[index] = buffer;
+    }
+
+    private @Nullable MemorySegment boundStore(int target) {
+        return bufferStore(boundBuffer(target));
+    }
+
+    private void allocateStore(int target, long size, Addressable data) {
+        final int buffer = boundBuffer(target);
+        if (buffer <= 0) return;
+        final MemorySegment store = MemorySegment.allocateNative(Math.max(size, 1L), 16, MemorySession.openImplicit());
+        if (data instanceof MemorySegment segment) {
+            MemorySegment.copy(segment, 0, store, 0, Math.min(size, segment.byteSize()));
+        }
+        if (buffer >= buffers.length) {
+            buffers = Arrays.copyOf(buffers, Math.max(buffers.length * 2, buffer + 1));
+        }
+        buffers[buffer] = store;
+    }
+
+    private long fenceSignalFrame(long sync) {
+        if (sync < firstFence || sync > nextSync) return DELETED_FENCE;
+        return fences[(int) (sync & (fences.length - 1))];
+    }
+
+    private void growFences() {
+        final long[] old = fences;
+        fences = new long[old.length * 2];
+        for (long sync = firstFence; sync <= nextSync; sync++) {
+            fences[(int) (sync & (fences.length - 1))] = old[(int) (sync & (old.length - 1))];
+        }
+    }
+
+    private long queryObject(int id, int pname) {
+        final QueryModel model = queries.get(id);
+        if (model == null) return 0;
+        return switch (pname) {
+            case GL_QUERY_RESULT_AVAILABLE -> frame >= model.readyFrame ? GL_TRUE : GL_FALSE;
+            case GL_QUERY_RESULT -> model.result;
+            default -> 0;
+        };
+    }
+
+    private String activeUniformName(int program, int index) {
+        final Uniform uniform = activeUniform(program, index);
+        return uniform != null ? uniform.name() : "";
+    }
+
+    private int resourceIndex(int program, int programInterface, String name) {
+        final ProgramModel model = programs.get(program);
+        if (model == null) return GL_INVALID_INDEX;
+        final int index = switch (programInterface) {
+            case GL_UNIFORM -> {
+                final Uniform uniform = model.byName.get(name.endsWith("[0]") ? name.substring(0, name.length() - 3) : name);
+                yield uniform != null ? model.uniforms.indexOf(uniform) : -1;
+            }
+            case GL_SHADER_STORAGE_BLOCK -> model.storageBlocks.indexOf(name);
+            default -> -1;
+        };
+        return index >= 0 ? index : GL_INVALID_INDEX;
+    }
+
+    private String resourceName(int program, int programInterface, int index) {
+        if (programInterface == GL_UNIFORM) {
+            return activeUniformName(program, index);
+        }
+        final ProgramModel model = programs.get(program);
+        if (programInterface == GL_SHADER_STORAGE_BLOCK && model != null && index >= 0 && index < model.storageBlocks.size()) {
+            return model.storageBlocks.get(index);
+        }
+        return "";
+    }
+
+    private int resourceProperty(int program, int programInterface, int index, int prop) {
+        if (programInterface == GL_SHADER_STORAGE_BLOCK) {
+            return prop == GL_NAME_LENGTH ? resourceName(program, programInterface, index).length() + 1 : 0;
+        }
+        final Uniform uniform = programInterface == GL_UNIFORM ? activeUniform(program, index) : null;
+        if (uniform == null) return 0;
+        return switch (prop) {
+            case GL_TYPE -> uniform.type();
+            case GL_ARRAY_SIZE -> uniform.size();
+            case GL_LOCATION -> uniform.location();
+            case GL_NAME_LENGTH -> uniform.name().length() + 1;
+            case GL_BLOCK_INDEX -> -1;
+            default -> 0;
+        };
+    }
+
+    private int programInterfacei(int program, int programInterface, int pname) {
+        final ProgramModel model = programs.get(program);
+        if (model == null) return 0;
+        return switch (programInterface) {
+            case GL_UNIFORM -> switch (pname) {
+                case GL_ACTIVE_RESOURCES -> model.uniforms.size();
+                case GL_MAX_NAME_LENGTH -> model.maxNameLength;
+                default -> 0;
+            };
+            case GL_SHADER_STORAGE_BLOCK -> switch (pname) {
+                case GL_ACTIVE_RESOURCES -> model.storageBlocks.size();
+                case GL_MAX_NAME_LENGTH -> model.storageBlocks.stream().mapToInt(name -> name.length() + 1).max().orElse(0);
+                default -> 0;
+            };
+            default -> 0;
+        };
+    }
+
+    private int activeUniformi(int program, int index, int pname) {
+        final Uniform uniform = activeUniform(program, index);
+        if (uniform == null) return 0;
+        return switch (pname) {
+            case GL_UNIFORM_TYPE -> uniform.type();
+            case GL_UNIFORM_SIZE -> uniform.size();
+            case GL_UNIFORM_NAME_LENGTH -> uniform.name().length() + 1;
+            case GL_UNIFORM_BLOCK_INDEX, GL_UNIFORM_OFFSET, GL_UNIFORM_ARRAY_STRIDE, GL_UNIFORM_MATRIX_STRIDE -> -1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Gets the native memory backing a buffer.
+     *
+     * @param buffer the buffer
+     * @return the memory, or {@code null} if the buffer has no data store
+     */
+    public @Nullable MemorySegment bufferStore(int buffer) {
+        return buffer > 0 && buffer < buffers.length ? buffers[buffer] : null;
+    }
+
+    /**
+     * Advances the simulated GPU clock read by the timer queries.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void advanceGpuTime(long nanos) {
+        gpuTime += nanos;
+    }
+
+    /**
+     * Sets the count of the buffer swaps after which the simulated GPU finishes a command,
+     * i.e. the result of a timer query becomes available or a fence is signaled.
+     * The default is 1.
+     *
+     * @param frames the count of the buffer swaps
+     */
+    public void setGpuLatency(int frames) {
+        gpuLatency = frames;
+    }
+
+    /**
+     * Simulates a cursor movement, and invokes the cursor position callback of the window.
+     *
+     * @param window the window
+     * @param xpos   the new x-coordinate of the cursor
+     * @param ypos   the new y-coordinate of the cursor
+     */
+    public void moveCursor(MemoryAddress window, double xpos, double ypos) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model == null) return;
+        model.cursorX = xpos;
+        model.cursorY = ypos;
+        if (model.cursorPosCallback != null) model.cursorPosCallback.invoke(window, xpos, ypos);
+    }
+
+    /**
+     * Simulates a key event, and invokes the key callback of the window.
+     *
+     * @param window   the window
+     * @param key      the key
+     * @param scancode the scancode
+     * @param action   the action
+     * @param mods     the modifier bits
+     */
+    public void key(MemoryAddress window, int key, int scancode, int action, int mods) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null && model.keyCallback != null) model.keyCallback.invoke(window, key, scancode, action, mods);
+    }
+
+    /**
+     * Simulates a character input, and invokes the character callback of the window.
+     *
+     * @param window    the window
+     * @param codepoint the Unicode code point
+     */
+    public void character(MemoryAddress window, int codepoint) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null && model.charCallback != null) model.charCallback.invoke(window, codepoint);
+    }
+
+    /**
+     * Simulates a mouse button event, and invokes the mouse button callback of the window.
+     *
+     * @param window the window
+     * @param button the mouse button
+     * @param action the action
+     * @param mods   the modifier bits
+     */
+    public void mouseButton(MemoryAddress window, int button, int action, int mods) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null && model.mouseButtonCallback != null) model.mouseButtonCallback.invoke(window, button, action, mods);
+    }
+
+    /**
+     * Simulates the cursor entering or leaving the window, and invokes the cursor enter callback of the window.
+     *
+     * @param window  the window
+     * @param entered {@code true} if the cursor entered the content area
+     */
+    public void cursorEnter(MemoryAddress window, boolean entered) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null && model.cursorEnterCallback != null) model.cursorEnterCallback.invoke(window, entered);
+    }
+
+    /**
+     * Simulates a scroll event, and invokes the scroll callback of the window.
+     *
+     * @param window  the window
+     * @param xoffset the scroll offset along the x-axis
+     * @param yoffset the scroll offset along the y-axis
+     */
+    public void scroll(MemoryAddress window, double xoffset, double yoffset) {
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null && model.scrollCallback != null) model.scrollCallback.invoke(window, xoffset, yoffset);
+    }
+
+    /**
+     * Gets the log that this dispatch records to.
+     *
+     * @return the log
+     */
+    public CommandLog log() {
+        return log;
+    }
+
+    @Override
+    public int createProgram() {
+        log.begin(Command.CREATE_PROGRAM).end();
+        final int program = ++nextProgram;
+        programs.put(program, new ProgramModel());
+        return program;
+    }
+
+    @Override
+    public void deleteProgram(int program) {
+        log.begin(Command.DELETE_PROGRAM).i(program).end();
+        programs.remove(program);
+    }
+
+    @Override
+    public void attachShader(int program, int shader) {
+        log.begin(Command.ATTACH_SHADER).i(program).i(shader).end();
+        final ProgramModel model = programs.get(program);
+        if (model != null) model.shaders.add(shader);
+    }
+
+    @Override
+    public void detachShader(int program, int shader) {
+        log.begin(Command.DETACH_SHADER).i(program).i(shader).end();
+        final ProgramModel model = programs.get(program);
+        if (model != null) model.shaders.remove((Integer) shader);
+    }
+
+    @Override
+    public void bindAttribLocation(int program, int index, Addressable name) {
+        log.begin(Command.BIND_ATTRIB_LOCATION).i(program).i(index).p(name).end();
+    }
+
+    @Override
+    public void bindAttribLocation(int program, int index, String name) {
+        log.begin(Command.BIND_ATTRIB_LOCATION).i(program).i(index).i(name.length()).end();
+    }
+
+    @Override
+    public void linkProgram(int program) {
+        log.begin(Command.LINK_PROGRAM).i(program).end();
+        final ProgramModel model = programs.get(program);
+        if (model != null) model.link(shaders);
+    }
+
+    @Override
+    public void useProgram(int program) {
+        log.begin(Command.USE_PROGRAM).i(program).end();
+    }
+
+    @Override
+    public void validateProgram(int program) {
+        log.begin(Command.VALIDATE_PROGRAM).i(program).end();
+    }
+
+    @Override
+    public void getProgramiv(int program, int pname, Addressable params) {
+        log.begin(Command.GET_PROGRAMIV).i(program).i(pname).p(params).end();
+        putInt(params, 0, programi(program, pname));
+    }
+
+    @Override
+    public void getProgramiv(int program, int pname, int[] params) {
+        log.begin(Command.GET_PROGRAMIV).i(program).i(pname).i(params == null ? 0 : params.length).end();
+        params[0] = programi(program, pname);
+    }
+
+    @Override
+    public int getProgrami(int program, int pname) {
+        log.begin(Command.GET_PROGRAMI).i(program).i(pname).end();
+        return programi(program, pname);
+    }
+
+    @Override
+    public void getProgramInfoLog(int program, int bufSize, Addressable length, Addressable infoLog) {
+        log.begin(Command.GET_PROGRAM_INFO_LOG).i(program).i(bufSize).p(length).p(infoLog).end();
+        emptyLog(length, infoLog);
+    }
+
+    @Override
+    public void getProgramInfoLog(int program, int bufSize, int @Nullable [] length, String[] infoLog) {
+        log.begin(Command.GET_PROGRAM_INFO_LOG).i(program).i(bufSize).i(length == null ? 0 : length.length).i(infoLog == null ? 0 : infoLog.length).end();
+        if (length != null) length[0] = 0;
+        infoLog[0] = "";
+    }
+
+    @Override
+    public String getProgramInfoLog(int program, int bufSize, int @Nullable [] length) {
+        log.begin(Command.GET_PROGRAM_INFO_LOG).i(program).i(bufSize).i(length == null ? 0 : length.length).end();
+        if (length != null) length[0] = 0;
+        return "";
+    }
+
+    @Override
+    public String getProgramInfoLog(int program) {
+        log.begin(Command.GET_PROGRAM_INFO_LOG).i(program).end();
+        return "";
+    }
+
+    @Override
+    public int getUniformLocation(int program, Addressable name) {
+        log.begin(Command.GET_UNIFORM_LOCATION).i(program).p(name).end();
+        return uniformLocation(program, name.address().getUtf8String(0));
+    }
+
+    @Override
+    public int getUniformLocation(int program, String name) {
+        log.begin(Command.GET_UNIFORM_LOCATION).i(program).i(name.length()).end();
+        return uniformLocation(program, name);
+    }
+
+    @Override
+    public void getActiveUniformName(int program, int uniformIndex, int bufSize, Addressable length, Addressable uniformName) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_NAME).i(program).i(uniformIndex).i(bufSize).p(length).p(uniformName).end();
+        final String name = activeUniformName(program, uniformIndex);
+        if (uniformName instanceof MemorySegment segment && bufSize > 0) {
+            final String truncated = name.length() < bufSize ? name : name.substring(0, bufSize - 1);
+            segment.setUtf8String(0, truncated);
+            putInt(length, 0, truncated.length());
+        }
+    }
+
+    @Override
+    public void getActiveUniformName(int program, int uniformIndex, int bufSize, int @Nullable [] length, String[] uniformName) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_NAME).i(program).i(uniformIndex).i(bufSize).i(length == null ? 0 : length.length).i(uniformName == null ? 0 : uniformName.length).end();
+        uniformName[0] = activeUniformName(program, uniformIndex);
+        if (length != null) length[0] = uniformName[0].length();
+    }
+
+    @Override
+    public String getActiveUniformName(int program, int uniformIndex, int bufSize) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_NAME).i(program).i(uniformIndex).i(bufSize).end();
+        return activeUniformName(program, uniformIndex);
+    }
+
+    @Override
+    public void getActiveUniformsiv(int program, int uniformCount, Addressable uniformIndices, int pname, Addressable params) {
+        log.begin(Command.GET_ACTIVE_UNIFORMSIV).i(program).i(uniformCount).p(uniformIndices).i(pname).p(params).end();
+        if (uniformIndices instanceof MemorySegment indices) {
+            for (int i = 0; i < uniformCount; i++) {
+                putInt(params, i, activeUniformi(program, indices.getAtIndex(JAVA_INT, i), pname));
+            }
+        }
+    }
+
+    @Override
+    public void getActiveUniformsiv(int program, int[] uniformIndices, int pname, int[] params) {
+        log.begin(Command.GET_ACTIVE_UNIFORMSIV).i(program).i(uniformIndices == null ? 0 : uniformIndices.length).i(pname).i(params == null ? 0 : params.length).end();
+        for (int i = 0; i < uniformIndices.length; i++) {
+            params[i] = activeUniformi(program, uniformIndices[i], pname);
+        }
+    }
+
+    @Override
+    public void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, Addressable params) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_BLOCKIV).i(program).i(uniformBlockIndex).i(pname).p(params).end();
+    }
+
+    @Override
+    public void getActiveUniformBlockiv(int program, int uniformBlockIndex, int pname, int[] params) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_BLOCKIV).i(program).i(uniformBlockIndex).i(pname).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public int getUniformBlockIndex(int program, Addressable uniformBlockName) {
+        log.begin(Command.GET_UNIFORM_BLOCK_INDEX).i(program).p(uniformBlockName).end();
+        return GL_INVALID_INDEX;
+    }
+
+    @Override
+    public int getUniformBlockIndex(int program, String uniformBlockName) {
+        log.begin(Command.GET_UNIFORM_BLOCK_INDEX).i(program).i(uniformBlockName.length()).end();
+        return GL_INVALID_INDEX;
+    }
+
+    @Override
+    public void uniformBlockBinding(int program, int uniformBlockIndex, int uniformBlockBinding) {
+        log.begin(Command.UNIFORM_BLOCK_BINDING).i(program).i(uniformBlockIndex).i(uniformBlockBinding).end();
+    }
+
+    @Override
+    public void programParameteri(int program, int pname, int value) {
+        log.begin(Command.PROGRAM_PARAMETERI).i(program).i(pname).i(value).end();
+    }
+
+    @Override
+    public void programBinary(int program, int binaryFormat, Addressable binary, int length) {
+        log.begin(Command.PROGRAM_BINARY).i(program).i(binaryFormat).p(binary).i(length).end();
+    }
+
+    @Override
+    public void programBinary(int program, int binaryFormat, MemorySegment binary) {
+        log.begin(Command.PROGRAM_BINARY).i(program).i(binaryFormat).p(binary).end();
+    }
+
+    @Override
+    public void getProgramBinary(int program, int bufSize, Addressable length, Addressable binaryFormat, Addressable binary) {
+        log.begin(Command.GET_PROGRAM_BINARY).i(program).i(bufSize).p(length).p(binaryFormat).p(binary).end();
+        putInt(length, 0, 0);
+        putInt(binaryFormat, 0, 0);
+    }
+
+    @Override
+    public void getProgramBinary(int program, int bufSize, int @Nullable [] length, int[] binaryFormat, Addressable binary) {
+        log.begin(Command.GET_PROGRAM_BINARY).i(program).i(bufSize).i(length == null ? 0 : length.length).i(binaryFormat == null ? 0 : binaryFormat.length).p(binary).end();
+        if (length != null) length[0] = 0;
+        binaryFormat[0] = 0;
+    }
+
+    @Override
+    public void getProgramBinary(int program, int @Nullable [] length, int[] binaryFormat, MemorySegment binary) {
+        log.begin(Command.GET_PROGRAM_BINARY).i(program).i(length == null ? 0 : length.length).i(binaryFormat == null ? 0 : binaryFormat.length).p(binary).end();
+        if (length != null) length[0] = 0;
+        binaryFormat[0] = 0;
+    }
+
+    @Override
+    public void programUniform1f(int program, int location, float v0) {
+        log.begin(Command.PROGRAM_UNIFORM1F).i(program).i(location).f(v0).end();
+    }
+
+    @Override
+    public void programUniform2f(int program, int location, float v0, float v1) {
+        log.begin(Command.PROGRAM_UNIFORM2F).i(program).i(location).f(v0).f(v1).end();
+    }
+
+    @Override
+    public void programUniform3f(int program, int location, float v0, float v1, float v2) {
+        log.begin(Command.PROGRAM_UNIFORM3F).i(program).i(location).f(v0).f(v1).f(v2).end();
+    }
+
+    @Override
+    public void programUniform4f(int program, int location, float v0, float v1, float v2, float v3) {
+        log.begin(Command.PROGRAM_UNIFORM4F).i(program).i(location).f(v0).f(v1).f(v2).f(v3).end();
+    }
+
+    @Override
+    public void programUniform1i(int program, int location, int v0) {
+        log.begin(Command.PROGRAM_UNIFORM1I).i(program).i(location).i(v0).end();
+    }
+
+    @Override
+    public void programUniform2i(int program, int location, int v0, int v1) {
+        log.begin(Command.PROGRAM_UNIFORM2I).i(program).i(location).i(v0).i(v1).end();
+    }
+
+    @Override
+    public void programUniform3i(int program, int location, int v0, int v1, int v2) {
+        log.begin(Command.PROGRAM_UNIFORM3I).i(program).i(location).i(v0).i(v1).i(v2).end();
+    }
+
+    @Override
+    public void programUniform4i(int program, int location, int v0, int v1, int v2, int v3) {
+        log.begin(Command.PROGRAM_UNIFORM4I).i(program).i(location).i(v0).i(v1).i(v2).i(v3).end();
+    }
+
+    @Override
+    public void programUniform1ui(int program, int location, int v0) {
+        log.begin(Command.PROGRAM_UNIFORM1UI).i(program).i(location).i(v0).end();
+    }
+
+    @Override
+    public void programUniform2ui(int program, int location, int v0, int v1) {
+        log.begin(Command.PROGRAM_UNIFORM2UI).i(program).i(location).i(v0).i(v1).end();
+    }
+
+    @Override
+    public void programUniform3ui(int program, int location, int v0, int v1, int v2) {
+        log.begin(Command.PROGRAM_UNIFORM3UI).i(program).i(location).i(v0).i(v1).i(v2).end();
+    }
+
+    @Override
+    public void programUniform4ui(int program, int location, int v0, int v1, int v2, int v3) {
+        log.begin(Command.PROGRAM_UNIFORM4UI).i(program).i(location).i(v0).i(v1).i(v2).i(v3).end();
+    }
+
+    @Override
+    public void programUniform1d(int program, int location, double v0) {
+        log.begin(Command.PROGRAM_UNIFORM1D).i(program).i(location).d(v0).end();
+    }
+
+    @Override
+    public void programUniform2d(int program, int location, double v0, double v1) {
+        log.begin(Command.PROGRAM_UNIFORM2D).i(program).i(location).d(v0).d(v1).end();
+    }
+
+    @Override
+    public void programUniform3d(int program, int location, double v0, double v1, double v2) {
+        log.begin(Command.PROGRAM_UNIFORM3D).i(program).i(location).d(v0).d(v1).d(v2).end();
+    }
+
+    @Override
+    public void programUniform4d(int program, int location, double v0, double v1, double v2, double v3) {
+        log.begin(Command.PROGRAM_UNIFORM4D).i(program).i(location).d(v0).d(v1).d(v2).d(v3).end();
+    }
+
+    @Override
+    public void programUniform1fv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM1FV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform2fv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM2FV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform3fv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM3FV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform4fv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM4FV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform1iv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM1IV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform2iv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM2IV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform3iv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM3IV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform4iv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM4IV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform1uiv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM1UIV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform2uiv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM2UIV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform3uiv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM3UIV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform4uiv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM4UIV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform1dv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM1DV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform2dv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM2DV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform3dv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM3DV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniform4dv(int program, int location, int count, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM4DV).i(program).i(location).i(count).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2x3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2X3FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3x2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3X2FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2x4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2X4FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4x2fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4X2FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3x4fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3X4FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4x3fv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4X3FV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2x3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2X3DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3x2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3X2DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix2x4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX2X4DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4x2dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4X2DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix3x4dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX3X4DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void programUniformMatrix4x3dv(int program, int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.PROGRAM_UNIFORM_MATRIX4X3DV).i(program).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public int createShader(int type) {
+        log.begin(Command.CREATE_SHADER).i(type).end();
+        final int shader = ++nextShader;
+        shaders.put(shader, new ShaderModel(type));
+        return shader;
+    }
+
+    @Override
+    public void deleteShader(int shader) {
+        log.begin(Command.DELETE_SHADER).i(shader).end();
+        shaders.remove(shader);
+    }
+
+    @Override
+    public void shaderSource(int shader, int count, Addressable string, Addressable length) {
+        log.begin(Command.SHADER_SOURCE).i(shader).i(count).p(string).p(length).end();
+        final ShaderModel model = shaders.get(shader);
+        if (model == null || count <= 0 || string.address().equals(MemoryAddress.NULL)) return;
+        // read the strings like the driver does; a negative or absent length means null-terminated
+        final var session = MemorySession.global();
+        final var pointers = MemorySegment.ofAddress(string.address(), ADDRESS.byteSize() * count, session);
+        final var lengths = length.address().equals(MemoryAddress.NULL) ?
+            null :
+            MemorySegment.ofAddress(length.address(), JAVA_INT.byteSize() * count, session);
+        final var sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            final MemoryAddress pointer = pointers.getAtIndex(ADDRESS, i);
+            final int len = lengths == null ? -1 : lengths.getAtIndex(JAVA_INT, i);
+            if (len < 0) {
+                sb.append(pointer.getUtf8String(0));
+            } else {
+                sb.append(new String(MemorySegment.ofAddress(pointer, len, session).toArray(JAVA_BYTE), StandardCharsets.UTF_8));
+            }
+        }
+        model.source = sb.toString();
+    }
+
+    @Override
+    public void shaderSource(int shader, String[] string) {
+        log.begin(Command.SHADER_SOURCE).i(shader).i(string == null ? 0 : string.length).end();
+        final ShaderModel model = shaders.get(shader);
+        if (model != null) model.source = String.join("", string);
+    }
+
+    @Override
+    public void shaderSource(int shader, String string) {
+        log.begin(Command.SHADER_SOURCE).i(shader).i(string.length()).end();
+        final ShaderModel model = shaders.get(shader);
+        if (model != null) model.source = string;
+    }
+
+    @Override
+    public void compileShader(int shader) {
+        log.begin(Command.COMPILE_SHADER).i(shader).end();
+    }
+
+    @Override
+    public void getShaderiv(int shader, int pname, Addressable params) {
+        log.begin(Command.GET_SHADERIV).i(shader).i(pname).p(params).end();
+        putInt(params, 0, shaderi(shader, pname));
+    }
+
+    @Override
+    public void getShaderiv(int shader, int pname, int[] params) {
+        log.begin(Command.GET_SHADERIV).i(shader).i(pname).i(params == null ? 0 : params.length).end();
+        params[0] = shaderi(shader, pname);
+    }
+
+    @Override
+    public int getShaderi(int shader, int pname) {
+        log.begin(Command.GET_SHADERI).i(shader).i(pname).end();
+        return shaderi(shader, pname);
+    }
+
+    @Override
+    public void getShaderInfoLog(int shader, int bufSize, Addressable length, Addressable infoLog) {
+        log.begin(Command.GET_SHADER_INFO_LOG).i(shader).i(bufSize).p(length).p(infoLog).end();
+        emptyLog(length, infoLog);
+    }
+
+    @Override
+    public void getShaderInfoLog(int shader, int bufSize, int @Nullable [] length, String[] infoLog) {
+        log.begin(Command.GET_SHADER_INFO_LOG).i(shader).i(bufSize).i(length == null ? 0 : length.length).i(infoLog == null ? 0 : infoLog.length).end();
+        if (length != null) length[0] = 0;
+        infoLog[0] = "";
+    }
+
+    @Override
+    public String getShaderInfoLog(int shader, int bufSize, int @Nullable [] length) {
+        log.begin(Command.GET_SHADER_INFO_LOG).i(shader).i(bufSize).i(length == null ? 0 : length.length).end();
+        if (length != null) length[0] = 0;
+        return "";
+    }
+
+    @Override
+    public String getShaderInfoLog(int shader) {
+        log.begin(Command.GET_SHADER_INFO_LOG).i(shader).end();
+        return "";
+    }
+
+    @Override
+    public String getString(int name) {
+        log.begin(Command.GET_STRING).i(name).end();
+        return switch (name) {
+            case GL_VENDOR -> "Overrun Organization";
+            case GL_RENDERER -> "Recording dispatch";
+            case GL_VERSION -> "4.6 Recording";
+            case GL_SHADING_LANGUAGE_VERSION -> "4.60";
+            default -> null;
+        };
+    }
+
+    @Override
+    public String getStringi(int name, int index) {
+        log.begin(Command.GET_STRINGI).i(name).i(index).end();
+        return null;
+    }
+
+    @Override
+    public int getInteger(int pname) {
+        log.begin(Command.GET_INTEGER).i(pname).end();
+        return switch (pname) {
+            case GL_MAJOR_VERSION -> 4;
+            case GL_MINOR_VERSION -> 6;
+            case GL_MAX_TEXTURE_IMAGE_UNITS -> 16;
+            default -> 0;
+        };
+    }
+
+    @Override
+    public int genBuffer() {
+        log.begin(Command.GEN_BUFFER).end();
+        return ++nextBuffer;
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        log.begin(Command.DELETE_BUFFER).i(buffer).end();
+        if (buffer > 0 && buffer < buffers.length) {
+            buffers[buffer] = null;
+        }
+        for (int i = 0; i < boundBuffers.length; i++) {
+            if (boundBuffers[i] == buffer) boundBuffers[i] = 0;
+        }
+    }
+
+    @Override
+    public void bindBuffer(int target, int buffer) {
+        log.begin(Command.BIND_BUFFER).i(target).i(buffer).end();
+        bindBufferTarget(target, buffer);
+    }
+
+    @Override
+    public void bufferData(int target, long size, Addressable data, int usage) {
+        log.begin(Command.BUFFER_DATA).i(target).l(size).p(data).i(usage).end();
+        allocateStore(target, size, data);
+    }
+
+    @Override
+    public void bufferSubData(int target, long offset, long size, Addressable data) {
+        log.begin(Command.BUFFER_SUB_DATA).i(target).l(offset).l(size).p(data).end();
+        final MemorySegment store = boundStore(target);
+        if (store != null && data instanceof MemorySegment segment) {
+            MemorySegment.copy(segment, 0, store, offset, Math.min(size, segment.byteSize()));
+        }
+    }
+
+    @Override
+    public void bindBufferBase(int target, int index, int buffer) {
+        log.begin(Command.BIND_BUFFER_BASE).i(target).i(index).i(buffer).end();
+        bindBufferTarget(target, buffer);
+    }
+
+    @Override
+    public void bindVertexArray(int array) {
+        log.begin(Command.BIND_VERTEX_ARRAY).i(array).end();
+    }
+
+    @Override
+    public void deleteVertexArray(int array) {
+        log.begin(Command.DELETE_VERTEX_ARRAY).i(array).end();
+    }
+
+    @Override
+    public void activeTexture(int texture) {
+        log.begin(Command.ACTIVE_TEXTURE).i(texture).end();
+    }
+
+    @Override
+    public void bindTexture(int target, int texture) {
+        log.begin(Command.BIND_TEXTURE).i(target).i(texture).end();
+    }
+
+    @Override
+    public void deleteTexture(int texture) {
+        log.begin(Command.DELETE_TEXTURE).i(texture).end();
+    }
+
+    @Override
+    public void enable(int cap) {
+        log.begin(Command.ENABLE).i(cap).end();
+    }
+
+    @Override
+    public void disable(int cap) {
+        log.begin(Command.DISABLE).i(cap).end();
+    }
+
+    @Override
+    public void blendFuncSeparate(int sfactorRGB, int dfactorRGB, int sfactorAlpha, int dfactorAlpha) {
+        log.begin(Command.BLEND_FUNC_SEPARATE).i(sfactorRGB).i(dfactorRGB).i(sfactorAlpha).i(dfactorAlpha).end();
+    }
+
+    @Override
+    public void blendEquationSeparate(int modeRGB, int modeAlpha) {
+        log.begin(Command.BLEND_EQUATION_SEPARATE).i(modeRGB).i(modeAlpha).end();
+    }
+
+    @Override
+    public void depthFunc(int func) {
+        log.begin(Command.DEPTH_FUNC).i(func).end();
+    }
+
+    @Override
+    public void depthMask(boolean flag) {
+        log.begin(Command.DEPTH_MASK).z(flag).end();
+    }
+
+    @Override
+    public void cullFace(int mode) {
+        log.begin(Command.CULL_FACE).i(mode).end();
+    }
+
+    @Override
+    public void frontFace(int mode) {
+        log.begin(Command.FRONT_FACE).i(mode).end();
+    }
+
+    @Override
+    public int genQuery() {
+        log.begin(Command.GEN_QUERY).end();
+        return ++nextQuery;
+    }
+
+    @Override
+    public void deleteQuery(int id) {
+        log.begin(Command.DELETE_QUERY).i(id).end();
+        queries.remove(id);
+    }
+
+    @Override
+    public void beginQuery(int target, int id) {
+        log.begin(Command.BEGIN_QUERY).i(target).i(id).end();
+        final QueryModel model = queries.computeIfAbsent(id, k -> new QueryModel());
+        model.begin = gpuTime;
+        model.readyFrame = Long.MAX_VALUE;
+        activeQueries.put(target, id);
+    }
+
+    @Override
+    public void endQuery(int target) {
+        log.begin(Command.END_QUERY).i(target).end();
+        final Integer id = activeQueries.remove(target);
+        final QueryModel model = id != null ? queries.get(id) : null;
+        if (model != null) {
+            model.result = gpuTime - model.begin;
+            model.readyFrame = frame + gpuLatency;
+        }
+    }
+
+    @Override
+    public void queryCounter(int id, int target) {
+        log.begin(Command.QUERY_COUNTER).i(id).i(target).end();
+        final QueryModel model = queries.computeIfAbsent(id, k -> new QueryModel());
+        model.result = gpuTime;
+        model.readyFrame = frame + gpuLatency;
+    }
+
+    @Override
+    public int getQueryObjecti(int id, int pname) {
+        log.begin(Command.GET_QUERY_OBJECTI).i(id).i(pname).end();
+        return (int) queryObject(id, pname);
+    }
+
+    @Override
+    public long getQueryObjecti64(int id, int pname) {
+        log.begin(Command.GET_QUERY_OBJECTI64).i(id).i(pname).end();
+        return queryObject(id, pname);
+    }
+
+    @Override
+    public void bufferStorage(int target, long size, Addressable data, int flags) {
+        log.begin(Command.BUFFER_STORAGE).i(target).l(size).p(data).i(flags).end();
+        allocateStore(target, size, data);
+    }
+
+    @Override
+    public MemoryAddress mapBufferRange(int target, long offset, long length, int access) {
+        log.begin(Command.MAP_BUFFER_RANGE).i(target).l(offset).l(length).i(access).end();
+        final MemorySegment store = boundStore(target);
+        if (store == null || offset < 0 || length <= 0 || offset + length > store.byteSize()) return MemoryAddress.NULL;
+        return store.address().addOffset(offset);
+    }
+
+    @Override
+    public boolean unmapBuffer(int target) {
+        log.begin(Command.UNMAP_BUFFER).i(target).end();
+        return true;
+    }
+
+    @Override
+    public MemoryAddress fenceSync(int condition, int flags) {
+        log.begin(Command.FENCE_SYNC).i(condition).i(flags).end();
+        if (nextSync + 1 - firstFence >= fences.length) {
+            growFences();
+        }
+        ++nextSync;
+        fences[(int) (nextSync & (fences.length - 1))] = frame + gpuLatency;
+        return MemoryAddress.ofLong(nextSync);
+    }
+
+    @Override
+    public int clientWaitSync(MemoryAddress sync, int flags, long timeout) {
+        log.begin(Command.CLIENT_WAIT_SYNC).p(sync).i(flags).l(timeout).end();
+        final long signalFrame = fenceSignalFrame(sync.toRawLongValue());
+        if (signalFrame == DELETED_FENCE) return GL_WAIT_FAILED;
+        if (frame >= signalFrame) return GL_ALREADY_SIGNALED;
+        // the simulated GPU finishes within any non-zero timeout
+        return timeout > 0 ? GL_CONDITION_SATISFIED : GL_TIMEOUT_EXPIRED;
+    }
+
+    @Override
+    public void deleteSync(MemoryAddress sync) {
+        log.begin(Command.DELETE_SYNC).p(sync).end();
+        final long name = sync.toRawLongValue();
+        if (fenceSignalFrame(name) == DELETED_FENCE) return;
+        fences[(int) (name & (fences.length - 1))] = DELETED_FENCE;
+        // slide the window past the deleted fences, so it only spans the live ones
+        while (firstFence <= nextSync && fences[(int) (firstFence & (fences.length - 1))] == DELETED_FENCE) {
+            ++firstFence;
+        }
+    }
+
+    @Override
+    public int genVertexArray() {
+        log.begin(Command.GEN_VERTEX_ARRAY).end();
+        return ++nextVertexArray;
+    }
+
+    @Override
+    public void enableVertexAttribArray(int index) {
+        log.begin(Command.ENABLE_VERTEX_ATTRIB_ARRAY).i(index).end();
+    }
+
+    @Override
+    public void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, Addressable pointer) {
+        log.begin(Command.VERTEX_ATTRIB_POINTER).i(index).i(size).i(type).z(normalized).i(stride).p(pointer).end();
+    }
+
+    @Override
+    public void drawElements(int mode, int count, int type, Addressable indices) {
+        log.begin(Command.DRAW_ELEMENTS).i(mode).i(count).i(type).p(indices).end();
+    }
+
+    @Override
+    public void bindBufferRange(int target, int index, int buffer, long offset, long size) {
+        log.begin(Command.BIND_BUFFER_RANGE).i(target).i(index).i(buffer).l(offset).l(size).end();
+        bindBufferTarget(target, buffer);
+    }
+
+    @Override
+    public void multiDrawElementsIndirect(int mode, int type, Addressable indirect, int drawcount, int stride) {
+        log.begin(Command.MULTI_DRAW_ELEMENTS_INDIRECT).i(mode).i(type).p(indirect).i(drawcount).i(stride).end();
+    }
+
+    @Override
+    public void multiDrawElementsBaseVertex(int mode, Addressable count, int type, Addressable indices, int drawcount, Addressable basevertex) {
+        log.begin(Command.MULTI_DRAW_ELEMENTS_BASE_VERTEX).i(mode).p(count).i(type).p(indices).i(drawcount).p(basevertex).end();
+    }
+
+    @Override
+    public void drawElementsInstancedBaseVertexBaseInstance(int mode, int count, int type, Addressable indices, int instancecount, int basevertex, int baseinstance) {
+        log.begin(Command.DRAW_ELEMENTS_INSTANCED_BASE_VERTEX_BASE_INSTANCE).i(mode).i(count).i(type).p(indices).i(instancecount).i(basevertex).i(baseinstance).end();
+    }
+
+    @Override
+    public int getAttribLocation(int program, String name) {
+        log.begin(Command.GET_ATTRIB_LOCATION).i(program).i(name.length()).end();
+        // attributes are not modeled
+        return -1;
+    }
+
+    @Override
+    public void getActiveAttrib(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        log.begin(Command.GET_ACTIVE_ATTRIB).i(program).i(index).i(bufSize).i(length == null ? 0 : length.length).i(size == null ? 0 : size.length).i(type == null ? 0 : type.length).i(name == null ? 0 : name.length).end();
+    }
+
+    @Override
+    public String getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_BLOCK_NAME).i(program).i(uniformBlockIndex).i(bufSize).end();
+        return "";
+    }
+
+    @Override
+    public int getProgramInterfacei(int program, int programInterface, int pname) {
+        log.begin(Command.GET_PROGRAM_INTERFACEI).i(program).i(programInterface).i(pname).end();
+        return programInterfacei(program, programInterface, pname);
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, int[] props, int @Nullable [] length, int[] params) {
+        log.begin(Command.GET_PROGRAM_RESOURCEIV).i(program).i(programInterface).i(index).i(props == null ? 0 : props.length).i(length == null ? 0 : length.length).i(params == null ? 0 : params.length).end();
+        final int count = Math.min(props.length, params.length);
+        for (int i = 0; i < count; i++) {
+            params[i] = resourceProperty(program, programInterface, index, props[i]);
+        }
+        if (length != null && length.length > 0) {
+            length[0] = count;
+        }
+    }
+
+    @Override
+    public String getProgramResourceName(int program, int programInterface, int index, int bufSize, int @Nullable [] length) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_NAME).i(program).i(programInterface).i(index).i(bufSize).i(length == null ? 0 : length.length).end();
+        return resourceName(program, programInterface, index);
+    }
+
+    @Override
+    public void uniform1f(int location, float v0) {
+        log.begin(Command.UNIFORM1F).i(location).f(v0).end();
+    }
+
+    @Override
+    public void uniform2f(int location, float v0, float v1) {
+        log.begin(Command.UNIFORM2F).i(location).f(v0).f(v1).end();
+    }
+
+    @Override
+    public void uniform3f(int location, float v0, float v1, float v2) {
+        log.begin(Command.UNIFORM3F).i(location).f(v0).f(v1).f(v2).end();
+    }
+
+    @Override
+    public void uniform4f(int location, float v0, float v1, float v2, float v3) {
+        log.begin(Command.UNIFORM4F).i(location).f(v0).f(v1).f(v2).f(v3).end();
+    }
+
+    @Override
+    public void uniform1i(int location, int v0) {
+        log.begin(Command.UNIFORM1I).i(location).i(v0).end();
+    }
+
+    @Override
+    public void uniform1ui(int location, int v0) {
+        log.begin(Command.UNIFORM1UI).i(location).i(v0).end();
+    }
+
+    @Override
+    public void uniformMatrix3fv(int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.UNIFORM_MATRIX3FV).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public void uniformMatrix4fv(int location, int count, boolean transpose, Addressable value) {
+        log.begin(Command.UNIFORM_MATRIX4FV).i(location).i(count).z(transpose).p(value).end();
+    }
+
+    @Override
+    public int genTexture() {
+        log.begin(Command.GEN_TEXTURE).end();
+        return ++nextTexture;
+    }
+
+    @Override
+    public void texImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, Addressable pixels) {
+        log.begin(Command.TEX_IMAGE2_D).i(target).i(level).i(internalformat).i(width).i(height).i(border).i(format).i(type).p(pixels).end();
+    }
+
+    @Override
+    public void texSubImage2D(int target, int level, int xoffset, int yoffset, int width, int height, int format, int type, Addressable pixels) {
+        log.begin(Command.TEX_SUB_IMAGE2_D).i(target).i(level).i(xoffset).i(yoffset).i(width).i(height).i(format).i(type).p(pixels).end();
+    }
+
+    @Override
+    public void texParameteri(int target, int pname, int param) {
+        log.begin(Command.TEX_PARAMETERI).i(target).i(pname).i(param).end();
+    }
+
+    @Override
+    public void pixelStorei(int pname, int param) {
+        log.begin(Command.PIXEL_STOREI).i(pname).i(param).end();
+    }
+
+    @Override
+    public void generateMipmap(int target) {
+        log.begin(Command.GENERATE_MIPMAP).i(target).end();
+    }
+
+    @Override
+    public void texStorage2D(int target, int levels, int internalformat, int width, int height) {
+        log.begin(Command.TEX_STORAGE2_D).i(target).i(levels).i(internalformat).i(width).i(height).end();
+    }
+
+    @Override
+    public void texStorage3D(int target, int levels, int internalformat, int width, int height, int depth) {
+        log.begin(Command.TEX_STORAGE3_D).i(target).i(levels).i(internalformat).i(width).i(height).i(depth).end();
+    }
+
+    @Override
+    public void texImage3D(int target, int level, int internalformat, int width, int height, int depth, int border, int format, int type, Addressable pixels) {
+        log.begin(Command.TEX_IMAGE3_D).i(target).i(level).i(internalformat).i(width).i(height).i(depth).i(border).i(format).i(type).p(pixels).end();
+    }
+
+    @Override
+    public void texSubImage3D(int target, int level, int xoffset, int yoffset, int zoffset, int width, int height, int depth, int format, int type, Addressable pixels) {
+        log.begin(Command.TEX_SUB_IMAGE3_D).i(target).i(level).i(xoffset).i(yoffset).i(zoffset).i(width).i(height).i(depth).i(format).i(type).p(pixels).end();
+    }
+
+    @Override
+    public int genSampler() {
+        log.begin(Command.GEN_SAMPLER).end();
+        return ++nextSampler;
+    }
+
+    @Override
+    public void deleteSampler(int sampler) {
+        log.begin(Command.DELETE_SAMPLER).i(sampler).end();
+    }
+
+    @Override
+    public void bindSampler(int unit, int sampler) {
+        log.begin(Command.BIND_SAMPLER).i(unit).i(sampler).end();
+    }
+
+    @Override
+    public void samplerParameteri(int sampler, int pname, int param) {
+        log.begin(Command.SAMPLER_PARAMETERI).i(sampler).i(pname).i(param).end();
+    }
+
+    @Override
+    public void samplerParameterf(int sampler, int pname, float param) {
+        log.begin(Command.SAMPLER_PARAMETERF).i(sampler).i(pname).f(param).end();
+    }
+
+    @Override
+    public void vertexAttribIPointer(int index, int size, int type, int stride, Addressable pointer) {
+        log.begin(Command.VERTEX_ATTRIB_IPOINTER).i(index).i(size).i(type).i(stride).p(pointer).end();
+    }
+
+    @Override
+    public void vertexAttribDivisor(int index, int divisor) {
+        log.begin(Command.VERTEX_ATTRIB_DIVISOR).i(index).i(divisor).end();
+    }
+
+    @Override
+    public void vertexAttribFormat(int attribindex, int size, int type, boolean normalized, int relativeoffset) {
+        log.begin(Command.VERTEX_ATTRIB_FORMAT).i(attribindex).i(size).i(type).z(normalized).i(relativeoffset).end();
+    }
+
+    @Override
+    public void vertexAttribIFormat(int attribindex, int size, int type, int relativeoffset) {
+        log.begin(Command.VERTEX_ATTRIB_IFORMAT).i(attribindex).i(size).i(type).i(relativeoffset).end();
+    }
+
+    @Override
+    public void vertexAttribBinding(int attribindex, int bindingindex) {
+        log.begin(Command.VERTEX_ATTRIB_BINDING).i(attribindex).i(bindingindex).end();
+    }
+
+    @Override
+    public void bindVertexBuffer(int bindingindex, int buffer, long offset, int stride) {
+        log.begin(Command.BIND_VERTEX_BUFFER).i(bindingindex).i(buffer).l(offset).i(stride).end();
+    }
+
+    @Override
+    public void vertexBindingDivisor(int bindingindex, int divisor) {
+        log.begin(Command.VERTEX_BINDING_DIVISOR).i(bindingindex).i(divisor).end();
+    }
+
+    @Override
+    public void drawArrays(int mode, int first, int count) {
+        log.begin(Command.DRAW_ARRAYS).i(mode).i(first).i(count).end();
+    }
+
+    @Override
+    public void drawArraysInstanced(int mode, int first, int count, int instancecount) {
+        log.begin(Command.DRAW_ARRAYS_INSTANCED).i(mode).i(first).i(count).i(instancecount).end();
+    }
+
+    @Override
+    public void drawElementsInstanced(int mode, int count, int type, Addressable indices, int instancecount) {
+        log.begin(Command.DRAW_ELEMENTS_INSTANCED).i(mode).i(count).i(type).p(indices).i(instancecount).end();
+    }
+
+    @Override
+    public void drawElementsBaseVertex(int mode, int count, int type, Addressable indices, int basevertex) {
+        log.begin(Command.DRAW_ELEMENTS_BASE_VERTEX).i(mode).i(count).i(type).p(indices).i(basevertex).end();
+    }
+
+    @Override
+    public void drawElementsInstancedBaseVertex(int mode, int count, int type, Addressable indices, int instancecount, int basevertex) {
+        log.begin(Command.DRAW_ELEMENTS_INSTANCED_BASE_VERTEX).i(mode).i(count).i(type).p(indices).i(instancecount).i(basevertex).end();
+    }
+
+    @Override
+    public void getActiveAttrib(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        log.begin(Command.GET_ACTIVE_ATTRIB).i(program).i(index).i(bufSize).p(length).p(size).p(type).p(name).end();
+    }
+
+    @Override
+    public void getActiveUniform(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        log.begin(Command.GET_ACTIVE_UNIFORM).i(program).i(index).i(bufSize).p(length).p(size).p(type).p(name).end();
+        final Uniform uniform = activeUniform(program, index);
+        if (uniform == null) return;
+        putInt(size, 0, uniform.size());
+        putInt(type, 0, uniform.type());
+        if (name instanceof MemorySegment segment && bufSize > 0) {
+            final String truncated = uniform.name().length() < bufSize ? uniform.name() : uniform.name().substring(0, bufSize - 1);
+            segment.setUtf8String(0, truncated);
+            putInt(length, 0, truncated.length());
+        }
+    }
+
+    @Override
+    public void getActiveUniform(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        log.begin(Command.GET_ACTIVE_UNIFORM).i(program).i(index).i(bufSize).i(length == null ? 0 : length.length).i(size == null ? 0 : size.length).i(type == null ? 0 : type.length).i(name == null ? 0 : name.length).end();
+        final Uniform uniform = activeUniform(program, index);
+        if (uniform == null) return;
+        size[0] = uniform.size();
+        type[0] = uniform.type();
+        name[0] = uniform.name();
+        if (length != null) length[0] = uniform.name().length();
+    }
+
+    @Override
+    public void getAttachedShaders(int program, int maxCount, Addressable count, Addressable shaders) {
+        log.begin(Command.GET_ATTACHED_SHADERS).i(program).i(maxCount).p(count).p(shaders).end();
+        final ProgramModel model = programs.get(program);
+        final int count0 = model != null ? Math.min(maxCount, model.shaders.size()) : 0;
+        for (int i = 0; i < count0; i++) {
+            putInt(shaders, i, model.shaders.get(i));
+        }
+        putInt(count, 0, count0);
+    }
+
+    @Override
+    public void getAttachedShaders(int program, int @Nullable [] count, int[] shaders) {
+        log.begin(Command.GET_ATTACHED_SHADERS).i(program).i(count == null ? 0 : count.length).i(shaders == null ? 0 : shaders.length).end();
+        final ProgramModel model = programs.get(program);
+        final int count0 = model != null ? Math.min(shaders.length, model.shaders.size()) : 0;
+        for (int i = 0; i < count0; i++) {
+            shaders[i] = model.shaders.get(i);
+        }
+        if (count != null) count[0] = count0;
+    }
+
+    @Override
+    public int getAttribLocation(int program, Addressable name) {
+        log.begin(Command.GET_ATTRIB_LOCATION).i(program).p(name).end();
+        // attributes are not modeled
+        return -1;
+    }
+
+    @Override
+    public void getUniformfv(int program, int location, Addressable params) {
+        log.begin(Command.GET_UNIFORMFV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getUniformfv(int program, int location, float[] params) {
+        log.begin(Command.GET_UNIFORMFV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public float getUniformf(int program, int location) {
+        log.begin(Command.GET_UNIFORMF).i(program).i(location).end();
+        // uniform values are not modeled
+        return 0;
+    }
+
+    @Override
+    public void getUniformiv(int program, int location, Addressable params) {
+        log.begin(Command.GET_UNIFORMIV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getUniformiv(int program, int location, int[] params) {
+        log.begin(Command.GET_UNIFORMIV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public int getUniformi(int program, int location) {
+        log.begin(Command.GET_UNIFORMI).i(program).i(location).end();
+        // uniform values are not modeled
+        return 0;
+    }
+
+    @Override
+    public boolean isProgram(int program) {
+        log.begin(Command.IS_PROGRAM).i(program).end();
+        return programs.containsKey(program);
+    }
+
+    @Override
+    public void bindFragDataLocation(int program, int color, Addressable name) {
+        log.begin(Command.BIND_FRAG_DATA_LOCATION).i(program).i(color).p(name).end();
+    }
+
+    @Override
+    public void bindFragDataLocation(int program, int color, String name) {
+        log.begin(Command.BIND_FRAG_DATA_LOCATION).i(program).i(color).i(name.length()).end();
+    }
+
+    @Override
+    public int getFragDataLocation(int program, Addressable name) {
+        log.begin(Command.GET_FRAG_DATA_LOCATION).i(program).p(name).end();
+        return -1;
+    }
+
+    @Override
+    public int getFragDataLocation(int program, String name) {
+        log.begin(Command.GET_FRAG_DATA_LOCATION).i(program).i(name.length()).end();
+        return -1;
+    }
+
+    @Override
+    public void getTransformFeedbackVarying(int program, int index, int bufSize, Addressable length, Addressable size, Addressable type, Addressable name) {
+        log.begin(Command.GET_TRANSFORM_FEEDBACK_VARYING).i(program).i(index).i(bufSize).p(length).p(size).p(type).p(name).end();
+    }
+
+    @Override
+    public void getTransformFeedbackVarying(int program, int index, int bufSize, int @Nullable [] length, int[] size, int[] type, String[] name) {
+        log.begin(Command.GET_TRANSFORM_FEEDBACK_VARYING).i(program).i(index).i(bufSize).i(length == null ? 0 : length.length).i(size == null ? 0 : size.length).i(type == null ? 0 : type.length).i(name == null ? 0 : name.length).end();
+    }
+
+    @Override
+    public void getUniformuiv(int program, int location, Addressable params) {
+        log.begin(Command.GET_UNIFORMUIV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getUniformuiv(int program, int location, int[] params) {
+        log.begin(Command.GET_UNIFORMUIV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public int getUniformui(int program, int location) {
+        log.begin(Command.GET_UNIFORMUI).i(program).i(location).end();
+        // uniform values are not modeled
+        return 0;
+    }
+
+    @Override
+    public void transformFeedbackVaryings(int program, int count, Addressable varyings, int bufferMode) {
+        log.begin(Command.TRANSFORM_FEEDBACK_VARYINGS).i(program).i(count).p(varyings).i(bufferMode).end();
+    }
+
+    @Override
+    public void transformFeedbackVaryings(int program, String[] varyings, int bufferMode) {
+        log.begin(Command.TRANSFORM_FEEDBACK_VARYINGS).i(program).i(varyings == null ? 0 : varyings.length).i(bufferMode).end();
+    }
+
+    @Override
+    public void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, Addressable length, Addressable uniformBlockName) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_BLOCK_NAME).i(program).i(uniformBlockIndex).i(bufSize).p(length).p(uniformBlockName).end();
+    }
+
+    @Override
+    public void getActiveUniformBlockName(int program, int uniformBlockIndex, int bufSize, int @Nullable [] length, String[] uniformBlockName) {
+        log.begin(Command.GET_ACTIVE_UNIFORM_BLOCK_NAME).i(program).i(uniformBlockIndex).i(bufSize).i(length == null ? 0 : length.length).i(uniformBlockName == null ? 0 : uniformBlockName.length).end();
+    }
+
+    @Override
+    public int getActiveUniformi(int program, int uniformIndex, int pname) {
+        log.begin(Command.GET_ACTIVE_UNIFORMI).i(program).i(uniformIndex).i(pname).end();
+        return activeUniformi(program, uniformIndex, pname);
+    }
+
+    @Override
+    public void getUniformIndices(int program, int uniformCount, Addressable uniformNames, Addressable uniformIndices) {
+        log.begin(Command.GET_UNIFORM_INDICES).i(program).i(uniformCount).p(uniformNames).p(uniformIndices).end();
+    }
+
+    @Override
+    public void getUniformIndices(int program, String[] uniformNames, int[] uniformIndices) {
+        log.begin(Command.GET_UNIFORM_INDICES).i(program).i(uniformNames == null ? 0 : uniformNames.length).i(uniformIndices == null ? 0 : uniformIndices.length).end();
+        final int count = Math.min(uniformNames.length, uniformIndices.length);
+        for (int i = 0; i < count; i++) {
+            uniformIndices[i] = resourceIndex(program, GL_UNIFORM, uniformNames[i]);
+        }
+    }
+
+    @Override
+    public int getUniformIndex(int program, String uniformName) {
+        log.begin(Command.GET_UNIFORM_INDEX).i(program).i(uniformName.length()).end();
+        return resourceIndex(program, GL_UNIFORM, uniformName);
+    }
+
+    @Override
+    public void bindFragDataLocationIndexed(int program, int colorNumber, int index, Addressable name) {
+        log.begin(Command.BIND_FRAG_DATA_LOCATION_INDEXED).i(program).i(colorNumber).i(index).p(name).end();
+    }
+
+    @Override
+    public void bindFragDataLocationIndexed(int program, int colorNumber, int index, String name) {
+        log.begin(Command.BIND_FRAG_DATA_LOCATION_INDEXED).i(program).i(colorNumber).i(index).i(name.length()).end();
+    }
+
+    @Override
+    public int getFragDataIndex(int program, Addressable name) {
+        log.begin(Command.GET_FRAG_DATA_INDEX).i(program).p(name).end();
+        return -1;
+    }
+
+    @Override
+    public int getFragDataIndex(int program, String name) {
+        log.begin(Command.GET_FRAG_DATA_INDEX).i(program).i(name.length()).end();
+        return -1;
+    }
+
+    @Override
+    public void getActiveSubroutineName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_NAME).i(program).i(shaderType).i(index).i(bufSize).p(length).p(name).end();
+        emptyLog(length, name);
+    }
+
+    @Override
+    public String getActiveSubroutineName(int program, int shaderType, int index, int bufSize) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_NAME).i(program).i(shaderType).i(index).i(bufSize).end();
+        return "";
+    }
+
+    @Override
+    public void getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize, Addressable length, Addressable name) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_UNIFORM_NAME).i(program).i(shaderType).i(index).i(bufSize).p(length).p(name).end();
+        emptyLog(length, name);
+    }
+
+    @Override
+    public String getActiveSubroutineUniformName(int program, int shaderType, int index, int bufSize) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_UNIFORM_NAME).i(program).i(shaderType).i(index).i(bufSize).end();
+        return "";
+    }
+
+    @Override
+    public void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, Addressable values) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_UNIFORMIV).i(program).i(shaderType).i(index).i(pname).p(values).end();
+    }
+
+    @Override
+    public void getActiveSubroutineUniformiv(int program, int shaderType, int index, int pname, int[] values) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_UNIFORMIV).i(program).i(shaderType).i(index).i(pname).i(values == null ? 0 : values.length).end();
+    }
+
+    @Override
+    public int getActiveSubroutineUniformi(int program, int shaderType, int index, int pname) {
+        log.begin(Command.GET_ACTIVE_SUBROUTINE_UNIFORMI).i(program).i(shaderType).i(index).i(pname).end();
+        return 0;
+    }
+
+    @Override
+    public void getProgramStageiv(int program, int shaderType, int pname, Addressable values) {
+        log.begin(Command.GET_PROGRAM_STAGEIV).i(program).i(shaderType).i(pname).p(values).end();
+    }
+
+    @Override
+    public int getProgramStagei(int program, int shaderType, int pname) {
+        log.begin(Command.GET_PROGRAM_STAGEI).i(program).i(shaderType).i(pname).end();
+        return 0;
+    }
+
+    @Override
+    public int getSubroutineIndex(int program, int shaderType, Addressable name) {
+        log.begin(Command.GET_SUBROUTINE_INDEX).i(program).i(shaderType).p(name).end();
+        return GL_INVALID_INDEX;
+    }
+
+    @Override
+    public int getSubroutineIndex(int program, int shaderType, String name) {
+        log.begin(Command.GET_SUBROUTINE_INDEX).i(program).i(shaderType).i(name.length()).end();
+        return GL_INVALID_INDEX;
+    }
+
+    @Override
+    public int getSubroutineUniformLocation(int program, int shaderType, Addressable name) {
+        log.begin(Command.GET_SUBROUTINE_UNIFORM_LOCATION).i(program).i(shaderType).p(name).end();
+        return -1;
+    }
+
+    @Override
+    public int getSubroutineUniformLocation(int program, int shaderType, String name) {
+        log.begin(Command.GET_SUBROUTINE_UNIFORM_LOCATION).i(program).i(shaderType).i(name.length()).end();
+        return -1;
+    }
+
+    @Override
+    public void getUniformdv(int program, int location, Addressable params) {
+        log.begin(Command.GET_UNIFORMDV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getUniformdv(int program, int location, double[] params) {
+        log.begin(Command.GET_UNIFORMDV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public double getUniformd(int program, int location) {
+        log.begin(Command.GET_UNIFORMD).i(program).i(location).end();
+        // uniform values are not modeled
+        return 0;
+    }
+
+    @Override
+    public void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, Addressable params) {
+        log.begin(Command.GET_ACTIVE_ATOMIC_COUNTER_BUFFERIV).i(program).i(bufferIndex).i(pname).p(params).end();
+    }
+
+    @Override
+    public void getActiveAtomicCounterBufferiv(int program, int bufferIndex, int pname, int[] params) {
+        log.begin(Command.GET_ACTIVE_ATOMIC_COUNTER_BUFFERIV).i(program).i(bufferIndex).i(pname).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public int getActiveAtomicCounterBufferi(int program, int bufferIndex, int pname) {
+        log.begin(Command.GET_ACTIVE_ATOMIC_COUNTER_BUFFERI).i(program).i(bufferIndex).i(pname).end();
+        return 0;
+    }
+
+    @Override
+    public void getProgramInterfaceiv(int program, int programInterface, int pname, Addressable params) {
+        log.begin(Command.GET_PROGRAM_INTERFACEIV).i(program).i(programInterface).i(pname).p(params).end();
+        putInt(params, 0, programInterfacei(program, programInterface, pname));
+    }
+
+    @Override
+    public int getProgramResourceIndex(int program, int programInterface, Addressable name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_INDEX).i(program).i(programInterface).p(name).end();
+        return resourceIndex(program, programInterface, name.address().getUtf8String(0));
+    }
+
+    @Override
+    public int getProgramResourceIndex(int program, int programInterface, String name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_INDEX).i(program).i(programInterface).i(name.length()).end();
+        return resourceIndex(program, programInterface, name);
+    }
+
+    @Override
+    public int getProgramResourceLocation(int program, int programInterface, Addressable name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_LOCATION).i(program).i(programInterface).p(name).end();
+        return programInterface == GL_UNIFORM ? uniformLocation(program, name.address().getUtf8String(0)) : -1;
+    }
+
+    @Override
+    public int getProgramResourceLocation(int program, int programInterface, String name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_LOCATION).i(program).i(programInterface).i(name.length()).end();
+        return programInterface == GL_UNIFORM ? uniformLocation(program, name) : -1;
+    }
+
+    @Override
+    public int getProgramResourceLocationIndex(int program, int programInterface, Addressable name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_LOCATION_INDEX).i(program).i(programInterface).p(name).end();
+        return -1;
+    }
+
+    @Override
+    public int getProgramResourceLocationIndex(int program, int programInterface, String name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_LOCATION_INDEX).i(program).i(programInterface).i(name.length()).end();
+        return -1;
+    }
+
+    @Override
+    public void getProgramResourceName(int program, int programInterface, int index, int bufSize, Addressable length, Addressable name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_NAME).i(program).i(programInterface).i(index).i(bufSize).p(length).p(name).end();
+        final String resource = resourceName(program, programInterface, index);
+        if (name instanceof MemorySegment segment && bufSize > 0) {
+            final String truncated = resource.length() < bufSize ? resource : resource.substring(0, bufSize - 1);
+            segment.setUtf8String(0, truncated);
+            putInt(length, 0, truncated.length());
+        }
+    }
+
+    @Override
+    public void getProgramResourceName(int program, int programInterface, int index, Addressable length, MemorySegment name) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_NAME).i(program).i(programInterface).i(index).p(length).p(name).end();
+        final String resource = resourceName(program, programInterface, index);
+        if (name.byteSize() > 0) {
+            final String truncated = resource.length() < name.byteSize() ? resource : resource.substring(0, (int) name.byteSize() - 1);
+            name.setUtf8String(0, truncated);
+            putInt(length, 0, truncated.length());
+        }
+    }
+
+    @Override
+    public String getProgramResourceName(int program, int programInterface, int index, int @Nullable [] length) {
+        log.begin(Command.GET_PROGRAM_RESOURCE_NAME).i(program).i(programInterface).i(index).i(length == null ? 0 : length.length).end();
+        final String resource = resourceName(program, programInterface, index);
+        if (length != null) length[0] = resource.length();
+        return resource;
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, int propCount, Addressable props, int count, Addressable length, Addressable params) {
+        log.begin(Command.GET_PROGRAM_RESOURCEIV).i(program).i(programInterface).i(index).i(propCount).p(props).i(count).p(length).p(params).end();
+        if (!(props instanceof MemorySegment segment)) return;
+        final int written = Math.min(propCount, count);
+        for (int i = 0; i < written; i++) {
+            putInt(params, i, resourceProperty(program, programInterface, index, segment.getAtIndex(JAVA_INT, i)));
+        }
+        putInt(length, 0, written);
+    }
+
+    @Override
+    public void getProgramResourceiv(int program, int programInterface, int index, MemorySegment props, Addressable length, MemorySegment params) {
+        log.begin(Command.GET_PROGRAM_RESOURCEIV).i(program).i(programInterface).i(index).p(props).p(length).p(params).end();
+        final int written = (int) Math.min(props.byteSize(), params.byteSize()) / 4;
+        for (int i = 0; i < written; i++) {
+            params.setAtIndex(JAVA_INT, i, resourceProperty(program, programInterface, index, props.getAtIndex(JAVA_INT, i)));
+        }
+        putInt(length, 0, written);
+    }
+
+    @Override
+    public int getProgramResourceiv(int program, int programInterface, int index, int[] props) {
+        log.begin(Command.GET_PROGRAM_RESOURCEIV).i(program).i(programInterface).i(index).i(props == null ? 0 : props.length).end();
+        return props.length > 0 ? resourceProperty(program, programInterface, index, props[0]) : 0;
+    }
+
+    @Override
+    public void shaderStorageBlockBinding(int program, int storageBlockIndex, int storageBlockBinding) {
+        log.begin(Command.SHADER_STORAGE_BLOCK_BINDING).i(program).i(storageBlockIndex).i(storageBlockBinding).end();
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, int bufSize, Addressable params) {
+        log.begin(Command.GETN_UNIFORMDV).i(program).i(location).i(bufSize).p(params).end();
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, MemorySegment params) {
+        log.begin(Command.GETN_UNIFORMDV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getnUniformdv(int program, int location, double[] params) {
+        log.begin(Command.GETN_UNIFORMDV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, int bufSize, Addressable params) {
+        log.begin(Command.GETN_UNIFORMFV).i(program).i(location).i(bufSize).p(params).end();
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, MemorySegment params) {
+        log.begin(Command.GETN_UNIFORMFV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getnUniformfv(int program, int location, float[] params) {
+        log.begin(Command.GETN_UNIFORMFV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, int bufSize, Addressable params) {
+        log.begin(Command.GETN_UNIFORMIV).i(program).i(location).i(bufSize).p(params).end();
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, MemorySegment params) {
+        log.begin(Command.GETN_UNIFORMIV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getnUniformiv(int program, int location, int[] params) {
+        log.begin(Command.GETN_UNIFORMIV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, int bufSize, Addressable params) {
+        log.begin(Command.GETN_UNIFORMUIV).i(program).i(location).i(bufSize).p(params).end();
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, MemorySegment params) {
+        log.begin(Command.GETN_UNIFORMUIV).i(program).i(location).p(params).end();
+    }
+
+    @Override
+    public void getnUniformuiv(int program, int location, int[] params) {
+        log.begin(Command.GETN_UNIFORMUIV).i(program).i(location).i(params == null ? 0 : params.length).end();
+    }
+
+    @Override
+    public void getShaderSource(int shader, int bufSize, Addressable length, Addressable source) {
+        log.begin(Command.GET_SHADER_SOURCE).i(shader).i(bufSize).p(length).p(source).end();
+        final ShaderModel model = shaders.get(shader);
+        if (source instanceof MemorySegment segment && bufSize > 0) {
+            final String s = model != null ? model.source : "";
+            final String truncated = s.length() < bufSize ? s : s.substring(0, bufSize - 1);
+            segment.setUtf8String(0, truncated);
+            putInt(length, 0, truncated.length());
+        }
+    }
+
+    @Override
+    public void getShaderSource(int shader, int bufSize, int @Nullable [] length, String[] source) {
+        log.begin(Command.GET_SHADER_SOURCE).i(shader).i(bufSize).i(length == null ? 0 : length.length).i(source == null ? 0 : source.length).end();
+        final ShaderModel model = shaders.get(shader);
+        source[0] = model != null ? model.source : "";
+        if (length != null) length[0] = source[0].length();
+    }
+
+    @Override
+    public String getShaderSource(int shader, int bufSize, int @Nullable [] length) {
+        log.begin(Command.GET_SHADER_SOURCE).i(shader).i(bufSize).i(length == null ? 0 : length.length).end();
+        final ShaderModel model = shaders.get(shader);
+        final String source = model != null ? model.source : "";
+        if (length != null) length[0] = source.length();
+        return source;
+    }
+
+    @Override
+    public String getShaderSource(int shader) {
+        log.begin(Command.GET_SHADER_SOURCE).i(shader).end();
+        final ShaderModel model = shaders.get(shader);
+        return model != null ? model.source : "";
+    }
+
+    @Override
+    public boolean isShader(int shader) {
+        log.begin(Command.IS_SHADER).i(shader).end();
+        return shaders.containsKey(shader);
+    }
+
+    @Override
+    public void specializeShader(int shader, Addressable pEntryPoint, int numSpecializationConstants, Addressable pConstantIndex, Addressable pConstantValue) {
+        log.begin(Command.SPECIALIZE_SHADER).i(shader).p(pEntryPoint).i(numSpecializationConstants).p(pConstantIndex).p(pConstantValue).end();
+    }
+
+    @Override
+    public void specializeShader(int shader, @Nullable String pEntryPoint, int @Nullable [] pConstantIndex, int @Nullable [] pConstantValue) {
+        log.begin(Command.SPECIALIZE_SHADER).i(shader).i(pEntryPoint.length()).i(pConstantIndex == null ? 0 : pConstantIndex.length).i(pConstantValue == null ? 0 : pConstantValue.length).end();
+    }
+
+    @Override
+    public void specializeShader(int shader, @Nullable String pEntryPoint) {
+        log.begin(Command.SPECIALIZE_SHADER).i(shader).i(pEntryPoint.length()).end();
+    }
+
+    @Override
+    public MemoryAddress createWindow(int width, int height, String title, MemoryAddress monitor, MemoryAddress share) {
+        log.begin(Command.CREATE_WINDOW).i(width).i(height).i(title.length()).p(monitor).p(share).end();
+        final MemoryAddress window = MemoryAddress.ofLong(++nextWindow);
+        windows.put(window.toRawLongValue(), new WindowModel(width, height));
+        return window;
+    }
+
+    @Override
+    public void destroyWindow(MemoryAddress window) {
+        log.begin(Command.DESTROY_WINDOW).p(window).end();
+        windows.remove(window.toRawLongValue());
+    }
+
+    @Override
+    public boolean windowShouldClose(MemoryAddress window) {
+        log.begin(Command.WINDOW_SHOULD_CLOSE).p(window).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        return model != null && model.shouldClose;
+    }
+
+    @Override
+    public void setWindowShouldClose(MemoryAddress window, boolean value) {
+        log.begin(Command.SET_WINDOW_SHOULD_CLOSE).p(window).z(value).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.shouldClose = value;
+    }
+
+    @Override
+    public void makeContextCurrent(MemoryAddress window) {
+        log.begin(Command.MAKE_CONTEXT_CURRENT).p(window).end();
+    }
+
+    @Override
+    public void swapBuffers(MemoryAddress window) {
+        log.begin(Command.SWAP_BUFFERS).p(window).end();
+        ++frame;
+    }
+
+    @Override
+    public void swapInterval(int interval) {
+        log.begin(Command.SWAP_INTERVAL).i(interval).end();
+    }
+
+    @Override
+    public void pollEvents() {
+        log.begin(Command.POLL_EVENTS).end();
+    }
+
+    @Override
+    public double getTime() {
+        log.begin(Command.GET_TIME).end();
+        return (System.nanoTime() - startTime) * 1e-9;
+    }
+
+    @Override
+    public ValueInt2 getWindowPos(MemoryAddress window) {
+        log.begin(Command.GET_WINDOW_POS).p(window).end();
+        return new ValueInt2(0, 0);
+    }
+
+    @Override
+    public ValueInt2 getWindowSize(MemoryAddress window) {
+        log.begin(Command.GET_WINDOW_SIZE).p(window).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        return model != null ? new ValueInt2(model.width, model.height) : new ValueInt2(0, 0);
+    }
+
+    @Override
+    public void setWindowSize(MemoryAddress window, int width, int height) {
+        log.begin(Command.SET_WINDOW_SIZE).p(window).i(width).i(height).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) {
+            model.width = width;
+            model.height = height;
+            if (model.sizeCallback != null) model.sizeCallback.invoke(window, width, height);
+            if (model.framebufferSizeCallback != null) model.framebufferSizeCallback.invoke(window, width, height);
+        }
+    }
+
+    @Override
+    public ValueInt2 getFramebufferSize(MemoryAddress window) {
+        log.begin(Command.GET_FRAMEBUFFER_SIZE).p(window).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        return model != null ? new ValueInt2(model.width, model.height) : new ValueInt2(0, 0);
+    }
+
+    @Override
+    public ValueInt4 getWindowFrameSize(MemoryAddress window) {
+        log.begin(Command.GET_WINDOW_FRAME_SIZE).p(window).end();
+        return new ValueInt4(0, 0, 0, 0);
+    }
+
+    @Override
+    public ValueFloat2 getWindowContentScale(MemoryAddress window) {
+        log.begin(Command.GET_WINDOW_CONTENT_SCALE).p(window).end();
+        return new ValueFloat2(1f, 1f);
+    }
+
+    @Override
+    public ValueDouble2 getCursorPos(MemoryAddress window) {
+        log.begin(Command.GET_CURSOR_POS).p(window).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        return model != null ? new ValueDouble2(model.cursorX, model.cursorY) : new ValueDouble2(0.0, 0.0);
+    }
+
+    @Override
+    public void ngetWindowPos(MemoryAddress window, Addressable xpos, Addressable ypos) {
+        log.begin(Command.NGET_WINDOW_POS).p(window).p(xpos).p(ypos).end();
+        putInt(xpos, 0, 0);
+        putInt(ypos, 0, 0);
+    }
+
+    @Override
+    public void ngetWindowSize(MemoryAddress window, Addressable width, Addressable height) {
+        log.begin(Command.NGET_WINDOW_SIZE).p(window).p(width).p(height).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        putInt(width, 0, model != null ? model.width : 0);
+        putInt(height, 0, model != null ? model.height : 0);
+    }
+
+    @Override
+    public void ngetFramebufferSize(MemoryAddress window, Addressable width, Addressable height) {
+        log.begin(Command.NGET_FRAMEBUFFER_SIZE).p(window).p(width).p(height).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        putInt(width, 0, model != null ? model.width : 0);
+        putInt(height, 0, model != null ? model.height : 0);
+    }
+
+    @Override
+    public void ngetWindowFrameSize(MemoryAddress window, Addressable left, Addressable top, Addressable right, Addressable bottom) {
+        log.begin(Command.NGET_WINDOW_FRAME_SIZE).p(window).p(left).p(top).p(right).p(bottom).end();
+        putInt(left, 0, 0);
+        putInt(top, 0, 0);
+        putInt(right, 0, 0);
+        putInt(bottom, 0, 0);
+    }
+
+    @Override
+    public void ngetWindowContentScale(MemoryAddress window, Addressable xscale, Addressable yscale) {
+        log.begin(Command.NGET_WINDOW_CONTENT_SCALE).p(window).p(xscale).p(yscale).end();
+        if (xscale instanceof MemorySegment segment) segment.set(JAVA_FLOAT, 0, 1f);
+        if (yscale instanceof MemorySegment segment) segment.set(JAVA_FLOAT, 0, 1f);
+    }
+
+    @Override
+    public void ngetCursorPos(MemoryAddress window, Addressable xpos, Addressable ypos) {
+        log.begin(Command.NGET_CURSOR_POS).p(window).p(xpos).p(ypos).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (xpos instanceof MemorySegment segment) segment.set(JAVA_DOUBLE, 0, model != null ? model.cursorX : 0.0);
+        if (ypos instanceof MemorySegment segment) segment.set(JAVA_DOUBLE, 0, model != null ? model.cursorY : 0.0);
+    }
+
+    @Override
+    public MemoryAddress setWindowSizeCallback(MemoryAddress window, @Nullable IGLFWWindowSizeFun callback) {
+        log.begin(Command.SET_WINDOW_SIZE_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.sizeCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setFramebufferSizeCallback(MemoryAddress window, @Nullable IGLFWFramebufferSizeFun callback) {
+        log.begin(Command.SET_FRAMEBUFFER_SIZE_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.framebufferSizeCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setCursorPosCallback(MemoryAddress window, @Nullable IGLFWCursorPosFun callback) {
+        log.begin(Command.SET_CURSOR_POS_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.cursorPosCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setKeyCallback(MemoryAddress window, @Nullable IGLFWKeyFun callback) {
+        log.begin(Command.SET_KEY_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.keyCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setCharCallback(MemoryAddress window, @Nullable IGLFWCharFun callback) {
+        log.begin(Command.SET_CHAR_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.charCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setMouseButtonCallback(MemoryAddress window, @Nullable IGLFWMouseButtonFun callback) {
+        log.begin(Command.SET_MOUSE_BUTTON_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.mouseButtonCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setCursorEnterCallback(MemoryAddress window, @Nullable IGLFWCursorEnterFun callback) {
+        log.begin(Command.SET_CURSOR_ENTER_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.cursorEnterCallback = callback;
+        return MemoryAddress.NULL;
+    }
+
+    @Override
+    public MemoryAddress setScrollCallback(MemoryAddress window, @Nullable IGLFWScrollFun callback) {
+        log.begin(Command.SET_SCROLL_CALLBACK).p(window).z(callback != null).end();
+        final WindowModel model = windows.get(window.toRawLongValue());
+        if (model != null) model.scrollCallback = callback;
+        return MemoryAddress.NULL;
+    }
+}
@@ -33,6 +33,7 @@ import org.overrun.glib.stb.STBImage;
 import org.overrun.glwrapper.GLFWWindow;
 import org.overrun.glwrapper.GLProgram;
 import org.overrun.glwrapper.GLShader;
+import org.overrun.glwrapper.GLStateManager;
 
 import java.io.IOException;
 import java.lang.foreign.MemoryAddress;
@@ -163,7 +164,7 @@ public final class GL30Test {
         fsh.delete();
         program.use();
         GL.uniform1i(program.getUniformLocation("sampler"), 0);
-        GL.useProgram(0);
+        GLStateManager.current().useProgram(0);
 
         int vao = GL.genVertexArray();
         GL.bindVertexArray(vao);
@@ -204,7 +205,7 @@ public final class GL30Test {
             GL.bindVertexArray(vao);
             GL.drawElements(GL_TRIANGLES, 6, GL_UNSIGNED_INT, MemoryAddress.NULL);
             GL.bindVertexArray(0);
-            GL.useProgram(0);
+            GLStateManager.current().useProgram(0);
             GL.bindTexture(GL_TEXTURE_2D, 0);
 
             window.swapBuffers();
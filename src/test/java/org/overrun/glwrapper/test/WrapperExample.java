@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Overrun Organization
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.overrun.glwrapper.test;
+
+import org.overrun.glib.gl.GL;
+import org.overrun.glib.gl.GLCaps;
+import org.overrun.glib.glfw.GLFW;
+import org.overrun.glib.glfw.GLFWErrorCallback;
+import org.overrun.glib.stb.STBImage;
+import org.overrun.glwrapper.FloatUniform;
+import org.overrun.glwrapper.FrameTimer;
+import org.overrun.glwrapper.GLBuffer;
+import org.overrun.glwrapper.GLFWWindow;
+import org.overrun.glwrapper.GLProgram;
+import org.overrun.glwrapper.GLShader;
+import org.overrun.glwrapper.ImageDecoder;
+import org.overrun.glwrapper.TextureStreamer;
+import org.overrun.glwrapper.VertexArrayCache;
+import org.overrun.glwrapper.VertexFormat;
+
+import java.io.IOException;
+import java.lang.foreign.MemoryAddress;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.MemorySession;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+
+import static org.overrun.glib.gl.GLConstC.*;
+
+/**
+ * Draws the textured quad of {@link GL30Test} with the wrapper: a streamed texture,
+ * a vertex format with a cached vertex array, reflected uniforms and a frame timer.
+ * <p>
+ * Run with {@code -Dglwrapper.example.printTimer=true} to print the frame timing on exit.
+ *
+ * @author squid233
+ * @since 0.1.0
+ */
+public final class WrapperExample {
+    private static final boolean PRINT_TIMER = Boolean.getBoolean("glwrapper.example.printTimer");
+    private GLFWWindow window;
+
+    public void run() {
+        init();
+        loop();
+
+        window.destroy();
+
+        GLFW.terminate();
+        GLFW.setErrorCallback(null);
+    }
+
+    private void init() {
+        GLFWErrorCallback.createPrint().set();
+        if (!GLFW.init()) {
+            throw new IllegalStateException("Unable to initialize GLFW");
+        }
+        window = GLFWWindow.defaultHints()
+            .hint(GLFW.VISIBLE, false)
+            .hint(GLFW.RESIZABLE, true)
+            .create(640, 480, "Wrapper Example", MemoryAddress.NULL, MemoryAddress.NULL)
+            .check();
+        window.setKeyCallback((handle, key, scancode, action, mods) -> {
+            if (key == GLFW.KEY_ESCAPE && action == GLFW.RELEASE) {
+                window.setShouldClose(true);
+            }
+        });
+        window.setFramebufferSizeCallback((handle, width, height) ->
+            GL.viewport(0, 0, width, height));
+        var vidMode = GLFW.getVideoMode(GLFW.getPrimaryMonitor());
+        if (vidMode != null) {
+            var size = window.getSize();
+            window.setPos(
+                (vidMode.width() - size.x()) / 2,
+                (vidMode.height() - size.y()) / 2
+            );
+        }
+
+        window.makeContextCurrent();
+        GLFW.swapInterval(1);
+
+        window.show();
+    }
+
+    private void loop() {
+        if (GLCaps.loadShared(true, GLFW::getProcAddress) == 0)
+            throw new IllegalStateException("Failed to load OpenGL");
+
+        GL.clearColor(0.4f, 0.6f, 0.9f, 1.0f);
+
+        // decodes on worker threads and uploads in the frame loop
+        var streamer = new TextureStreamer(WrapperExample::decode);
+        streamer.setFilter(GL_NEAREST, GL_NEAREST);
+        var texture = streamer.load(() -> {
+            try (var is = ClassLoader.getSystemResourceAsStream("image.png")) {
+                // STB reads native memory; a file on disk could be loaded with streamer.load(Path) instead
+                var bytes = Objects.requireNonNull(is).readAllBytes();
+                var encoded = MemorySegment.allocateNative(bytes.length, MemorySession.openImplicit());
+                encoded.copyFrom(MemorySegment.ofArray(bytes));
+                return encoded;
+            }
+        });
+
+        var format = VertexFormat.builder()
+            .attribute("position", 3, GL_FLOAT)
+            .attribute("uv", 2, GL_FLOAT)
+            .build();
+        var program = new GLProgram();
+        var vsh = new GLShader(GL_VERTEX_SHADER);
+        var fsh = new GLShader(GL_FRAGMENT_SHADER);
+        vsh.source("""
+            #version 130
+
+            in vec3 position;
+            in vec2 uv;
+
+            out vec2 texCoord;
+
+            void main() {
+                gl_Position = vec4(position, 1.0);
+                texCoord = uv;
+            }
+            """);
+        fsh.source("""
+            #version 130
+
+            in vec2 texCoord;
+
+            out vec4 fragColor;
+
+            uniform sampler2D sampler;
+            uniform float colorFactor;
+
+            void main() {
+                fragColor = colorFactor * texture(sampler, texCoord);
+            }
+            """);
+        vsh.compile();
+        fsh.compile();
+        program.attachShader(vsh);
+        program.attachShader(fsh);
+        format.bindAttribLocations(program);
+        program.link();
+        program.detachShader(vsh);
+        program.detachShader(fsh);
+        vsh.delete();
+        fsh.delete();
+        program.use();
+        program.reflection().intUniform("sampler").set(0);
+
+        var vbo = new GLBuffer(GL_ARRAY_BUFFER);
+        var ebo = new GLBuffer(GL_ELEMENT_ARRAY_BUFFER);
+        // offsets and strides are computed from the format
+        var vertexArrays = new VertexArrayCache();
+        vertexArrays.bind(format, ebo, vbo);
+        vbo.data(new float[]{
+            // Vertex          UV
+            -0.5f, 0.5f, 0.0f, 0.0f, 0.0f,
+            -0.5f, -0.5f, 0.0f, 0.0f, 1.0f,
+            0.5f, -0.5f, 0.0f, 1.0f, 1.0f,
+            0.5f, 0.5f, 0.0f, 1.0f, 0.0f
+        }, GL_STATIC_DRAW);
+        ebo.data(new int[]{
+            0, 1, 2, 0, 2, 3
+        }, GL_STATIC_DRAW);
+
+        // writes with glProgramUniform1f if available, otherwise with glUniform1f
+        final FloatUniform colorFactor = program.reflection().floatUniform("colorFactor");
+
+        final var timer = new FrameTimer();
+        window.setFrameTimer(timer);
+        while (!window.shouldClose()) {
+            GL.clear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+
+            // Draw triangle
+            streamer.update();
+            // the state manager skips the binds that are already current
+            if (texture.isDone()) {
+                texture.join().bind(0);
+            }
+            program.use();
+            float color = (float) ((Math.sin(GLFW.getTime() * 2) + 1) * 0.5 * 0.6 + 0.4);
+            colorFactor.set(color);
+            vertexArrays.bind(format, ebo, vbo);
+            GL.drawElements(GL_TRIANGLES, 6, GL_UNSIGNED_INT, MemoryAddress.NULL);
+
+            window.swapBuffers();
+
+            timer.pollEvents();
+        }
+        if (PRINT_TIMER) {
+            System.out.println(timer);
+        }
+
+        program.delete();
+        vertexArrays.delete();
+        vbo.delete();
+        ebo.delete();
+        texture.join().delete();
+        streamer.delete();
+    }
+
+    private static void decode(MemorySegment encoded, ImageDecoder.PixelSink sink) throws IOException {
+        try (var session = MemorySession.openConfined()) {
+            var size = session.allocateArray(ValueLayout.JAVA_INT, 3);
+            // decode the encoded image in place instead of copying it to the heap
+            var data = STBImage.nloadFromMemory(encoded, (int) encoded.byteSize(),
+                size, size.asSlice(4), size.asSlice(8), STBImage.RGB);
+            if (data.equals(MemoryAddress.NULL)) {
+                throw new IOException("Failed to decode image");
+            }
+            var pixels = sink.allocate(size.getAtIndex(ValueLayout.JAVA_INT, 0), size.getAtIndex(ValueLayout.JAVA_INT, 1), 3);
+            MemorySegment.copy(MemorySegment.ofAddress(data, pixels.byteSize(), session), 0,
+                pixels, 0, pixels.byteSize());
+            STBImage.free(data);
+        }
+    }
+
+    public static void main(String[] args) {
+        new WrapperExample().run();
+    }
+}